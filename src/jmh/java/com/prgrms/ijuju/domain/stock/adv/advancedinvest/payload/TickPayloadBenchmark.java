@@ -0,0 +1,92 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.payload;
+
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.dto.response.AdvStockResponseDto;
+import com.prgrms.ijuju.domain.stock.adv.advstock.constant.DataType;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.MarketSnapshot;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.StockSeries;
+import com.prgrms.ijuju.global.util.WebSocketUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.web.socket.TextMessage;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 게임 1,000개에 Reference + Live 6개를 보낼 때의 직렬화 비용 비교 입니다.
+ * perGame : 예전 방식. 게임마다 DTO 를 만들고 Jackson 으로 직렬화
+ * cached  : TickPayloadCache 방식. 하루 한번 직렬화하고 1,000개 게임이 같은 메시지를 재사용
+ *
+ * 실행 >> ./gradlew jmhJar && java -jar build/libs/ijuju-0.0.1-SNAPSHOT-jmh.jar TickPayloadBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TickPayloadBenchmark {
+
+    private static final int GAMES = 1_000;
+    private static final String[] SYMBOLS = {"AAPL", "MSFT", "AMZN", "TSLA"};
+
+    private MarketSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        List<StockSeries> series = new ArrayList<>();
+        for (String symbol : SYMBOLS) {
+            series.add(randomSeries(symbol, DataType.REFERENCE, 35)); // 1주일치 시간봉
+            series.add(randomSeries(symbol, DataType.LIVE, 7));
+        }
+        snapshot = new MarketSnapshot(LocalDate.now(), series);
+    }
+
+    @Benchmark
+    public void perGame(Blackhole blackhole) {
+        for (int game = 0; game < GAMES; game++) {
+            List<AdvStockResponseDto> reference = snapshot.seriesOf(DataType.REFERENCE).stream()
+                    .flatMap(s -> AdvStockResponseDto.fromSeriesForReference(s).stream())
+                    .toList();
+            blackhole.consume(WebSocketUtil.toTextMessage(reference));
+
+            for (int livePhase = 0; livePhase < 6; livePhase++) {
+                int phase = livePhase;
+                List<AdvStockResponseDto> live = snapshot.seriesOf(DataType.LIVE).stream()
+                        .map(s -> AdvStockResponseDto.fromSeries(s, phase))
+                        .toList();
+                blackhole.consume(WebSocketUtil.toTextMessage(live));
+            }
+        }
+    }
+
+    @Benchmark
+    public void cached(Blackhole blackhole) {
+        TickPayloadCache.Payloads payloads = TickPayloadCache.build(snapshot);
+        for (int game = 0; game < GAMES; game++) {
+            blackhole.consume(payloads.reference());
+            for (TextMessage live : payloads.live()) {
+                blackhole.consume(live);
+            }
+        }
+    }
+
+    private static StockSeries randomSeries(String symbol, DataType dataType, int size) {
+        double[] open = new double[size];
+        double[] high = new double[size];
+        double[] low = new double[size];
+        double[] close = new double[size];
+        long[] volumes = new long[size];
+        long[] timestamps = new long[size];
+        double price = 100;
+        for (int i = 0; i < size; i++) {
+            open[i] = price;
+            price += Math.random() - 0.5;
+            close[i] = price;
+            high[i] = Math.max(open[i], close[i]) + 0.3;
+            low[i] = Math.min(open[i], close[i]) - 0.3;
+            volumes[i] = (long) (Math.random() * 1_000_000);
+            timestamps[i] = 1_700_000_000_000L + i * 3_600_000L;
+        }
+        return new StockSeries(symbol, symbol + " Name", dataType, open, high, low, close, volumes, timestamps);
+    }
+}
@@ -0,0 +1,90 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.position;
+
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.rule.TradeRules;
+import com.prgrms.ijuju.domain.stock.adv.advstock.constant.DataType;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.MarketSnapshot;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.StockSeries;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LiveData 가 나갈 때 게임 1,000개의 평가 손익을 계산하는 비용 입니다.
+ * changed   : 매번 종가가 바뀌는 경우. 종목마다 평가하고 PortfolioView 를 만든다
+ * unchanged : 거래도 종가 변화도 없는 경우. 종목 수만큼 비교만 하고 null
+ *
+ * 실행 >> ./gradlew jmh -Pjmh.includes=PortfolioMarkBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PortfolioMarkBenchmark {
+
+    private static final int GAMES = 1_000;
+    private static final int LIVE_SIZE = 7;
+
+    @Param({"4", "32"})
+    private int symbolCount;
+
+    private MarketSnapshot snapshot;
+    private PositionBook[] books;
+    private int livePhase;
+
+    @Setup
+    public void setUp() {
+        List<StockSeries> series = new ArrayList<>();
+        String[] symbols = new String[symbolCount];
+        for (int i = 0; i < symbolCount; i++) {
+            symbols[i] = "SYM" + i;
+            series.add(randomSeries(symbols[i]));
+        }
+        snapshot = new MarketSnapshot(LocalDate.now(), series);
+
+        books = new PositionBook[GAMES];
+        for (int game = 0; game < GAMES; game++) {
+            books[game] = new PositionBook();
+            for (String symbol : symbols) {
+                books[game].buy(symbol, 1 + game % 7, 100);
+            }
+        }
+    }
+
+    @Benchmark
+    public void changed(Blackhole blackhole) {
+        int phase = livePhase++ % LIVE_SIZE; // 매번 다른 거래 시간이라 종가가 바뀐다
+        for (PositionBook book : books) {
+            blackhole.consume(book.markToMarket(phase, symbol -> TradeRules.phaseClosePrice(snapshot, symbol, phase)));
+        }
+    }
+
+    @Benchmark
+    public void unchanged(Blackhole blackhole) {
+        for (PositionBook book : books) {
+            blackhole.consume(book.markToMarket(0, symbol -> TradeRules.phaseClosePrice(snapshot, symbol, 0)));
+        }
+    }
+
+    private static StockSeries randomSeries(String symbol) {
+        double[] open = new double[LIVE_SIZE];
+        double[] high = new double[LIVE_SIZE];
+        double[] low = new double[LIVE_SIZE];
+        double[] close = new double[LIVE_SIZE];
+        long[] volumes = new long[LIVE_SIZE];
+        long[] timestamps = new long[LIVE_SIZE];
+        double price = 100;
+        for (int i = 0; i < LIVE_SIZE; i++) {
+            open[i] = price;
+            price += Math.random() + 0.01; // 거래 시간마다 종가가 반드시 달라지도록
+            close[i] = price;
+            high[i] = close[i] + 0.3;
+            low[i] = open[i] - 0.3;
+            volumes[i] = (long) (Math.random() * 1_000_000);
+            timestamps[i] = 1_700_000_000_000L + i * 3_600_000L;
+        }
+        return new StockSeries(symbol, symbol + " Name", DataType.LIVE, open, high, low, close, volumes, timestamps);
+    }
+}
@@ -0,0 +1,103 @@
+package com.prgrms.ijuju.domain.stock.adv.advstock.codec;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prgrms.ijuju.domain.stock.adv.advstock.dto.PolygonCandles;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polygon 응답 하나를 OHLCV 컬럼으로 만드는 비용 비교 입니다.
+ * dtoAndBoxedLists : 예전 방식. ObjectMapper 로 캔들마다 객체를 만들고, 그 리스트를 6번 돌면서 박싱된 List 6개를 만든다
+ * streaming        : PolygonCandleDecoder. JsonParser 로 한번에 primitive 배열을 채운다
+ *
+ * 할당량은 gc 프로파일러의 gc.alloc.rate.norm (B/op) 을 보면 됩니다.
+ * 도입 당시 측정값 (ThreadMXBean 할당량 기준, 참고용)
+ * - 35개   : 약 36.9KB -> 2.7KB
+ * - 1950개 : 약 1.92MB -> 94.6KB (남은 건 결과 배열과 parser 자체)
+ * 실행 >> ./gradlew jmh -Pjmh.includes=PolygonCandleDecodeBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PolygonCandleDecodeBenchmark {
+
+    // 35 = 1주일치 시간봉, 1950 = 5일치 분봉(하루 390개)
+    @Param({"35", "1950"})
+    public int candles;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder json = new StringBuilder("{\"ticker\":\"AAPL\",\"queryCount\":").append(candles)
+                .append(",\"resultsCount\":").append(candles).append(",\"adjusted\":true,\"results\":[");
+        double price = 180;
+        for (int i = 0; i < candles; i++) {
+            price = cents(price + random.nextGaussian()); // Polygon 처럼 소수점 2~4자리
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"v\":").append(1_000_000 + random.nextInt(1_000_000))
+                    .append(",\"vw\":").append(Math.round(price * 10_000) / 10_000.0)
+                    .append(",\"o\":").append(cents(price - 0.3))
+                    .append(",\"c\":").append(price)
+                    .append(",\"h\":").append(cents(price + 0.8))
+                    .append(",\"l\":").append(cents(price - 0.9))
+                    .append(",\"t\":").append(1_700_000_000_000L + i * 3_600_000L)
+                    .append(",\"n\":").append(5000 + i)
+                    .append('}');
+        }
+        json.append("],\"status\":\"OK\",\"request_id\":\"bench\",\"count\":").append(candles).append('}');
+        body = json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static double cents(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    @Benchmark
+    public void dtoAndBoxedLists(Blackhole blackhole) throws IOException {
+        LegacyResponse response = objectMapper.readValue(body, LegacyResponse.class);
+        List<LegacyResult> results = response.results;
+        blackhole.consume(results.stream().map(r -> r.o).toList());
+        blackhole.consume(results.stream().map(r -> r.h).toList());
+        blackhole.consume(results.stream().map(r -> r.l).toList());
+        blackhole.consume(results.stream().map(r -> r.c).toList());
+        blackhole.consume(results.stream().map(r -> r.v).toList());
+        blackhole.consume(results.stream().map(r -> r.t).toList());
+    }
+
+    @Benchmark
+    public PolygonCandles streaming() throws IOException {
+        return PolygonCandleDecoder.decode(body);
+    }
+
+    // 예전 PolygonCandleResponse / PolygonCandleResult 와 같은 모양
+    public static class LegacyResponse {
+        public boolean adjusted;
+        public int queryCount;
+        public String status;
+        public String ticker;
+        public List<LegacyResult> results;
+    }
+
+    public static class LegacyResult {
+        public double c;
+        public double h;
+        public double l;
+        public double o;
+        public long t;
+        public long v;
+        public double vw;
+    }
+}
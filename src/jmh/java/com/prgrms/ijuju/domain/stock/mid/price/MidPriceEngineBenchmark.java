@@ -0,0 +1,82 @@
+package com.prgrms.ijuju.domain.stock.mid.price;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 종목 1,000개의 31일치 가격 생성 비용 입니다.
+ * engine    : 모델별 MidPriceEngine.generate. 하루치가 상수 시간
+ * rejection : 예전 MidStockChartService 의 while (true) 방식 (java.util.Random, 평균이 ±5% 를 벗어나면 다시 뽑기)
+ *
+ * 도입 당시 측정값 (JDK 21.0.1, fork 1, 워밍업 2회, 측정 5회, 평균 us/op)
+ * - band-rule      : 1,117
+ * - gbm            : 8,079
+ * - mean-reverting : 8,195
+ * - rejection      : 11,352 ~ 11,729 (model 과 관계없이 같은 코드)
+ * engine 은 모델과 관계없이 약 1.39MB/op 를 할당한다 (결과 가격 1,000 x 31개). rejection 은 결과를 만들지 않아 할당이 없다
+ * 실행 >> ./gradlew jmhJar && java -jar build/libs/ijuju-0.0.1-SNAPSHOT-jmh.jar MidPriceEngineBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MidPriceEngineBenchmark {
+
+    private static final int STOCKS = 1_000;
+    private static final int HORIZON = 31;
+
+    @Param({"band-rule", "gbm", "mean-reverting"})
+    private String model;
+
+    private MidPriceEngine engine;
+    private List<PriceSeed> seeds;
+    private final Random random = new Random(42);
+
+    @Setup
+    public void setUp() {
+        engine = new MidPriceEngine(PriceModelType.from(model).create(0.0, 0.02, 0.1), new SplittableRandom(42));
+        seeds = new ArrayList<>(STOCKS);
+        long[] basePrices = {100, 10_000, 1_000_000};
+        long[] baseMinPrices = {10, 500, 10_000};
+        for (int i = 0; i < STOCKS; i++) {
+            seeds.add(new PriceSeed(basePrices[i % 3], baseMinPrices[i % 3], basePrices[i % 3]));
+        }
+    }
+
+    @Benchmark
+    public void engine(Blackhole blackhole) {
+        blackhole.consume(engine.generate(seeds, HORIZON));
+    }
+
+    // model 파라미터와 관계없이 같은 값. 비교용
+    @Benchmark
+    public void rejection(Blackhole blackhole) {
+        for (PriceSeed seed : seeds) {
+            long lastAvgPrice = seed.lastAvgPrice();
+            for (int day = 0; day < HORIZON; day++) {
+                lastAvgPrice = rejectionAvg(seed.baseMinPrice(), lastAvgPrice);
+                blackhole.consume(lastAvgPrice);
+            }
+        }
+    }
+
+    private long rejectionAvg(long baseMinPrice, long lastAvgPrice) {
+        while (true) {
+            long minLowPrice = Math.max(baseMinPrice, (long) (lastAvgPrice * 0.8));
+            long maxLowPrice = (long) (lastAvgPrice * 1.2);
+            long lowPrice = minLowPrice + (long) ((maxLowPrice - minLowPrice) * random.nextDouble());
+            long minHighPrice = lowPrice + 1;
+            long maxHighPrice = (long) (lowPrice * 1.2);
+            long highPrice = minHighPrice + (long) ((maxHighPrice - minHighPrice) * random.nextDouble());
+            long avgPrice = (lowPrice + highPrice) / 2;
+            if (Math.abs(avgPrice - lastAvgPrice) <= lastAvgPrice * 0.05) {
+                return avgPrice;
+            }
+        }
+    }
+}
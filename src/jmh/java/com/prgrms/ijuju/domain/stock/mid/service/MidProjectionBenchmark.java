@@ -0,0 +1,57 @@
+package com.prgrms.ijuju.domain.stock.mid.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.prgrms.ijuju.domain.stock.mid.cache.MidFuturePriceCache.HORIZON_DAYS;
+
+/**
+ * 수익 예상 곡선 계산 비용 입니다. 슬라이더를 움직일 때마다 한번씩 돈다.
+ * project : MidStockProjectionService.project. 보유 종목 x 16일 을 한번 훑는다
+ *
+ * 실행 >> ./gradlew jmh -Pjmh.includes=MidProjectionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MidProjectionBenchmark {
+
+    private static final int STOCKS = 1_000;
+
+    @Param({"3", "100", "1000"})
+    private int holdings;
+
+    private long[] avgPrices;
+    private int[] rows;
+    private double[] units;
+    private long[] invested;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        avgPrices = new long[STOCKS * HORIZON_DAYS];
+        for (int i = 0; i < avgPrices.length; i++) {
+            avgPrices[i] = 100 + random.nextInt(10_000);
+        }
+        rows = new int[holdings];
+        units = new double[holdings];
+        invested = new long[holdings];
+        for (int i = 0; i < holdings; i++) {
+            rows[i] = random.nextInt(STOCKS);
+            invested[i] = 1_000 + random.nextInt(100_000);
+            units[i] = invested[i] / (double) avgPrices[rows[i] * HORIZON_DAYS];
+        }
+    }
+
+    @Benchmark
+    public void project(Blackhole blackhole) {
+        long[][] values = new long[holdings][];
+        long[] totalValues = new long[HORIZON_DAYS];
+        MidStockProjectionService.project(avgPrices, holdings, rows, units, invested, values, totalValues);
+        blackhole.consume(values);
+        blackhole.consume(totalValues);
+    }
+}
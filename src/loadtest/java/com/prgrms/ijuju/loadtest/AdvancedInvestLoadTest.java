@@ -0,0 +1,167 @@
+package com.prgrms.ijuju.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.prgrms.ijuju.IjujuApplication;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.clock.GameClock;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.entity.AdvancedInvest;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.repository.AdvancedInvestRepository;
+import com.prgrms.ijuju.global.util.JwtUtil;
+import com.prgrms.ijuju.global.websocket.OutboundMetrics;
+import com.prgrms.ijuju.global.websocket.OutboundSessions;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 고급 투자 웹소켓 게임 부하 테스트.  ./gradlew loadTest -Ploadtest.clients=500 -Ploadtest.script=trader
+ *
+ * 1. loadtest 프로필(H2 메모리 DB)로 서버를 띄우고, 게임 시계를 빠르게 돌린다 (기본 게임 속 1초 = 10ms)
+ * 2. 가짜 시세와 회원을 넣는다
+ * 3. 클라이언트마다 가상 스레드 하나로 접속해서 시나리오를 끝까지 실행한다
+ * 4. 액션별 지연시간 분포, 에러, 틱 지터, GameClock / 보내기 버퍼 지표를 출력하고 build/loadtest 에 JSON 으로 남긴다
+ * 에러가 있거나 p99 기준(loadtest.max-p99-millis)을 넘으면 0 이 아닌 코드로 끝나서 CI 에서 비교할 수 있습니다.
+ *
+ * 주의: 채팅 쪽이 시작할 때 Redis 에 ping 을 하기 때문에 로컬 Redis(localhost:6379)는 떠 있어야 합니다.
+ * 오전 6시~8시에는 게임 시작이 막혀 있으니 그 시간에는 돌리지 마세요.
+ */
+public class AdvancedInvestLoadTest {
+
+    private static final long TOKEN_MINUTES = 60;
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        LoadScript script = LoadScript.load(config.script());
+
+        System.setProperty("spring.profiles.active", "loadtest");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(IjujuApplication.class)
+                .properties(
+                        "server.port=0",
+                        "adv.game-clock.tick-millis=" + config.tickMillis(),
+                        "adv.cohort.enabled=" + config.cohort()
+                )
+                .run(args);
+
+        int exitCode;
+        try {
+            exitCode = run(context, config, script);
+        } finally {
+            context.close();
+        }
+        System.exit(exitCode);
+    }
+
+    private static int run(ConfigurableApplicationContext context, LoadTestConfig config, LoadScript script)
+            throws Exception {
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        URI uri = URI.create("ws://localhost:" + port + "/api/v1/advanced-invest");
+
+        LoadTestSeeder seeder = new LoadTestSeeder(context);
+        seeder.seedMarket(config.symbols(), config.seed());
+        List<Long> memberIds = seeder.seedMembers(config.clients());
+
+        AdvancedInvestRepository advancedInvestRepository = context.getBean(AdvancedInvestRepository.class);
+        LoadTestMetrics metrics = new LoadTestMetrics();
+
+        long started = System.nanoTime();
+        try (HttpClient httpClient = HttpClient.newHttpClient();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long rampUpStepNanos = TimeUnit.MILLISECONDS.toNanos(config.rampUpMillis()) / Math.max(1, memberIds.size());
+            for (int i = 0; i < memberIds.size(); i++) {
+                long memberId = memberIds.get(i);
+                long delayNanos = rampUpStepNanos * i;
+                GameClient client = new GameClient(memberId, accessToken(memberId, i), uri, config, metrics,
+                        id -> advancedInvestRepository.findTopByMemberIdOrderByIdDesc(id).map(AdvancedInvest::getId));
+                executor.submit(() -> {
+                    TimeUnit.NANOSECONDS.sleep(delayNanos);
+                    client.run(httpClient, script);
+                    return null;
+                });
+            }
+        } // executor close 가 모든 클라이언트를 기다린다
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        Map<String, Object> report = report(config, script, metrics, context, elapsedMillis);
+        Path reportFile = write(config.reportDirectory(), report);
+
+        System.out.println(new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(report));
+        System.out.println("리포트: " + reportFile.toAbsolutePath());
+
+        return verdict(config, metrics);
+    }
+
+    private static String accessToken(long memberId, int index) {
+        return JwtUtil.encodeAccessToken(TOKEN_MINUTES, Map.of(
+                "id", Long.toString(memberId),
+                "loginId", "load-" + index,
+                "authorities", List.of("ROLE_MEMBER")
+        ));
+    }
+
+    private static Map<String, Object> report(LoadTestConfig config, LoadScript script, LoadTestMetrics metrics,
+                                              ConfigurableApplicationContext context, long elapsedMillis) {
+        Map<String, Object> configSection = new LinkedHashMap<>();
+        configSection.put("clients", config.clients());
+        configSection.put("script", script.name());
+        configSection.put("tickMillis", config.tickMillis());
+        configSection.put("rampUpMillis", config.rampUpMillis());
+        configSection.put("symbols", config.symbols());
+        configSection.put("seed", config.seed());
+        configSection.put("cohort", config.cohort());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("commit", config.commit());
+        report.put("finishedAt", Instant.now().toString());
+        report.put("config", configSection);
+        report.put("elapsedMillis", elapsedMillis);
+        report.put("completedGames", metrics.completedGames.get());
+        report.put("latencyMicros", metrics.latencySummaries());
+        report.put("tickJitterMicros", metrics.tickJitter.summary());
+        report.put("errors", metrics.errorCounts());
+        report.put("gameClock", context.getBean(GameClock.class).getMetrics());
+        OutboundMetrics outbound = context.getBean(OutboundSessions.class).getMetrics();
+        report.put("outbound", Map.of(
+                "maxQueueDepth", outbound.maxQueueDepth(),
+                "coalescedMessages", outbound.coalescedMessages(),
+                "closedSlowClients", outbound.closedSlowClients()
+        ));
+        return report;
+    }
+
+    private static Path write(Path directory, Map<String, Object> report) throws Exception {
+        Files.createDirectories(directory);
+        Path file = directory.resolve("advanced-invest-" + report.get("commit") + "-" + System.currentTimeMillis() + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        return file;
+    }
+
+    private static int verdict(LoadTestConfig config, LoadTestMetrics metrics) {
+        int exitCode = 0;
+        if (metrics.totalErrors() > 0) {
+            System.err.println("에러 " + metrics.totalErrors() + "건");
+            exitCode = 1;
+        }
+        if (config.maxP99Millis() > 0) {
+            long limitMicros = TimeUnit.MILLISECONDS.toMicros(config.maxP99Millis());
+            for (Map.Entry<String, Map<String, Long>> entry : metrics.latencySummaries().entrySet()) {
+                long p99 = entry.getValue().get("p99");
+                if (p99 > limitMicros) {
+                    System.err.println(entry.getKey() + " p99 " + p99 + "us > " + limitMicros + "us");
+                    exitCode = 2;
+                }
+            }
+        }
+        return exitCode;
+    }
+}
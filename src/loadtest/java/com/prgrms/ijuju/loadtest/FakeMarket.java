@@ -0,0 +1,66 @@
+package com.prgrms.ijuju.loadtest;
+
+import com.prgrms.ijuju.domain.stock.adv.advstock.constant.DataType;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.StockSeries;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Polygon 없이 게임을 돌리기 위한 가짜 시세 입니다. 같은 seed 면 항상 같은 시세가 나옵니다.
+ * 시간봉 기준 Reference 5일(35개), Live 1일(7개), Forecast 2일(14개) 를 랜덤 워크로 만듭니다.
+ */
+final class FakeMarket {
+
+    private static final int HOURS_PER_DAY = 7;
+    private static final long HOUR_MILLIS = 3_600_000L;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 11, 4);
+
+    private FakeMarket() {
+    }
+
+    static List<StockSeries> generate(List<String> symbols, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<StockSeries> market = new ArrayList<>(symbols.size() * 3);
+        for (String symbol : symbols) {
+            double price = 50 + random.nextDouble(400);
+            StockSeries reference = walk(symbol, DataType.REFERENCE, FIRST_DAY, 5, price, random);
+            StockSeries live = walk(symbol, DataType.LIVE, FIRST_DAY.plusDays(7), 1, reference.latestClosePrice(), random);
+            StockSeries forecast = walk(symbol, DataType.FORECAST, FIRST_DAY.plusDays(8), 2, live.latestClosePrice(), random);
+            market.add(reference);
+            market.add(live);
+            market.add(forecast);
+        }
+        return market;
+    }
+
+    private static StockSeries walk(String symbol, DataType dataType, LocalDate firstDay, int days, double price,
+                                    SplittableRandom random) {
+        int size = days * HOURS_PER_DAY;
+        double[] open = new double[size];
+        double[] high = new double[size];
+        double[] low = new double[size];
+        double[] close = new double[size];
+        long[] volumes = new long[size];
+        long[] timestamps = new long[size];
+
+        for (int i = 0; i < size; i++) {
+            LocalDate day = firstDay.plusDays(i / HOURS_PER_DAY);
+            open[i] = round(price);
+            price = Math.max(1, price * (1 + (random.nextDouble() - 0.5) * 0.02));
+            close[i] = round(price);
+            high[i] = round(Math.max(open[i], close[i]) * (1 + random.nextDouble() * 0.005));
+            low[i] = round(Math.min(open[i], close[i]) * (1 - random.nextDouble() * 0.005));
+            volumes[i] = 100_000 + random.nextLong(900_000);
+            timestamps[i] = day.atTime(14, 30).toInstant(ZoneOffset.UTC).toEpochMilli() + (i % HOURS_PER_DAY) * HOUR_MILLIS;
+        }
+        return new StockSeries(symbol, symbol + " Name", dataType, open, high, low, close, volumes, timestamps);
+    }
+
+    private static double round(double price) {
+        return Math.round(price * 100) / 100.0;
+    }
+}
@@ -0,0 +1,245 @@
+package com.prgrms.ijuju.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.constant.GamePhase;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+/**
+ * 고급 투자 웹소켓 클라이언트 하나 입니다. 가상 스레드 하나에서 LoadScript 를 순서대로 실행합니다.
+ *
+ * 서버는 요청마다 응답 메시지를 하나 보내고, 그 사이사이에 시세(JSON 배열)와 종료 신호가 끼어듭니다.
+ * - JSON 배열        : 시세 틱. 도착 시각을 남겨 두고 나중에 지터를 계산한다
+ * - "게임 종료"      : 종료 신호
+ * - {"volumes": ...} : GET_VOLUMES 의 데이터. 바로 뒤에 확인 메시지가 온다
+ * - {"portfolio": ...} : LiveData 뒤에 오는 평가 손익. 응답이 아니다
+ * - {"report": ...}    : 게임이 끝날 때 오는 결과 보고서. 응답이 아니다
+ * - 그 외            : 직전 요청에 대한 응답
+ * 요청은 한번에 하나만 보내기 때문에 응답은 보낸 순서대로 짝이 맞습니다.
+ */
+class GameClient implements WebSocket.Listener {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String END_SIGNAL = "\"게임 종료\"";
+    private static final Duration REPLY_TIMEOUT = Duration.ofSeconds(10);
+
+    private final long memberId;
+    private final String token;
+    private final URI uri;
+    private final LoadTestConfig config;
+    private final LoadTestMetrics metrics;
+    private final LongFunction<Optional<Long>> advIdResolver;
+
+    private final BlockingQueue<String> replies = new LinkedBlockingQueue<>();
+    private final Semaphore ticks = new Semaphore(0);
+    private final List<Long> tickArrivals = new ArrayList<>(); // 리스너 스레드가 쓰고 WAIT_END 이후에 읽는다
+    private final CountDownLatch closed = new CountDownLatch(1);
+    private final StringBuilder partial = new StringBuilder();
+    private volatile long endArrival;
+
+    private WebSocket socket;
+    private Long advId;
+
+    GameClient(long memberId, String token, URI uri, LoadTestConfig config, LoadTestMetrics metrics,
+               LongFunction<Optional<Long>> advIdResolver) {
+        this.memberId = memberId;
+        this.token = token;
+        this.uri = uri;
+        this.config = config;
+        this.metrics = metrics;
+        this.advIdResolver = advIdResolver;
+    }
+
+    void run(HttpClient httpClient, LoadScript script) {
+        long start = System.nanoTime();
+        try {
+            socket = httpClient.newWebSocketBuilder()
+                    .connectTimeout(REPLY_TIMEOUT)
+                    .buildAsync(URI.create(uri + "?authorization=Bearer%20" + token), this)
+                    .get(REPLY_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            metrics.recordLatency("CONNECT", System.nanoTime() - start);
+
+            for (LoadScript.Step step : script.steps()) {
+                if (!execute(step)) {
+                    return; // 더 진행해도 의미 없는 실패
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            metrics.recordError("client: " + e.getClass().getSimpleName());
+        } finally {
+            if (socket != null && !socket.isOutputClosed()) {
+                socket.abort();
+            }
+        }
+    }
+
+    private boolean execute(LoadScript.Step step) throws Exception {
+        return switch (step.command()) {
+            case START -> start();
+            case WAIT_TICK -> waitTick();
+            case WAIT_END -> waitEnd();
+            case BUY -> request("BUY_STOCK", trade("BUY_STOCK", step));
+            case SELL -> request("SELL_STOCK", trade("SELL_STOCK", step));
+            case GET_VOLUMES -> request("GET_VOLUMES", message("GET_VOLUMES", Map.of("stockSymbol", step.symbol())));
+            case REMAINING_TIME -> request("GET_REMAINING_TIME", message("GET_REMAINING_TIME", Map.of()));
+        };
+    }
+
+    private boolean start() throws Exception {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("action", "START_GAME");
+        body.put("memberId", memberId);
+        if (!request("START_GAME", OBJECT_MAPPER.writeValueAsString(body))) {
+            return false;
+        }
+        advId = advIdResolver.apply(memberId).orElse(null);
+        if (advId == null) {
+            metrics.recordError("START_GAME: 게임 id 를 찾을 수 없음");
+            return false;
+        }
+        return true;
+    }
+
+    private boolean waitTick() throws InterruptedException {
+        if (!ticks.tryAcquire(gameMillis() + REPLY_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            metrics.recordError("WAIT_TICK: timeout");
+            return false;
+        }
+        return true;
+    }
+
+    private boolean waitEnd() throws InterruptedException {
+        if (!closed.await(gameMillis() + REPLY_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS) || endArrival == 0) {
+            metrics.recordError("WAIT_END: 종료 신호 없음");
+            return false;
+        }
+        recordTickJitter();
+        metrics.completedGames.incrementAndGet();
+        return true;
+    }
+
+    // Reference 도착 시각을 0초로 두고, Live 0~5 와 종료 신호가 예정된 시각에서 얼마나 벗어났는지
+    private void recordTickJitter() {
+        List<Long> arrivals;
+        synchronized (tickArrivals) {
+            arrivals = List.copyOf(tickArrivals);
+        }
+        if (arrivals.isEmpty()) {
+            return;
+        }
+        long origin = arrivals.get(0);
+        long tickNanos = TimeUnit.MILLISECONDS.toNanos(config.tickMillis());
+        for (int i = 1; i < arrivals.size() && i <= GamePhase.LIVE_PHASE_COUNT; i++) {
+            int dueSecond = GamePhase.LIVE_START_SECOND + (i - 1) * GamePhase.LIVE_INTERVAL_SECONDS;
+            metrics.tickJitter.recordNanos(Math.abs(arrivals.get(i) - origin - dueSecond * tickNanos));
+        }
+        metrics.tickJitter.recordNanos(Math.abs(endArrival - origin - GamePhase.GAME_SECONDS * tickNanos));
+    }
+
+    private boolean request(String action, String json) throws InterruptedException {
+        long start = System.nanoTime();
+        socket.sendText(json, true).join();
+        String reply = replies.poll(REPLY_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        if (reply == null) {
+            metrics.recordError(action + ": timeout");
+            return false;
+        }
+        if (isError(reply)) {
+            metrics.recordError(action + ": " + reply);
+            return !action.equals("START_GAME");
+        }
+        metrics.recordLatency(action, System.nanoTime() - start);
+        return true;
+    }
+
+    private String trade(String action, LoadScript.Step step) throws JsonProcessingException {
+        return message(action, Map.of(
+                "stockSymbol", step.symbol(),
+                "quantity", step.quantity(),
+                "points", 1 // 서버가 최신 종가로 다시 계산한다. 0 보다 크기만 하면 된다
+        ));
+    }
+
+    private String message(String action, Map<String, Object> fields) throws JsonProcessingException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("action", action);
+        body.put("advId", advId);
+        body.put("memberId", memberId);
+        body.putAll(fields);
+        return OBJECT_MAPPER.writeValueAsString(body);
+    }
+
+    private static boolean isError(String reply) {
+        return reply.startsWith("\"서버에서") || reply.startsWith("\"요청이") || reply.startsWith("\"알 수 없는");
+    }
+
+    private long gameMillis() {
+        return GamePhase.GAME_SECONDS * config.tickMillis();
+    }
+
+    // WebSocket.Listener. JDK 클라이언트는 콜백을 한번에 하나씩만 부른다
+
+    @Override
+    public void onOpen(WebSocket webSocket) {
+        webSocket.request(1);
+    }
+
+    @Override
+    public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+        partial.append(data);
+        if (last) {
+            handle(partial.toString());
+            partial.setLength(0);
+        }
+        webSocket.request(1);
+        return null;
+    }
+
+    @Override
+    public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+        closed.countDown();
+        return null;
+    }
+
+    @Override
+    public void onError(WebSocket webSocket, Throwable error) {
+        metrics.recordError("socket: " + error.getClass().getSimpleName());
+        closed.countDown();
+    }
+
+    private static boolean isPush(String message) {
+        return message.startsWith("{\"volumes\"") || message.startsWith("{\"portfolio\"") || message.startsWith("{\"report\"");
+    }
+
+    private void handle(String message) {
+        long now = System.nanoTime();
+        if (message.startsWith("[")) {
+            synchronized (tickArrivals) {
+                tickArrivals.add(now);
+            }
+            ticks.release();
+        } else if (message.equals(END_SIGNAL)) {
+            endArrival = now;
+        } else if (!isPush(message)) {
+            replies.add(message);
+        }
+    }
+}
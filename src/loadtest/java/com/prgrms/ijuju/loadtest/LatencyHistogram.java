@@ -0,0 +1,90 @@
+package com.prgrms.ijuju.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 마이크로초 단위 지연 시간 히스토그램 입니다. 여러 클라이언트 스레드가 동시에 기록합니다.
+ *
+ * 1,024us 미만은 1us 단위, 그 이상은 2의 거듭제곱 구간마다 512칸으로 나눕니다 (HdrHistogram 과 같은 log-linear 방식).
+ * 그래서 어느 구간이든 오차가 0.2% 이내이고, 메모리는 값 범위와 상관없이 고정입니다.
+ */
+public class LatencyHistogram {
+
+    private static final int LINEAR_LIMIT = 1024;
+    private static final int SUB_BUCKET_BITS = 9;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40; // 2^40us ≈ 12일
+
+    private final AtomicLongArray counts = new AtomicLongArray(LINEAR_LIMIT + (MAX_EXPONENT - 9) * SUB_BUCKETS);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public void recordNanos(long nanos) {
+        record(Math.max(0, nanos / 1_000));
+    }
+
+    public void record(long micros) {
+        counts.incrementAndGet(indexOf(micros));
+        totalCount.incrementAndGet();
+        totalMicros.addAndGet(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    public long count() {
+        return totalCount.get();
+    }
+
+    public long percentile(double percentile) {
+        long total = totalCount.get();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= Math.max(1, rank)) {
+                return Math.min(valueOf(i), maxMicros.get());
+            }
+        }
+        return maxMicros.get();
+    }
+
+    // 리포트(JSON) 에 그대로 쓰는 요약. 단위 us
+    public Map<String, Long> summary() {
+        Map<String, Long> summary = new LinkedHashMap<>();
+        long count = count();
+        summary.put("count", count);
+        summary.put("mean", count == 0 ? 0 : totalMicros.get() / count);
+        summary.put("p50", percentile(50));
+        summary.put("p90", percentile(90));
+        summary.put("p99", percentile(99));
+        summary.put("p999", percentile(99.9));
+        summary.put("max", maxMicros.get());
+        return summary;
+    }
+
+    static int indexOf(long micros) {
+        if (micros < LINEAR_LIMIT) {
+            return (int) micros;
+        }
+        int exponent = Math.min(63 - Long.numberOfLeadingZeros(micros), MAX_EXPONENT);
+        int subBucket = (int) ((micros >> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return LINEAR_LIMIT + (exponent - 10) * SUB_BUCKETS + subBucket;
+    }
+
+    // 구간의 하한값
+    static long valueOf(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int offset = index - LINEAR_LIMIT;
+        int exponent = offset / SUB_BUCKETS + 10;
+        int subBucket = offset % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+}
@@ -0,0 +1,97 @@
+package com.prgrms.ijuju.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 클라이언트 하나가 게임 한판 동안 실행하는 시나리오 입니다. 한 줄에 명령 하나이고 # 뒤는 주석입니다.
+ *
+ * START                  게임 시작 (START_GAME)
+ * WAIT_TICK              다음 시세(Reference, Live) 메시지까지 대기
+ * WAIT_END               게임 종료 신호와 연결 종료까지 대기
+ * BUY {symbol} {qty}     BUY_STOCK
+ * SELL {symbol} {qty}    SELL_STOCK
+ * GET_VOLUMES {symbol}   GET_VOLUMES
+ * REMAINING_TIME         GET_REMAINING_TIME
+ * REPEAT {n} ... END     블록 반복 (중첩 가능)
+ *
+ * 예시는 src/loadtest/resources/scripts 참고
+ */
+public record LoadScript(String name, List<Step> steps) {
+
+    public enum Command {
+        START, WAIT_TICK, WAIT_END, BUY, SELL, GET_VOLUMES, REMAINING_TIME
+    }
+
+    public record Step(Command command, String symbol, int quantity) {
+    }
+
+    // classpath:scripts/{name}.txt 를 먼저 찾고, 없으면 파일 경로로 본다
+    public static LoadScript load(String nameOrPath) throws IOException {
+        try (InputStream in = LoadScript.class.getResourceAsStream("/scripts/" + nameOrPath + ".txt")) {
+            if (in != null) {
+                return parse(nameOrPath, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        Path path = Path.of(nameOrPath);
+        return parse(path.getFileName().toString(), Files.readString(path));
+    }
+
+    public static LoadScript parse(String name, String text) {
+        List<String[]> lines = new ArrayList<>();
+        for (String raw : text.split("\n")) {
+            String line = raw.replaceAll("#.*", "").trim();
+            if (!line.isEmpty()) {
+                lines.add(line.split("\\s+"));
+            }
+        }
+        Iterator<String[]> iterator = lines.iterator();
+        List<Step> steps = parseBlock(iterator, false);
+        return new LoadScript(name, List.copyOf(steps));
+    }
+
+    private static List<Step> parseBlock(Iterator<String[]> lines, boolean nested) {
+        List<Step> steps = new ArrayList<>();
+        while (lines.hasNext()) {
+            String[] tokens = lines.next();
+            String keyword = tokens[0].toUpperCase(Locale.ROOT);
+            switch (keyword) {
+                case "END" -> {
+                    if (!nested) {
+                        throw new IllegalArgumentException("REPEAT 없이 END 가 나왔습니다");
+                    }
+                    return steps;
+                }
+                case "REPEAT" -> {
+                    int times = Integer.parseInt(argument(tokens, 1));
+                    List<Step> block = parseBlock(lines, true);
+                    for (int i = 0; i < times; i++) {
+                        steps.addAll(block);
+                    }
+                }
+                case "BUY", "SELL" -> steps.add(new Step(Command.valueOf(keyword),
+                        argument(tokens, 1), Integer.parseInt(argument(tokens, 2))));
+                case "GET_VOLUMES" -> steps.add(new Step(Command.GET_VOLUMES, argument(tokens, 1), 0));
+                default -> steps.add(new Step(Command.valueOf(keyword), null, 0));
+            }
+        }
+        if (nested) {
+            throw new IllegalArgumentException("REPEAT 블록이 END 로 닫히지 않았습니다");
+        }
+        return steps;
+    }
+
+    private static String argument(String[] tokens, int index) {
+        if (tokens.length <= index) {
+            throw new IllegalArgumentException("인자가 부족합니다: " + String.join(" ", tokens));
+        }
+        return tokens[index];
+    }
+}
@@ -0,0 +1,47 @@
+package com.prgrms.ijuju.loadtest;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 부하 테스트 설정. 모두 시스템 프로퍼티(loadtest.*)로 받고, gradle 에서는 -Ploadtest.clients=500 처럼 넘깁니다.
+ *
+ * @param clients       동시에 게임을 하는 클라이언트 수
+ * @param script        시나리오 이름(resources/scripts) 또는 파일 경로
+ * @param tickMillis    게임 속 1초의 실제 길이. 10 이면 7분 게임이 4.2초
+ * @param rampUpMillis  클라이언트를 이 시간 동안 나눠서 접속시킨다
+ * @param maxP99Millis  0 보다 크면, 어떤 액션이든 p99 가 이 값을 넘을 때 실패로 끝낸다
+ * @param cohort        코호트 모드(adv.cohort.enabled)로 서버를 띄운다
+ */
+record LoadTestConfig(
+        int clients,
+        String script,
+        long tickMillis,
+        long rampUpMillis,
+        List<String> symbols,
+        long seed,
+        Path reportDirectory,
+        String commit,
+        long maxP99Millis,
+        boolean cohort
+) {
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Integer.getInteger("loadtest.clients", 200),
+                System.getProperty("loadtest.script", "trader"),
+                Long.getLong("loadtest.tick-millis", 10),
+                Long.getLong("loadtest.ramp-up-millis", 2_000),
+                Arrays.stream(System.getProperty("loadtest.symbols", "AAPL,MSFT,AMZN,TSLA").split(","))
+                        .map(String::trim)
+                        .filter(symbol -> !symbol.isEmpty())
+                        .toList(),
+                Long.getLong("loadtest.seed", 42),
+                Path.of(System.getProperty("loadtest.report-dir", "build/loadtest")),
+                System.getProperty("loadtest.commit", "unknown"),
+                Long.getLong("loadtest.max-p99-millis", 0),
+                Boolean.getBoolean("loadtest.cohort")
+        );
+    }
+}
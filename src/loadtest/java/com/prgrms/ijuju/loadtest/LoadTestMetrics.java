@@ -0,0 +1,39 @@
+package com.prgrms.ijuju.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 모든 클라이언트가 같이 쓰는 측정값
+class LoadTestMetrics {
+
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+    final LatencyHistogram tickJitter = new LatencyHistogram();
+    final AtomicLong completedGames = new AtomicLong();
+
+    void recordLatency(String action, long nanos) {
+        latencies.computeIfAbsent(action, key -> new LatencyHistogram()).recordNanos(nanos);
+    }
+
+    void recordError(String reason) {
+        errors.computeIfAbsent(reason, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    Map<String, Map<String, Long>> latencySummaries() {
+        Map<String, Map<String, Long>> summaries = new TreeMap<>();
+        latencies.forEach((action, histogram) -> summaries.put(action, histogram.summary()));
+        return summaries;
+    }
+
+    Map<String, Long> errorCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        errors.forEach((reason, count) -> counts.put(reason, count.get()));
+        return counts;
+    }
+
+    long totalErrors() {
+        return errors.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+}
@@ -0,0 +1,76 @@
+package com.prgrms.ijuju.loadtest;
+
+import com.prgrms.ijuju.domain.member.entity.Member;
+import com.prgrms.ijuju.domain.member.entity.Role;
+import com.prgrms.ijuju.domain.member.repository.MemberRepository;
+import com.prgrms.ijuju.domain.stock.adv.advstock.constant.DataType;
+import com.prgrms.ijuju.domain.stock.adv.advstock.service.AdvStockService;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.MarketSnapshotHolder;
+import com.prgrms.ijuju.domain.wallet.entity.Wallet;
+import com.prgrms.ijuju.domain.wallet.repository.WalletRepository;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 부하 테스트용 데이터를 넣습니다. H2 메모리 DB 라 실행할 때마다 새로 만듭니다.
+ * - 시세: FakeMarket 을 AdvStockService.replaceAll 로 저장. 커밋 후 MarketSnapshot 이 새로 만들어진다
+ * - 회원: 클라이언트 수만큼 회원과 지갑(포인트 충분히)
+ */
+class LoadTestSeeder {
+
+    private static final long STARTING_POINTS = 100_000_000L;
+
+    private final ApplicationContext context;
+    private final TransactionTemplate transactionTemplate;
+
+    LoadTestSeeder(ApplicationContext context) {
+        this.context = context;
+        this.transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    void seedMarket(List<String> symbols, long seed) throws InterruptedException {
+        context.getBean(AdvStockService.class).replaceAll(FakeMarket.generate(symbols, seed));
+
+        // 스냅샷 교체는 커밋 이후 이벤트로 일어난다
+        MarketSnapshotHolder holder = context.getBean(MarketSnapshotHolder.class);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (holder.current().isEmpty(DataType.LIVE)) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("시세 스냅샷이 만들어지지 않았습니다");
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    List<Long> seedMembers(int count) {
+        MemberRepository memberRepository = context.getBean(MemberRepository.class);
+        WalletRepository walletRepository = context.getBean(WalletRepository.class);
+
+        return transactionTemplate.execute(status -> {
+            List<Long> memberIds = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Member member = memberRepository.save(Member.builder()
+                        .loginId("load-" + i)
+                        .pw("load-test")
+                        .username("load-" + i)
+                        .email("load-" + i + "@loadtest.local")
+                        .birth(LocalDate.of(2015, 1, 1))
+                        .role(Role.USER)
+                        .build());
+                walletRepository.save(Wallet.builder()
+                        .member(member)
+                        .currentPoints(STARTING_POINTS)
+                        .currentCoins(0L)
+                        .build());
+                memberIds.add(member.getId());
+            }
+            return memberIds;
+        });
+    }
+}
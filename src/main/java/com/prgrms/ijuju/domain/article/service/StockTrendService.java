@@ -6,8 +6,7 @@ import com.prgrms.ijuju.domain.article.data.Trend;
 import com.prgrms.ijuju.domain.article.exception.ArticleErrorCode;
 import com.prgrms.ijuju.domain.article.exception.ArticleNotFoundException;
 import com.prgrms.ijuju.domain.stock.adv.advstock.constant.DataType;
-import com.prgrms.ijuju.domain.stock.adv.advstock.entity.AdvStock;
-import com.prgrms.ijuju.domain.stock.adv.advstock.repository.AdvStockRepository;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.MarketSnapshotHolder;
 import com.prgrms.ijuju.domain.stock.mid.dto.response.MidStockResponse;
 import com.prgrms.ijuju.domain.stock.mid.entity.MidStock;
 import com.prgrms.ijuju.domain.stock.mid.entity.MidStockPrice;
@@ -28,7 +27,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class StockTrendService {
 
-    private final AdvStockRepository advStockRepository;
+    private final MarketSnapshotHolder marketSnapshotHolder;
     private final AdvTrendAnalyzer advTrendAnalyzer;
 
     private final MidStockRepository midStockRepository;
@@ -36,11 +35,9 @@ public class StockTrendService {
     private final MidTrendAnalyzer midTrendAnalyzer;
 
 
-    @Transactional(readOnly = true)
+    // Forecast 데이터는 MarketSnapshot 에 이미 올라와 있어 DB 를 읽지 않습니다
     public List<Trend> analyzeTrendsForAdvStock() {
-        List<AdvStock> forecastStocks = advStockRepository.findByDataType(DataType.FORECAST);
-
-        return forecastStocks.stream()
+        return marketSnapshotHolder.current().seriesOf(DataType.FORECAST).stream()
                 .flatMap(stock -> advTrendAnalyzer.analyzeTrends(stock).stream())
                 .collect(Collectors.toList());
     }
@@ -0,0 +1,219 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.clock;
+
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.constant.GamePhase;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 모든 고급 투자 게임이 공유하는 게임 시계 입니다.
+ *
+ * 예전에는 게임마다 scheduleAtFixedRate 작업을 하나씩 걸었기 때문에, 스레드 하나가 모든 게임의 매 초를 돌렸고
+ * sendLiveData 하나가 느리면 다른 게임이 전부 밀렸습니다.
+ *
+ * 지금은 해시드 타이밍 휠(Hashed Timing Wheel) 방식입니다.
+ * - 틱 스레드 하나가 1초에 한번 바퀴를 한 칸 돌리고, 해당 칸에서 시간이 된 타이머들만 꺼냅니다.
+ * - 게임마다 바퀴에 걸리는 건 다음 이벤트(Reference, Live 0~5, End) 하나 뿐이라, 게임 하나당 7분 동안 8번만 처리됩니다.
+ * - 실제 전송(DB 조회, 웹소켓 전송)은 가상 스레드에서 실행되어 틱 스레드를 막지 않습니다.
+ * - 틱 시각은 시작 시각 + n초 로 계산하기 때문에, 한 틱이 늦어져도 다음 틱에서 따라잡고 오차가 누적되지 않습니다.
+ *
+ * 참고 >> Netty HashedWheelTimer, https://netty.io/4.1/api/io/netty/util/HashedWheelTimer.html
+ */
+@Slf4j
+@Component
+public class GameClock {
+
+    private static final int DEFAULT_WHEEL_SIZE = 512; // 2의 제곱수. 게임 길이(420초)보다 크게 잡아 대부분 한 바퀴 안에 처리된다
+
+    private final long tickNanos;
+    private final int mask;
+    private final ArrayDeque<GameTimer>[] wheel; // 틱 스레드만 접근
+    private final Queue<GameTimer> pendingTimers = new ConcurrentLinkedQueue<>();
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+
+    private volatile long tick = 0;
+    private volatile boolean running = false;
+    private Thread tickThread;
+
+    // metrics
+    private final AtomicInteger activeTimers = new AtomicInteger();
+    private final AtomicLong dispatchedEvents = new AtomicLong();
+    private volatile long lastTickLagNanos = 0;
+    private volatile long maxTickLagNanos = 0;
+
+    // 게임 속 1초의 실제 길이. 운영은 1000ms, 부하 테스트는 줄여서 7분 게임을 몇 초 만에 돌린다
+    @Autowired
+    public GameClock(@Value("${adv.game-clock.tick-millis:1000}") long tickMillis) {
+        this(TimeUnit.MILLISECONDS.toNanos(tickMillis), DEFAULT_WHEEL_SIZE);
+    }
+
+    // 테스트에서 틱 간격을 줄이기 위한 생성자
+    @SuppressWarnings("unchecked")
+    GameClock(long tickNanos, int wheelSize) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize 는 2의 제곱수여야 합니다: " + wheelSize);
+        }
+        this.tickNanos = tickNanos;
+        this.mask = wheelSize - 1;
+        this.wheel = new ArrayDeque[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        tickThread = Thread.ofPlatform()
+                .name("adv-game-clock")
+                .daemon(true)
+                .start(this::runTicks);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (tickThread != null) {
+            tickThread.interrupt();
+        }
+        dispatcher.shutdown();
+        try {
+            if (!dispatcher.awaitTermination(5, TimeUnit.SECONDS)) {
+                dispatcher.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            dispatcher.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 타이머 등록. 타이머 상태는 틱 스레드만 바꾸기 때문에 여기서는 큐에 넣기만 하고,
+    // 시작 시점(startSecond)에 해당하는 이벤트도 다음 틱에 틱 스레드가 실행한다
+    public void schedule(GameTimer timer) {
+        timer.attach(this, tick);
+        activeTimers.incrementAndGet();
+        pendingTimers.add(timer);
+    }
+
+    public long currentTick() {
+        return tick;
+    }
+
+    public GameClockMetrics getMetrics() {
+        return new GameClockMetrics(
+                tick,
+                TimeUnit.NANOSECONDS.toMillis(lastTickLagNanos),
+                TimeUnit.NANOSECONDS.toMillis(maxTickLagNanos),
+                activeTimers.get(),
+                dispatchedEvents.get()
+        );
+    }
+
+    void onTimerFinished() {
+        activeTimers.decrementAndGet();
+    }
+
+    private void runTicks() {
+        long startNanos = System.nanoTime();
+        while (running) {
+            long deadline = startNanos + (tick + 1) * tickNanos;
+            long waitNanos = deadline - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+                continue;
+            }
+
+            recordLag(-waitNanos);
+            try {
+                advance();
+            } catch (Exception e) {
+                // 틱 스레드는 절대 죽으면 안된다
+                log.error("게임 시계 틱 처리 중 오류 발생: tick={}", tick, e);
+            }
+        }
+    }
+
+    private void advance() {
+        long current = tick + 1;
+        tick = current;
+
+        transferPendingTimers(current);
+
+        ArrayDeque<GameTimer> bucket = wheel[(int) (current & mask)];
+        int size = bucket.size();
+        for (int i = 0; i < size; i++) {
+            GameTimer timer = bucket.poll();
+            if (timer.isCancelled()) {
+                continue;
+            }
+            if (timer.deadlineTick > current) { // 아직 바퀴를 더 돌아야 하는 타이머
+                bucket.add(timer);
+                continue;
+            }
+            fire(timer);
+            if (!timer.isCancelled()) {
+                wheel[(int) (timer.deadlineTick & mask)].add(timer);
+            }
+        }
+    }
+
+    private void transferPendingTimers(long current) {
+        GameTimer timer;
+        while ((timer = pendingTimers.poll()) != null) {
+            if (timer.isCancelled()) {
+                continue;
+            }
+            long deadline = Math.max(timer.deadlineTick, current);
+            wheel[(int) (deadline & mask)].add(timer);
+        }
+    }
+
+    // 이벤트를 가상 스레드로 넘기고, 타이머를 다음 이벤트 시점으로 옮긴다
+    private void fire(GameTimer timer) {
+        int dueSecond = timer.dueSecond;
+        GamePhase phase = GamePhase.of(dueSecond);
+        int livePhase = phase == GamePhase.LIVE ? GamePhase.livePhaseOf(dueSecond) : -1;
+
+        if (phase == GamePhase.END) {
+            if (timer.finish()) {
+                onTimerFinished();
+            }
+        } else {
+            timer.dueSecond = GamePhase.nextDueSecond(dueSecond + 1);
+            timer.deadlineTick = timer.tickOf(timer.dueSecond);
+        }
+
+        dispatchedEvents.incrementAndGet();
+        GamePhaseListener listener = timer.getListener();
+        dispatcher.execute(() -> {
+            try {
+                listener.onPhase(phase, livePhase);
+            } catch (Exception e) {
+                log.error("게임 이벤트 처리 중 오류 발생: gameId={}, phase={}", timer.getGameId(), phase, e);
+            }
+        });
+    }
+
+    private void recordLag(long lagNanos) {
+        lastTickLagNanos = lagNanos;
+        if (lagNanos > maxTickLagNanos) {
+            maxTickLagNanos = lagNanos;
+        }
+        if (lagNanos > tickNanos) {
+            log.warn("게임 시계 틱 지연: {}ms, 활성 타이머: {}", TimeUnit.NANOSECONDS.toMillis(lagNanos), activeTimers.get());
+        }
+    }
+}
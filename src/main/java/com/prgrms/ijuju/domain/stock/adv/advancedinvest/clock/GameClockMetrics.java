@@ -0,0 +1,14 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.clock;
+
+/**
+ * GameClock 상태 스냅샷 입니다.
+ * tickLag 은 틱이 예정 시각보다 얼마나 늦게 처리되었는지를 뜻합니다. 계속 커진다면 틱 스레드가 밀리고 있는 것입니다.
+ */
+public record GameClockMetrics(
+        long tick,
+        long lastTickLagMillis,
+        long maxTickLagMillis,
+        int activeTimers,
+        long dispatchedEvents
+) {
+}
@@ -0,0 +1,11 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.clock;
+
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.constant.GamePhase;
+
+// GameClock 이 이벤트 시점에 가상 스레드 위에서 호출합니다
+@FunctionalInterface
+public interface GamePhaseListener {
+
+    // livePhase 는 LIVE 일때만 의미가 있습니다 (0~5)
+    void onPhase(GamePhase phase, int livePhase);
+}
@@ -0,0 +1,69 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.clock;
+
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.constant.GamePhase;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 게임 하나의 타이머 입니다. GameClock 의 바퀴에는 게임마다 "다음 이벤트" 하나만 걸려있고,
+ * 이벤트가 발생하면 그 다음 이벤트 시점으로 다시 걸립니다.
+ * 현재 초는 매 초 갱신하지 않고 시작 틱과 현재 틱의 차이로 계산합니다.
+ */
+public class GameTimer {
+
+    private final Long gameId;
+    private final int startSecond;
+    private final GamePhaseListener listener;
+    private final AtomicBoolean cancelled = new AtomicBoolean(false);
+
+    private GameClock clock;
+    private long startTick;
+
+    // 아래 필드는 틱 스레드만 수정합니다
+    int dueSecond;
+    long deadlineTick;
+
+    public GameTimer(Long gameId, int startSecond, GamePhaseListener listener) {
+        this.gameId = gameId;
+        this.startSecond = startSecond;
+        this.listener = listener;
+        this.dueSecond = GamePhase.nextDueSecond(startSecond);
+    }
+
+    void attach(GameClock clock, long startTick) {
+        this.clock = clock;
+        this.startTick = startTick;
+        this.deadlineTick = tickOf(dueSecond);
+    }
+
+    long tickOf(int second) {
+        return startTick + (second - startSecond);
+    }
+
+    public Long getGameId() { return gameId; }
+    public GamePhaseListener getListener() { return listener; }
+
+    public int getCurrentSecond() {
+        if (clock == null) {
+            return startSecond;
+        }
+        long elapsed = clock.currentTick() - startTick;
+        return (int) Math.min(GamePhase.GAME_SECONDS, startSecond + Math.max(0, elapsed));
+    }
+
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    // 타이머 취소. 바퀴에서는 다음 틱 처리 때 제거됩니다
+    public void cancel() {
+        if (cancelled.compareAndSet(false, true) && clock != null) {
+            clock.onTimerFinished();
+        }
+    }
+
+    // 마지막 이벤트(END)를 보낸 뒤 틱 스레드가 호출
+    boolean finish() {
+        return cancelled.compareAndSet(false, true);
+    }
+}
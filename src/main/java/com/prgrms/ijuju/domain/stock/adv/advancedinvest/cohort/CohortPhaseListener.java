@@ -0,0 +1,10 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.cohort;
+
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.constant.GamePhase;
+
+// 코호트의 이벤트 시점에 GameClock 가상 스레드에서 호출됩니다. 코호트 하나당 한번
+@FunctionalInterface
+public interface CohortPhaseListener {
+
+    void onPhase(GameCohort cohort, GamePhase phase, int livePhase);
+}
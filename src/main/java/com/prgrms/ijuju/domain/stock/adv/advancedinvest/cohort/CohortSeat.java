@@ -0,0 +1,5 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.cohort;
+
+// 코호트 참가 결과. missedReference 면 이미 지나간 ReferenceData 를 참가한 쪽에서 따로 보내야 한다
+public record CohortSeat(GameCohort cohort, boolean missedReference) {
+}
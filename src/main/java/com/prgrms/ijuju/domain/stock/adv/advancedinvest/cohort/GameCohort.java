@@ -0,0 +1,92 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.cohort;
+
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.clock.GameTimer;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.rule.TradeRules;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 비슷한 시각에 시작한 게임들이 같이 쓰는 게임 시간 입니다.
+ * GameClock 에는 코호트마다 GameTimer 하나만 걸리고, Reference / Live / End 이벤트도 코호트당 한번씩만 발생합니다.
+ * 게임마다 따로 가지는 건 보유 주식 장부와 일시정지 시점 뿐 입니다 (AdvancedInvestServiceImpl.GameState).
+ *
+ * 참가와 ReferenceData 전송은 같은 락 안에서 처리해서, 참가자가 Reference 를 두번 받거나 못 받는 일이 없습니다.
+ */
+public class GameCohort {
+
+    private final long id;
+    private final GameTimer timer;
+    private final Map<Long, WebSocketSession> members = new LinkedHashMap<>(); // gameId > 세션. this 로 보호
+    private boolean referenceSent;
+    private boolean closed;
+    private volatile int liveSent;
+
+    GameCohort(long id, CohortPhaseListener listener) {
+        this.id = id;
+        this.timer = new GameTimer(id, 0, (phase, livePhase) -> listener.onPhase(this, phase, livePhase));
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    GameTimer getTimer() {
+        return timer;
+    }
+
+    public int getCurrentSecond() {
+        return timer.getCurrentSecond();
+    }
+
+    public int getLiveSent() {
+        return liveSent;
+    }
+
+    // Live 이벤트는 코호트 스레드 하나에서만 발생한다
+    public boolean canSendLive() {
+        return TradeRules.canSendLive(liveSent);
+    }
+
+    public void incrementLiveSent() {
+        liveSent++;
+    }
+
+    // 참가. 이미 닫혔으면 null
+    synchronized CohortSeat tryJoin(Long gameId, WebSocketSession session) {
+        if (closed) {
+            return null;
+        }
+        members.put(gameId, session);
+        return new CohortSeat(this, referenceSent);
+    }
+
+    // 일시정지/종료된 게임이 빠진다. 마지막 참가자가 빠지면 타이머도 멈춘다
+    public synchronized void leave(Long gameId) {
+        if (members.remove(gameId) != null && members.isEmpty()) {
+            closed = true;
+            timer.cancel();
+        }
+    }
+
+    // 더 이상 참가를 받지 않음
+    synchronized void close() {
+        closed = true;
+    }
+
+    // ReferenceData 를 보낼 세션들. 이후 참가자는 missedReference 로 직접 받는다
+    public synchronized Map<Long, WebSocketSession> markReferenceSent() {
+        referenceSent = true;
+        return Map.copyOf(members);
+    }
+
+    public synchronized Map<Long, WebSocketSession> members() {
+        return Map.copyOf(members);
+    }
+
+    public synchronized List<Long> memberGameIds() {
+        return List.copyOf(members.keySet());
+    }
+}
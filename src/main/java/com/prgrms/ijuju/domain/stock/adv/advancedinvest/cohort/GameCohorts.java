@@ -0,0 +1,60 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.cohort;
+
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.clock.GameClock;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.constant.GamePhase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * 코호트 모드 (adv.cohort.enabled=true)
+ *
+ * 게임마다 시작 시점이 다르면 저녁 시간대처럼 사람이 몰릴 때 GameClock 타이머와 이벤트가 플레이어 수만큼 늘어납니다.
+ * 코호트 모드에서는 window-seconds 초 안에 시작한 게임들을 같은 코호트에 넣어서 타이머, Reference 전송, Live 전송을 한번씩만 합니다.
+ * 늦게 들어온 게임은 그만큼 장전 거래 시간이 짧아지기 때문에 window 는 몇 초 정도로 작게 둡니다.
+ */
+@Slf4j
+@Component
+public class GameCohorts {
+
+    private final GameClock gameClock;
+    private final boolean enabled;
+    private final int windowSeconds;
+
+    private GameCohort open; // 지금 참가를 받는 코호트. this 로 보호
+    private long nextId = 1;
+
+    public GameCohorts(GameClock gameClock,
+                       @Value("${adv.cohort.enabled:false}") boolean enabled,
+                       @Value("${adv.cohort.window-seconds:5}") int windowSeconds) {
+        this.gameClock = gameClock;
+        this.enabled = enabled;
+        this.windowSeconds = Math.min(windowSeconds, GamePhase.LIVE_START_SECOND); // Live 가 시작된 코호트에는 들어가지 않는다
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 열린 코호트가 시작한 지 window 초가 안 됐으면 거기에 참가하고, 아니면 새 코호트를 만든다
+    public synchronized CohortSeat join(Long gameId, WebSocketSession session, CohortPhaseListener listener) {
+        if (open != null) {
+            if (open.getCurrentSecond() < windowSeconds) {
+                CohortSeat seat = open.tryJoin(gameId, session);
+                if (seat != null) {
+                    return seat;
+                }
+            } else {
+                open.close();
+            }
+        }
+
+        GameCohort cohort = new GameCohort(nextId++, listener);
+        CohortSeat seat = cohort.tryJoin(gameId, session);
+        open = cohort;
+        gameClock.schedule(cohort.getTimer()); // Reference 이벤트는 다음 틱에 발생한다
+        log.debug("새 게임 코호트 시작: cohortId={}", cohort.getId());
+        return seat;
+    }
+}
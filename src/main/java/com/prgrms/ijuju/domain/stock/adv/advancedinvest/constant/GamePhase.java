@@ -0,0 +1,48 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.constant;
+
+/**
+ * 게임 진행 중 클라이언트에게 데이터를 보내야 하는 시점들 입니다.
+ * 0초에 ReferenceData, 60초부터 50초 간격으로 LiveData 6개, 420초에 게임 종료가 발생합니다.
+ */
+public enum GamePhase {
+    REFERENCE, // 장전 거래 시간 시작 > ReferenceData 전송
+    LIVE,      // 거래 시간 > LiveData 전송 (livePhase 0~5)
+    END;       // 게임 종료
+
+    public static final int GAME_SECONDS = 420;
+    public static final int LIVE_START_SECOND = 60;
+    public static final int LIVE_INTERVAL_SECONDS = 50;
+    public static final int LIVE_PHASE_COUNT = 6;
+
+    private static final int LAST_LIVE_SECOND = LIVE_START_SECOND + (LIVE_PHASE_COUNT - 1) * LIVE_INTERVAL_SECONDS;
+
+    // second 이상인 가장 가까운 이벤트 시점(초). 재개 시 이미 지나간 이벤트는 건너뛴다
+    public static int nextDueSecond(int second) {
+        if (second <= 0) {
+            return 0;
+        }
+        if (second <= LIVE_START_SECOND) {
+            return LIVE_START_SECOND;
+        }
+        if (second <= LAST_LIVE_SECOND) {
+            int phase = (second - LIVE_START_SECOND + LIVE_INTERVAL_SECONDS - 1) / LIVE_INTERVAL_SECONDS;
+            return LIVE_START_SECOND + phase * LIVE_INTERVAL_SECONDS;
+        }
+        return GAME_SECONDS;
+    }
+
+    // nextDueSecond 가 돌려준 시점이 어떤 이벤트인지
+    public static GamePhase of(int dueSecond) {
+        if (dueSecond == 0) {
+            return REFERENCE;
+        }
+        if (dueSecond >= GAME_SECONDS) {
+            return END;
+        }
+        return LIVE;
+    }
+
+    public static int livePhaseOf(int dueSecond) {
+        return (dueSecond - LIVE_START_SECOND) / LIVE_INTERVAL_SECONDS;
+    }
+}
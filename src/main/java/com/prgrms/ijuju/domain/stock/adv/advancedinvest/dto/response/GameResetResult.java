@@ -0,0 +1,10 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.dto.response;
+
+/**
+ * 아침 7시 리셋 결과 입니다.
+ * activeGames 는 진행 중이던 게임, pausedGames 는 일시정지 상태였던 게임,
+ * timedOutSessions 는 정해진 시간 안에 닫기 작업이 끝나지 않은 세션 수 입니다.
+ */
+public record GameResetResult(int activeGames, int pausedGames, int updatedRows, int timedOutSessions,
+                              long closeMillis, long elapsedMillis) {
+}
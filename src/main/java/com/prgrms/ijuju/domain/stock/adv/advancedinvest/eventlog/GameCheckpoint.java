@@ -0,0 +1,9 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.eventlog;
+
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.position.PositionBook;
+
+/**
+ * 이벤트를 남기는 시점의 게임 상태 입니다. 이벤트의 시각(second)이 되고, 스냅샷을 남길 차례면 그대로 저장됩니다.
+ */
+public record GameCheckpoint(int second, int liveSentCounter, PositionBook positionBook) {
+}
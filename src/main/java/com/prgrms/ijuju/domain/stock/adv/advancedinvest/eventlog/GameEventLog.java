@@ -0,0 +1,370 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.eventlog;
+
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.position.PortfolioView;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.position.PositionBook;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.MarketSnapshot;
+import com.prgrms.ijuju.domain.stock.adv.stockrecord.constant.TradeType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 고급 투자 게임마다 시작/틱/거래/일시정지/재개/종료 이벤트를 바이너리 파일에 이어 쓰는 이벤트 로그 입니다.
+ *
+ * 예전에는 일시정지할 때 AdvancedInvest 에 currentSecond 만 남아서, 재개하면 거래 내역을 DB 에서 다시 읽어 장부를 만들고
+ * LiveData 전송 횟수(liveSentCounter)는 0 으로 돌아갔습니다.
+ * 지금은 snapshotEvery 개의 이벤트마다, 그리고 일시정지할 때마다 게임 상태 스냅샷을 남기고,
+ * 재개할 때는 스냅샷을 읽고 그 뒤의 이벤트만 다시 적용합니다. DB 는 읽지 않습니다.
+ *
+ * 게임이 끝나면 같은 로그를 처음부터 한번 읽어서 결과 보고서(GameReport)를 만듭니다.
+ * 로그 기록에 실패한 게임은 파일을 지우고 더 기록하지 않습니다. 이 게임은 예전처럼 거래 내역으로 재개됩니다.
+ */
+@Slf4j
+@Component
+public class GameEventLog {
+
+    private static final String LOG_SUFFIX = ".log";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+
+    private final Path directory;
+    private final int snapshotEvery;
+    private final Duration retention;
+
+    // 진행 중인 게임의 로그 파일. 일시정지/종료하면 닫는다
+    private final Map<Long, GameEventWriter> writers = new ConcurrentHashMap<>();
+
+    public GameEventLog(@Value("${adv.game-event-log.directory:./data/game-events}") String directory,
+                        @Value("${adv.game-event-log.snapshot-every:32}") int snapshotEvery,
+                        @Value("${adv.game-event-log.retention-days:7}") int retentionDays) {
+        this.directory = Path.of(directory);
+        this.snapshotEvery = Math.max(1, snapshotEvery);
+        this.retention = Duration.ofDays(retentionDays);
+    }
+
+    public void start(Long gameId) {
+        GameEventWriter writer = null;
+        try {
+            Files.createDirectories(directory);
+            Files.deleteIfExists(snapshotPath(gameId));
+            writer = GameEventWriter.create(logPath(gameId));
+            closeQuietly(writers.put(gameId, writer));
+            writer.start(0, System.currentTimeMillis());
+        } catch (IOException e) {
+            discard(gameId, writer, e);
+        }
+    }
+
+    public void tick(Long gameId, GameCheckpoint checkpoint, int livePhase, MarketSnapshot snapshot) {
+        record(gameId, checkpoint, writer -> writer.tick(checkpoint.second(), livePhase, snapshot));
+    }
+
+    public void trade(Long gameId, GameCheckpoint checkpoint, TradeType tradeType, String symbol, double quantity, double price) {
+        record(gameId, checkpoint, writer -> writer.trade(checkpoint.second(), tradeType, symbol, quantity, price));
+    }
+
+    // 일시정지. 재개할 때 바로 쓸 수 있도록 항상 스냅샷을 남기고 파일을 닫는다
+    public void pause(Long gameId, GameCheckpoint checkpoint) {
+        GameEventWriter writer = writers.remove(gameId);
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.marker(GameEventType.PAUSE, checkpoint.second());
+            snapshot(gameId, writer, checkpoint);
+            writer.close();
+        } catch (IOException e) {
+            discard(gameId, writer, e);
+        }
+    }
+
+    public void resume(Long gameId, int second) {
+        Path logPath = logPath(gameId);
+        if (!Files.exists(logPath)) {
+            return;
+        }
+        GameEventWriter writer = null;
+        try {
+            writer = GameEventWriter.append(logPath);
+            closeQuietly(writers.put(gameId, writer));
+            writer.marker(GameEventType.RESUME, second);
+        } catch (IOException e) {
+            discard(gameId, writer, e);
+        }
+    }
+
+    // 종료. 일시정지 상태에서 종료되는 게임(7시 리셋)은 닫힌 파일을 다시 열어서 남긴다
+    public void end(Long gameId, int second) {
+        GameEventWriter writer = writers.remove(gameId);
+        try {
+            if (writer == null) {
+                if (!Files.exists(logPath(gameId))) {
+                    return;
+                }
+                writer = GameEventWriter.append(logPath(gameId));
+            }
+            writer.marker(GameEventType.END, second);
+            writer.close();
+            Files.deleteIfExists(snapshotPath(gameId)); // 끝난 게임은 재개하지 않는다
+        } catch (IOException e) {
+            discard(gameId, writer, e);
+        }
+    }
+
+    // 재개용. 로그가 없거나 읽을 수 없거나 이미 끝난 게임이면 empty
+    public Optional<GameRecovery> recover(Long gameId) {
+        Path logPath = logPath(gameId);
+        if (!Files.exists(logPath)) {
+            return Optional.empty();
+        }
+        try {
+            Optional<GameSnapshotFile.Loaded> snapshot = GameSnapshotFile.read(snapshotPath(gameId));
+            RecoveryVisitor visitor = new RecoveryVisitor(snapshot.map(GameSnapshotFile.Loaded::state)
+                    .orElseGet(() -> new GameRecovery(0, 0, new PositionBook())));
+            GameEventReader.read(logPath, snapshot.map(GameSnapshotFile.Loaded::logOffset).orElse(0L), visitor);
+            return visitor.result();
+        } catch (IOException | RuntimeException e) {
+            log.warn("게임 이벤트 로그로 재개하지 못했습니다: gameId={}", gameId, e);
+            return Optional.empty();
+        }
+    }
+
+    // 결과 보고서. 로그를 처음부터 끝까지 한번 읽는다
+    public Optional<GameReport> report(Long gameId) {
+        Path logPath = logPath(gameId);
+        if (!Files.exists(logPath)) {
+            return Optional.empty();
+        }
+        try {
+            ReportVisitor visitor = new ReportVisitor(gameId);
+            GameEventReader.read(logPath, 0, visitor);
+            return Optional.of(visitor.result());
+        } catch (IOException | RuntimeException e) {
+            log.warn("게임 결과 보고서를 만들지 못했습니다: gameId={}", gameId, e);
+            return Optional.empty();
+        }
+    }
+
+    // 보관 기간이 지난 로그 정리. 7시 리셋 이후에 돈다
+    @Scheduled(cron = "0 30 7 * * ?")
+    public void deleteExpired() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        long expiredBefore = System.currentTimeMillis() - retention.toMillis();
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                if (!isActive(file) && Files.getLastModifiedTime(file).toMillis() < expiredBefore) {
+                    Files.deleteIfExists(file);
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("게임 이벤트 로그 정리 실패", e);
+        }
+        if (deleted > 0) {
+            log.info("보관 기간이 지난 게임 이벤트 로그 {}개를 지웠습니다", deleted);
+        }
+    }
+
+    private void record(Long gameId, GameCheckpoint checkpoint, EventWrite write) {
+        GameEventWriter writer = writers.get(gameId);
+        if (writer == null) {
+            return; // 로그가 없는 게임
+        }
+        try {
+            write.writeTo(writer);
+            if (writer.eventsSinceSnapshot() >= snapshotEvery) {
+                snapshot(gameId, writer, checkpoint);
+            }
+        } catch (IOException e) {
+            if (writer.isClosed()) {
+                return; // 그 사이에 일시정지/종료되어 닫힌 파일. 그쪽에서 마무리했다
+            }
+            discard(gameId, writer, e);
+        }
+    }
+
+    private void snapshot(Long gameId, GameEventWriter writer, GameCheckpoint checkpoint) throws IOException {
+        writer.snapshotTaken();
+        GameSnapshotFile.write(snapshotPath(gameId), writer.position(), checkpoint);
+    }
+
+    private void discard(Long gameId, GameEventWriter writer, IOException cause) {
+        log.warn("게임 이벤트 로그 기록 실패, 이 게임은 거래 내역으로 재개합니다: gameId={}", gameId, cause);
+        if (writer != null) {
+            writers.remove(gameId, writer);
+            closeQuietly(writer);
+        }
+        try {
+            Files.deleteIfExists(logPath(gameId));
+            Files.deleteIfExists(snapshotPath(gameId));
+        } catch (IOException e) {
+            log.warn("게임 이벤트 로그 삭제 실패: gameId={}", gameId, e);
+        }
+    }
+
+    private boolean isActive(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.indexOf('.');
+        try {
+            return dot > 0 && writers.containsKey(Long.parseLong(name.substring(0, dot)));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private void closeQuietly(GameEventWriter writer) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("게임 이벤트 로그 닫기 실패", e);
+        }
+    }
+
+    private Path logPath(Long gameId) {
+        return directory.resolve(gameId + LOG_SUFFIX);
+    }
+
+    private Path snapshotPath(Long gameId) {
+        return directory.resolve(gameId + SNAPSHOT_SUFFIX);
+    }
+
+    @FunctionalInterface
+    private interface EventWrite {
+        void writeTo(GameEventWriter writer) throws IOException;
+    }
+
+    // 스냅샷 상태에 그 뒤의 이벤트를 적용
+    private static class RecoveryVisitor implements GameEventVisitor {
+        private final PositionBook positionBook;
+        private int second;
+        private int liveSentCounter;
+        private boolean ended;
+
+        RecoveryVisitor(GameRecovery snapshot) {
+            this.positionBook = snapshot.positionBook();
+            this.second = snapshot.second();
+            this.liveSentCounter = snapshot.liveSentCounter();
+        }
+
+        @Override
+        public void onStart(int second, long startTimeMillis) {
+            this.second = second;
+        }
+
+        @Override
+        public void onTick(int second, int livePhase, String[] symbols, double[] closePrices, long[] volumes) {
+            this.second = second;
+            liveSentCounter++;
+        }
+
+        @Override
+        public void onTrade(int second, TradeType tradeType, String symbol, double quantity, double price) {
+            this.second = second;
+            applyTrade(positionBook, tradeType, symbol, quantity, price);
+        }
+
+        @Override
+        public void onMarker(GameEventType type, int second) {
+            this.second = second;
+            ended |= type == GameEventType.END;
+        }
+
+        Optional<GameRecovery> result() {
+            return ended ? Optional.empty() : Optional.of(new GameRecovery(second, liveSentCounter, positionBook));
+        }
+    }
+
+    // 거래를 장부에 다시 적용하면서, LiveData 가 나갈 때마다 그 종가로 평가한 손익을 곡선에 추가
+    private static class ReportVisitor implements GameEventVisitor {
+        private final Long gameId;
+        private final PositionBook positionBook = new PositionBook();
+        private final Map<String, Double> closePrices = new HashMap<>();
+        private final List<GameReport.Trade> trades = new ArrayList<>();
+        private final List<GameReport.PnlPoint> pnlCurve = new ArrayList<>();
+        private long startTimeMillis;
+        private int second;
+        private int livePhase = -1;
+        private long volumeSeen;
+        private double unrealizedPnl;
+        private double realizedPnl;
+        private boolean ended;
+
+        ReportVisitor(Long gameId) {
+            this.gameId = gameId;
+        }
+
+        @Override
+        public void onStart(int second, long startTimeMillis) {
+            this.second = second;
+            this.startTimeMillis = startTimeMillis;
+        }
+
+        @Override
+        public void onTick(int second, int livePhase, String[] symbols, double[] closePrices, long[] volumes) {
+            this.second = second;
+            this.livePhase = livePhase;
+            for (int i = 0; i < symbols.length; i++) {
+                this.closePrices.put(symbols[i], closePrices[i]);
+                volumeSeen += volumes[i];
+            }
+            mark();
+            pnlCurve.add(new GameReport.PnlPoint(second, livePhase, unrealizedPnl, realizedPnl));
+        }
+
+        @Override
+        public void onTrade(int second, TradeType tradeType, String symbol, double quantity, double price) {
+            this.second = second;
+            applyTrade(positionBook, tradeType, symbol, quantity, price);
+            trades.add(new GameReport.Trade(second, tradeType, symbol, quantity, price));
+        }
+
+        @Override
+        public void onMarker(GameEventType type, int second) {
+            this.second = second;
+            ended |= type == GameEventType.END;
+        }
+
+        GameReport result() {
+            mark(); // 마지막 LiveData 이후의 거래까지 반영
+            return new GameReport(gameId, startTimeMillis, second, ended, trades, pnlCurve, volumeSeen,
+                    unrealizedPnl, realizedPnl);
+        }
+
+        // 장부도 종가도 그대로면 markToMarket 이 null 이라 이전 값을 그대로 쓴다
+        private void mark() {
+            PortfolioView view = positionBook.markToMarket(livePhase,
+                    symbol -> closePrices.getOrDefault(symbol, Double.NaN));
+            if (view != null) {
+                unrealizedPnl = view.unrealizedPnl();
+                realizedPnl = view.realizedPnl();
+            }
+        }
+    }
+
+    // PositionBook.rebuild 와 같이 보유 수량보다 많은 판매는 보유 수량만큼으로 본다
+    private static void applyTrade(PositionBook positionBook, TradeType tradeType, String symbol, double quantity, double price) {
+        if (tradeType == TradeType.BUY) {
+            positionBook.buy(symbol, quantity, price);
+        } else {
+            positionBook.sell(symbol, Math.min(quantity, positionBook.quantityOf(symbol)), price);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.eventlog;
+
+import com.prgrms.ijuju.domain.stock.adv.stockrecord.constant.TradeType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * GameEventWriter 가 쓴 파일을 offset 부터 끝까지 한번에 읽어서 순서대로 visitor 에 넘깁니다.
+ * 마지막 이벤트가 잘려 있으면(쓰는 중에 서버가 죽은 경우) 그 앞까지만 읽습니다.
+ */
+final class GameEventReader {
+
+    private GameEventReader() {
+    }
+
+    static void read(Path path, long offset, GameEventVisitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(GameEventWriter.HEADER_BYTES);
+            readFully(channel, header, 0);
+            if (header.remaining() < GameEventWriter.HEADER_BYTES
+                    || header.getInt() != GameEventWriter.MAGIC || header.get() != GameEventWriter.FORMAT_VERSION) {
+                throw new IOException("게임 이벤트 로그 형식이 아닙니다: " + path);
+            }
+
+            long start = Math.max(offset, GameEventWriter.HEADER_BYTES);
+            ByteBuffer data = ByteBuffer.allocate((int) Math.max(0, channel.size() - start));
+            readFully(channel, data, start);
+
+            while (data.remaining() >= Integer.BYTES) {
+                int length = data.getInt();
+                if (length <= 0 || data.remaining() < length) {
+                    break; // 잘린 이벤트
+                }
+                int end = data.position() + length;
+                dispatch(data, visitor);
+                data.position(end);
+            }
+        }
+    }
+
+    private static void dispatch(ByteBuffer data, GameEventVisitor visitor) {
+        GameEventType type = GameEventType.of(data.get());
+        int second = data.getInt();
+        switch (type) {
+            case START -> visitor.onStart(second, data.getLong());
+            case TICK -> {
+                int livePhase = data.getInt();
+                int count = data.getShort();
+                String[] symbols = new String[count];
+                double[] closePrices = new double[count];
+                long[] volumes = new long[count];
+                for (int i = 0; i < count; i++) {
+                    symbols[i] = getString(data);
+                    closePrices[i] = data.getDouble();
+                    volumes[i] = data.getLong();
+                }
+                visitor.onTick(second, livePhase, symbols, closePrices, volumes);
+            }
+            case TRADE -> {
+                TradeType tradeType = data.get() == 0 ? TradeType.BUY : TradeType.SELL;
+                String symbol = getString(data);
+                visitor.onTrade(second, tradeType, symbol, data.getDouble(), data.getDouble());
+            }
+            case PAUSE, RESUME, END -> visitor.onMarker(type, second);
+        }
+    }
+
+    static String getString(ByteBuffer data) {
+        byte[] bytes = new byte[data.getShort()];
+        data.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+    }
+}
@@ -0,0 +1,32 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.eventlog;
+
+/**
+ * 게임 이벤트 로그에 남는 이벤트 종류 입니다. 파일에는 code 한 바이트로 저장되기 때문에 code 는 바꾸면 안 됩니다.
+ */
+public enum GameEventType {
+    START((byte) 1),  // 게임 시작
+    TICK((byte) 2),   // LiveData 전송. 그때의 종목별 종가와 거래량을 같이 남긴다
+    TRADE((byte) 3),  // 구매/판매
+    PAUSE((byte) 4),  // 일시정지
+    RESUME((byte) 5), // 재개
+    END((byte) 6);    // 종료
+
+    private final byte code;
+
+    GameEventType(byte code) {
+        this.code = code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public static GameEventType of(byte code) {
+        for (GameEventType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("알 수 없는 게임 이벤트: " + code);
+    }
+}
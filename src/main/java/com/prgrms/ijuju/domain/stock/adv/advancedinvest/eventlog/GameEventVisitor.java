@@ -0,0 +1,20 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.eventlog;
+
+import com.prgrms.ijuju.domain.stock.adv.stockrecord.constant.TradeType;
+
+// GameEventReader 가 이벤트를 읽을 때마다 불린다. 필요한 이벤트만 구현
+interface GameEventVisitor {
+
+    default void onStart(int second, long startTimeMillis) {
+    }
+
+    default void onTick(int second, int livePhase, String[] symbols, double[] closePrices, long[] volumes) {
+    }
+
+    default void onTrade(int second, TradeType tradeType, String symbol, double quantity, double price) {
+    }
+
+    // PAUSE, RESUME, END
+    default void onMarker(GameEventType type, int second) {
+    }
+}
@@ -0,0 +1,167 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.eventlog;
+
+import com.prgrms.ijuju.domain.stock.adv.advstock.constant.DataType;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.MarketSnapshot;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.StockSeries;
+import com.prgrms.ijuju.domain.stock.adv.stockrecord.constant.TradeType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 게임 하나의 이벤트 로그 파일에 이어 쓰는 객체 입니다.
+ *
+ * 파일 형식 : [MAGIC int][FORMAT_VERSION byte] 다음에 이벤트가 이어집니다.
+ * 이벤트 하나 : [length int][type byte][second int][내용]. length 는 type 부터 끝까지의 바이트 수 입니다.
+ * 쓰다가 서버가 죽어서 마지막 이벤트가 잘려도 length 로 알아채고 그 앞까지만 읽습니다.
+ *
+ * 이벤트마다 fsync 하지 않습니다. write 가 끝나면 OS 에 넘어가 있으니 프로세스가 죽어도 남고,
+ * 일시정지/종료와 스냅샷 때만 force 합니다.
+ * 보통은 세션의 메일박스에서만 쓰지만 7시 리셋처럼 다른 스레드에서 종료할 수도 있어서 메소드는 synchronized 입니다.
+ */
+final class GameEventWriter implements Closeable {
+
+    static final int MAGIC = 0x41445645; // "ADVE"
+    static final byte FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = Integer.BYTES + 1;
+
+    private final FileChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocate(512);
+    private int eventsSinceSnapshot;
+    private boolean closed;
+
+    private GameEventWriter(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    // 새 게임. 같은 id 의 파일이 있으면 덮어쓴다
+    static GameEventWriter create(Path path) throws IOException {
+        GameEventWriter writer = new GameEventWriter(FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+        writer.buffer.clear();
+        writer.buffer.putInt(MAGIC).put(FORMAT_VERSION).flip();
+        writer.writeBuffer();
+        return writer;
+    }
+
+    // 재개/종료. 기존 파일 끝에 이어 쓴다
+    static GameEventWriter append(Path path) throws IOException {
+        return new GameEventWriter(FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+    }
+
+    synchronized void start(int second, long startTimeMillis) throws IOException {
+        begin(GameEventType.START, second, Long.BYTES);
+        buffer.putLong(startTimeMillis);
+        finish();
+    }
+
+    // 그 거래 시간에 전송된 종목들의 종가와 거래량을 같이 남긴다. 보고서가 이 값만으로 손익 곡선을 그린다
+    synchronized void tick(int second, int livePhase, MarketSnapshot snapshot) throws IOException {
+        begin(GameEventType.TICK, second, Integer.BYTES + Short.BYTES);
+        buffer.putInt(livePhase);
+        int countPosition = buffer.position();
+        buffer.putShort((short) 0);
+
+        short count = 0;
+        for (StockSeries series : snapshot.seriesOf(DataType.LIVE)) {
+            if (livePhase >= series.size()) {
+                continue; // TickPayloadCache 와 같이 데이터가 없는 종목은 건너뛴다
+            }
+            putString(series.getSymbol());
+            ensure(Double.BYTES + Long.BYTES);
+            buffer.putDouble(series.closePrice(livePhase)).putLong(series.volume(livePhase));
+            count++;
+        }
+        buffer.putShort(countPosition, count);
+        finish();
+    }
+
+    synchronized void trade(int second, TradeType tradeType, String symbol, double quantity, double price) throws IOException {
+        begin(GameEventType.TRADE, second, 1);
+        buffer.put(tradeType == TradeType.BUY ? (byte) 0 : (byte) 1);
+        putString(symbol);
+        ensure(Double.BYTES * 2);
+        buffer.putDouble(quantity).putDouble(price);
+        finish();
+    }
+
+    // PAUSE, RESUME, END 처럼 내용이 없는 이벤트
+    synchronized void marker(GameEventType type, int second) throws IOException {
+        begin(type, second, 0);
+        finish();
+    }
+
+    synchronized long position() throws IOException {
+        return channel.position();
+    }
+
+    synchronized int eventsSinceSnapshot() {
+        return eventsSinceSnapshot;
+    }
+
+    synchronized void snapshotTaken() throws IOException {
+        channel.force(false); // 스냅샷이 가리키는 위치까지는 디스크에 있어야 한다
+        eventsSinceSnapshot = 0;
+    }
+
+    synchronized boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void begin(GameEventType type, int second, int bodyBytes) throws IOException {
+        if (closed) {
+            throw new IOException("이미 닫힌 게임 이벤트 로그");
+        }
+        buffer.clear();
+        ensure(Integer.BYTES + 1 + Integer.BYTES + bodyBytes);
+        buffer.putInt(0); // length 는 finish 에서 채운다
+        buffer.put(type.getCode());
+        buffer.putInt(second);
+    }
+
+    private void finish() throws IOException {
+        buffer.putInt(0, buffer.position() - Integer.BYTES);
+        buffer.flip();
+        writeBuffer();
+        eventsSinceSnapshot++;
+    }
+
+    private void putString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensure(Short.BYTES + bytes.length);
+        buffer.putShort((short) bytes.length).put(bytes);
+    }
+
+    private void ensure(int bytes) {
+        if (buffer.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
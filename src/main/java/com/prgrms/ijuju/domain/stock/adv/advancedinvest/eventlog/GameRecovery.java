@@ -0,0 +1,9 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.eventlog;
+
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.position.PositionBook;
+
+/**
+ * 이벤트 로그로 되살린 게임 상태 입니다. 마지막 스냅샷에 그 뒤의 이벤트만 다시 적용한 결과 입니다.
+ */
+public record GameRecovery(int second, int liveSentCounter, PositionBook positionBook) {
+}
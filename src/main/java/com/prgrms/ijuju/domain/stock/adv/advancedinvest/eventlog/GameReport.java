@@ -0,0 +1,20 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.eventlog;
+
+import com.prgrms.ijuju.domain.stock.adv.stockrecord.constant.TradeType;
+
+import java.util.List;
+
+/**
+ * 게임이 끝난 뒤 이벤트 로그를 처음부터 한번 읽어서 만드는 결과 보고서 입니다. {"report": ...} 로 전송됩니다.
+ * pnlCurve 는 LiveData 가 나갈 때마다 그 종가로 평가한 손익이고, volumeSeen 은 전송된 LiveData 거래량의 합 입니다.
+ */
+public record GameReport(Long gameId, long startTimeMillis, int endSecond, boolean ended,
+                         List<Trade> trades, List<PnlPoint> pnlCurve, long volumeSeen,
+                         double unrealizedPnl, double realizedPnl) {
+
+    public record Trade(int second, TradeType tradeType, String symbol, double quantity, double price) {
+    }
+
+    public record PnlPoint(int second, int livePhase, double unrealizedPnl, double realizedPnl) {
+    }
+}
@@ -0,0 +1,88 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.eventlog;
+
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.position.PositionBook;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 게임 상태 스냅샷 파일 입니다. 이벤트 로그의 어디까지 반영된 상태인지(logOffset)를 같이 저장합니다.
+ * 재개할 때는 스냅샷을 읽고 logOffset 뒤의 이벤트만 다시 적용합니다.
+ *
+ * 형식 : [MAGIC int][logOffset long][second int][liveSentCounter int][종목 수 int] + 종목마다 [symbol][quantity][averageCost][realizedPnl]
+ * 임시 파일에 쓰고 이름을 바꾸기 때문에, 쓰다가 죽어도 이전 스냅샷은 그대로 남습니다.
+ */
+final class GameSnapshotFile {
+
+    private static final int MAGIC = 0x41445653; // "ADVS"
+
+    record Loaded(long logOffset, GameRecovery state) {
+    }
+
+    private GameSnapshotFile() {
+    }
+
+    static void write(Path path, long logOffset, GameCheckpoint checkpoint) throws IOException {
+        List<byte[]> symbols = new ArrayList<>();
+        List<double[]> values = new ArrayList<>();
+        checkpoint.positionBook().forEachPosition((symbol, quantity, averageCost, realizedPnl) -> {
+            symbols.add(symbol.getBytes(StandardCharsets.UTF_8));
+            values.add(new double[]{quantity, averageCost, realizedPnl});
+        });
+
+        int size = Integer.BYTES + Long.BYTES + Integer.BYTES * 3;
+        for (byte[] symbol : symbols) {
+            size += Short.BYTES + symbol.length + Double.BYTES * 3;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putLong(logOffset).putInt(checkpoint.second()).putInt(checkpoint.liveSentCounter())
+                .putInt(symbols.size());
+        for (int i = 0; i < symbols.size(); i++) {
+            buffer.putShort((short) symbols.get(i).length).put(symbols.get(i));
+            for (double value : values.get(i)) {
+                buffer.putDouble(value);
+            }
+        }
+        buffer.flip();
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static Optional<Loaded> read(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (buffer.remaining() < Integer.BYTES || buffer.getInt() != MAGIC) {
+            throw new IOException("게임 스냅샷 형식이 아닙니다: " + path);
+        }
+        long logOffset = buffer.getLong();
+        int second = buffer.getInt();
+        int liveSentCounter = buffer.getInt();
+        int count = buffer.getInt();
+
+        PositionBook positionBook = new PositionBook();
+        for (int i = 0; i < count; i++) {
+            String symbol = GameEventReader.getString(buffer);
+            positionBook.restore(symbol, buffer.getDouble(), buffer.getDouble(), buffer.getDouble());
+        }
+        return Optional.of(new Loaded(logOffset, new GameRecovery(second, liveSentCounter, positionBook)));
+    }
+}
@@ -3,8 +3,11 @@ package com.prgrms.ijuju.domain.stock.adv.advancedinvest.handler;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.prgrms.ijuju.global.util.WebSocketUtil;
+import com.prgrms.ijuju.global.websocket.OutboundSessions;
 import com.prgrms.ijuju.domain.stock.adv.advancedinvest.dto.request.StockTransactionRequestDto;
 import com.prgrms.ijuju.domain.stock.adv.advancedinvest.dto.request.WebSocketRequestDto;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.eventlog.GameReport;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.mailbox.SessionMailbox;
 import com.prgrms.ijuju.domain.stock.adv.advancedinvest.service.AdvancedInvestService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,22 +29,44 @@ import java.util.Map;
 public class AdvancedInvestWebSocketHandler extends TextWebSocketHandler {
     private final AdvancedInvestService advancedInvestService;
     private final ObjectMapper objectMapper;
+    private final OutboundSessions outboundSessions;
 
+    // 세션마다 메일박스 하나. 게임 타이머 이벤트도 같은 메일박스로 들어온다
+    // 보내는 메시지는 세션마다 버퍼에 넣어서, 느린 클라이언트가 메일박스를 막지 않는다
+    @Override
+    public void afterConnectionEstablished(@NonNull WebSocketSession session) {
+        SessionMailbox.of(session);
+        outboundSessions.register(session);
+    }
+
+    // IO 스레드에서는 파싱만 하고, 실제 처리(DB, 지갑, 거래 기록)와 응답 전송은 세션의 메일박스에서 순서대로 실행
     @Override
     protected void handleTextMessage(@NonNull WebSocketSession session, TextMessage message) throws Exception {
         log.info("WebSocket 메시지 수신: {}", message.getPayload());
+        SessionMailbox mailbox = SessionMailbox.of(session);
         WebSocketRequestDto requestDto;
         try {
-
             requestDto = objectMapper.readValue(message.getPayload(), WebSocketRequestDto.class);
             log.info("파싱된 요청 DTO: {}", requestDto);
+        } catch (Exception e) {
+            log.error("WebSocket 메시지 파싱 중 예외 발생: {}", e.getMessage(), e);
+            mailbox.execute(() -> WebSocketUtil.send(session, "서버에서 에러가 발생했습니다. 다시 시도해주세요."));
+            return;
+        }
 
-            if (requestDto.getAction() == null) {
-                log.error("잘못된 요청: action 필드가 누락되었습니다. 요청 DTO: {}", requestDto);
-                return;
-            }
+        if (requestDto.getAction() == null) {
+            log.error("잘못된 요청: action 필드가 누락되었습니다. 요청 DTO: {}", requestDto);
+            return;
+        }
 
+        if (!mailbox.offerRequest(() -> dispatch(session, requestDto))) {
+            log.warn("처리 대기 중인 요청이 너무 많습니다: session={}", session.getId());
+            mailbox.execute(() -> WebSocketUtil.send(session, "요청이 너무 많습니다. 잠시 후 다시 시도해주세요."));
+        }
+    }
 
+    private void dispatch(WebSocketSession session, WebSocketRequestDto requestDto) {
+        try {
             switch (requestDto.getAction()) {
                 case "START_GAME":
                     validateStartGameRequest(requestDto);
@@ -75,6 +100,12 @@ public class AdvancedInvestWebSocketHandler extends TextWebSocketHandler {
                     WebSocketUtil.send(session, response);
                     break;
 
+                case "GET_REPORT":
+                    validateAdvId(requestDto.getAdvId());
+                    GameReport report = advancedInvestService.getGameReport(requestDto.getAdvId());
+                    WebSocketUtil.send(session, Map.of("report", report));
+                    break;
+
                 case "GET_VOLUMES":
                     validateStockSymbol(requestDto.getStockSymbol());
                     validateAdvId(requestDto.getAdvId());
@@ -153,6 +184,7 @@ public class AdvancedInvestWebSocketHandler extends TextWebSocketHandler {
     @Override
     public void afterConnectionClosed(@NonNull WebSocketSession session, @NonNull CloseStatus status) throws Exception {
         log.info("WebSocket connection closed: {} with status: {}", session.getId(), status);
+        outboundSessions.unregister(session);
 
 
         try {
@@ -0,0 +1,98 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.mailbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 웹소켓 세션 하나의 작업을 순서대로 하나씩 실행하는 메일박스 입니다.
+ *
+ * 클라이언트 요청(거래, 조회, 시작/정지)과 GameClock 이벤트(Reference, Live, End)가 모두 이 메일박스를 거치기 때문에
+ * 한 게임의 상태는 한번에 한 작업만 바꿉니다. 요청은 받은 순서대로, 틱과 거래는 메일박스에 들어온 순서대로 처리됩니다.
+ *
+ * 스레드를 세션마다 붙잡고 있지 않습니다. 작업이 들어왔을 때 가상 스레드 하나가 큐를 비울 때까지 돌고 끝납니다.
+ * 큐에 넣는 것과 꺼내는 것 사이에 happens-before 가 있어서, 연속된 작업끼리는 volatile / synchronized 없이 상태를 넘겨 받습니다.
+ */
+@Slf4j
+public class SessionMailbox implements Executor {
+
+    private static final String ATTRIBUTE = SessionMailbox.class.getName();
+    private static final int DEFAULT_REQUEST_CAPACITY = 64;
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private final AtomicInteger pendingRequests = new AtomicInteger();
+    private final int requestCapacity;
+
+    public SessionMailbox() {
+        this(DEFAULT_REQUEST_CAPACITY);
+    }
+
+    SessionMailbox(int requestCapacity) {
+        this.requestCapacity = requestCapacity;
+    }
+
+    // 연결될 때 세션 속성에 넣어두고, 게임 타이머도 같은 메일박스를 찾아 쓴다
+    public static SessionMailbox of(WebSocketSession session) {
+        Object mailbox = session.getAttributes().get(ATTRIBUTE);
+        if (mailbox instanceof SessionMailbox sessionMailbox) {
+            return sessionMailbox;
+        }
+        SessionMailbox created = new SessionMailbox();
+        session.getAttributes().put(ATTRIBUTE, created);
+        return created;
+    }
+
+    // 게임 이벤트. 항상 받는다
+    @Override
+    public void execute(Runnable task) {
+        tasks.add(task);
+        schedule();
+    }
+
+    // 클라이언트 요청. 처리 못한 요청이 너무 많이 쌓이면 거절한다
+    public boolean offerRequest(Runnable request) {
+        if (pendingRequests.incrementAndGet() > requestCapacity) {
+            pendingRequests.decrementAndGet();
+            return false;
+        }
+        execute(() -> {
+            try {
+                request.run();
+            } finally {
+                pendingRequests.decrementAndGet();
+            }
+        });
+        return true;
+    }
+
+    private void schedule() {
+        if (draining.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("adv-mailbox").start(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.error("메일박스 작업 처리 중 오류 발생", e);
+                }
+            }
+        } finally {
+            draining.set(false);
+            // 빠져나오는 사이에 들어온 작업
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
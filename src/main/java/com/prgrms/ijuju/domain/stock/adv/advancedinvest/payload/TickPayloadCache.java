@@ -0,0 +1,101 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.payload;
+
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.constant.GamePhase;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.dto.response.AdvStockResponseDto;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.exception.stockexception.DataNotFoundException;
+import com.prgrms.ijuju.domain.stock.adv.advstock.constant.DataType;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.MarketSnapshot;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.MarketSnapshotHolder;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.StockSeries;
+import com.prgrms.ijuju.global.util.WebSocketUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 게임 틱마다 보내는 Reference / Live 메시지를 미리 직렬화해 두는 캐시 입니다.
+ *
+ * 같은 날 같은 phase 의 데이터는 모든 플레이어에게 똑같기 때문에, 게임마다 DTO 를 만들고 Jackson 을 돌릴 필요가 없습니다.
+ * MarketSnapshot 이 바뀌면 (하루 한번) 처음 요청한 스레드가 Reference 1개 + Live 6개 메시지를 만들고,
+ * 이후에는 모든 세션이 같은 TextMessage 객체를 그대로 전송합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TickPayloadCache {
+
+    private final MarketSnapshotHolder marketSnapshotHolder;
+    private final AtomicReference<Payloads> cached = new AtomicReference<>();
+
+    // 장전 거래 시간에 보내는 ReferenceData
+    public TextMessage referenceMessage() {
+        TextMessage message = payloadsFor(marketSnapshotHolder.current()).reference;
+        if (message == null) {
+            throw new DataNotFoundException();
+        }
+        return message;
+    }
+
+    // 거래 시간 livePhase(0~5) 에 보내는 LiveData
+    public TextMessage liveMessage(int livePhase) {
+        TextMessage[] live = payloadsFor(marketSnapshotHolder.current()).live;
+        if (livePhase < 0 || livePhase >= live.length || live[livePhase] == null) {
+            throw new DataNotFoundException();
+        }
+        return live[livePhase];
+    }
+
+    private Payloads payloadsFor(MarketSnapshot snapshot) {
+        Payloads payloads = cached.get();
+        if (payloads != null && payloads.snapshot == snapshot) {
+            return payloads;
+        }
+
+        // 동시에 여러 스레드가 만들어도 결과는 같기 때문에 락 없이 마지막 값으로 교체
+        Payloads built = build(snapshot);
+        cached.set(built);
+        log.info("틱 메시지 캐시 생성: tradingDay={}", snapshot.getTradingDay());
+        return built;
+    }
+
+    static Payloads build(MarketSnapshot snapshot) {
+        TextMessage reference = null;
+        if (!snapshot.isEmpty(DataType.REFERENCE)) {
+            List<AdvStockResponseDto> referenceDto = snapshot.seriesOf(DataType.REFERENCE).stream()
+                    .flatMap(series -> AdvStockResponseDto.fromSeriesForReference(series).stream())
+                    .toList();
+            reference = WebSocketUtil.toTextMessage(referenceDto);
+        }
+
+        TextMessage[] live = new TextMessage[GamePhase.LIVE_PHASE_COUNT];
+        if (!snapshot.isEmpty(DataType.LIVE)) {
+            for (int livePhase = 0; livePhase < live.length; livePhase++) {
+                List<AdvStockResponseDto> liveDto = liveFrame(snapshot, livePhase);
+                if (liveDto == null) {
+                    break; // 이 phase 부터는 데이터가 부족
+                }
+                live[livePhase] = WebSocketUtil.toTextMessage(liveDto);
+            }
+        }
+        return new Payloads(snapshot, reference, live);
+    }
+
+    private static List<AdvStockResponseDto> liveFrame(MarketSnapshot snapshot, int livePhase) {
+        List<AdvStockResponseDto> frame = new ArrayList<>();
+        for (StockSeries series : snapshot.seriesOf(DataType.LIVE)) {
+            if (livePhase >= series.size()) {
+                return null;
+            }
+            frame.add(AdvStockResponseDto.fromSeries(series, livePhase));
+        }
+        return frame;
+    }
+
+    record Payloads(MarketSnapshot snapshot, TextMessage reference, TextMessage[] live) {
+    }
+}
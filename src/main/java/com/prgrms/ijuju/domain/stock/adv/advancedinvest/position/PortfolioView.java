@@ -0,0 +1,15 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.position;
+
+import java.util.List;
+
+/**
+ * LiveData 가 나갈 때 함께 보내는 평가 손익 입니다. {"portfolio": ...} 로 전송됩니다.
+ * 평가 손익(unrealizedPnl)은 그 거래 시간의 종가 기준, 실현 손익(realizedPnl)은 판매할 때 평균 단가와의 차이 입니다.
+ */
+public record PortfolioView(int livePhase, List<PositionView> positions, double unrealizedPnl, double realizedPnl) {
+
+    // 다 팔아서 수량이 0 인 종목도 실현 손익을 보여주기 위해 포함
+    public record PositionView(String symbol, double quantity, double averageCost, double price,
+                               double unrealizedPnl, double realizedPnl) {
+    }
+}
@@ -0,0 +1,196 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.position;
+
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.exception.stockexception.InsufficientStockException;
+import com.prgrms.ijuju.domain.stock.adv.stockrecord.constant.TradeType;
+import com.prgrms.ijuju.domain.stock.adv.stockrecord.entity.StockRecord;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 게임 하나의 보유 주식 장부 입니다. GameState 안에 들어있습니다.
+ *
+ * 예전에는 판매할 때마다 StockRecord 를 전부 읽어서 보유량을 계산했고, 게임 id 를 보지 않아 지난 게임의 보유량까지 합쳐졌습니다.
+ * 이제 종목마다 슬롯 번호를 하나 주고, 보유 수량과 평균 단가를 double 배열에 들고 있습니다.
+ * 거래 중에는 DB 를 읽지 않고, 게임을 재개할 때만 그 게임의 StockRecord 로 다시 만듭니다.
+ *
+ * 모든 메소드는 synchronized 입니다. 게임 하나의 장부라 경쟁이 거의 없고, 확인과 차감이 한번에 일어나야 하기 때문입니다.
+ *
+ * 판매할 때 실현 손익도 슬롯에 쌓아두고, LiveData 가 나갈 때 markToMarket 으로 그 시간의 종가 기준 평가 손익을 계산합니다.
+ * 장부가 바뀔 때마다 version 을 올려두고 마지막으로 평가한 version 과 종가를 기억해서,
+ * 거래도 없고 종가도 그대로면 종목 수만큼 비교만 하고 끝납니다.
+ */
+public class PositionBook {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final Map<String, Integer> slots = new HashMap<>();
+    private String[] symbols = new String[INITIAL_CAPACITY];
+    private double[] quantities = new double[INITIAL_CAPACITY];
+    private double[] averageCosts = new double[INITIAL_CAPACITY];
+    private double[] realizedPnls = new double[INITIAL_CAPACITY];
+
+    // 장부가 바뀐 횟수와 마지막 평가 때의 값. 평가 결과가 바뀌었는지 확인하는 용도
+    private long version;
+    private long markedVersion;
+    private double[] markedPrices = new double[INITIAL_CAPACITY];
+
+    // 구매. 평균 단가를 다시 계산
+    public synchronized void buy(String symbol, double quantity, double price) {
+        int slot = slotOf(symbol);
+        double owned = quantities[slot];
+        double total = owned + quantity;
+        averageCosts[slot] = (owned * averageCosts[slot] + quantity * price) / total;
+        quantities[slot] = total;
+        version++;
+    }
+
+    // 판매 가격을 모를 때. 평균 단가에 판 것으로 보고 실현 손익은 남기지 않는다
+    public synchronized void sell(String symbol, double quantity) {
+        Integer slot = slots.get(symbol);
+        sell(symbol, quantity, slot == null ? 0 : averageCosts[slot]);
+    }
+
+    // 판매. 보유 수량 확인과 차감을 한번에 처리합니다. 평균 단가는 바뀌지 않고, 평균 단가와의 차이만큼 실현 손익이 쌓입니다
+    public synchronized void sell(String symbol, double quantity, double price) {
+        Integer slot = slots.get(symbol);
+        if (slot == null || quantities[slot] < quantity) {
+            throw new InsufficientStockException();
+        }
+        realizedPnls[slot] += (price - averageCosts[slot]) * quantity;
+        quantities[slot] -= quantity;
+        if (quantities[slot] == 0) {
+            averageCosts[slot] = 0;
+        }
+        version++;
+    }
+
+    // 판매 처리 중 포인트 환급/기록 저장이 실패했을 때 차감한 수량을 되돌림
+    public synchronized void cancelSell(String symbol, double quantity, double averageCost) {
+        cancelSell(symbol, quantity, averageCost, averageCost);
+    }
+
+    // 판매 가격까지 알면 쌓았던 실현 손익도 되돌린다
+    public synchronized void cancelSell(String symbol, double quantity, double averageCost, double price) {
+        int slot = slotOf(symbol);
+        if (quantities[slot] == 0) {
+            averageCosts[slot] = averageCost;
+        }
+        quantities[slot] += quantity;
+        realizedPnls[slot] -= (price - averageCost) * quantity;
+        version++;
+    }
+
+    /**
+     * 거래 시간 livePhase 의 종가로 평가 손익을 계산합니다. 종목 수만큼만 돌고 DB 는 읽지 않습니다.
+     * 마지막 평가 이후 거래도 없고 종가도 그대로면 null 을 돌려줍니다. 이때는 보낼 필요가 없습니다.
+     * 종가가 없는 종목(NaN)은 마지막으로 평가한 종가를, 그것도 없으면 평균 단가를 씁니다.
+     */
+    public synchronized PortfolioView markToMarket(int livePhase, ToDoubleFunction<String> closePriceOf) {
+        int count = slots.size();
+        boolean changed = version != markedVersion;
+        for (int slot = 0; slot < count; slot++) {
+            double price = closePriceOf.applyAsDouble(symbols[slot]);
+            if (Double.isNaN(price)) {
+                price = Double.isNaN(markedPrices[slot]) ? averageCosts[slot] : markedPrices[slot];
+            }
+            if (Double.compare(price, markedPrices[slot]) != 0) {
+                markedPrices[slot] = price;
+                changed = true;
+            }
+        }
+        if (!changed) {
+            return null;
+        }
+        markedVersion = version;
+
+        List<PortfolioView.PositionView> positions = new ArrayList<>(count);
+        double totalUnrealized = 0;
+        double totalRealized = 0;
+        for (int slot = 0; slot < count; slot++) {
+            double unrealized = (markedPrices[slot] - averageCosts[slot]) * quantities[slot];
+            positions.add(new PortfolioView.PositionView(symbols[slot], quantities[slot], averageCosts[slot],
+                    markedPrices[slot], unrealized, realizedPnls[slot]));
+            totalUnrealized += unrealized;
+            totalRealized += realizedPnls[slot];
+        }
+        return new PortfolioView(livePhase, positions, totalUnrealized, totalRealized);
+    }
+
+    // 게임 저널의 스냅샷 저장용. 슬롯 순서대로 돈다
+    public synchronized void forEachPosition(PositionVisitor visitor) {
+        for (int slot = 0; slot < slots.size(); slot++) {
+            visitor.visit(symbols[slot], quantities[slot], averageCosts[slot], realizedPnls[slot]);
+        }
+    }
+
+    // 게임 저널의 스냅샷에서 종목 하나를 그대로 되살린다
+    public synchronized void restore(String symbol, double quantity, double averageCost, double realizedPnl) {
+        int slot = slotOf(symbol);
+        quantities[slot] = quantity;
+        averageCosts[slot] = averageCost;
+        realizedPnls[slot] = realizedPnl;
+        version++;
+    }
+
+    public synchronized double realizedPnlOf(String symbol) {
+        Integer slot = slots.get(symbol);
+        return slot == null ? 0 : realizedPnls[slot];
+    }
+
+    public synchronized double quantityOf(String symbol) {
+        Integer slot = slots.get(symbol);
+        return slot == null ? 0 : quantities[slot];
+    }
+
+    public synchronized double averageCostOf(String symbol) {
+        Integer slot = slots.get(symbol);
+        return slot == null ? 0 : averageCosts[slot];
+    }
+
+    // 게임 재개 시 해당 게임의 거래 내역으로 장부를 다시 만든다. StockRecord 의 pricePerUnit 에는 거래 총액이 저장되어 있다
+    public static PositionBook rebuild(List<StockRecord> records) {
+        PositionBook book = new PositionBook();
+        for (StockRecord record : records) {
+            double quantity = record.getQuantity();
+            if (quantity <= 0) {
+                continue;
+            }
+            if (record.getTradeType() == TradeType.BUY) {
+                book.buy(record.getSymbol(), quantity, record.getPricePerUnit().doubleValue() / quantity);
+            } else {
+                book.sell(record.getSymbol(), Math.min(quantity, book.quantityOf(record.getSymbol())),
+                        record.getPricePerUnit().doubleValue() / quantity);
+            }
+        }
+        return book;
+    }
+
+    @FunctionalInterface
+    public interface PositionVisitor {
+        void visit(String symbol, double quantity, double averageCost, double realizedPnl);
+    }
+
+    private int slotOf(String symbol) {
+        Integer slot = slots.get(symbol);
+        if (slot != null) {
+            return slot;
+        }
+        int newSlot = slots.size();
+        if (newSlot == quantities.length) {
+            symbols = Arrays.copyOf(symbols, newSlot * 2);
+            quantities = Arrays.copyOf(quantities, newSlot * 2);
+            averageCosts = Arrays.copyOf(averageCosts, newSlot * 2);
+            realizedPnls = Arrays.copyOf(realizedPnls, newSlot * 2);
+            markedPrices = Arrays.copyOf(markedPrices, newSlot * 2);
+        }
+        slots.put(symbol, newSlot);
+        symbols[newSlot] = symbol;
+        markedPrices[newSlot] = Double.NaN;
+        return newSlot;
+    }
+}
@@ -0,0 +1,64 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.replay;
+
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.constant.GamePhase;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.MarketSnapshot;
+
+import java.util.List;
+
+/**
+ * 고급 투자 게임을 웹소켓과 GameClock 없이 가상 시계로 돌리는 리플레이 엔진 입니다.
+ *
+ * 실제 게임은 420초 동안 GameClock 이 GamePhase.nextDueSecond 시점마다 이벤트를 발생시킵니다.
+ * 여기서는 같은 nextDueSecond 로 이벤트 시점만 건너뛰면서, 그 사이에 있는 거래 요청을 순서대로 처리합니다.
+ * 같은 초에 이벤트와 거래가 있으면 이벤트가 먼저 입니다 (틱 스레드가 먼저 돈다고 본다).
+ * 거래 규칙은 TradeRules 를 같이 쓰기 때문에 실제 게임과 결과가 같고, DB 와 지갑은 건드리지 않습니다.
+ *
+ * MarketSnapshot 은 불변이라 엔진 하나를 여러 스레드에서 같이 써도 됩니다.
+ * 회귀 테스트, 봇, 포인트 밸런스 확인처럼 게임 수천 개를 한번에 돌릴 때는 replayAll 을 사용합니다.
+ */
+public class GameReplayEngine {
+
+    private final MarketSnapshot snapshot;
+    private final long startingPoints;
+
+    public GameReplayEngine(MarketSnapshot snapshot, long startingPoints) {
+        this.snapshot = snapshot;
+        this.startingPoints = startingPoints;
+    }
+
+    public ReplayResult replay(ReplayScript script) {
+        ReplayGame game = new ReplayGame(snapshot, startingPoints);
+        List<ReplayAction> actions = script.actions();
+        int next = 0;
+
+        int second = 0;
+        while (!game.isEnded()) {
+            int dueSecond = GamePhase.nextDueSecond(second);
+
+            // 이번 이벤트 전에 들어온 거래
+            while (next < actions.size() && actions.get(next).second() < dueSecond) {
+                game.execute(actions.get(next++));
+            }
+
+            switch (GamePhase.of(dueSecond)) {
+                case REFERENCE -> game.onReference();
+                case LIVE -> game.onLive(dueSecond, GamePhase.livePhaseOf(dueSecond));
+                case END -> game.end(dueSecond);
+            }
+            second = dueSecond + 1;
+        }
+
+        // 게임이 끝난 뒤에 온 요청은 실제 게임처럼 GameNotFound 로 거절
+        while (next < actions.size()) {
+            game.execute(actions.get(next++));
+        }
+        return game.result();
+    }
+
+    // CPU 만 쓰는 작업이라 가상 스레드 대신 공용 ForkJoinPool 로 코어 수만큼 나눠서 돌린다. 결과 순서는 입력 순서와 같다
+    public List<ReplayResult> replayAll(List<ReplayScript> scripts) {
+        return scripts.parallelStream()
+                .map(this::replay)
+                .toList();
+    }
+}
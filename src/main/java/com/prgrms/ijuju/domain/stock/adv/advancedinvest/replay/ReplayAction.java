@@ -0,0 +1,15 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.replay;
+
+import com.prgrms.ijuju.domain.stock.adv.stockrecord.constant.TradeType;
+
+// 게임 속 second 초에 보내는 거래 요청 하나
+public record ReplayAction(int second, TradeType tradeType, String symbol, double quantity) {
+
+    public static ReplayAction buy(int second, String symbol, double quantity) {
+        return new ReplayAction(second, TradeType.BUY, symbol, quantity);
+    }
+
+    public static ReplayAction sell(int second, String symbol, double quantity) {
+        return new ReplayAction(second, TradeType.SELL, symbol, quantity);
+    }
+}
@@ -0,0 +1,133 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.replay;
+
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.exception.AdvancedInvestErrorCode;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.position.PositionBook;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.rule.TradeRules;
+import com.prgrms.ijuju.domain.stock.adv.advstock.constant.DataType;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.MarketSnapshot;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.StockSeries;
+import com.prgrms.ijuju.domain.wallet.exception.WalletErrorCode;
+import com.prgrms.ijuju.domain.wallet.exception.WalletException;
+import com.prgrms.ijuju.global.exception.BusinessException;
+import com.prgrms.ijuju.global.exception.ErrorCode;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 리플레이 중인 게임 하나의 상태 입니다. 한 스레드에서만 씁니다.
+ * 지갑은 포인트 숫자 하나로, 거래 내역 저장은 생략하고, 나머지는 AdvancedInvestServiceImpl 과 같은 순서로 검사합니다.
+ */
+final class ReplayGame {
+
+    private final MarketSnapshot snapshot;
+    private final long startingPoints;
+    private final PositionBook positionBook = new PositionBook();
+    private final Map<String, Integer> rejections = new HashMap<>();
+
+    private long points;
+    private int liveSent;
+    private int executedTrades;
+    private int rejectedTrades;
+    private int endSecond = -1;
+
+    ReplayGame(MarketSnapshot snapshot, long startingPoints) {
+        this.snapshot = snapshot;
+        this.startingPoints = startingPoints;
+        this.points = startingPoints;
+    }
+
+    boolean isEnded() {
+        return endSecond >= 0;
+    }
+
+    void end(int second) {
+        if (!isEnded()) {
+            endSecond = second;
+        }
+    }
+
+    // 장전 거래 시간 시작. ReferenceData 가 없으면 실제 게임도 DataNotFoundException 으로 끝난다
+    void onReference() {
+        if (snapshot.isEmpty(DataType.REFERENCE)) {
+            end(0);
+        }
+    }
+
+    // LiveData 전송. TickPayloadCache 와 같이 모든 종목에 livePhase 번째 데이터가 있어야 보낼 수 있다
+    void onLive(int second, int livePhase) {
+        if (!TradeRules.canSendLive(liveSent)) {
+            return;
+        }
+        if (!hasLiveFrame(livePhase)) {
+            end(second);
+            return;
+        }
+        liveSent++;
+    }
+
+    void execute(ReplayAction action) {
+        if (isEnded()) {
+            reject(AdvancedInvestErrorCode.GAME_NOT_FOUND); // 끝난 게임에 온 요청
+            return;
+        }
+        try {
+            switch (action.tradeType()) {
+                case BUY -> buy(action.symbol(), action.quantity());
+                case SELL -> sell(action.symbol(), action.quantity());
+            }
+            executedTrades++;
+        } catch (BusinessException e) {
+            reject(e.getErrorCode());
+        }
+    }
+
+    private void buy(String symbol, double quantity) {
+        double tradePrice = TradeRules.tradePrice(snapshot, symbol, liveSent);
+        TradeRules.validateQuantity(quantity);
+
+        long pointsRequired = TradeRules.tradeAmount(tradePrice, quantity).longValue();
+        if (points < pointsRequired) {
+            throw new WalletException(WalletErrorCode.POINT_INSUFFICIENT);
+        }
+        points -= pointsRequired;
+        positionBook.buy(symbol, quantity, tradePrice);
+    }
+
+    private void sell(String symbol, double quantity) {
+        double tradePrice = TradeRules.tradePrice(snapshot, symbol, liveSent);
+        TradeRules.validateQuantity(quantity);
+
+        positionBook.sell(symbol, quantity, tradePrice);
+        points += TradeRules.tradeAmount(tradePrice, quantity).longValue();
+    }
+
+    private void reject(ErrorCode errorCode) {
+        rejectedTrades++;
+        rejections.merge(errorCode.getCode(), 1, Integer::sum);
+    }
+
+    private boolean hasLiveFrame(int livePhase) {
+        if (snapshot.isEmpty(DataType.LIVE)) {
+            return false;
+        }
+        for (StockSeries series : snapshot.seriesOf(DataType.LIVE)) {
+            if (livePhase >= series.size()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    ReplayResult result() {
+        double holdingsValue = 0;
+        for (StockSeries series : snapshot.seriesOf(DataType.LIVE)) {
+            double quantity = positionBook.quantityOf(series.getSymbol());
+            if (quantity > 0 && series.size() > 0) {
+                holdingsValue += quantity * series.latestClosePrice();
+            }
+        }
+        return new ReplayResult(startingPoints, points, holdingsValue, executedTrades, rejectedTrades,
+                liveSent, endSecond, Map.copyOf(rejections));
+    }
+}
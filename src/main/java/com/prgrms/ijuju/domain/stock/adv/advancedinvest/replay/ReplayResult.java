@@ -0,0 +1,28 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.replay;
+
+import java.util.Map;
+
+/**
+ * 리플레이한 게임 하나의 결과
+ *
+ * @param holdingsValue 게임 종료 시 남은 보유 주식을 마지막 종가로 계산한 값
+ * @param liveSent      전송된 LiveData 개수 (정상 게임이면 6)
+ * @param endSecond     게임이 끝난 초. 데이터가 부족하면 420 보다 일찍 끝난다
+ * @param rejections    거절된 거래의 에러 코드별 개수
+ */
+public record ReplayResult(
+        long startingPoints,
+        long finalPoints,
+        double holdingsValue,
+        int executedTrades,
+        int rejectedTrades,
+        int liveSent,
+        int endSecond,
+        Map<String, Integer> rejections
+) {
+
+    // 포인트 변화 + 남은 주식 가치
+    public double profit() {
+        return finalPoints - startingPoints + holdingsValue;
+    }
+}
@@ -0,0 +1,55 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.replay;
+
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.constant.GamePhase;
+import com.prgrms.ijuju.domain.stock.adv.stockrecord.entity.StockRecord;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 게임 하나에서 보낼 거래 요청 목록 입니다. 초 순서로 정렬되고, 같은 초에서는 넣은 순서를 지킵니다.
+ * 직접 만들거나, 실제 게임의 거래 내역(fromRecords)이나 랜덤 봇(random)으로 만듭니다.
+ */
+public record ReplayScript(List<ReplayAction> actions) {
+
+    public ReplayScript {
+        List<ReplayAction> sorted = new ArrayList<>(actions);
+        sorted.sort(Comparator.comparingInt(ReplayAction::second)); // 안정 정렬
+        actions = List.copyOf(sorted);
+    }
+
+    public static ReplayScript of(ReplayAction... actions) {
+        return new ReplayScript(List.of(actions));
+    }
+
+    // 실제 게임의 거래 내역. 게임 시작 시각(AdvancedInvest.startTime)과 거래 시각의 차이를 게임 속 초로 본다
+    // 일시정지 후 재개한 게임은 멈춰있던 시간만큼 뒤로 밀리기 때문에 마지막 초에 몰릴 수 있다
+    public static ReplayScript fromRecords(List<StockRecord> records, long startTimeMillis) {
+        List<ReplayAction> actions = new ArrayList<>(records.size());
+        for (StockRecord record : records) {
+            long tradeMillis = record.getTradeDate().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            long elapsedSeconds = (tradeMillis - startTimeMillis) / 1000;
+            int second = (int) Math.max(0, Math.min(elapsedSeconds, GamePhase.GAME_SECONDS - 1));
+            actions.add(new ReplayAction(second, record.getTradeType(), record.getSymbol(), record.getQuantity()));
+        }
+        return new ReplayScript(actions);
+    }
+
+    // 밸런스 확인용 랜덤 봇. LiveData 가 나오는 거래 시간 동안 아무 종목이나 사고판다. 같은 seed 면 같은 스크립트
+    public static ReplayScript random(List<String> symbols, int tradeCount, int maxQuantity, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<ReplayAction> actions = new ArrayList<>(tradeCount);
+        for (int i = 0; i < tradeCount; i++) {
+            int second = random.nextInt(GamePhase.LIVE_START_SECOND, GamePhase.GAME_SECONDS);
+            String symbol = symbols.get(random.nextInt(symbols.size()));
+            int quantity = random.nextInt(1, maxQuantity + 1);
+            actions.add(random.nextBoolean()
+                    ? ReplayAction.buy(second, symbol, quantity)
+                    : ReplayAction.sell(second, symbol, quantity));
+        }
+        return new ReplayScript(actions);
+    }
+}
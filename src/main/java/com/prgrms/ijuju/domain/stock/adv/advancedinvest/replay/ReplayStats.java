@@ -0,0 +1,34 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.replay;
+
+import java.util.List;
+
+// 여러 게임의 결과 요약. 포인트 경제 밸런스를 볼 때 사용
+public record ReplayStats(
+        int games,
+        double meanProfit,
+        double minProfit,
+        double maxProfit,
+        long executedTrades,
+        long rejectedTrades
+) {
+
+    public static ReplayStats of(List<ReplayResult> results) {
+        if (results.isEmpty()) {
+            return new ReplayStats(0, 0, 0, 0, 0, 0);
+        }
+        double total = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        long executed = 0;
+        long rejected = 0;
+        for (ReplayResult result : results) {
+            double profit = result.profit();
+            total += profit;
+            min = Math.min(min, profit);
+            max = Math.max(max, profit);
+            executed += result.executedTrades();
+            rejected += result.rejectedTrades();
+        }
+        return new ReplayStats(results.size(), total / results.size(), min, max, executed, rejected);
+    }
+}
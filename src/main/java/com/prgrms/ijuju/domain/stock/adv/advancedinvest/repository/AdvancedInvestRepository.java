@@ -5,7 +5,9 @@ import com.prgrms.ijuju.domain.stock.adv.advancedinvest.entity.AdvancedInvest;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,11 +15,28 @@ public interface AdvancedInvestRepository extends JpaRepository<AdvancedInvest,
 
     Optional<AdvancedInvest> findByMemberIdAndPlayedTodayTrue(Long member_id);
 
+    Optional<AdvancedInvest> findTopByMemberIdOrderByIdDesc(Long memberId);
+
     @Modifying
     @Query("UPDATE AdvancedInvest ai SET ai.playedToday = false WHERE ai.playedToday = true")
     void resetPlayedToday();
 
     @Query("SELECT a FROM AdvancedInvest a WHERE a.paused = true")
     List<AdvancedInvest> findAllByPausedTrue();
+
+    // 7시 리셋용. 엔티티 대신 id 와 멈춘 초만 읽는다
+    @Query("SELECT a.id AS id, a.currentSecond AS currentSecond FROM AdvancedInvest a WHERE a.paused = true")
+    List<PausedGame> findPausedGames();
+
+    // 진행 중이던 게임과 일시정지 상태였던 게임을 한번에 종료 처리
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE AdvancedInvest a SET a.playedToday = true, a.paused = false WHERE a.paused = true OR a.id IN :gameIds")
+    int endGames(@Param("gameIds") Collection<Long> gameIds);
+
+    interface PausedGame {
+        Long getId();
+
+        int getCurrentSecond();
+    }
 }
 
@@ -0,0 +1,89 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.rule;
+
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.constant.GamePhase;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.exception.stockexception.DataNotFoundException;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.exception.stockexception.InvalidQuantityException;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.exception.stockexception.StockNotFoundException;
+import com.prgrms.ijuju.domain.stock.adv.advstock.constant.DataType;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.MarketSnapshot;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.StockSeries;
+
+import java.math.BigDecimal;
+
+/**
+ * 고급 투자 게임의 거래 규칙 입니다. 실제 게임(AdvancedInvestServiceImpl)과 리플레이(GameReplayEngine)가 같이 씁니다.
+ * 상태가 없고 MarketSnapshot 만 읽기 때문에 어느 스레드에서 불러도 됩니다.
+ */
+public final class TradeRules {
+
+    private static final int VOLUME_WINDOW = 8;
+
+    private TradeRules() {
+    }
+
+    // 거래 가격은 마지막으로 전송된 LiveData 의 종가. 아직 LiveData 가 나가기 전(장전 거래 시간)이면 ReferenceData 의 마지막 종가
+    // 평가 손익(phaseClosePrice)과 같은 시간의 종가라서, 사자마자 평가하면 평가 손익은 0 이다
+    public static double tradePrice(MarketSnapshot snapshot, String stockSymbol, int liveSentCount) {
+        DataType dataType = liveSentCount == 0 ? DataType.REFERENCE : DataType.LIVE;
+        StockSeries series = snapshot.find(dataType, stockSymbol)
+                .orElseThrow(StockNotFoundException::new);
+
+        if (series.size() == 0) {
+            throw new DataNotFoundException();
+        }
+        if (liveSentCount == 0) {
+            return series.latestClosePrice();
+        }
+        return series.closePrice(Math.min(liveSentCount, series.size()) - 1);
+    }
+
+    // 거래 시간 livePhase 에 나간 LiveData 의 종가. 평가 손익 계산용이라 데이터가 없으면 예외 대신 NaN
+    public static double phaseClosePrice(MarketSnapshot snapshot, String stockSymbol, int livePhase) {
+        StockSeries series = snapshot.find(DataType.LIVE, stockSymbol).orElse(null);
+        if (series == null || livePhase < 0 || livePhase >= series.size()) {
+            return Double.NaN;
+        }
+        return series.closePrice(livePhase);
+    }
+
+    public static void validateQuantity(double quantity) {
+        if (quantity <= 0) {
+            throw new InvalidQuantityException();
+        }
+    }
+
+    // 거래 총액. 지갑에는 소수점 아래를 버린 값(longValue)이 반영된다
+    public static BigDecimal tradeAmount(double price, double quantity) {
+        return BigDecimal.valueOf(price).multiply(BigDecimal.valueOf(quantity));
+    }
+
+    // LiveData 가 livePhase 번째까지 전송됐는지. 6개를 넘게 보내지 않는다
+    public static boolean canSendLive(int liveSentCount) {
+        return liveSentCount < GamePhase.LIVE_PHASE_COUNT;
+    }
+
+    // 최근 거래량 8개. 아직 전송되지 않은 LiveData 자리는 ReferenceData 의 마지막 값들로 채운다
+    public static long[] recentVolumes(MarketSnapshot snapshot, String stockSymbol, int liveSentCount) {
+        StockSeries referenceSeries = snapshot.find(DataType.REFERENCE, stockSymbol)
+                .orElseThrow(() -> new IllegalArgumentException("Reference Data를 찾을 수 없습니다."));
+        StockSeries liveSeries = snapshot.find(DataType.LIVE, stockSymbol)
+                .orElseThrow(() -> new IllegalArgumentException("Live Data를 찾을 수 없습니다."));
+
+        int referenceCount = Math.min(Math.max(0, VOLUME_WINDOW - liveSentCount), referenceSeries.size()); // ReferenceData에서 가져올 개수
+        int liveCount = Math.min(Math.min(liveSentCount, VOLUME_WINDOW), liveSeries.size());               // LiveData에서 가져올 개수
+
+        long[] combinedVolumes = new long[referenceCount + liveCount];
+
+        // ReferenceData에서 최신 데이터 추가
+        int referenceStart = referenceSeries.size() - referenceCount;
+        for (int i = 0; i < referenceCount; i++) {
+            combinedVolumes[i] = referenceSeries.volume(referenceStart + i);
+        }
+
+        // LiveData에서 가장 오래된 데이터 추가
+        for (int i = 0; i < liveCount; i++) {
+            combinedVolumes[referenceCount + i] = liveSeries.volume(i);
+        }
+        return combinedVolumes;
+    }
+}
@@ -2,6 +2,8 @@ package com.prgrms.ijuju.domain.stock.adv.advancedinvest.service;
 
 
 import com.prgrms.ijuju.domain.stock.adv.advancedinvest.dto.request.StockTransactionRequestDto;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.dto.response.GameResetResult;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.eventlog.GameReport;
 import org.springframework.web.socket.WebSocketSession;
 
 import java.util.List;
@@ -23,11 +25,14 @@ public interface AdvancedInvestService {
     // 게임 종료
     void endGame(Long gameId);
 
+    // 결과 보고서 조회
+    GameReport getGameReport(Long gameId);
+
     // 남은 시간 조회
     int getRemainingTime(Long gameId);
 
     // 7시 리셋
-    void resetPlayedTodayStatus();
+    GameResetResult resetPlayedTodayStatus();
 
     // 주식 구매
     void buyStock(Long gameId, StockTransactionRequestDto request);
@@ -1,178 +1,316 @@
 package com.prgrms.ijuju.domain.stock.adv.advancedinvest.service;
 
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.clock.GameClock;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.clock.GameTimer;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.cohort.CohortSeat;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.cohort.GameCohort;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.cohort.GameCohorts;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.constant.GamePhase;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.eventlog.GameCheckpoint;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.eventlog.GameEventLog;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.eventlog.GameRecovery;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.eventlog.GameReport;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.mailbox.SessionMailbox;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.payload.TickPayloadCache;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.position.PositionBook;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.position.PortfolioView;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.rule.TradeRules;
 import com.prgrms.ijuju.domain.stock.adv.advancedinvest.exception.gameexception.GameAlreadyPlayedException;
 import com.prgrms.ijuju.domain.stock.adv.advancedinvest.exception.gameexception.GameAlreadyStartedException;
 import com.prgrms.ijuju.domain.stock.adv.advancedinvest.exception.gameexception.GameNotFoundException;
 import com.prgrms.ijuju.domain.stock.adv.advancedinvest.exception.gameexception.InvalidGameTimeException;
 import com.prgrms.ijuju.domain.stock.adv.advancedinvest.exception.otherexception.MemberNotFoundException;
 import com.prgrms.ijuju.domain.stock.adv.advancedinvest.exception.stockexception.DataNotFoundException;
-import com.prgrms.ijuju.domain.stock.adv.advancedinvest.exception.stockexception.InvalidQuantityException;
 import com.prgrms.ijuju.domain.stock.adv.advancedinvest.exception.stockexception.StockNotFoundException;
 import com.prgrms.ijuju.global.util.WebSocketUtil;
 import com.prgrms.ijuju.domain.member.entity.Member;
 import com.prgrms.ijuju.domain.member.repository.MemberRepository;
 import com.prgrms.ijuju.domain.stock.adv.advancedinvest.dto.request.StockTransactionRequestDto;
-import com.prgrms.ijuju.domain.stock.adv.advancedinvest.dto.response.AdvStockResponseDto;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.dto.response.GameResetResult;
 import com.prgrms.ijuju.domain.stock.adv.advancedinvest.entity.AdvancedInvest;
 import com.prgrms.ijuju.domain.stock.adv.advancedinvest.repository.AdvancedInvestRepository;
-import com.prgrms.ijuju.domain.stock.adv.advstock.constant.DataType;
-import com.prgrms.ijuju.domain.stock.adv.advstock.entity.AdvStock;
-import com.prgrms.ijuju.domain.stock.adv.advstock.repository.AdvStockRepository;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.MarketSnapshot;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.MarketSnapshotHolder;
 import com.prgrms.ijuju.domain.stock.adv.stockrecord.constant.TradeType;
 import com.prgrms.ijuju.domain.stock.adv.stockrecord.dto.request.StockRecordRequestDto;
+import com.prgrms.ijuju.domain.stock.adv.stockrecord.journal.TradeJournal;
 import com.prgrms.ijuju.domain.stock.adv.stockrecord.service.StockRecordService;
 import com.prgrms.ijuju.domain.wallet.service.WalletService;
 import com.prgrms.ijuju.domain.wallet.dto.request.StockPointRequestDTO;
 import com.prgrms.ijuju.domain.wallet.entity.StockType;
 import com.prgrms.ijuju.domain.wallet.entity.TransactionType;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
-import jakarta.annotation.PreDestroy;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.*;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AdvancedInvestServiceImpl implements AdvancedInvestService {
 
     private final AdvancedInvestRepository advancedInvestRepository;
-    private final AdvStockRepository advStockRepository;
     private final MemberRepository memberRepository;
     private final StockRecordService stockRecordService;
     private final WalletService walletService;
-    private final ScheduledExecutorService executorService = Executors.newScheduledThreadPool(1);
+    private final GameClock gameClock;
+    private final MarketSnapshotHolder marketSnapshotHolder;
+    private final TickPayloadCache tickPayloadCache;
+    private final TradeJournal tradeJournal;
+    private final GameCohorts gameCohorts;
+    private final GameEventLog gameEventLog;
+    private final PlatformTransactionManager transactionManager;
+
+    // 7시 리셋에서 세션 닫기를 기다리는 최대 시간
+    @Value("${adv.reset.close-timeout-millis:10000}")
+    private long closeTimeoutMillis;
+
+    // 클라이언트가 밀려서 LiveData 가 아직 안 나갔으면 새 LiveData 로 바꿔 보낸다
+    private static final String LIVE_MESSAGE_KEY = "adv:live";
+    private static final String PORTFOLIO_MESSAGE_KEY = "adv:portfolio";
 
-
-
-
-    
     private final Map<Long, GameState> gameStates = new ConcurrentHashMap<>();
     private final Map<Long, Long> memberIdToGameId = new ConcurrentHashMap<>();
 
 
+    // 혼자 하는 게임은 자기 GameTimer 를, 코호트 게임은 코호트의 시간을 따른다. 둘 중 하나만 있다
+    // 게임 상태는 세션의 SessionMailbox 안에서만 바뀌기 때문에 synchronized 가 필요 없다
     private static class GameState {
-        private final ScheduledFuture<?> timer;
+        private final Long gameId;
+        private final GameTimer timer;
+        private final GameCohort cohort;
         private final WebSocketSession session;
-        private volatile int currentSecond;
-        private volatile int liveSentCounter;
-
-        public GameState(ScheduledFuture<?> timer, WebSocketSession session) {
-            this.timer = timer;
+        private final PositionBook positionBook;
+        private int liveSentCounter;
+
+        // 혼자 하는 게임. 타이머 이벤트가 어느 GameState 에서 나왔는지 같이 넘긴다
+        public GameState(Long gameId, int startSecond, WebSocketSession session, PositionBook positionBook,
+                         int liveSentCounter, StatePhaseListener listener) {
+            this.gameId = gameId;
+            this.timer = new GameTimer(gameId, startSecond, (phase, livePhase) -> listener.onPhase(this, phase, livePhase));
+            this.cohort = null;
             this.session = session;
-            this.currentSecond = 0;
-            this.liveSentCounter = 0;
+            this.positionBook = positionBook;
+            this.liveSentCounter = liveSentCounter;
         }
 
-        public synchronized void updateSecond(int second) {
-            this.currentSecond = second;
+        // 코호트 게임. 늦게 들어온 게임도 코호트가 이미 보낸 LiveData 의 종가로 거래한다
+        public GameState(Long gameId, GameCohort cohort, WebSocketSession session, PositionBook positionBook) {
+            this.gameId = gameId;
+            this.timer = null;
+            this.cohort = cohort;
+            this.session = session;
+            this.positionBook = positionBook;
+            this.liveSentCounter = cohort.getLiveSent();
         }
 
-        public synchronized void incrementLiveCounter() {
-            this.liveSentCounter++;
+        // livePhase 번째 LiveData 를 보냈다. 거래 가격이 이 값으로 정해지기 때문에 더하지 않고 맞춰둔다
+        public void markLiveSent(int livePhase) {
+            this.liveSentCounter = livePhase + 1;
         }
 
+        // 일시정지/종료. 코호트 게임은 코호트에서 빠지기만 하고 코호트 시계는 계속 돈다
+        public void stop() {
+            if (cohort != null) {
+                cohort.leave(gameId);
+            } else {
+                timer.cancel();
+            }
+        }
 
-        public ScheduledFuture<?> getTimer() { return timer; }
+        public Long getGameId() { return gameId; }
+        public GameTimer getTimer() { return timer; }
+        public GameCohort getCohort() { return cohort; }
         public WebSocketSession getSession() { return session; }
-        public synchronized int getCurrentSecond() { return currentSecond; }
-        public synchronized int getLiveSentCounter() { return liveSentCounter; }
+        public PositionBook getPositionBook() { return positionBook; }
+        public int getCurrentSecond() { return cohort != null ? cohort.getCurrentSecond() : timer.getCurrentSecond(); }
+        public int getLiveSentCounter() { return liveSentCounter; }
+
+        // 이벤트 로그에 남길 지금 상태
+        public GameCheckpoint checkpoint() { return new GameCheckpoint(getCurrentSecond(), liveSentCounter, positionBook); }
+    }
+
+    @FunctionalInterface
+    private interface StatePhaseListener {
+        void onPhase(GameState gameState, GamePhase phase, int livePhase);
     }
 
 
     //게임 타이머. 게임은 총 7분 진행되며, 1분은 장전 거래 시간, 5분은 거래 시간, 마지막 1분은 장후 거래 시간
-    //SechduledExecutorService 를 사용하였습니다.   >>>  https://lslagi.tistory.com/entry/JAVA-ScheduledExecutorService-Timer-%EC%A0%81%EC%9A%A9%EC%9E%90%EB%8F%99-%EB%A6%AC%ED%94%8C%EB%A0%88%EC%89%AC
+    //모든 게임이 하나의 GameClock 을 공유합니다. 게임마다 매 초 작업을 돌리지 않고, 데이터를 보내야 하는 시점에만 이벤트가 발생합니다
+    //이벤트는 바로 처리하지 않고 세션의 메일박스에 넣어서, 같은 게임의 거래 요청과 순서대로 처리됩니다
     @Override
     public void startGameTimer(WebSocketSession session, Long gameId, int startSecond) {
+        startGameTimer(session, gameId, startSecond, new PositionBook(), 0);
+    }
 
+    private void startGameTimer(WebSocketSession session, Long gameId, int startSecond, PositionBook positionBook,
+                                int liveSentCounter) {
+        SessionMailbox mailbox = SessionMailbox.of(session);
+        GameState gameState = new GameState(gameId, startSecond, session, positionBook, liveSentCounter,
+                (state, phase, livePhase) -> mailbox.execute(() -> handleGamePhase(state, phase, livePhase)));
 
-        Runnable gameTask = new Runnable() {
-            int second = startSecond;
+        // 첫 이벤트가 바로 실행될 수 있기 때문에 GameState 를 먼저 등록
+        gameStates.put(gameId, gameState);
+        gameClock.schedule(gameState.getTimer());
+    }
 
-            public void run() {
-                try {
-                    GameState gameState = gameStates.get(gameId);
-                    if (gameState == null) {
-                        return; // Game state not found, stop execution
+    private void handleGamePhase(GameState gameState, GamePhase phase, int livePhase) {
+        Long gameId = gameState.getGameId();
+        WebSocketSession session = gameState.getSession();
+        try {
+            // 정지 후 재개했다면 예전 타이머의 이벤트가 메일박스에 남아있을 수 있다
+            if (gameStates.get(gameId) != gameState || (gameState.getTimer().isCancelled() && phase != GamePhase.END)) {
+                return; // 이미 정지/종료된 게임
+            }
+
+            switch (phase) {
+                case REFERENCE -> sendReferenceData(session); // 장전 거래 시간 1분 > ReferenceData
+
+                case LIVE -> { // 거래 시간 5분 > LiveData >> 총 6개의 데이터가 전송
+                    if (TradeRules.canSendLive(gameState.getLiveSentCounter())) { // 최대 6개 데이터만 전송
+                        sendLiveData(session, livePhase);
+                        sendPortfolio(gameState, livePhase);
+                        gameState.markLiveSent(livePhase);
+                        recordTick(gameState, livePhase);
                     }
+                }
 
-                    gameState.updateSecond(second);
+                case END -> {
+                    sendEndSignal(session); // endGame 이 세션을 닫기 때문에 먼저 보낸다
+                    endGame(gameId); // 게임 종료
+                }
+            }
 
-                    if (second == 0) { // 장전 거래 시간 1분 > ReferenceData
-                        sendReferenceData(session);
+        } catch (DataNotFoundException | StockNotFoundException e) {
+            // 데이터 관련 예외는 게임을 종료
+            endGame(gameId);
+        } catch (Exception e) {
+            // 기타 예외는 로깅 후 게임 일시정지
+            log.error("게임 이벤트 처리 실패, 게임을 일시정지합니다: gameId={}", gameId, e);
+            pauseGame(gameId);
+        }
+    }
 
-                    } else if (second >= 60 && second <= 310 && (second - 60) % 50 == 0) { // 거래 시간 5분 > LiveData >> 총 6개의 데이터가 전송
-                        int livePhase = (second - 60) / 50;
-                        if (livePhase < 6 && gameState.getLiveSentCounter() < 6) { // 최대 6개 데이터만 전송
-                            sendLiveData(session, livePhase);
-                            gameState.incrementLiveCounter();
-                        }
+    // 코호트 게임. 이벤트는 코호트당 한번 발생하고, 같은 메시지를 참가한 게임들의 메일박스에 넣는다
+    private void startCohortGame(WebSocketSession session, Long gameId) {
+        CohortSeat seat = gameCohorts.join(gameId, session, this::handleCohortPhase);
+        gameStates.put(gameId, new GameState(gameId, seat.cohort(), session, new PositionBook()));
 
-                    } else if (second >= 420) {
-                        endGame(gameId); // 게임 종료
-                        sendEndSignal(session);
-                        return; // Stop execution after game end
-                    }
+        if (seat.missedReference()) { // 코호트가 시작된 뒤에 들어온 게임
+            sendReferenceData(session);
+        }
+    }
 
-                    second++; // 다음 초로 진행
+    private void handleCohortPhase(GameCohort cohort, GamePhase phase, int livePhase) {
+        try {
+            switch (phase) {
+                case REFERENCE -> {
+                    TextMessage reference = tickPayloadCache.referenceMessage();
+                    postToMembers(cohort, cohort.markReferenceSent(),
+                            gameState -> WebSocketUtil.send(gameState.getSession(), reference));
+                }
 
-                } catch (DataNotFoundException | StockNotFoundException e) {
-                    // 데이터 관련 예외는 게임을 종료
-                    endGame(gameId);
-                } catch (Exception e) {
-                    // 기타 예외는 로깅 후 게임 일시정지
-                    e.printStackTrace();
-                    pauseGame(gameId);
+                case LIVE -> {
+                    if (cohort.canSendLive()) {
+                        TextMessage live = tickPayloadCache.liveMessage(livePhase);
+                        cohort.incrementLiveSent();
+                        postToMembers(cohort, cohort.members(), gameState -> {
+                            WebSocketUtil.send(gameState.getSession(), live, LIVE_MESSAGE_KEY);
+                            sendPortfolio(gameState, livePhase);
+                            gameState.markLiveSent(livePhase);
+                            recordTick(gameState, livePhase);
+                        });
+                    }
                 }
+
+                case END -> postToMembers(cohort, cohort.members(), gameState -> {
+                    sendEndSignal(gameState.getSession());
+                    endGame(gameState.getGameId());
+                });
             }
-        };
 
-        //activeTimer 는 카운터 작업을 관리하는 객체
-        ScheduledFuture<?> activeTimer = executorService.scheduleAtFixedRate(gameTask, 0, 1, TimeUnit.SECONDS);
-        GameState gameState = new GameState(activeTimer, session);
-        gameState.updateSecond(startSecond);
-        gameStates.put(gameId, gameState);
+        } catch (DataNotFoundException | StockNotFoundException e) {
+            // 데이터 관련 예외는 코호트의 모든 게임을 종료
+            postToMembers(cohort, cohort.members(), gameState -> endGame(gameState.getGameId()));
+        }
     }
 
-    // Reference Data
-    //LazyInitializationException 이 생겨서 문제 해결
-    @Transactional
-    public void sendReferenceData(WebSocketSession session) {
-        List<AdvStock> referenceData = advStockRepository.findByDataType(DataType.REFERENCE);
+    // 참가한 게임마다 자기 메일박스에서 실행. 한 게임의 실패가 다른 참가자에게 영향을 주지 않도록, 실패한 게임만 일시정지
+    private void postToMembers(GameCohort cohort, Map<Long, WebSocketSession> members, Consumer<GameState> action) {
+        members.forEach((gameId, session) -> SessionMailbox.of(session).execute(() -> {
+            GameState gameState = gameStates.get(gameId);
+            if (gameState == null || gameState.getCohort() != cohort) {
+                return; // 그 사이에 정지/종료된 게임
+            }
+            try {
+                action.accept(gameState);
+            } catch (Exception e) {
+                log.error("코호트 게임 이벤트 처리 실패, 게임을 일시정지합니다: gameId={}, cohortId={}", gameId, cohort.getId(), e);
+                pauseQuietly(gameId);
+            }
+        }));
+    }
 
-        if (referenceData.isEmpty()) {
-            throw new DataNotFoundException();
+    private void pauseQuietly(Long gameId) {
+        try {
+            if (gameStates.containsKey(gameId)) {
+                pauseGame(gameId);
+            }
+        } catch (Exception e) {
+            log.error("게임 일시정지 실패: gameId={}", gameId, e);
         }
+    }
 
-        List<AdvStockResponseDto> responseDto = referenceData.stream()
-                .flatMap(stock -> AdvStockResponseDto.fromEntityForReference(stock).stream())
-                .toList();
-
-        WebSocketUtil.send(session, responseDto);
+    // Reference Data
+    // 모든 게임이 TickPayloadCache 에 미리 직렬화된 같은 메시지를 받습니다
+    public void sendReferenceData(WebSocketSession session) {
+        WebSocketUtil.send(session, tickPayloadCache.referenceMessage());
     }
 
     // Live Data
-    @Transactional
     public void sendLiveData(WebSocketSession session, int livePhase) {
-        List<AdvStock> liveData = advStockRepository.findByDataType(DataType.LIVE);
+        WebSocketUtil.send(session, tickPayloadCache.liveMessage(livePhase), LIVE_MESSAGE_KEY); // 특정 시간 데이터를 전송
+    }
 
-        if (liveData.isEmpty() || livePhase >= liveData.size()) {
-            throw new DataNotFoundException();
+    // 평가 손익. 그 거래 시간의 종가로 장부를 평가하고, 지난번에 보낸 것과 달라졌을 때만 보낸다
+    private void sendPortfolio(GameState gameState, int livePhase) {
+        MarketSnapshot snapshot = marketSnapshotHolder.current();
+        PortfolioView portfolio = gameState.getPositionBook()
+                .markToMarket(livePhase, symbol -> TradeRules.phaseClosePrice(snapshot, symbol, livePhase));
+        if (portfolio != null) {
+            WebSocketUtil.send(gameState.getSession(), WebSocketUtil.toTextMessage(Map.of("portfolio", portfolio)),
+                    PORTFOLIO_MESSAGE_KEY);
         }
+    }
 
-        List<AdvStockResponseDto> responseDto = liveData.stream()
-                .map(stock -> AdvStockResponseDto.fromEntity(stock, livePhase))  // 특정 시간 데이터를 전송
-                .toList();
-        WebSocketUtil.send(session, responseDto);
+    private void recordTick(GameState gameState, int livePhase) {
+        gameEventLog.tick(gameState.getGameId(), gameState.checkpoint(), livePhase, marketSnapshotHolder.current());
     }
 
     private void sendEndSignal(WebSocketSession session) {
@@ -182,7 +320,7 @@ public class AdvancedInvestServiceImpl implements AdvancedInvestService {
     private void safeCloseWebSocketSession(WebSocketSession session) {
         if (session != null && session.isOpen()) {
             try {
-                session.close();
+                WebSocketUtil.close(session); // 종료 신호를 먼저 보낸 뒤에 닫힌다
             } catch (IOException e) {
                 // 로그만 남기고 예외는 무시 (게임 종료 과정에서 실패해도 계속 진행)
                 e.printStackTrace();
@@ -191,7 +329,6 @@ public class AdvancedInvestServiceImpl implements AdvancedInvestService {
     }
 
     // Volumes 조회
-    @Transactional
     @Override
     public void getRecentVolumes(WebSocketSession session, String stockSymbol, Long gameId) {
         GameState gameState = gameStates.get(gameId);
@@ -201,37 +338,10 @@ public class AdvancedInvestServiceImpl implements AdvancedInvestService {
 
         int liveSentCounterValue = gameState.getLiveSentCounter(); // LiveData 전송 횟수
 
-        // 2. ReferenceData 가져오기
-        List<Long> referenceVolumes = advStockRepository.findBySymbolAndDataType(stockSymbol, DataType.REFERENCE)
-                .map(AdvStock::getVolumes)
-                .orElseThrow(() -> new IllegalArgumentException("Reference Data를 찾을 수 없습니다."));
-
-        // 3. LiveData 가져오기
-        List<Long> liveVolumes = advStockRepository.findBySymbolAndDataType(stockSymbol, DataType.LIVE)
-                .map(AdvStock::getVolumes)
-                .orElseThrow(() -> new IllegalArgumentException("Live Data를 찾을 수 없습니다."));
-
-        // 4. ReferenceData와 LiveData 조합
-        int referenceCount = Math.max(0, 8 - liveSentCounterValue); // ReferenceData에서 가져올 개수
-        int liveCount = Math.min(liveSentCounterValue, 8);         // LiveData에서 가져올 개수
-
-        List<Long> combinedVolumes = new ArrayList<>();
-
-        // ReferenceData에서 최신 데이터 추가
-        if (referenceCount > 0) {
-            List<Long> latestReferenceVolumes = referenceVolumes.subList(
-                    Math.max(referenceVolumes.size() - referenceCount, 0), referenceVolumes.size()
-            );
-            combinedVolumes.addAll(latestReferenceVolumes);
-        }
-
-        // LiveData에서 가장 오래된 데이터 추가
-        if (liveCount > 0) {
-            List<Long> earliestLiveVolumes = liveVolumes.subList(0, Math.min(liveCount, liveVolumes.size()));
-            combinedVolumes.addAll(earliestLiveVolumes);
-        }
+        // ReferenceData 와 지금까지 전송된 LiveData 를 조합
+        long[] combinedVolumes = TradeRules.recentVolumes(marketSnapshotHolder.current(), stockSymbol, liveSentCounterValue);
 
-        // 5. WebSocket으로 전송
+        // WebSocket으로 전송
         WebSocketUtil.send(session, Map.of("volumes", combinedVolumes));
     }
 
@@ -271,9 +381,14 @@ public class AdvancedInvestServiceImpl implements AdvancedInvestService {
         );
 
         memberIdToGameId.put(memberId, advancedInvest.getId());
+        gameEventLog.start(advancedInvest.getId());
 
-        // 게임 타이머 시작
-        startGameTimer(session, advancedInvest.getId(), 0);
+        // 게임 타이머 시작. 코호트 모드면 비슷한 시각에 시작한 게임들과 시간을 같이 쓴다
+        if (gameCohorts.isEnabled()) {
+            startCohortGame(session, advancedInvest.getId());
+        } else {
+            startGameTimer(session, advancedInvest.getId(), 0);
+        }
     }
 
 
@@ -286,10 +401,9 @@ public class AdvancedInvestServiceImpl implements AdvancedInvestService {
             throw new GameNotFoundException();
         }
 
-        ScheduledFuture<?> activeTimer = gameState.getTimer();
-        if (activeTimer != null) {
-            activeTimer.cancel(false);
-        }
+        gameState.stop();
+        gameEventLog.pause(gameId, gameState.checkpoint()); // 재개할 때 쓸 스냅샷
+        tradeJournal.flush(); // 이벤트 로그가 없는 게임은 재개 시 거래 내역으로 장부를 다시 만들기 때문에 먼저 저장
 
         AdvancedInvest advancedInvest = advancedInvestRepository.findById(gameId)
                 .orElseThrow(GameNotFoundException::new);
@@ -303,6 +417,9 @@ public class AdvancedInvestServiceImpl implements AdvancedInvestService {
     @Override
     @Transactional
     public void resumeGame(WebSocketSession session, Long gameId) {
+        // 큐에 남은 거래를 먼저 기록한다. 첫 조회보다 앞에 둬야 장부를 다시 만들 때 이 트랜잭션에서도 보인다
+        tradeJournal.flush();
+
         AdvancedInvest advancedInvest = advancedInvestRepository.findById(gameId)
                 .orElseThrow(GameNotFoundException::new);
         if (!advancedInvest.isPaused()) {
@@ -313,7 +430,14 @@ public class AdvancedInvestServiceImpl implements AdvancedInvestService {
         advancedInvest.setPaused(false); // 게임 상태를 진행 중으로 변경
         advancedInvestRepository.save(advancedInvest);
 
-        startGameTimer(session, gameId, currentSecond); // 타이머 재개
+        // 장부와 LiveData 전송 횟수는 이벤트 로그의 스냅샷으로 되살린다. 로그가 없는 게임만 거래 내역으로 장부를 다시 만든다
+        GameRecovery recovery = gameEventLog.recover(gameId)
+                .orElseGet(() -> new GameRecovery(currentSecond, 0,
+                        PositionBook.rebuild(stockRecordService.getRecordsByGame(gameId))));
+        gameEventLog.resume(gameId, currentSecond);
+
+        // 타이머 재개. 코호트 게임도 재개하면 멈춘 시점부터 혼자 진행한다
+        startGameTimer(session, gameId, currentSecond, recovery.positionBook(), recovery.liveSentCounter());
     }
 
     // 게임 종료
@@ -328,20 +452,39 @@ public class AdvancedInvestServiceImpl implements AdvancedInvestService {
         memberIdToGameId.entrySet().removeIf(entry -> entry.getValue().equals(gameId));
 
         if (gameState != null) {
-            ScheduledFuture<?> timer = gameState.getTimer();
-            if (timer != null) {
-                timer.cancel(false);
-            }
+            gameState.stop();
+            gameEventLog.end(gameId, gameState.getCurrentSecond());
 
-            //웹소켓 종료
+            //웹소켓 종료. 결과 보고서를 보낸 뒤에 닫힌다
             WebSocketSession session = gameState.getSession();
+            sendReport(session, gameId);
             safeCloseWebSocketSession(session);
+        } else {
+            gameEventLog.end(gameId, advancedInvest.getCurrentSecond()); // 일시정지 상태에서 종료
         }
 
+        // 이 게임의 거래 내역이 모두 기록된 뒤에 종료 처리
+        tradeJournal.flush();
+
         advancedInvest.setPlayedToday(true);
         advancedInvestRepository.save(advancedInvest);
     }
 
+    // 결과 보고서 조회. 이벤트 로그가 없는 게임(보관 기간이 지났거나 기록에 실패한 게임)은 찾을 수 없다
+    @Override
+    public GameReport getGameReport(Long gameId) {
+        return gameEventLog.report(gameId).orElseThrow(GameNotFoundException::new);
+    }
+
+    private void sendReport(WebSocketSession session, Long gameId) {
+        try {
+            gameEventLog.report(gameId).ifPresent(report -> WebSocketUtil.send(session, Map.of("report", report)));
+        } catch (RuntimeException e) {
+            // 보고서 전송에 실패해도 종료는 계속 진행
+            log.warn("게임 결과 보고서 전송 실패: gameId={}", gameId, e);
+        }
+    }
+
     // 남은 시간 조회 메소드
     @Override
     public int getRemainingTime(Long gameId) {
@@ -349,29 +492,85 @@ public class AdvancedInvestServiceImpl implements AdvancedInvestService {
         if (gameState == null) {
             throw new GameNotFoundException();
         }
-        return Math.max(0, 420 - gameState.getCurrentSecond()); // 전체 시간에서 현재 초수 뺀 값 반환
+        return Math.max(0, GamePhase.GAME_SECONDS - gameState.getCurrentSecond()); // 전체 시간에서 현재 초수 뺀 값 반환
     }
 
 
     //아침 7시 리셋
+    //게임마다 endGame 을 부르지 않고 한번에 정리합니다. 진행 중인 게임이 많아도 스케줄러 스레드를 오래 잡지 않도록
+    // 1. 진행 중인 게임을 한번에 떼어내고 타이머를 멈춘다
+    // 2. 이벤트 로그 종료와 세션 닫기는 가상 스레드에서 동시에 진행하고, closeTimeoutMillis 가 지나면 기다리지 않는다
+    // 3. 거래 내역은 한번만 flush 하고, DB 는 UPDATE 두번으로 끝낸다
     @Override
     @Scheduled(cron = "0 0 7 * * ?") //
-    @Transactional
-    public void resetPlayedTodayStatus() {
-
-        //7시에 모든 유저 PlayedToday = false;
-        advancedInvestRepository.resetPlayedToday();
+    public GameResetResult resetPlayedTodayStatus() {
+        long started = System.nanoTime();
+
+        // 진행 중인 게임. 그 사이에 들어온 타이머 이벤트는 gameStates 에 없어서 무시된다
+        List<GameState> activeGames = new ArrayList<>();
+        Set<Long> activeGameIds = new HashSet<>();
+        for (Map.Entry<Long, GameState> entry : gameStates.entrySet()) {
+            if (gameStates.remove(entry.getKey(), entry.getValue())) {
+                entry.getValue().stop();
+                activeGames.add(entry.getValue());
+                activeGameIds.add(entry.getKey());
+            }
+        }
 
-        // 진행 중인 게임 강제 종료
-        List<Long> gameIds = new ArrayList<>(gameStates.keySet());
-        for (Long gameId : gameIds) {
-            endGame(gameId);
+        // 정지 상태인 게임
+        List<AdvancedInvestRepository.PausedGame> pausedGames = advancedInvestRepository.findPausedGames();
+
+        Set<Long> endedGameIds = new HashSet<>(activeGameIds);
+        pausedGames.forEach(game -> endedGameIds.add(game.getId()));
+        memberIdToGameId.values().removeAll(endedGameIds);
+
+        long closeStarted = System.nanoTime();
+        List<Callable<Void>> closes = new ArrayList<>(activeGames.size() + pausedGames.size());
+        for (GameState gameState : activeGames) {
+            closes.add(() -> {
+                gameEventLog.end(gameState.getGameId(), gameState.getCurrentSecond());
+                safeCloseWebSocketSession(gameState.getSession());
+                return null;
+            });
+        }
+        for (AdvancedInvestRepository.PausedGame game : pausedGames) {
+            closes.add(() -> {
+                gameEventLog.end(game.getId(), game.getCurrentSecond());
+                return null;
+            });
         }
+        int timedOutSessions = runWithDeadline(closes);
+        long closeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - closeStarted);
+
+        // 종료된 게임들의 거래 내역이 모두 기록된 뒤에 DB 를 갱신
+        tradeJournal.flush();
+
+        //7시에 모든 유저 PlayedToday = false, 강제 종료된 게임은 playedToday = true
+        int updatedRows = new TransactionTemplate(transactionManager).execute(status -> {
+            advancedInvestRepository.resetPlayedToday();
+            return advancedInvestRepository.endGames(activeGameIds);
+        });
+
+        GameResetResult result = new GameResetResult(activeGames.size(), pausedGames.size(), updatedRows,
+                timedOutSessions, closeMillis, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        log.info("고급 투자 7시 리셋 완료: {}", result);
+        return result;
+    }
 
-        // 정지 상태인 게임 강제 종료
-        List<AdvancedInvest> pausedGames = advancedInvestRepository.findAllByPausedTrue();
-        for (AdvancedInvest game : pausedGames) {
-            endGame(game.getId());
+    // 모든 작업을 동시에 시작하고 closeTimeoutMillis 까지만 기다린다. 끝나지 않은 작업 수를 돌려준다
+    private int runWithDeadline(List<Callable<Void>> tasks) {
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            List<Future<Void>> futures = executor.invokeAll(tasks, closeTimeoutMillis, TimeUnit.MILLISECONDS);
+            return (int) futures.stream().filter(Future::isCancelled).count();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return tasks.size();
+        } finally {
+            executor.shutdownNow(); // 끝나지 않은 작업은 기다리지 않는다
         }
     }
 
@@ -379,26 +578,14 @@ public class AdvancedInvestServiceImpl implements AdvancedInvestService {
     @Transactional
     @Override
     public void buyStock(Long gameId, StockTransactionRequestDto request) {
-        AdvancedInvest advancedInvest = advancedInvestRepository.findById(gameId)
-                .orElseThrow(GameNotFoundException::new);
+        GameState gameState = findActiveGame(gameId);
 
-        List<Double> closePrices = advStockRepository.findBySymbol(request.getStockSymbol())
-                .map(AdvStock::getClosePrices)
-                .orElseThrow(StockNotFoundException::new);
+        double tradePrice = findTradePrice(gameState, request.getStockSymbol()); // 마지막으로 보낸 LiveData 의 종가
 
-        if (closePrices.isEmpty()) {
-            throw new DataNotFoundException();
-        }
-
-        Double latestClosePrice = closePrices.get(closePrices.size() - 1); // 가장 최신 종가
-
-        if (request.getQuantity() <= 0) {
-            throw new InvalidQuantityException();
-        }
+        TradeRules.validateQuantity(request.getQuantity());
 
         // 주식 구매에 필요한 포인트 계산
-        BigDecimal pointsRequired = BigDecimal.valueOf(latestClosePrice)
-                .multiply(BigDecimal.valueOf(request.getQuantity()));
+        BigDecimal pointsRequired = TradeRules.tradeAmount(tradePrice, request.getQuantity());
         // 포인트 차감 및 거래 기록
         StockPointRequestDTO stockPointRequest = StockPointRequestDTO.builder()
                 .memberId(request.getMemberId())
@@ -419,39 +606,42 @@ public class AdvancedInvestServiceImpl implements AdvancedInvestService {
                 .advId(gameId)
                 .build();
 
-        // 거래 내역 저장
-        stockRecordService.saveRecord(recordRequest, advancedInvest.getMember());
+        // 거래 내역(TradeJournal), 장부, 게임 이벤트 로그는 포인트 차감이 커밋된 뒤에만 바꾼다. 롤백되면 모두 그대로다
+        afterCommit(() -> {
+            tradeJournal.append(recordRequest);
+            gameState.getPositionBook().buy(request.getStockSymbol(), request.getQuantity(), tradePrice);
+            gameEventLog.trade(gameId, gameState.checkpoint(), TradeType.BUY, request.getStockSymbol(), request.getQuantity(), tradePrice);
+        });
     }
 
     @Transactional
     @Override
     public void sellStock(Long gameId, StockTransactionRequestDto request) {
-        AdvancedInvest advancedInvest = advancedInvestRepository.findById(gameId)
-                .orElseThrow(GameNotFoundException::new);
+        GameState gameState = findActiveGame(gameId);
 
-        List<Double> closePrices = advStockRepository.findBySymbol(request.getStockSymbol())
-                .map(AdvStock::getClosePrices)
-                .orElseThrow(StockNotFoundException::new);
+        double tradePrice = findTradePrice(gameState, request.getStockSymbol()); // 마지막으로 보낸 LiveData 의 종가
 
-        if (closePrices.isEmpty()) {
-            throw new DataNotFoundException();
-        }
+        TradeRules.validateQuantity(request.getQuantity());
 
-        Double latestClosePrice = closePrices.get(closePrices.size() - 1); // 가장 최신 종가
+        // 보유 주식 수량 확인 및 차감은 바로 한다. 커밋 전에 같은 주식을 또 팔지 못하게 하고, 트랜잭션이 롤백되면 되돌린다
+        PositionBook positionBook = gameState.getPositionBook();
+        double averageCost = positionBook.averageCostOf(request.getStockSymbol());
+        positionBook.sell(request.getStockSymbol(), request.getQuantity(), tradePrice);
+        afterRollback(() -> positionBook.cancelSell(request.getStockSymbol(), request.getQuantity(), averageCost, tradePrice));
 
-        if (request.getQuantity() <= 0) {
-            throw new InvalidQuantityException();
-        }
+        StockRecordRequestDto recordRequest = settleSell(gameId, request, tradePrice);
 
-        // 보유 주식 수량 확인
-        double ownedQuantity = stockRecordService.calculateOwnedStock(request.getMemberId(), request.getStockSymbol());
-        if (ownedQuantity < request.getQuantity()) {
-            throw new IllegalArgumentException("보유 수량보다 많은 주식을 판매할 수 없습니다.");
-        }
+        // 거래 내역(TradeJournal)과 게임 이벤트 로그는 포인트 환급이 커밋된 뒤에만 남긴다
+        // 롤백된 거래가 재개나 결과 보고서에 나오지 않게 하기 위해서다
+        afterCommit(() -> {
+            tradeJournal.append(recordRequest);
+            gameEventLog.trade(gameId, gameState.checkpoint(), TradeType.SELL, request.getStockSymbol(), request.getQuantity(), tradePrice);
+        });
+    }
 
+    private StockRecordRequestDto settleSell(Long gameId, StockTransactionRequestDto request, double tradePrice) {
         // 판매로 얻는 포인트 계산
-        BigDecimal pointsEarned = BigDecimal.valueOf(latestClosePrice)
-                .multiply(BigDecimal.valueOf(request.getQuantity()));
+        BigDecimal pointsEarned = TradeRules.tradeAmount(tradePrice, request.getQuantity());
 
         // 포인트 환급 및 거래 기록
         StockPointRequestDTO stockPointRequest = StockPointRequestDTO.builder()
@@ -464,7 +654,7 @@ public class AdvancedInvestServiceImpl implements AdvancedInvestService {
 
         walletService.simulateStockInvestment(stockPointRequest);
 
-        StockRecordRequestDto recordRequest = StockRecordRequestDto.builder()
+        return StockRecordRequestDto.builder()
                 .memberId(request.getMemberId())
                 .stockSymbol(request.getStockSymbol())
                 .tradeType(TradeType.SELL)
@@ -472,25 +662,49 @@ public class AdvancedInvestServiceImpl implements AdvancedInvestService {
                 .price(pointsEarned)
                 .advId(gameId)
                 .build();
+    }
 
-        // 거래 내역 저장
-        stockRecordService.saveRecord(recordRequest, advancedInvest.getMember());
+    // 거래는 진행 중인 게임에서만 가능. 메모리에 있는 GameState 로 확인하기 때문에 DB 조회가 없다
+    private GameState findActiveGame(Long gameId) {
+        GameState gameState = gameStates.get(gameId);
+        if (gameState == null) {
+            throw new GameNotFoundException();
+        }
+        return gameState;
     }
 
-    @PreDestroy
-    public void shutdown() {
+    // 거래 가격은 이 게임에 마지막으로 보낸 LiveData 의 종가. 평가 손익(sendPortfolio)과 같은 가격이다
+    private double findTradePrice(GameState gameState, String stockSymbol) {
+        return TradeRules.tradePrice(marketSnapshotHolder.current(), stockSymbol, gameState.getLiveSentCounter());
+    }
 
-        if (executorService != null && !executorService.isShutdown()) {
-            executorService.shutdown();
-            try {
-                if (!executorService.awaitTermination(5, TimeUnit.SECONDS)) {
-                    executorService.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                executorService.shutdownNow();
-                Thread.currentThread().interrupt();
+    // TradeJournal 은 자기 트랜잭션(REQUIRES_NEW)으로 저장하고 장부는 메모리에 있어서, 지갑 트랜잭션이 롤백되어도 같이 돌아가지 않는다
+    // 그래서 트랜잭션 밖의 작업은 커밋이 끝난 뒤에 실행한다
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
             }
+        });
+    }
+
+    // 메소드 안의 예외든 커밋 중 실패든, 트랜잭션이 롤백되면 실행. buyStock/sellStock 은 항상 프록시를 거쳐 트랜잭션 안에서 불린다
+    private static void afterRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    action.run();
+                }
+            }
+        });
     }
 }
-
@@ -0,0 +1,160 @@
+package com.prgrms.ijuju.domain.stock.adv.advstock.codec;
+
+import com.prgrms.ijuju.domain.stock.adv.advstock.constant.DataType;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.StockSeries;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * AdvStockCandle.data 컬럼의 바이너리 포맷을 읽고 쓰는 클래스 입니다.
+ *
+ * [version 1 byte][deflate 로 압축된 본문]
+ * 본문 >> count, timestamps, open, high, low, close, volumes 순서이며 모든 숫자는 varint 입니다.
+ * - timestamp : 첫 값은 그대로, 이후는 delta-of-delta. 시간봉은 간격이 일정해서 대부분 0 이 되어 1바이트로 줄어듭니다
+ * - price     : 소수점 4자리 고정소수점(x10,000) long 으로 바꾼 뒤 직전 값과의 차이를 저장합니다
+ * - volume    : 그대로 저장
+ * 차이 값은 음수가 나올 수 있어 zigzag 인코딩 후 varint 로 씁니다.
+ *
+ * 가격은 소수점 4자리까지만 보존됩니다. Polygon 이 주는 주가는 그 이상 정밀하지 않습니다.
+ */
+public final class CandleCodec {
+
+    public static final byte VERSION = 1;
+    private static final double PRICE_SCALE = 10_000d;
+
+    private CandleCodec() {
+    }
+
+    public static byte[] encode(StockSeries series) {
+        int size = series.size();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(size * 16);
+
+        writeVarLong(body, size);
+
+        long previousTimestamp = 0;
+        long previousDelta = 0;
+        for (int i = 0; i < size; i++) {
+            long delta = series.timestamp(i) - previousTimestamp;
+            writeVarLong(body, zigzag(delta - previousDelta));
+            previousTimestamp = series.timestamp(i);
+            previousDelta = delta;
+        }
+
+        writePrices(body, series, PriceColumn.OPEN);
+        writePrices(body, series, PriceColumn.HIGH);
+        writePrices(body, series, PriceColumn.LOW);
+        writePrices(body, series, PriceColumn.CLOSE);
+
+        for (int i = 0; i < size; i++) {
+            writeVarLong(body, series.volume(i));
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.size() / 2 + 16);
+        out.write(VERSION);
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(out, new Deflater(Deflater.BEST_COMPRESSION))) {
+            body.writeTo(deflater);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public static StockSeries decode(String symbol, String name, DataType dataType, byte[] data) {
+        if (data.length == 0 || data[0] != VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 캔들 포맷입니다: " + symbol + " " + dataType);
+        }
+
+        ByteBuffer body;
+        try (InflaterInputStream inflater = new InflaterInputStream(new ByteArrayInputStream(data, 1, data.length - 1))) {
+            body = ByteBuffer.wrap(inflater.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        int size = (int) readVarLong(body);
+
+        long[] timestamps = new long[size];
+        long previousTimestamp = 0;
+        long previousDelta = 0;
+        for (int i = 0; i < size; i++) {
+            long delta = previousDelta + unzigzag(readVarLong(body));
+            timestamps[i] = previousTimestamp + delta;
+            previousTimestamp = timestamps[i];
+            previousDelta = delta;
+        }
+
+        double[] openPrices = readPrices(body, size);
+        double[] highPrices = readPrices(body, size);
+        double[] lowPrices = readPrices(body, size);
+        double[] closePrices = readPrices(body, size);
+
+        long[] volumes = new long[size];
+        for (int i = 0; i < size; i++) {
+            volumes[i] = readVarLong(body);
+        }
+
+        return new StockSeries(symbol, name, dataType, openPrices, highPrices, lowPrices, closePrices, volumes, timestamps);
+    }
+
+    private enum PriceColumn { OPEN, HIGH, LOW, CLOSE }
+
+    private static void writePrices(ByteArrayOutputStream out, StockSeries series, PriceColumn column) {
+        long previous = 0;
+        for (int i = 0; i < series.size(); i++) {
+            double price = switch (column) {
+                case OPEN -> series.openPrice(i);
+                case HIGH -> series.highPrice(i);
+                case LOW -> series.lowPrice(i);
+                case CLOSE -> series.closePrice(i);
+            };
+            long fixed = Math.round(price * PRICE_SCALE);
+            writeVarLong(out, zigzag(fixed - previous));
+            previous = fixed;
+        }
+    }
+
+    private static double[] readPrices(ByteBuffer in, int size) {
+        double[] prices = new double[size];
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            previous += unzigzag(readVarLong(in));
+            prices[i] = previous / PRICE_SCALE;
+        }
+        return prices;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,216 @@
+package com.prgrms.ijuju.domain.stock.adv.advstock.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.prgrms.ijuju.domain.stock.adv.advstock.dto.PolygonCandles;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Polygon aggregates API 응답(JSON)을 스트리밍으로 읽어 PolygonCandles 로 만드는 클래스 입니다.
+ *
+ * ObjectMapper 로 DTO 를 만들면 캔들마다 객체가 하나씩 생기고, 그걸 다시 컬럼별로 옮겨야 했습니다.
+ * 여기서는 JsonParser 로 토큰을 하나씩 읽으면서 results 배열의 값을 바로 primitive 배열에 넣습니다.
+ * - 배열 크기는 results 앞에 오는 resultsCount 를 보고 잡고, 없으면 두배씩 늘립니다
+ * - 모르는 필드(vw, n, request_id 등)는 skipChildren 으로 건너뜁니다
+ * - 캔들에 빠진 값은 0 입니다 (예전 DTO 기본값과 동일)
+ * - 소수는 Jackson 이 숫자마다 String 을 만든 뒤 Double.parseDouble 하기 때문에, 지수 표기가 없는 평범한 소수는
+ *   parser 의 문자 버퍼를 직접 읽어 변환합니다 (가수 2^53 미만, 소수점 아래 22자리 이하면 나눗셈 한번으로 정확히 반올림됨).
+ *   그 밖의 경우만 Jackson 에 맡깁니다.
+ *
+ * 참고 >> https://polygon.io/docs/stocks/get_v2_aggs_ticker__stocksticker__range__multiplier___timespan___from___to
+ */
+public final class PolygonCandleDecoder {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private PolygonCandleDecoder() {
+    }
+
+    public static PolygonCandles decode(InputStream body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return decode(parser);
+        }
+    }
+
+    public static PolygonCandles decode(byte[] body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return decode(parser);
+        }
+    }
+
+    private static PolygonCandles decode(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Polygon 응답이 JSON 객체가 아닙니다");
+        }
+
+        String status = null;
+        String ticker = null;
+        int capacityHint = DEFAULT_CAPACITY;
+        Columns columns = null;
+
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "status" -> status = parser.getValueAsString();
+                case "ticker" -> ticker = parser.getValueAsString();
+                case "resultsCount" -> capacityHint = Math.max(1, parser.getValueAsInt(DEFAULT_CAPACITY));
+                case "results" -> {
+                    if (value == JsonToken.START_ARRAY) {
+                        columns = readResults(parser, capacityHint);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (columns == null) {
+            columns = new Columns(0);
+        }
+        return columns.toCandles(status, ticker);
+    }
+
+    private static Columns readResults(JsonParser parser, int capacityHint) throws IOException {
+        Columns columns = new Columns(capacityHint);
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            int index = columns.next();
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                parser.nextToken();
+                switch (field) {
+                    case "o" -> columns.openPrices[index] = readDouble(parser);
+                    case "h" -> columns.highPrices[index] = readDouble(parser);
+                    case "l" -> columns.lowPrices[index] = readDouble(parser);
+                    case "c" -> columns.closePrices[index] = readDouble(parser);
+                    case "v" -> columns.volumes[index] = readLong(parser); // 소수로 오는 경우가 있어 버림
+                    case "t" -> columns.timestamps[index] = readLong(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        return columns;
+    }
+
+    private static double readDouble(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+            return parser.getLongValue();
+        }
+        if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+            double value = parsePlainDecimal(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            if (!Double.isNaN(value)) {
+                return value;
+            }
+        }
+        return parser.getValueAsDouble();
+    }
+
+    private static long readLong(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return (long) readDouble(parser);
+        }
+        return parser.getValueAsLong();
+    }
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    // "-123.4567" 같은 소수를 변환한다. 정확히 변환할 수 없는 형태(지수 표기, 자릿수 초과)면 NaN
+    static double parsePlainDecimal(char[] chars, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        boolean negative = false;
+        if (i < end && chars[i] == '-') {
+            negative = true;
+            i++;
+        }
+
+        long mantissa = 0;
+        int fractionDigits = -1; // 소수점을 만나면 0 부터 센다
+        int digits = 0;
+        for (; i < end; i++) {
+            char ch = chars[i];
+            if (ch >= '0' && ch <= '9') {
+                if (++digits > 18) {
+                    return Double.NaN;
+                }
+                mantissa = mantissa * 10 + (ch - '0');
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (ch == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                return Double.NaN;
+            }
+        }
+
+        if (digits == 0 || mantissa >= MAX_EXACT_MANTISSA || fractionDigits >= POWERS_OF_TEN.length) {
+            return Double.NaN;
+        }
+        double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+        return negative ? -value : value;
+    }
+
+    // 디코딩 중에만 쓰는 늘어나는 컬럼 버퍼
+    private static final class Columns {
+
+        private double[] openPrices;
+        private double[] highPrices;
+        private double[] lowPrices;
+        private double[] closePrices;
+        private long[] volumes;
+        private long[] timestamps;
+        private int size;
+
+        Columns(int capacity) {
+            openPrices = new double[capacity];
+            highPrices = new double[capacity];
+            lowPrices = new double[capacity];
+            closePrices = new double[capacity];
+            volumes = new long[capacity];
+            timestamps = new long[capacity];
+        }
+
+        // 다음 캔들 자리를 만들고 인덱스를 돌려준다
+        int next() {
+            if (size == timestamps.length) {
+                resize(Math.max(DEFAULT_CAPACITY, size * 2));
+            }
+            return size++;
+        }
+
+        PolygonCandles toCandles(String status, String ticker) {
+            if (size != timestamps.length) {
+                resize(size);
+            }
+            return new PolygonCandles(status, ticker, openPrices, highPrices, lowPrices, closePrices, volumes, timestamps);
+        }
+
+        private void resize(int capacity) {
+            openPrices = Arrays.copyOf(openPrices, capacity);
+            highPrices = Arrays.copyOf(highPrices, capacity);
+            lowPrices = Arrays.copyOf(lowPrices, capacity);
+            closePrices = Arrays.copyOf(closePrices, capacity);
+            volumes = Arrays.copyOf(volumes, capacity);
+            timestamps = Arrays.copyOf(timestamps, capacity);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.prgrms.ijuju.domain.stock.adv.advstock.codec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.prgrms.ijuju.domain.stock.adv.advstock.dto.PolygonCandles;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.NonNull;
+
+import java.io.IOException;
+
+// RestClient 가 응답 본문을 byte[] 나 DTO 로 만들지 않고 PolygonCandleDecoder 로 바로 흘려보내게 하는 컨버터. 읽기 전용
+public class PolygonCandleMessageConverter extends AbstractHttpMessageConverter<PolygonCandles> {
+
+    public PolygonCandleMessageConverter() {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+    }
+
+    @Override
+    protected boolean supports(@NonNull Class<?> clazz) {
+        return PolygonCandles.class == clazz;
+    }
+
+    @Override
+    public boolean canWrite(@NonNull Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    @NonNull
+    protected PolygonCandles readInternal(@NonNull Class<? extends PolygonCandles> clazz, @NonNull HttpInputMessage inputMessage)
+            throws IOException {
+        try {
+            return PolygonCandleDecoder.decode(inputMessage.getBody());
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("Polygon 응답을 읽을 수 없습니다: " + e.getOriginalMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(@NonNull PolygonCandles candles, @NonNull HttpOutputMessage outputMessage) {
+        throw new HttpMessageNotWritableException("PolygonCandles 는 쓰기를 지원하지 않습니다");
+    }
+}
@@ -1,8 +1,6 @@
 package com.prgrms.ijuju.domain.stock.adv.advstock.controller;
 
 import com.prgrms.ijuju.domain.stock.adv.advstock.constant.DataType;
-import com.prgrms.ijuju.domain.stock.adv.advstock.entity.AdvStock;
-import com.prgrms.ijuju.domain.stock.adv.advstock.repository.AdvStockRepository;
 import com.prgrms.ijuju.domain.stock.adv.advstock.scheduler.AdvStockScheduler;
 import com.prgrms.ijuju.domain.stock.adv.advstock.service.AdvStockDataFetcher;
 import com.prgrms.ijuju.domain.stock.adv.advstock.service.AdvStockService;
@@ -22,15 +20,15 @@ import java.util.List;
 public class AdvStockController {
 
     private final AdvStockScheduler advStockScheduler;
-    private final AdvStockRepository advStockRepository;
+    private final AdvStockService advStockService;
 
 
     @DeleteMapping("/delete-all")
     public ResponseEntity<String> deleteAllStockData() {
         // Delete REFERENCE data
-        advStockRepository.deleteByDataType(DataType.REFERENCE);
+        advStockService.deleteByDataType(DataType.REFERENCE);
         // Delete LIVE data
-        advStockRepository.deleteByDataType(DataType.LIVE);
+        advStockService.deleteByDataType(DataType.LIVE);
 
         return ResponseEntity.ok("All stock data has been successfully deleted.");
     }
@@ -0,0 +1,55 @@
+package com.prgrms.ijuju.domain.stock.adv.advstock.dto;
+
+import com.prgrms.ijuju.domain.stock.adv.advstock.constant.DataType;
+import com.prgrms.ijuju.domain.stock.adv.advstock.exception.stockexception.EmptyStockDataException;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.StockSeries;
+import lombok.Getter;
+
+/**
+ * Polygon aggregates API 응답을 primitive 컬럼으로 들고 있는 DTO 입니다. 저희 프론트 측과는 관계 없습니다.
+ *
+ * 예전에는 PolygonCandleResponse 아래에 캔들 하나당 PolygonCandleResult 객체를 만들었는데,
+ * 지금은 PolygonCandleDecoder 가 JSON 을 읽으면서 바로 배열을 채웁니다. 캔들 하나당 객체가 생기지 않습니다.
+ * 만들어진 뒤에는 배열을 바꾸지 않기 때문에 toSeries 는 배열을 복사하지 않고 그대로 넘깁니다.
+ */
+public final class PolygonCandles {
+
+    @Getter private final String status;
+    @Getter private final String ticker;
+
+    private final double[] openPrices;
+    private final double[] highPrices;
+    private final double[] lowPrices;
+    private final double[] closePrices;
+    private final long[] volumes;
+    private final long[] timestamps;
+
+    public PolygonCandles(String status, String ticker,
+                          double[] openPrices, double[] highPrices, double[] lowPrices, double[] closePrices,
+                          long[] volumes, long[] timestamps) {
+        this.status = status;
+        this.ticker = ticker;
+        this.openPrices = openPrices;
+        this.highPrices = highPrices;
+        this.lowPrices = lowPrices;
+        this.closePrices = closePrices;
+        this.volumes = volumes;
+        this.timestamps = timestamps;
+    }
+
+    public int size() { return timestamps.length; }
+
+    public double openPrice(int index) { return openPrices[index]; }
+    public double highPrice(int index) { return highPrices[index]; }
+    public double lowPrice(int index) { return lowPrices[index]; }
+    public double closePrice(int index) { return closePrices[index]; }
+    public long volume(int index) { return volumes[index]; }
+    public long timestamp(int index) { return timestamps[index]; }
+
+    public StockSeries toSeries(String symbol, String name, DataType dataType) {
+        if (size() == 0) {
+            throw new EmptyStockDataException();
+        }
+        return new StockSeries(symbol, name, dataType, openPrices, highPrices, lowPrices, closePrices, volumes, timestamps);
+    }
+}
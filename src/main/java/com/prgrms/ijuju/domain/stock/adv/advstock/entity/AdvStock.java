@@ -7,6 +7,9 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.util.List;
 
+/**
+ * 예전 저장 포맷 입니다. 지금은 AdvStockCandle 을 사용하며, 남아있는 데이터를 옮기는 AdvStockCandleMigrator 에서만 읽습니다.
+ */
 @Entity
 @Getter
 @ToString
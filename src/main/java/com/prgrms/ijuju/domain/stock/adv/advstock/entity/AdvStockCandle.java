@@ -0,0 +1,53 @@
+package com.prgrms.ijuju.domain.stock.adv.advstock.entity;
+
+import com.prgrms.ijuju.domain.stock.adv.advstock.codec.CandleCodec;
+import com.prgrms.ijuju.domain.stock.adv.advstock.constant.DataType;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.StockSeries;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 종목 하나, DataType 하나의 캔들 데이터를 한 행에 저장하는 엔티티 입니다.
+ * 예전 AdvStock 은 OHLCV 를 @ElementCollection 6개로 나눠 저장해서 종목마다 자식 테이블 6개를 읽어야 했습니다.
+ * 지금은 CandleCodec 으로 압축한 바이너리 컬럼 하나에 전부 들어있어, 종목 하나 = 행 하나 입니다.
+ */
+@Entity
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"symbol", "data_type"}))
+public class AdvStockCandle {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String symbol;  //주식 심볼 > 에: "AAPL"
+    private String name;    //주식 이름 > 에: "Apple Inc."
+
+    @Enumerated(EnumType.STRING)
+    private DataType dataType;  //REFERENCE or LIVE or FORECAST
+
+    private int candleCount;    //캔들 개수. 디코딩 없이 확인용
+
+    private byte formatVersion; //CandleCodec.VERSION
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] data;        //CandleCodec 으로 인코딩된 OHLCV
+
+    public static AdvStockCandle from(StockSeries series) {
+        return AdvStockCandle.builder()
+                .symbol(series.getSymbol())
+                .name(series.getName())
+                .dataType(series.getDataType())
+                .candleCount(series.size())
+                .formatVersion(CandleCodec.VERSION)
+                .data(CandleCodec.encode(series))
+                .build();
+    }
+
+    public StockSeries toSeries() {
+        return CandleCodec.decode(symbol, name, dataType, data);
+    }
+}
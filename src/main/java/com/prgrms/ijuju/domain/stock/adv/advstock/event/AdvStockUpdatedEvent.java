@@ -0,0 +1,5 @@
+package com.prgrms.ijuju.domain.stock.adv.advstock.event;
+
+// AdvStockScheduler 가 하루치 데이터를 새로 저장했을 때 발행됩니다
+public record AdvStockUpdatedEvent() {
+}
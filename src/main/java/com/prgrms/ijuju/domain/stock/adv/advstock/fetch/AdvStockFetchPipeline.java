@@ -0,0 +1,75 @@
+package com.prgrms.ijuju.domain.stock.adv.advstock.fetch;
+
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.StockSeries;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 종목 N개 x 기간 3개(Reference, Live, Forecast)의 Polygon 요청을 가상 스레드로 동시에 보내는 파이프라인 입니다.
+ *
+ * 요청 속도 제한, 타임아웃, 재시도는 AdvStockDataFetcher 가, 이미 받아둔 날 건너뛰기는 CachedCandleLoader 가 담당하기 때문에
+ * 여기서는 요청을 펼치고 결과를 모으기만 합니다.
+ * 결과는 DB 에 바로 쓰지 않고 메모리에 모아서 돌려주며, 트랜잭션 밖에서 실행됩니다.
+ * 한 종목에서 기간 하나라도 실패하면 그 종목은 통째로 제외합니다. 일부 기간만 있는 종목은 게임에서 쓸 수 없기 때문입니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdvStockFetchPipeline {
+
+    private final CachedCandleLoader cachedCandleLoader;
+
+    public List<StockSeries> fetchAll(List<String> symbols, List<FetchRange> ranges) {
+        Map<String, List<Future<StockSeries>>> futuresBySymbol = new LinkedHashMap<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String symbol : symbols) {
+                List<Future<StockSeries>> futures = new ArrayList<>(ranges.size());
+                for (FetchRange range : ranges) {
+                    futures.add(executor.submit(() -> fetch(symbol, range)));
+                }
+                futuresBySymbol.put(symbol, futures);
+            }
+
+            List<StockSeries> staged = new ArrayList<>(symbols.size() * ranges.size());
+            for (Map.Entry<String, List<Future<StockSeries>>> entry : futuresBySymbol.entrySet()) {
+                List<StockSeries> symbolSeries = collect(entry.getKey(), entry.getValue());
+                if (symbolSeries != null) {
+                    staged.addAll(symbolSeries);
+                }
+            }
+            return staged;
+        }
+    }
+
+    private StockSeries fetch(String symbol, FetchRange range) throws InterruptedException {
+        return cachedCandleLoader.load(symbol, symbol + " Name", range);
+    }
+
+    private List<StockSeries> collect(String symbol, List<Future<StockSeries>> futures) {
+        List<StockSeries> result = new ArrayList<>(futures.size());
+        for (Future<StockSeries> future : futures) {
+            try {
+                result.add(future.get());
+            } catch (ExecutionException e) {
+                log.error("데이터 처리 중 오류 발생: {}", symbol, e.getCause());
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+        log.info("데이터 수집 완료: " + symbol);
+        return result;
+    }
+}
@@ -0,0 +1,131 @@
+package com.prgrms.ijuju.domain.stock.adv.advstock.fetch;
+
+import com.prgrms.ijuju.domain.stock.adv.advstock.dto.PolygonCandles;
+import com.prgrms.ijuju.domain.stock.adv.advstock.exception.stockexception.EmptyStockDataException;
+import com.prgrms.ijuju.domain.stock.adv.advstock.fetch.CandleDiskStore.DaySlice;
+import com.prgrms.ijuju.domain.stock.adv.advstock.service.AdvStockDataFetcher;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.StockSeries;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * FetchRange 하나를 StockSeries 로 만들어 주는 클래스 입니다.
+ *
+ * CandleDiskStore 에 없는 날만 Polygon 에 요청하고(연속된 날은 한번에), 받은 캔들은 날짜별로 나눠 저장소에 덧붙입니다.
+ * 응답이 비었거나 잘려서 캔들이 없는 평일은 저장하지 않고 다음에 다시 요청합니다. 빈 날로 저장하는 건 주말과 휴일 뿐입니다.
+ * 그 다음 구간 전체를 저장소에서 읽어서 돌려줍니다. 어제까지 받아둔 날은 다시 요청하지 않기 때문에
+ * 매일 아침 실제로 요청하는 건 새로 구간에 들어온 하루 정도 입니다.
+ *
+ * 날짜 구분은 미국 장 기준(America/New_York) 입니다. 오늘 이후 날짜는 아직 확정된 데이터가 아니라서 저장하지 않고 매번 요청합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CachedCandleLoader {
+
+    static final ZoneId MARKET_ZONE = ZoneId.of("America/New_York");
+    private static final int MULTIPLIER = 1;
+    private static final String TIMESPAN = "hour";
+    private static final String RESOLUTION = MULTIPLIER + TIMESPAN;
+    private static final int POLYGON_LIMIT = 5000; // limit 을 주지 않았을 때 aggregates API 가 한번에 주는 최대 개수
+
+    private final AdvStockDataFetcher advStockDataFetcher;
+    private final CandleDiskStore candleDiskStore;
+
+    public StockSeries load(String symbol, String name, FetchRange range) throws InterruptedException {
+        LocalDate from = LocalDate.parse(range.startDate());
+        LocalDate to = LocalDate.parse(range.endDate());
+
+        if (!to.isBefore(LocalDate.now(MARKET_ZONE))) {
+            PolygonCandles candles = advStockDataFetcher.fetchStockData(
+                    symbol, MULTIPLIER, TIMESPAN, range.startDate(), range.endDate());
+            return candles.toSeries(symbol, name, range.dataType());
+        }
+
+        List<LocalDate> missing = candleDiskStore.missingDays(symbol, RESOLUTION, from, to);
+        for (LocalDate[] run : contiguousRuns(missing)) {
+            fetchAndStore(symbol, run[0], run[1]);
+        }
+
+        StockSeries series = candleDiskStore.read(symbol, name, range.dataType(), RESOLUTION, from, to);
+        if (series.size() == 0) {
+            throw new EmptyStockDataException();
+        }
+        return series;
+    }
+
+    private void fetchAndStore(String symbol, LocalDate from, LocalDate to) throws InterruptedException {
+        PolygonCandles candles = advStockDataFetcher.fetchStockData(
+                symbol, MULTIPLIER, TIMESPAN, from.toString(), to.toString());
+        candleDiskStore.append(symbol, RESOLUTION, candles, slicesToStore(candles, from, to));
+        log.debug("캔들 저장: {} {}~{}", symbol, from, to);
+    }
+
+    /**
+     * 응답을 날짜별 구간으로 나눈다. 응답은 시간순(sort=asc)이라 같은 날 캔들은 붙어 있다.
+     * 저장한 날은 다시 요청하지 않기 때문에, 확실한 날만 돌려준다.
+     * - 캔들이 있는 날. 단 응답이 limit 에 걸려 잘렸을 수 있으면 마지막 날은 덜 받았을 수 있어서 뺀다
+     * - 캔들이 없는 날은 장이 없던 게 확실할 때만 빈 구간으로 남긴다. 주말이거나, 응답에 그 뒤 날짜의 캔들이 있는 날(휴일)
+     * 그 외(응답이 비었거나 잘려서 없는 평일)는 저장하지 않고 다음에 다시 요청한다
+     */
+    static TreeMap<LocalDate, DaySlice> slicesToStore(PolygonCandles candles, LocalDate from, LocalDate to) {
+        TreeMap<LocalDate, DaySlice> slicesByDay = new TreeMap<>();
+        int start = 0;
+        LocalDate current = null;
+        for (int i = 0; i <= candles.size(); i++) {
+            LocalDate day = i < candles.size() ? dayOf(candles.timestamp(i)) : null;
+            if (day != null && day.equals(current)) {
+                continue;
+            }
+            if (current != null && !current.isBefore(from) && !current.isAfter(to)) {
+                slicesByDay.put(current, new DaySlice(start, i));
+            }
+            current = day;
+            start = i;
+        }
+        if (candles.size() >= POLYGON_LIMIT && !slicesByDay.isEmpty()) {
+            slicesByDay.pollLastEntry();
+        }
+
+        LocalDate lastCovered = slicesByDay.isEmpty() ? null : slicesByDay.lastKey();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            boolean covered = lastCovered != null && day.isBefore(lastCovered);
+            if (!slicesByDay.containsKey(day) && (isWeekend(day) || covered)) {
+                slicesByDay.put(day, DaySlice.EMPTY);
+            }
+        }
+        return slicesByDay;
+    }
+
+    private static boolean isWeekend(LocalDate day) {
+        DayOfWeek dayOfWeek = day.getDayOfWeek();
+        return dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
+    }
+
+    private static LocalDate dayOf(long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis).atZone(MARKET_ZONE).toLocalDate();
+    }
+
+    // [3일, 4일, 5일, 9일] -> [3일~5일], [9일~9일]
+    private static List<LocalDate[]> contiguousRuns(List<LocalDate> days) {
+        List<LocalDate[]> runs = new ArrayList<>();
+        for (LocalDate day : days) {
+            LocalDate[] last = runs.isEmpty() ? null : runs.get(runs.size() - 1);
+            if (last != null && last[1].plusDays(1).equals(day)) {
+                last[1] = day;
+            } else {
+                runs.add(new LocalDate[]{day, day});
+            }
+        }
+        return runs;
+    }
+}
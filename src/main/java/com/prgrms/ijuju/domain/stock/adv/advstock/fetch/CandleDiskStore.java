@@ -0,0 +1,300 @@
+package com.prgrms.ijuju.domain.stock.adv.advstock.fetch;
+
+import com.prgrms.ijuju.domain.stock.adv.advstock.constant.DataType;
+import com.prgrms.ijuju.domain.stock.adv.advstock.dto.PolygonCandles;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.StockSeries;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Polygon 에서 받아온 캔들을 로컬 디스크에 쌓아두는 저장소 입니다.
+ *
+ * DateUtil 의 Reference/Live/Forecast 구간은 하루가 지나도 대부분 겹치기 때문에, 한번 받아온 날은 다시 요청하지 않도록 여기에 남깁니다.
+ * 파일은 (종목, 해상도) 마다 하나이고 덧붙이기만 합니다. 이미 있는 날을 고치거나 지우지 않습니다.
+ *
+ * [블록] = [magic 4][epochDay 4][count 4][캔들 count 개]
+ * [캔들] = [timestamp 8][open 8][high 8][low 8][close 8][volume 8]
+ * 장이 없는 날(주말, 휴일)도 count 0 블록으로 남겨서 "받아봤는데 없던 날" 과 "아직 안 받은 날" 을 구분합니다.
+ *
+ * 읽기는 memory-mapped 로 열어 둔 구역에서 블록 위치(인덱스)로 바로 찾아갑니다.
+ * FileChannel.map 의 시작 위치는 long 이지만 매핑 하나의 크기는 2GB 까지라, 파일을 최대 1GB 구역으로 나눠 구역마다 매핑합니다.
+ * 블록은 구역을 걸치지 않게 배치하고, 덧붙이면 마지막 구역만 다시 매핑합니다.
+ * 인덱스는 메모리에만 있고, 처음 열 때 블록 헤더를 훑어서 만듭니다.
+ * 쓰다가 죽어서 마지막 블록이 잘려 있으면 그 지점부터 잘라내고 이어서 씁니다. 잘린 날은 다음 실행 때 다시 받아옵니다.
+ */
+@Slf4j
+@Component
+public class CandleDiskStore {
+
+    private static final int MAGIC = 0x43414E44; // "CAND"
+    private static final int HEADER_BYTES = 12;
+    private static final int CANDLE_BYTES = 48;
+    private static final long DEFAULT_REGION_BYTES = 1L << 30; // 매핑 하나의 최대 크기
+
+    private final Path directory;
+    private final long regionBytes;
+    private final Map<String, Segment> segments = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CandleDiskStore(@Value("${adv.candle-store.path:./data/candles}") String directory) {
+        this(directory, DEFAULT_REGION_BYTES);
+    }
+
+    // 테스트에서 구역을 작게 잡아 여러 구역에 걸친 읽기를 확인하기 위한 생성자
+    CandleDiskStore(String directory, long regionBytes) {
+        this.directory = Path.of(directory);
+        this.regionBytes = regionBytes;
+    }
+
+    @PreDestroy
+    public void close() {
+        segments.values().forEach(Segment::close);
+        segments.clear();
+    }
+
+    // 아직 저장되지 않은 날짜들 (from, to 포함)
+    public List<LocalDate> missingDays(String symbol, String resolution, LocalDate from, LocalDate to) {
+        Segment segment = segmentOf(symbol, resolution);
+        List<LocalDate> missing = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            if (!segment.contains(day)) {
+                missing.add(day);
+            }
+        }
+        return missing;
+    }
+
+    // candles 를 날짜별 구간(slicesByDay)으로 나눠 덧붙인다. 이미 있는 날은 건너뛴다. 빈 구간인 날은 장이 없던 날로 기록된다
+    public void append(String symbol, String resolution, PolygonCandles candles, NavigableMap<LocalDate, DaySlice> slicesByDay) {
+        segmentOf(symbol, resolution).append(candles, slicesByDay);
+    }
+
+    // from ~ to 사이에 저장된 캔들을 시간 순서대로 하나의 StockSeries 로 읽는다
+    public StockSeries read(String symbol, String name, DataType dataType, String resolution, LocalDate from, LocalDate to) {
+        return segmentOf(symbol, resolution).read(symbol, name, dataType, from, to);
+    }
+
+    // candles 안에서 하루에 해당하는 [from, to) 인덱스 구간
+    public record DaySlice(int from, int to) {
+
+        public static final DaySlice EMPTY = new DaySlice(0, 0);
+
+        public int size() {
+            return to - from;
+        }
+    }
+
+    private Segment segmentOf(String symbol, String resolution) {
+        return segments.computeIfAbsent(symbol + "_" + resolution,
+                key -> new Segment(directory.resolve(key + ".candles"), regionBytes));
+    }
+
+    private static final class Segment {
+
+        private final Path path;
+        private final long regionBytes;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final TreeMap<Integer, Block> blocksByDay = new TreeMap<>(); // epochDay -> 블록 위치
+        private final TreeMap<Long, MappedByteBuffer> regions = new TreeMap<>(); // 구역 시작 위치 -> 매핑
+
+        private FileChannel channel;
+        private long size;
+        private long lastRegionStart;
+
+        Segment(Path path, long regionBytes) {
+            this.path = path;
+            this.regionBytes = regionBytes;
+            try {
+                Files.createDirectories(path.toAbsolutePath().getParent());
+                this.channel = FileChannel.open(path,
+                        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                this.size = channel.size();
+                loadIndex();
+                remapLastRegion();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        boolean contains(LocalDate day) {
+            lock.lock();
+            try {
+                return blocksByDay.containsKey((int) day.toEpochDay());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void append(PolygonCandles candles, NavigableMap<LocalDate, DaySlice> slicesByDay) {
+            lock.lock();
+            try {
+                int bytes = 0;
+                List<Map.Entry<LocalDate, DaySlice>> newDays = new ArrayList<>();
+                for (Map.Entry<LocalDate, DaySlice> entry : slicesByDay.entrySet()) {
+                    if (!blocksByDay.containsKey((int) entry.getKey().toEpochDay())) {
+                        newDays.add(entry);
+                        bytes += HEADER_BYTES + entry.getValue().size() * CANDLE_BYTES;
+                    }
+                }
+                if (newDays.isEmpty()) {
+                    return;
+                }
+
+                ByteBuffer buffer = ByteBuffer.allocate(bytes);
+                List<Block> blocks = new ArrayList<>(newDays.size());
+                for (Map.Entry<LocalDate, DaySlice> entry : newDays) {
+                    DaySlice slice = entry.getValue();
+                    blocks.add(new Block(size + buffer.position(), slice.size()));
+                    buffer.putInt(MAGIC).putInt((int) entry.getKey().toEpochDay()).putInt(slice.size());
+                    for (int i = slice.from(); i < slice.to(); i++) {
+                        buffer.putLong(candles.timestamp(i))
+                                .putDouble(candles.openPrice(i))
+                                .putDouble(candles.highPrice(i))
+                                .putDouble(candles.lowPrice(i))
+                                .putDouble(candles.closePrice(i))
+                                .putLong(candles.volume(i));
+                    }
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer, size + buffer.position());
+                }
+                channel.force(false);
+
+                // 디스크에 남은 뒤에야 매핑하고 인덱스에 올린다
+                for (int i = 0; i < newDays.size(); i++) {
+                    Block block = blocks.get(i);
+                    placeBlock(block.offset(), block.offset() + HEADER_BYTES + (long) block.count() * CANDLE_BYTES);
+                    blocksByDay.put((int) newDays.get(i).getKey().toEpochDay(), block);
+                }
+                size += bytes;
+                remapLastRegion();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        StockSeries read(String symbol, String name, DataType dataType, LocalDate from, LocalDate to) {
+            lock.lock();
+            try {
+                Collection<Block> blocks = blocksByDay.subMap((int) from.toEpochDay(), true, (int) to.toEpochDay(), true).values();
+                int total = 0;
+                for (Block block : blocks) {
+                    total += block.count();
+                }
+
+                double[] openPrices = new double[total];
+                double[] highPrices = new double[total];
+                double[] lowPrices = new double[total];
+                double[] closePrices = new double[total];
+                long[] volumes = new long[total];
+                long[] timestamps = new long[total];
+
+                int index = 0;
+                for (Block block : blocks) {
+                    Map.Entry<Long, MappedByteBuffer> region = regions.floorEntry(block.offset());
+                    MappedByteBuffer mapped = region.getValue();
+                    int position = (int) (block.offset() - region.getKey()) + HEADER_BYTES;
+                    for (int i = 0; i < block.count(); i++, index++, position += CANDLE_BYTES) {
+                        timestamps[index] = mapped.getLong(position);
+                        openPrices[index] = mapped.getDouble(position + 8);
+                        highPrices[index] = mapped.getDouble(position + 16);
+                        lowPrices[index] = mapped.getDouble(position + 24);
+                        closePrices[index] = mapped.getDouble(position + 32);
+                        volumes[index] = mapped.getLong(position + 40);
+                    }
+                }
+                return new StockSeries(symbol, name, dataType,
+                        openPrices, highPrices, lowPrices, closePrices, volumes, timestamps);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("캔들 파일 닫기 실패: {}", path, e);
+            }
+        }
+
+        // 블록은 파일 순서대로 배치한다. 지금 구역에 다 안 들어가면 앞 구역을 여기까지로 매핑해 두고 이 블록부터 새 구역을 연다
+        private void placeBlock(long offset, long end) throws IOException {
+            if (end - lastRegionStart > regionBytes) {
+                regions.put(lastRegionStart, channel.map(FileChannel.MapMode.READ_ONLY, lastRegionStart, offset - lastRegionStart));
+                lastRegionStart = offset;
+            }
+        }
+
+        private void remapLastRegion() throws IOException {
+            if (size > lastRegionStart) {
+                regions.put(lastRegionStart, channel.map(FileChannel.MapMode.READ_ONLY, lastRegionStart, size - lastRegionStart));
+            }
+        }
+
+        // position 부터 buffer 가 찰 때까지 읽는다
+        private void readFully(ByteBuffer buffer, long position) throws IOException {
+            long start = position - buffer.position();
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) {
+                    throw new EOFException("캔들 파일이 예상보다 짧습니다: " + path);
+                }
+            }
+        }
+
+        private void loadIndex() throws IOException {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            long position = 0;
+            while (position + HEADER_BYTES <= size) {
+                header.clear();
+                readFully(header, position);
+                header.flip();
+                int magic = header.getInt();
+                int epochDay = header.getInt();
+                int count = header.getInt();
+                long end = position + HEADER_BYTES + (long) count * CANDLE_BYTES;
+                if (magic != MAGIC || count < 0 || end > size || end - position > regionBytes) {
+                    break;
+                }
+                placeBlock(position, end);
+                blocksByDay.put(epochDay, new Block(position, count));
+                position = end;
+            }
+
+            if (position < size) {
+                log.warn("캔들 파일 끝부분이 손상되어 잘라냅니다: {}, {} -> {} bytes", path, size, position);
+                channel.truncate(position);
+                size = position;
+            }
+        }
+    }
+
+    // 파일 안에서 하루치 블록의 시작 위치와 캔들 수. 파일이 2GB 를 넘어도 되도록 위치는 long 이고, 읽을 때 구역 안의 위치로 바꾼다
+    private record Block(long offset, int count) {
+    }
+}
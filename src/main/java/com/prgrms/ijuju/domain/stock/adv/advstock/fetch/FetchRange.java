@@ -0,0 +1,7 @@
+package com.prgrms.ijuju.domain.stock.adv.advstock.fetch;
+
+import com.prgrms.ijuju.domain.stock.adv.advstock.constant.DataType;
+
+// DataType 하나에 해당하는 조회 기간. 날짜 형식은 yyyy-MM-dd (DateUtil 참고)
+public record FetchRange(DataType dataType, String startDate, String endDate) {
+}
@@ -0,0 +1,50 @@
+package com.prgrms.ijuju.domain.stock.adv.advstock.fetch;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 토큰 버킷 방식의 요청 속도 제한기 입니다.
+ * 초당 permitsPerSecond 개의 토큰이 채워지고 최대 burst 개까지 쌓입니다.
+ * 토큰이 없으면 다음 토큰이 생길 때까지 기다리며, 먼저 온 요청이 먼저 토큰을 예약합니다.
+ * 가상 스레드에서 호출되기 때문에 synchronized 대신 ReentrantLock 을 쓰고, 기다리는 동안에는 락을 잡지 않습니다.
+ */
+public class TokenBucketRateLimiter {
+
+    private final double permitsPerNano;
+    private final double burst;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond 는 0보다, burst 는 1 이상이어야 합니다.");
+        }
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.tokens = burst;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    public void acquire() throws InterruptedException {
+        long waitNanos;
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - lastRefillNanos) * permitsPerNano);
+            lastRefillNanos = now;
+
+            // 토큰을 먼저 예약한다. 음수가 되면 그만큼 기다려야 한다
+            tokens -= 1;
+            waitNanos = tokens >= 0 ? 0 : (long) Math.ceil(-tokens / permitsPerNano);
+        } finally {
+            lock.unlock();
+        }
+
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
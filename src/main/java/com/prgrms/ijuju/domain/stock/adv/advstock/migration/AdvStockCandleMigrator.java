@@ -0,0 +1,49 @@
+package com.prgrms.ijuju.domain.stock.adv.advstock.migration;
+
+import com.prgrms.ijuju.domain.stock.adv.advstock.entity.AdvStockCandle;
+import com.prgrms.ijuju.domain.stock.adv.advstock.repository.AdvStockCandleRepository;
+import com.prgrms.ijuju.domain.stock.adv.advstock.repository.AdvStockRepository;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.StockSeries;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 예전 AdvStock(@ElementCollection 6개) 데이터를 AdvStockCandle 로 옮기는 일회성 마이그레이션 입니다.
+ * 서버 시작 시 AdvStockCandle 이 비어있고 예전 데이터가 남아있을 때만 실행되며, 옮긴 뒤 예전 데이터는 삭제합니다.
+ * MarketSnapshot 보다 먼저 실행되어야 해서 가장 높은 우선순위를 줍니다.
+ * 다음날 스케줄러가 어차피 새 포맷으로 다시 받아오기 때문에, 모든 서버에 한번씩 배포된 뒤에는 AdvStock 과 함께 지워도 됩니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdvStockCandleMigrator {
+
+    private final AdvStockRepository advStockRepository;
+    private final AdvStockCandleRepository advStockCandleRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void migrate() {
+        if (advStockCandleRepository.count() > 0 || advStockRepository.count() == 0) {
+            return;
+        }
+
+        List<AdvStockCandle> candles = advStockRepository.findAll().stream()
+                .map(StockSeries::from)
+                .map(AdvStockCandle::from)
+                .toList();
+        advStockCandleRepository.saveAll(candles);
+        advStockRepository.deleteAll();
+
+        log.info("AdvStock -> AdvStockCandle 마이그레이션 완료: {}건", candles.size());
+    }
+}
@@ -0,0 +1,25 @@
+package com.prgrms.ijuju.domain.stock.adv.advstock.repository;
+
+import com.prgrms.ijuju.domain.stock.adv.advstock.constant.DataType;
+import com.prgrms.ijuju.domain.stock.adv.advstock.entity.AdvStockCandle;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface AdvStockCandleRepository extends JpaRepository<AdvStockCandle, Long> {
+
+    List<AdvStockCandle> findByDataType(DataType dataType);
+
+    Optional<AdvStockCandle> findBySymbolAndDataType(String symbol, DataType dataType);
+
+    // 바로 DELETE 를 실행한다. 같은 트랜잭션에서 같은 (symbol, dataType) 을 다시 insert 해도 unique 제약에 걸리지 않도록
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM AdvStockCandle c WHERE c.dataType = :dataType")
+    void deleteAllByDataType(@Param("dataType") DataType dataType);
+}
@@ -1,79 +1,71 @@
 package com.prgrms.ijuju.domain.stock.adv.advstock.scheduler;
 
 import com.prgrms.ijuju.domain.stock.adv.advstock.constant.DataType;
-import com.prgrms.ijuju.domain.stock.adv.advstock.dto.PolygonCandleResponse;
-import com.prgrms.ijuju.domain.stock.adv.advstock.repository.AdvStockRepository;
-import com.prgrms.ijuju.domain.stock.adv.advstock.service.AdvStockDataFetcher;
+import com.prgrms.ijuju.domain.stock.adv.advstock.fetch.AdvStockFetchPipeline;
+import com.prgrms.ijuju.domain.stock.adv.advstock.fetch.FetchRange;
 import com.prgrms.ijuju.domain.stock.adv.advstock.service.AdvStockService;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.StockSeries;
 import com.prgrms.ijuju.domain.stock.adv.advstock.util.DateUtil;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 
 /**
  * Stock 엔티티의 알파이자 오메가 입니다
  * Scheduler 를 사용해 자동으로 아침 7시 기준 (한국 시간) 자동으로 실행 됩니다
 
- * symbol 내부에 있는 주식들의 수치를 가져옵니다. 가져오는 방식은 AdvStockDataFetcher 를 참고
+ * symbol 내부에 있는 주식들의 수치를 가져옵니다. 가져오는 방식은 AdvStockFetchPipeline, AdvStockDataFetcher 를 참고
  * 오늘을 20일 이라고 가정했을때 6~12일의 데이터를 Reference Data 로, 13일의 데이터를 Live Data 로 저장합니다
 
- * 현재 7시 기준으로 기존 데이터를 깔끔하게 날려버립니다. 원래 하루 지우고 하루 생성하고 하는 방식으로 할려고 했지만, 코드의 난잡성과 실제 성능 차이가 거의 안나는걸 확인했습니다.
- * 그렇기에 7시 기준으로 Reference 와 Live 데이터가 한번에 전부 삭제되고, 새로운 Reference 와 Live Data 를 불러옵니다.
- * 보유 주식 에는 영향이 없습니다.
+ * 예전에는 하나의 큰 트랜잭션 안에서 기존 데이터를 먼저 지우고 종목 x 기간 을 하나씩 순서대로 요청했습니다.
+ * 종목이 늘어나면 트랜잭션이 몇 분씩 열려 있었기 때문에, 지금은 아래 순서로 진행합니다.
+ * 1. 트랜잭션 없이 모든 요청을 가상 스레드로 동시에 보내고 결과를 메모리에 모읍니다 (속도 제한/재시도는 Fetcher 담당)
+ * 2. 모인 데이터가 있으면 replaceAll 한 트랜잭션에서 기존 데이터를 지우고 새 데이터로 교체합니다
+ * 하나도 못 받아왔다면 기존 데이터를 그대로 둡니다. 보유 주식 에는 영향이 없습니다.
+
+ * 교체가 커밋되면 MarketSnapshotHolder 가 게임에서 쓰는 메모리 스냅샷을 새로 만듭니다.
  */
 
 @Component
 @Slf4j
-@RequiredArgsConstructor
 public class AdvStockScheduler {
 
-    private final AdvStockDataFetcher advStockDataFetcher;
+    private final AdvStockFetchPipeline advStockFetchPipeline;
     private final AdvStockService advStockService;
-    private final AdvStockRepository advStockRepository;
+    private final List<String> symbols;
+
+    public AdvStockScheduler(AdvStockFetchPipeline advStockFetchPipeline,
+                             AdvStockService advStockService,
+                             @Value("${adv.stock.symbols:AAPL,MSFT,AMZN,TSLA}") List<String> symbols) {
+        this.advStockFetchPipeline = advStockFetchPipeline;
+        this.advStockService = advStockService;
+        this.symbols = List.copyOf(symbols);
+    }
 
     @Scheduled(cron = "0 25 9 * * ?")
-    @Transactional
     public void fetchAndUpdateStockDataDaily() {
-        log.info("스케줄러 시작: fetchAndUpdateStockDataDaily");
-
-        //괴거 데이터 삭제용. 7시 리셋시 모든 데이터를 날린다
-        advStockRepository.deleteByDataType(DataType.REFERENCE);
-        advStockRepository.deleteByDataType(DataType.LIVE);
-        advStockRepository.deleteByDataType(DataType.FORECAST);
-        log.info("기존 데이터 삭제 완료");
-
-
-        //테스트 용으로 일단 5개만 넣어뒀습니다.
-        String[] symbols = {"AAPL", "MSFT", "AMZN", "TSLA"};
-
-        String referenceStartDate = DateUtil.getReferenceStartDate();
-        String referenceEndDate = DateUtil.getReferenceEndDate();
-        String liveDate = DateUtil.getLiveDate();
-        String articleStartDate = DateUtil.getForecastStartDate();
-        String articleEndDate = DateUtil.getForecastEndDate();
-
-        for (String symbol : symbols) {
-            try {
-                // Reference 데이터 저장
-                PolygonCandleResponse referenceData = advStockDataFetcher.fetchStockData(symbol, 1, "hour", referenceStartDate, referenceEndDate);
-                advStockService.saveStockData(symbol, symbol + " Name", referenceData, DataType.REFERENCE);
-
-                // Live 데이터 저장
-                PolygonCandleResponse liveData = advStockDataFetcher.fetchStockData(symbol, 1, "hour", liveDate, liveDate);
-                advStockService.saveStockData(symbol, symbol + " Name", liveData, DataType.LIVE);
-
-                // Forecast 데이터 저장
-                PolygonCandleResponse articleData = advStockDataFetcher.fetchStockData(symbol, 1, "hour", articleStartDate, articleEndDate);
-                advStockService.saveStockData(symbol, symbol + " Name", articleData, DataType.FORECAST);
-                log.info("데이터 저장 완료: " + symbol);
-            } catch (Exception e) {
-                log.error("데이터 처리 중 오류 발생: {}", symbol, e);
-            }
+        log.info("스케줄러 시작: fetchAndUpdateStockDataDaily, 종목 수: {}", symbols.size());
+        long startNanos = System.nanoTime();
+
+        List<FetchRange> ranges = List.of(
+                new FetchRange(DataType.REFERENCE, DateUtil.getReferenceStartDate(), DateUtil.getReferenceEndDate()),
+                new FetchRange(DataType.LIVE, DateUtil.getLiveDate(), DateUtil.getLiveDate()),
+                new FetchRange(DataType.FORECAST, DateUtil.getForecastStartDate(), DateUtil.getForecastEndDate())
+        );
+
+        List<StockSeries> staged = advStockFetchPipeline.fetchAll(symbols, ranges);
+        if (staged.isEmpty()) {
+            log.error("받아온 데이터가 없어 기존 데이터를 유지합니다");
+            return;
         }
-        log.info("스케줄러 완료: fetchAndUpdateStockDataDaily");
+
+        advStockService.replaceAll(staged);
+        log.info("스케줄러 완료: fetchAndUpdateStockDataDaily, 저장 {}건, {}ms",
+                staged.size(), (System.nanoTime() - startNanos) / 1_000_000);
     }
 
 }
@@ -1,42 +1,112 @@
 package com.prgrms.ijuju.domain.stock.adv.advstock.service;
 
-import com.prgrms.ijuju.domain.stock.adv.advstock.dto.PolygonCandleResponse;
+import com.prgrms.ijuju.domain.stock.adv.advstock.codec.PolygonCandleMessageConverter;
+import com.prgrms.ijuju.domain.stock.adv.advstock.dto.PolygonCandles;
+import com.prgrms.ijuju.domain.stock.adv.advstock.fetch.TokenBucketRateLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 
 /**
 * 해당 클래스는 stock data 를 실제로 들고오는 서비스 클래스 입니다
 
-* 현재 API key 가 상수로 적혀있고 비어있습니다. 테스트 용도고 Advanced_Invest 엔티티 구현 후 환경변수로 설정하여 보안에 신경 쓸 예정입니다.
+* url format 같은 경우 symbol 로 저희가 원하는 주식을 들고오고, multiplier/time 으로 1시간 단위의 데이터를 들고오게 설정하였습니다.
 
-* url format 같은 경우 symbol 로 저희가 원하는 주식을 들고오고, resolution 을 60으로 설정하여 1시간 단위의 데이터를 들고오게 설정하였습니다.
+* AdvStockFetchPipeline 이 여러 가상 스레드에서 동시에 호출하기 때문에 아래를 여기서 처리합니다.
+* - 요청 속도 제한: Polygon 요금제 한도를 넘지 않도록 토큰 버킷으로 초당 요청 수를 제한합니다 (polygon.api.requests-per-second)
+* - 타임아웃: 연결/응답 대기 모두 polygon.api.timeout-millis 를 넘으면 실패로 봅니다
+* - 재시도: 5xx, 429, 타임아웃은 지수 백오프 + 지터로 max-attempts 번까지 재시도합니다. 나머지 4xx 는 바로 실패합니다
+* 응답 본문은 PolygonCandleMessageConverter 를 통해 스트리밍으로 primitive 컬럼에 바로 읽습니다.
 
 * RestClient 의 경우 객체로 간단하게 api 를 호촐할 수 있는 Sping 내장 클래스 입니다. Template 상위호환이기에 썼습니다.
 * 자세한 사용 방식은 > https://docs.spring.io/spring-framework/reference/integration/rest-clients.html
  */
 
+@Slf4j
 @Service
 public class AdvStockDataFetcher {
 
-    private final RestClient restClient = RestClient.builder().build();
+    private static final String PATH = "/v2/aggs/ticker/{symbol}/range/{multiplier}/{time}/{startDate}/{endDate}?adjusted=true&sort=asc&apiKey={apiKey}";
+
+    private final RestClient restClient;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final String apiKey;
+    private final int maxAttempts;
+    private final long backoffMillis;
 
-    @Value("${polygon.api.key}")
-    private String POLYGON_API_KEY;
+    @Autowired
+    public AdvStockDataFetcher(@Value("${polygon.api.key}") String apiKey,
+                               @Value("${polygon.api.base-url:https://api.polygon.io}") String baseUrl,
+                               @Value("${polygon.api.requests-per-second:5}") double requestsPerSecond,
+                               @Value("${polygon.api.timeout-millis:5000}") long timeoutMillis,
+                               @Value("${polygon.api.max-attempts:3}") int maxAttempts,
+                               @Value("${polygon.api.backoff-millis:500}") long backoffMillis) {
+        this(apiKey, baseUrl, new TokenBucketRateLimiter(requestsPerSecond, Math.max(1, (int) requestsPerSecond)),
+                Duration.ofMillis(timeoutMillis), maxAttempts, backoffMillis);
+    }
 
-    private static final String BASE_URL = "https://api.polygon.io/v2/aggs/ticker/%s/range/%d/%s/%s/%s";
+    public AdvStockDataFetcher(String apiKey, String baseUrl, TokenBucketRateLimiter rateLimiter,
+                               Duration timeout, int maxAttempts, long backoffMillis) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(timeout);
 
-    public PolygonCandleResponse fetchStockData(String symbol, int multiplier, String time, String startDate, String endDate) {
-        String url = String.format(
-                BASE_URL + "?adjusted=true&sort=asc&apiKey=%s",
-                symbol, multiplier, time, startDate, endDate, POLYGON_API_KEY
-        );
+        this.restClient = RestClient.builder()
+                .baseUrl(baseUrl)
+                .requestFactory(requestFactory)
+                .messageConverters(converters -> converters.add(0, new PolygonCandleMessageConverter()))
+                .build();
+        this.rateLimiter = rateLimiter;
+        this.apiKey = apiKey;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMillis = backoffMillis;
+    }
 
+    public PolygonCandles fetchStockData(String symbol, int multiplier, String time, String startDate, String endDate)
+            throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            rateLimiter.acquire();
+            try {
+                return restClient.get()
+                        .uri(PATH, symbol, multiplier, time, startDate, endDate, apiKey)
+                        .retrieve()
+                        .body(PolygonCandles.class);
+            } catch (RestClientException e) {
+                if (!isRetryable(e) || attempt >= maxAttempts) {
+                    throw e;
+                }
+                long sleepMillis = backoffOf(attempt);
+                log.warn("Polygon 요청 실패, {}ms 후 재시도 ({}/{}): {} {}~{}, {}",
+                        sleepMillis, attempt, maxAttempts, symbol, startDate, endDate, e.getMessage());
+                TimeUnit.MILLISECONDS.sleep(sleepMillis);
+            }
+        }
+    }
+
+    private boolean isRetryable(RestClientException e) {
+        return e instanceof HttpServerErrorException
+                || e instanceof HttpClientErrorException.TooManyRequests
+                || e instanceof ResourceAccessException;
+    }
 
-        return restClient.get()
-                .uri(url)
-                .retrieve()
-                .body(PolygonCandleResponse.class);
+    // 1회차 backoff, 2회차 backoff*2 ... 에 최대 절반만큼 지터를 더해 여러 요청이 동시에 몰리지 않게 한다
+    private long backoffOf(int attempt) {
+        long base = backoffMillis << Math.min(attempt - 1, 10);
+        return base + ThreadLocalRandom.current().nextLong(base / 2 + 1);
     }
 }
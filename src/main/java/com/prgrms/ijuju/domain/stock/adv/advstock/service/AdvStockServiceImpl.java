@@ -1,12 +1,15 @@
 package com.prgrms.ijuju.domain.stock.adv.advstock.service;
 
 import com.prgrms.ijuju.domain.stock.adv.advstock.constant.DataType;
-import com.prgrms.ijuju.domain.stock.adv.advstock.dto.PolygonCandleResponse;
-import com.prgrms.ijuju.domain.stock.adv.advstock.dto.PolygonCandleResult;
-import com.prgrms.ijuju.domain.stock.adv.advstock.entity.AdvStock;
+import com.prgrms.ijuju.domain.stock.adv.advstock.dto.PolygonCandles;
+import com.prgrms.ijuju.domain.stock.adv.advstock.entity.AdvStockCandle;
+import com.prgrms.ijuju.domain.stock.adv.advstock.event.AdvStockUpdatedEvent;
 import com.prgrms.ijuju.domain.stock.adv.advstock.exception.stockexception.*;
-import com.prgrms.ijuju.domain.stock.adv.advstock.repository.AdvStockRepository;
+import com.prgrms.ijuju.domain.stock.adv.advstock.repository.AdvStockCandleRepository;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.StockSeries;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -17,18 +20,22 @@ import java.util.List;
 @Service
 public class AdvStockServiceImpl implements AdvStockService {
 
-    private final AdvStockRepository advStockRepository;
+    private final AdvStockCandleRepository advStockCandleRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public AdvStockServiceImpl(AdvStockRepository advStockRepository) {
-        this.advStockRepository = advStockRepository;
+    public AdvStockServiceImpl(AdvStockCandleRepository advStockCandleRepository,
+                               ApplicationEventPublisher eventPublisher) {
+        this.advStockCandleRepository = advStockCandleRepository;
+        this.eventPublisher = eventPublisher;
     }
 
 
     //레퍼런스 데이터를 받아옵니다. 레퍼런스 데이터는 1주일치 데이터이며, 한번에 업데이트 되기 때문에 builder 없이 들고옵니다.
-    //지금 뇌속에서는 작동할거 같은데 테스트 해보고 안되면 builder 이용해서 가져오겠습니다. 근데 데이터 변형이 전혀 필요 없을거 같아서 될듯?
     @Override
-    public List<AdvStock> getReferenceData() {
-        return advStockRepository.findByDataType(DataType.REFERENCE);
+    public List<StockSeries> getReferenceData() {
+        return advStockCandleRepository.findByDataType(DataType.REFERENCE).stream()
+                .map(AdvStockCandle::toSeries)
+                .toList();
     }
 
 
@@ -36,69 +43,67 @@ public class AdvStockServiceImpl implements AdvStockService {
     //hour 은 실제 시간을 뜻합니다. 즉 10 을 입력시 오전 10시를 뜻합니다. 이 경우 10시의 해당 주식 데이터를 불러오게 됩니다
     //UTC 기준입니다!
     @Override
-    public AdvStock getLiveData(String symbol, int hour) {
+    public StockSeries getLiveData(String symbol, int hour) {
 
         if (hour < 14 || hour > 21) {
             throw new InvalidTradeHourException();
         }
-        AdvStock liveData = advStockRepository.findBySymbolAndDataType(symbol, DataType.LIVE)
+        StockSeries liveData = advStockCandleRepository.findBySymbolAndDataType(symbol, DataType.LIVE)
+                .map(AdvStockCandle::toSeries)
                 .orElseThrow(LiveDataNotFoundException::new);
 
         int index = hour - 14; // 9시 ~ 15시 기준 >> 해외 기준이라 시간 변동 가능성 있음.
-        return AdvStock.builder()
-                .symbol(liveData.getSymbol())
-                .name(liveData.getName())
-                .openPrices(List.of(liveData.getOpenPrices().get(index)))
-                .highPrices(List.of(liveData.getHighPrices().get(index)))
-                .lowPrices(List.of(liveData.getLowPrices().get(index)))
-                .closePrices(List.of(liveData.getClosePrices().get(index)))
-                .volumes(List.of(liveData.getVolumes().get(index)))
-                .timestamps(List.of(liveData.getTimestamps().get(index)))
-                .dataType(DataType.LIVE)
-                .build();
+        return new StockSeries(
+                liveData.getSymbol(),
+                liveData.getName(),
+                DataType.LIVE,
+                new double[]{liveData.openPrice(index)},
+                new double[]{liveData.highPrice(index)},
+                new double[]{liveData.lowPrice(index)},
+                new double[]{liveData.closePrice(index)},
+                new long[]{liveData.volume(index)},
+                new long[]{liveData.timestamp(index)}
+        );
     }
 
+    // PolygonCandleDecoder 가 채운 컬럼을 그대로 CandleCodec 으로 인코딩해 한 행으로 저장합니다
     @Override
-    public AdvStock saveStockData(String symbol, String name, PolygonCandleResponse response, DataType dataType) {
+    public AdvStockCandle saveStockData(String symbol, String name, PolygonCandles candles, DataType dataType) {
 
-        if (response.getResults() == null || response.getResults().isEmpty()) {
-            throw new EmptyStockDataException();
+        StockSeries series;
+        try {
+            series = candles.toSeries(symbol, name, dataType);
+        } catch (IllegalArgumentException e) {
+            throw new StockDataMismatchException();
         }
 
-        List<Double> openPrices = response.getResults().stream().map(PolygonCandleResult::getO).toList();
-        List<Double> highPrices = response.getResults().stream().map(PolygonCandleResult::getH).toList();
-        List<Double> lowPrices = response.getResults().stream().map(PolygonCandleResult::getL).toList();
-        List<Double> closePrices = response.getResults().stream().map(PolygonCandleResult::getC).toList();
-        List<Long> volumes = response.getResults().stream().map(PolygonCandleResult::getV).toList();
-        List<Long> timestamps = response.getResults().stream().map(PolygonCandleResult::getT).toList();
-
-        int size = response.getResults().size();
-        if (openPrices.size() != size || highPrices.size() != size || lowPrices.size() != size ||
-                closePrices.size() != size || volumes.size() != size || timestamps.size() != size) {
-            throw new StockDataMismatchException();
+        try {
+            return advStockCandleRepository.save(AdvStockCandle.from(series));
+        } catch (Exception e) {
+            throw new StockSaveFailedException();
         }
+    }
 
-        AdvStock advStock = AdvStock.builder()
-                .symbol(symbol)
-                .name(name)
-                .openPrices(openPrices)
-                .highPrices(highPrices)
-                .lowPrices(lowPrices)
-                .closePrices(closePrices)
-                .volumes(volumes)
-                .timestamps(timestamps)
-                .dataType(dataType)
-                .build();
+    // 미리 모아둔 데이터로 전체를 교체합니다. 삭제와 저장이 한 트랜잭션이라 중간 상태는 밖에서 보이지 않습니다
+    @Override
+    @Transactional
+    public void replaceAll(List<StockSeries> seriesList) {
+        for (DataType dataType : DataType.values()) {
+            advStockCandleRepository.deleteAllByDataType(dataType);
+        }
 
         try {
-            return advStockRepository.save(advStock);
+            advStockCandleRepository.saveAll(seriesList.stream().map(AdvStockCandle::from).toList());
         } catch (Exception e) {
             throw new StockSaveFailedException();
         }
+
+        // 커밋 이후 MarketSnapshot 이 새로 만들어진다
+        eventPublisher.publishEvent(new AdvStockUpdatedEvent());
     }
 
     @Override
     public void deleteByDataType(DataType dataType) {
-        advStockRepository.deleteByDataType(dataType);
+        advStockCandleRepository.deleteAllByDataType(dataType);
     }
 }
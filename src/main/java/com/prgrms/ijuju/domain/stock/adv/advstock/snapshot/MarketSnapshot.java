@@ -0,0 +1,54 @@
+package com.prgrms.ijuju.domain.stock.adv.advstock.snapshot;
+
+import com.prgrms.ijuju.domain.stock.adv.advstock.constant.DataType;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 하루치 AdvStockCandle 데이터 전체(Reference, Live, Forecast)의 불변 스냅샷 입니다.
+ * AdvStockScheduler 가 데이터를 갱신한 뒤 한번 만들어지고, MarketSnapshotHolder 가 통째로 교체합니다.
+ * 게임 틱, 거래량 조회, 주식 거래 가격 계산은 JPA 를 거치지 않고 이 스냅샷만 읽습니다.
+ */
+public final class MarketSnapshot {
+
+    public static final MarketSnapshot EMPTY = new MarketSnapshot(null, List.of());
+
+    @Getter
+    private final LocalDate tradingDay;
+    private final Map<DataType, Map<String, StockSeries>> seriesByType;
+
+    public MarketSnapshot(LocalDate tradingDay, Collection<StockSeries> series) {
+        this.tradingDay = tradingDay;
+
+        Map<DataType, Map<String, StockSeries>> byType = new EnumMap<>(DataType.class);
+        for (DataType dataType : DataType.values()) {
+            byType.put(dataType, new LinkedHashMap<>());
+        }
+        for (StockSeries stockSeries : series) {
+            byType.get(stockSeries.getDataType()).put(stockSeries.getSymbol(), stockSeries);
+        }
+        byType.replaceAll((dataType, bySymbol) -> Collections.unmodifiableMap(bySymbol));
+        this.seriesByType = Collections.unmodifiableMap(byType);
+    }
+
+    // 해당 DataType 의 모든 종목. 저장된 순서를 유지합니다
+    public Collection<StockSeries> seriesOf(DataType dataType) {
+        return seriesByType.get(dataType).values();
+    }
+
+    public Optional<StockSeries> find(DataType dataType, String symbol) {
+        return Optional.ofNullable(seriesByType.get(dataType).get(symbol));
+    }
+
+    public boolean isEmpty(DataType dataType) {
+        return seriesByType.get(dataType).isEmpty();
+    }
+}
@@ -0,0 +1,61 @@
+package com.prgrms.ijuju.domain.stock.adv.advstock.snapshot;
+
+import com.prgrms.ijuju.domain.stock.adv.advstock.entity.AdvStockCandle;
+import com.prgrms.ijuju.domain.stock.adv.advstock.event.AdvStockUpdatedEvent;
+import com.prgrms.ijuju.domain.stock.adv.advstock.repository.AdvStockCandleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 현재 MarketSnapshot 을 들고 있는 컴포넌트 입니다. AdvStockCandle 한 행을 디코딩하면 종목 하나의 StockSeries 가 됩니다.
+ * 서버 시작 시 한번, AdvStockScheduler 의 트랜잭션이 커밋된 뒤 한번 새로 만들어지며 AtomicReference 로 교체됩니다.
+ * 읽는 쪽은 current() 로 받은 스냅샷 하나만 계속 쓰면 되기 때문에, 교체 도중에도 반쯤 바뀐 데이터를 볼 일이 없습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MarketSnapshotHolder {
+
+    private final AdvStockCandleRepository advStockCandleRepository;
+    private final AtomicReference<MarketSnapshot> current = new AtomicReference<>(MarketSnapshot.EMPTY);
+
+    public MarketSnapshot current() {
+        return current.get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE) // AdvStockCandleMigrator 이후
+    @Transactional(readOnly = true)
+    public void init() {
+        rebuild();
+    }
+
+    // 스케줄러 트랜잭션 커밋 후 실행. 커밋된 데이터를 새 트랜잭션에서 읽는다
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onStockUpdated(AdvStockUpdatedEvent event) {
+        rebuild();
+    }
+
+    private void rebuild() {
+        List<StockSeries> series = advStockCandleRepository.findAll().stream()
+                .map(AdvStockCandle::toSeries)
+                .toList();
+
+        MarketSnapshot snapshot = new MarketSnapshot(LocalDate.now(), series);
+        current.set(snapshot);
+        log.info("MarketSnapshot 교체 완료: {} 종목-데이터", series.size());
+    }
+}
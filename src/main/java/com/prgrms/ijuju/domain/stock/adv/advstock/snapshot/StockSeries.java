@@ -0,0 +1,88 @@
+package com.prgrms.ijuju.domain.stock.adv.advstock.snapshot;
+
+import com.prgrms.ijuju.domain.stock.adv.advstock.constant.DataType;
+import com.prgrms.ijuju.domain.stock.adv.advstock.entity.AdvStock;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 종목 하나, DataType 하나의 OHLCV 데이터를 primitive 배열로 들고 있는 불변 객체 입니다.
+ * AdvStock 의 List<Double>/List<Long> 을 한번만 풀어두고, 이후에는 박싱 없이 인덱스로 읽습니다.
+ * 배열은 외부로 노출하지 않습니다.
+ */
+public final class StockSeries {
+
+    @Getter private final String symbol;
+    @Getter private final String name;
+    @Getter private final DataType dataType;
+
+    private final double[] openPrices;
+    private final double[] highPrices;
+    private final double[] lowPrices;
+    private final double[] closePrices;
+    private final long[] volumes;
+    private final long[] timestamps;
+
+    public StockSeries(String symbol, String name, DataType dataType,
+                       double[] openPrices, double[] highPrices, double[] lowPrices, double[] closePrices,
+                       long[] volumes, long[] timestamps) {
+        int size = openPrices.length;
+        if (highPrices.length != size || lowPrices.length != size || closePrices.length != size
+                || volumes.length != size || timestamps.length != size) {
+            throw new IllegalArgumentException("컬럼 길이가 일치하지 않습니다: " + symbol + " " + dataType);
+        }
+        this.symbol = symbol;
+        this.name = name;
+        this.dataType = dataType;
+        this.openPrices = openPrices;
+        this.highPrices = highPrices;
+        this.lowPrices = lowPrices;
+        this.closePrices = closePrices;
+        this.volumes = volumes;
+        this.timestamps = timestamps;
+    }
+
+    public static StockSeries from(AdvStock advStock) {
+        return new StockSeries(
+                advStock.getSymbol(),
+                advStock.getName(),
+                advStock.getDataType(),
+                toDoubleArray(advStock.getOpenPrices()),
+                toDoubleArray(advStock.getHighPrices()),
+                toDoubleArray(advStock.getLowPrices()),
+                toDoubleArray(advStock.getClosePrices()),
+                toLongArray(advStock.getVolumes()),
+                toLongArray(advStock.getTimestamps())
+        );
+    }
+
+    public int size() { return openPrices.length; }
+
+    public double openPrice(int index) { return openPrices[index]; }
+    public double highPrice(int index) { return highPrices[index]; }
+    public double lowPrice(int index) { return lowPrices[index]; }
+    public double closePrice(int index) { return closePrices[index]; }
+    public long volume(int index) { return volumes[index]; }
+    public long timestamp(int index) { return timestamps[index]; }
+
+    public double latestClosePrice() {
+        return closePrices[closePrices.length - 1];
+    }
+
+    private static double[] toDoubleArray(List<Double> values) {
+        double[] array = new double[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    private static long[] toLongArray(List<Long> values) {
+        long[] array = new long[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+}
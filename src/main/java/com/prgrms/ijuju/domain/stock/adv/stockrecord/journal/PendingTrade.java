@@ -0,0 +1,30 @@
+package com.prgrms.ijuju.domain.stock.adv.stockrecord.journal;
+
+import com.prgrms.ijuju.domain.stock.adv.stockrecord.constant.TradeType;
+import com.prgrms.ijuju.domain.stock.adv.stockrecord.dto.request.StockRecordRequestDto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// 아직 DB 에 쓰지 않은 거래 한 건. 비상용 파일에도 이 형태 그대로 JSON 한 줄로 저장됩니다
+public record PendingTrade(
+        Long memberId,
+        Long advId,
+        String symbol,
+        TradeType tradeType,
+        double quantity,
+        BigDecimal price,
+        LocalDateTime tradeDate
+) {
+    public static PendingTrade of(StockRecordRequestDto requestDto) {
+        return new PendingTrade(
+                requestDto.getMemberId(),
+                requestDto.getAdvId(),
+                requestDto.getStockSymbol(),
+                requestDto.getTradeType(),
+                requestDto.getQuantity(),
+                requestDto.getPrice(),
+                LocalDateTime.now()
+        );
+    }
+}
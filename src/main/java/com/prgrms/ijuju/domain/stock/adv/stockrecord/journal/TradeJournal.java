@@ -0,0 +1,283 @@
+package com.prgrms.ijuju.domain.stock.adv.stockrecord.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prgrms.ijuju.domain.stock.adv.stockrecord.dto.request.StockRecordRequestDto;
+import com.prgrms.ijuju.domain.stock.adv.stockrecord.repository.StockRecordBatchRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 고급 투자 거래 내역(StockRecord)을 비동기로 저장하는 저널 입니다.
+ *
+ * 예전에는 BUY_STOCK / SELL_STOCK 마다 웹소켓 스레드에서 stockRecordRepository.save 를 바로 실행했습니다.
+ * 지금은 append 로 메모리 큐에 넣는 순간 거래가 끝난 것으로 보고, 백그라운드 스레드가 batchSize 만큼 모이거나
+ * flushInterval 이 지나면 JDBC batch 로 한번에 저장합니다.
+ *
+ * DB 가 느리거나(쿼리 타임아웃) 실패하면 해당 묶음은 비상용 파일(JSON 한 줄에 한 건)에 fsync 와 함께 남기고,
+ * 이후 DB 가 살아나면 파일 내용을 묶음 단위로 다시 DB 에 넣고, 저장된 만큼만 파일에서 지웁니다.
+ * 다시 넣어도 저장되지 않는 거래(FK 위반 등)는 dead-letter 파일(fallback-path + ".dead")로 옮겨서 나머지를 막지 않게 합니다.
+ *
+ * 큐에서 꺼내서 쓰는 작업은 모두 writeLock 안에서만 일어나기 때문에, flush() 가 끝나면
+ * 그 전에 append 된 거래는 전부 DB 나 비상용 파일에 기록되어 있습니다. endGame 에서 이것을 이용합니다.
+ */
+@Slf4j
+@Component
+public class TradeJournal {
+
+    private static final long REPLAY_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final StockRecordBatchRepository batchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Path fallbackPath;
+    private final Path deadLetterPath;
+
+    private final BlockingQueue<PendingTrade> queue;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile boolean running = false;
+    private Thread flusher;
+    private long lastReplayAttempt;
+
+    public TradeJournal(StockRecordBatchRepository batchRepository,
+                        PlatformTransactionManager transactionManager,
+                        ObjectMapper objectMapper,
+                        @Value("${adv.trade-journal.batch-size:500}") int batchSize,
+                        @Value("${adv.trade-journal.flush-interval-millis:200}") long flushIntervalMillis,
+                        @Value("${adv.trade-journal.queue-capacity:100000}") int queueCapacity,
+                        @Value("${adv.trade-journal.fallback-path:./data/trade-journal.jsonl}") String fallbackPath) {
+        this.batchRepository = batchRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.fallbackPath = Path.of(fallbackPath);
+        this.deadLetterPath = Path.of(fallbackPath + ".dead"); // 다시 넣어도 저장되지 않는 거래. 사람이 확인해야 한다
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.lastReplayAttempt = System.nanoTime() - REPLAY_BACKOFF_NANOS; // 시작하자마자 한번 재처리
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        flusher = Thread.ofPlatform()
+                .name("adv-trade-journal")
+                .daemon(true)
+                .start(this::runFlusher);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush(); // 남은 거래는 종료 전에 반드시 기록
+    }
+
+    // 거래 한 건 추가. 메모리 큐에 들어가면 바로 반환합니다
+    public void append(StockRecordRequestDto requestDto) {
+        PendingTrade trade = PendingTrade.of(requestDto);
+        if (!queue.offer(trade)) {
+            // 큐가 가득 찼다 = DB 가 한참 밀리고 있다. 유실되지 않도록 바로 파일에 남긴다
+            writeLock.lock();
+            try {
+                appendToFallback(List.of(trade));
+            } finally {
+                writeLock.unlock();
+            }
+            return;
+        }
+        if (queue.size() >= batchSize) {
+            LockSupport.unpark(flusher);
+        }
+    }
+
+    // 지금까지 append 된 거래를 모두 기록할 때까지 기다린다
+    public void flush() {
+        writeLock.lock();
+        try {
+            List<PendingTrade> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                write(batch);
+                batch.clear();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void runFlusher() {
+        while (running) {
+            LockSupport.parkNanos(flushIntervalNanos); // append 가 batchSize 를 채우면 더 빨리 깨운다
+            try {
+                replayFallbackIfNeeded(); // 먼저 들어온 거래가 먼저 저장되도록 비상용 파일부터
+                flush();
+            } catch (Exception e) {
+                log.error("거래 내역 저장 스레드 오류", e);
+            }
+        }
+    }
+
+    private void write(List<PendingTrade> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> batchRepository.insertAll(batch));
+        } catch (Exception e) {
+            log.warn("거래 내역 DB 저장 실패, 비상용 파일에 기록합니다: {}건", batch.size(), e);
+            appendToFallback(batch);
+        }
+    }
+
+    private void appendToFallback(List<PendingTrade> trades) {
+        try {
+            List<String> lines = new ArrayList<>(trades.size());
+            for (PendingTrade trade : trades) {
+                lines.add(objectMapper.writeValueAsString(trade));
+            }
+            appendLines(fallbackPath, lines);
+        } catch (IOException e) {
+            // 여기까지 오면 남길 곳이 로그 밖에 없다
+            log.error("비상용 파일 기록 실패, 거래 내역 유실: {}", trades, e);
+        }
+    }
+
+    // JSON 한 줄에 한 건. fsync 까지 끝나야 반환한다
+    private static void appendLines(Path path, List<String> lines) throws IOException {
+        if (lines.isEmpty()) {
+            return;
+        }
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        StringBuilder text = new StringBuilder();
+        for (String line : lines) {
+            text.append(line).append('\n');
+        }
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+
+    /**
+     * 비상용 파일에 남은 거래를 DB 로 옮긴다. batchSize 씩 따로 트랜잭션을 걸어서, 성공한 묶음만 파일에서 빠진다.
+     * 묶음이 데이터 문제(FK 위반, 읽을 수 없는 줄 등)로 실패하면 한 건씩 다시 넣어보고, 실패한 건은 dead-letter 파일로 옮긴다.
+     * 그 외의 실패(DB 다운, 타임아웃)는 DB 문제로 보고 멈춘 뒤, 남은 줄만 파일에 다시 써두고 나중에 이어서 처리한다.
+     */
+    void replayFallbackIfNeeded() {
+        if (!Files.exists(fallbackPath) || System.nanoTime() - lastReplayAttempt < REPLAY_BACKOFF_NANOS) {
+            return;
+        }
+
+        writeLock.lock();
+        try {
+            lastReplayAttempt = System.nanoTime();
+            List<String> lines = Files.readAllLines(fallbackPath, StandardCharsets.UTF_8).stream()
+                    .filter(line -> !line.isBlank())
+                    .toList();
+
+            int done = 0;
+            int saved = 0;
+            try {
+                while (done < lines.size()) {
+                    List<String> chunk = lines.subList(done, Math.min(done + batchSize, lines.size()));
+                    if (replayChunk(chunk)) {
+                        saved += chunk.size();
+                        done += chunk.size();
+                        continue;
+                    }
+                    for (String line : chunk) { // 데이터 문제가 있는 묶음은 한 건씩
+                        if (replayLine(line)) {
+                            saved++;
+                        }
+                        done++;
+                    }
+                }
+            } finally {
+                keepOnly(lines.subList(done, lines.size()));
+            }
+            log.info("비상용 파일의 거래 내역 {}건을 DB 에 저장했습니다", saved);
+        } catch (Exception e) {
+            log.warn("비상용 파일 재처리 실패, 나중에 다시 시도합니다", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // 묶음을 한 트랜잭션으로 넣는다. 데이터 문제가 있으면 false, DB 문제면 예외를 그대로 던진다
+    private boolean replayChunk(List<String> chunk) {
+        List<PendingTrade> trades = new ArrayList<>(chunk.size());
+        try {
+            for (String line : chunk) {
+                trades.add(objectMapper.readValue(line, PendingTrade.class));
+            }
+            insert(trades);
+            return true;
+        } catch (IOException | DataIntegrityViolationException e) {
+            log.warn("비상용 파일의 거래 내역 묶음 저장 실패, 한 건씩 다시 저장합니다: {}건", chunk.size(), e);
+            return false;
+        }
+    }
+
+    // 한 건을 넣는다. 읽을 수 없거나 저장할 수 없는 줄은 dead-letter 파일로 옮기고 false
+    private boolean replayLine(String line) throws IOException {
+        try {
+            insert(List.of(objectMapper.readValue(line, PendingTrade.class)));
+            return true;
+        } catch (IOException | DataIntegrityViolationException e) {
+            log.error("저장할 수 없는 거래 내역을 dead-letter 파일로 옮깁니다: {}", line, e);
+            appendLines(deadLetterPath, List.of(line));
+            return false;
+        }
+    }
+
+    private void insert(List<PendingTrade> trades) {
+        transactionTemplate.executeWithoutResult(status -> batchRepository.insertAll(trades));
+    }
+
+    // 아직 처리하지 않은 줄만 남긴다. 임시 파일에 쓰고 바꿔치기 해서, 중간에 죽어도 예전 파일이나 새 파일 중 하나는 온전하다
+    private void keepOnly(List<String> remaining) throws IOException {
+        if (remaining.isEmpty()) {
+            Files.deleteIfExists(fallbackPath);
+            return;
+        }
+        Path temp = fallbackPath.resolveSibling(fallbackPath.getFileName() + ".tmp");
+        Files.deleteIfExists(temp);
+        appendLines(temp, remaining);
+        Files.move(temp, fallbackPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
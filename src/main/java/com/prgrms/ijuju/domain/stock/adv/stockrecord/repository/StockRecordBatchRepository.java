@@ -0,0 +1,50 @@
+package com.prgrms.ijuju.domain.stock.adv.stockrecord.repository;
+
+import com.prgrms.ijuju.domain.stock.adv.stockrecord.journal.PendingTrade;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * StockRecord 를 JDBC batch 로 한번에 저장합니다.
+ * StockRecord 의 id 는 IDENTITY 전략이라 Hibernate 가 insert 를 묶지 못하기 때문에, TradeJournal 은 JPA 대신 이 클래스를 씁니다.
+ * MySQL 에서는 datasource url 에 rewriteBatchedStatements=true 를 붙여야 실제로 한 statement 로 묶입니다.
+ */
+@Repository
+public class StockRecordBatchRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO stock_record (member_id, adv_id, symbol, quantity, price_per_unit, trade_type, trade_date)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StockRecordBatchRepository(DataSource dataSource,
+                                      @Value("${adv.trade-journal.query-timeout-seconds:3}") int queryTimeoutSeconds) {
+        // 공용 JdbcTemplate 의 설정을 바꾸지 않도록 따로 만든다. 타임아웃을 넘기면 비상용 파일로 넘어간다
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setQueryTimeout(queryTimeoutSeconds);
+    }
+
+    public void insertAll(List<PendingTrade> trades) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, trades, trades.size(), (ps, trade) -> {
+            ps.setLong(1, trade.memberId());
+            if (trade.advId() == null) {
+                ps.setNull(2, Types.BIGINT);
+            } else {
+                ps.setLong(2, trade.advId());
+            }
+            ps.setString(3, trade.symbol());
+            ps.setDouble(4, trade.quantity());
+            ps.setBigDecimal(5, trade.price());
+            ps.setString(6, trade.tradeType().name());
+            ps.setTimestamp(7, Timestamp.valueOf(trade.tradeDate()));
+        });
+    }
+}
@@ -11,4 +11,7 @@ public interface StockRecordRepository extends JpaRepository<StockRecord, Long>
     List<StockRecord> findByMemberId(Long advancedInvestId); // 특정 AdvancedInvest ID로 거래 내역 조회
 
     List<StockRecord> findByMemberIdAndSymbol(Long memberId, String symbol); // 특정 주식 심볼의 거래 내역 조회
+
+    // 특정 게임의 거래 내역 조회 (거래 순서대로). 비상용 파일에서 늦게 들어온 거래는 id 가 뒤로 밀리기 때문에 거래 시각이 먼저다
+    List<StockRecord> findByAdvancedInvestIdOrderByTradeDateAscIdAsc(Long advId);
 }
\ No newline at end of file
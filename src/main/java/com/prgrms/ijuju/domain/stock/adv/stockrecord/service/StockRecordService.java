@@ -15,6 +15,9 @@ public interface StockRecordService {
     // 특정 AdvancedInvest의 모든 거래 내역 조회
     List<StockRecord> getRecordsByAdvId(Long advId);
 
+    // 특정 게임의 거래 내역 조회. 게임 재개 시 보유 주식 장부를 다시 만들 때 사용
+    List<StockRecord> getRecordsByGame(Long advId);
+
     // 특정 주식의 거래 내역 조회
     List<StockRecord> getRecordsByStock(Long advId, String stockSymbol);
 
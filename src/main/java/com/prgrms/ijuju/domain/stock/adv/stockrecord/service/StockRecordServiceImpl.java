@@ -1,6 +1,7 @@
 package com.prgrms.ijuju.domain.stock.adv.stockrecord.service;
 
 import com.prgrms.ijuju.domain.member.entity.Member;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.repository.AdvancedInvestRepository;
 import com.prgrms.ijuju.domain.stock.adv.stockrecord.constant.TradeType;
 import com.prgrms.ijuju.domain.stock.adv.stockrecord.dto.request.StockRecordRequestDto;
 import com.prgrms.ijuju.domain.stock.adv.stockrecord.entity.StockRecord;
@@ -19,12 +20,16 @@ import java.util.Map;
 public class StockRecordServiceImpl implements StockRecordService {
 
     private final StockRecordRepository stockRecordRepository;
+    private final AdvancedInvestRepository advancedInvestRepository;
 
     // 거래 내역 저장
     @Transactional
     public StockRecord saveRecord(StockRecordRequestDto requestDto, Member member) {
         // RequestDto를 사용하여 StockRecord 엔티티 생성
         StockRecord record = requestDto.toEntity(member);
+        if (requestDto.getAdvId() != null) {
+            record.setAdvancedInvest(advancedInvestRepository.getReferenceById(requestDto.getAdvId()));
+        }
 
         // 데이터베이스에 저장
         return stockRecordRepository.save(record);
@@ -40,6 +45,12 @@ public class StockRecordServiceImpl implements StockRecordService {
         return records;
     }
 
+    // 특정 게임의 거래 내역 조회. 거래가 없을 수도 있기 때문에 예외를 던지지 않는다
+    @Transactional(readOnly = true)
+    public List<StockRecord> getRecordsByGame(Long advId) {
+        return stockRecordRepository.findByAdvancedInvestIdOrderByTradeDateAscIdAsc(advId);
+    }
+
     // 특정 주식의 거래 내역 조회
     @Transactional(readOnly = true)
     public List<StockRecord> getRecordsByStock(Long memberId, String symbol) {
@@ -0,0 +1,122 @@
+package com.prgrms.ijuju.domain.stock.mid.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prgrms.ijuju.domain.stock.mid.dto.response.MidStockPriceResponse;
+import com.prgrms.ijuju.domain.stock.mid.entity.MidStockPrice;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockPriceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 종목별 2주치 차트를 들고 있는 read-through 캐시 입니다.
+ * 가격은 하루 한번 StockPriceScheduler 가 만들 때만 바뀌어서, 그때 rebuildAll 로 전부 다시 만들고 그 사이에는 DB 를 읽지 않습니다.
+ * 가격 배열과 함께 응답 JSON 을 미리 직렬화해 두고, 그 해시를 ETag 로 써서 이미 받은 클라이언트에는 304 를 돌려줍니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MidChartCache {
+
+    private final MidStockPriceRepository midStockPriceRepository;
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, Chart> charts = new ConcurrentHashMap<>();
+    // rebuildAll 보다 먼저 읽기 시작한 lazy 로딩이 새 차트를 덮지 못하게 하는 번호
+    private final AtomicLong generation = new AtomicLong();
+
+    // 캐시에 없거나 날짜가 바뀌어 2주 구간이 밀렸으면 DB 에서 읽는다
+    public Chart get(long midStockId) {
+        LocalDate today = LocalDate.now();
+        Chart cached = charts.get(midStockId);
+        if (cached != null && cached.day().equals(today)) {
+            return cached;
+        }
+        long gen = generation.get();
+        Chart loaded = toChart(midStockId, today, gen, midStockPriceRepository.find2WeeksPriceInfo(midStockId));
+        if (loaded.size() == 0) {
+            // 없는 종목 id 로 캐시가 불어나지 않도록 빈 차트는 담지 않는다
+            return loaded;
+        }
+        return charts.merge(midStockId, loaded, Chart::newer);
+    }
+
+    // 하루 한번 가격 생성이 커밋된 뒤 호출. 모든 종목을 쿼리 한번으로 다시 만든다
+    public void rebuildAll() {
+        long start = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+        long gen = generation.incrementAndGet();
+
+        Map<Long, List<MidStockPrice>> pricesByStock = new HashMap<>();
+        for (MidStockPrice price : midStockPriceRepository.find2WeeksPriceInfoOfAll()) {
+            pricesByStock.computeIfAbsent(price.getMidStock().getId(), id -> new ArrayList<>()).add(price);
+        }
+
+        Map<Long, Chart> rebuilt = new HashMap<>();
+        pricesByStock.forEach((stockId, prices) -> rebuilt.put(stockId, toChart(stockId, today, gen, prices)));
+        charts.putAll(rebuilt);
+        // 가격이 없어진 종목은 다음 조회 때 다시 읽는다
+        charts.keySet().retainAll(rebuilt.keySet());
+        log.info("중급 차트 캐시 재생성. 종목 {}개, {}ms", rebuilt.size(), System.currentTimeMillis() - start);
+    }
+
+    public void evictAll() {
+        generation.incrementAndGet();
+        charts.clear();
+    }
+
+    private Chart toChart(long midStockId, LocalDate day, long gen, List<MidStockPrice> prices) {
+        int size = prices.size();
+        long[] highPrices = new long[size];
+        long[] lowPrices = new long[size];
+        long[] avgPrices = new long[size];
+        LocalDateTime[] priceDates = new LocalDateTime[size];
+        List<MidStockPriceResponse> responses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            MidStockPrice price = prices.get(i);
+            highPrices[i] = price.getHighPrice();
+            lowPrices[i] = price.getLowPrice();
+            avgPrices[i] = price.getAvgPrice();
+            priceDates[i] = price.getPriceDate();
+            responses.add(MidStockPriceResponse.of(price));
+        }
+
+        byte[] json;
+        try {
+            // MVC 와 같은 ObjectMapper 로 직렬화해서 캐시 전과 응답 본문이 똑같다
+            json = objectMapper.writeValueAsBytes(responses);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("중급 차트 직렬화 실패", e);
+        }
+        String etag = "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+        return new Chart(midStockId, day, gen, highPrices, lowPrices, avgPrices, priceDates, json, etag);
+    }
+
+    public record Chart(long midStockId, LocalDate day, long generation,
+                        long[] highPrices, long[] lowPrices, long[] avgPrices, LocalDateTime[] priceDates,
+                        byte[] json, String etag) {
+
+        public int size() {
+            return avgPrices.length;
+        }
+
+        // 날짜가 늦은 쪽, 같은 날이면 나중 generation 쪽을 남긴다
+        private static Chart newer(Chart a, Chart b) {
+            if (!a.day.equals(b.day)) {
+                return a.day.isAfter(b.day) ? a : b;
+            }
+            return a.generation > b.generation ? a : b;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.prgrms.ijuju.domain.stock.mid.cache;
+
+import com.prgrms.ijuju.domain.stock.mid.entity.MidStockPrice;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockPriceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 오늘부터 미리 만들어 둔 미래 평균 가격을 종목 x 날짜 long 배열 하나로 들고 있는 캐시 입니다.
+ * 수익 예상(MidStockProjectionService)이 슬라이더를 움직일 때마다 불려서, DB 대신 이 배열만 읽습니다.
+ * 날짜가 바뀌면 처음 읽을 때, 하루 한번 가격 생성 뒤에는 refresh 로 새로 만들어 AtomicReference 로 교체합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MidFuturePriceCache {
+    // InitMidDb 와 MidStockChartService 가 15일 뒤까지 만들어 두므로 오늘 포함 16일
+    public static final int HORIZON_DAYS = 16;
+
+    private final MidStockPriceRepository midStockPriceRepository;
+    private final AtomicReference<FuturePrices> current = new AtomicReference<>();
+
+    public FuturePrices get() {
+        FuturePrices prices = current.get();
+        if (prices != null && prices.firstDay().equals(LocalDate.now())) {
+            return prices;
+        }
+        synchronized (this) {
+            prices = current.get();
+            if (prices == null || !prices.firstDay().equals(LocalDate.now())) {
+                prices = load(LocalDate.now());
+                current.set(prices);
+            }
+            return prices;
+        }
+    }
+
+    // 하루 한번 가격 생성이 커밋된 뒤 호출
+    public synchronized void refresh() {
+        current.set(load(LocalDate.now()));
+    }
+
+    // 다음 get 때 다시 읽게 한다
+    public void evict() {
+        current.set(null);
+    }
+
+    private FuturePrices load(LocalDate today) {
+        List<MidStockPrice> prices = midStockPriceRepository.findPricesBetween(
+                today.atStartOfDay(), today.plusDays(HORIZON_DAYS).atStartOfDay());
+
+        // 종목, 날짜 순으로 오므로 종목이 바뀔 때마다 새 행
+        Map<Long, Integer> rows = new HashMap<>();
+        List<long[]> series = new ArrayList<>();
+        for (MidStockPrice price : prices) {
+            long stockId = price.getMidStock().getId();
+            Integer row = rows.get(stockId);
+            if (row == null) {
+                row = series.size();
+                rows.put(stockId, row);
+                long[] empty = new long[HORIZON_DAYS];
+                Arrays.fill(empty, -1L);
+                series.add(empty);
+            }
+            int day = (int) ChronoUnit.DAYS.between(today, price.getPriceDate().toLocalDate());
+            series.get(row)[day] = price.getAvgPrice();
+        }
+
+        long[] avgPrices = new long[series.size() * HORIZON_DAYS];
+        for (int row = 0; row < series.size(); row++) {
+            fillGaps(series.get(row));
+            System.arraycopy(series.get(row), 0, avgPrices, row * HORIZON_DAYS, HORIZON_DAYS);
+        }
+        log.info("중급 미래 가격 캐시 생성. 종목 {}개", rows.size());
+        return new FuturePrices(today, Map.copyOf(rows), avgPrices);
+    }
+
+    // 빠진 날은 전날 가격, 앞쪽이 비었으면 처음 있는 가격으로 채운다
+    private static void fillGaps(long[] series) {
+        long last = -1L;
+        for (long price : series) {
+            if (price >= 0) {
+                last = price;
+                break;
+            }
+        }
+        for (int day = 0; day < series.length; day++) {
+            if (series[day] < 0) {
+                series[day] = last;
+            } else {
+                last = series[day];
+            }
+        }
+    }
+
+    /**
+     * avgPrices[row * HORIZON_DAYS + day] 가 종목 row 의 오늘 + day 일 평균 가격 입니다.
+     */
+    public record FuturePrices(LocalDate firstDay, Map<Long, Integer> rows, long[] avgPrices) {
+
+        // 미래 가격이 없는 종목이면 -1
+        public int rowOf(long stockId) {
+            return rows.getOrDefault(stockId, -1);
+        }
+
+        public long price(int row, int day) {
+            return avgPrices[row * HORIZON_DAYS + day];
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.prgrms.ijuju.domain.stock.mid.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 회원이 오늘 종목을 샀는지/팔았는지 메모리에 들고 있는 캐시 입니다.
+ * 매수/매도가 커밋되면 표시해 두고, 거래 가능 여부 조회는 DB 대신 여기서 답합니다. 서버가 뜬 뒤 처음 보는 (회원, 종목) 만 DB 에서 읽어 채웁니다.
+ * 중급 거래가 전부 이 서버의 MidStockTradeService 를 거친다는 전제라, 서버를 여러대 띄우면 공유 캐시로 바꿔야 합니다.
+ */
+@Component
+@Slf4j
+public class MidTradeGate {
+
+    private final Map<Key, Marks> marks = new ConcurrentHashMap<>();
+    private final int keepDays;
+
+    public MidTradeGate(@Value("${mid.trade-gate.keep-days:7}") int keepDays) {
+        this.keepDays = keepDays;
+    }
+
+    // 캐시에 없으면 null. 지난 날짜의 표시는 오늘은 거래가 없었다는 뜻이다
+    public Marks find(long memberId, long midStockId) {
+        Marks found = marks.get(new Key(memberId, midStockId));
+        if (found == null) {
+            return null;
+        }
+        LocalDate today = LocalDate.now();
+        return found.day().equals(today) ? found : new Marks(today, false, false);
+    }
+
+    // DB 에서 읽은 값으로 채운다. 그 사이에 커밋된 거래 표시가 있으면 합친다
+    public Marks load(long memberId, long midStockId, boolean bought, boolean sold) {
+        return marks.merge(new Key(memberId, midStockId), new Marks(LocalDate.now(), bought, sold), Marks::merge);
+    }
+
+    // 매수 트랜잭션이 커밋된 뒤에 표시. 롤백되면 표시하지 않는다
+    public void markBought(long memberId, long midStockId) {
+        afterCommit(() -> mark(memberId, midStockId, true, false));
+    }
+
+    public void markSold(long memberId, long midStockId) {
+        afterCommit(() -> mark(memberId, midStockId, false, true));
+    }
+
+    // 며칠 지난 표시는 지운다. 지워진 (회원, 종목) 은 다음 조회 때 DB 에서 다시 읽는다
+    @Scheduled(cron = "0 0 0 * * *")
+    public void evictExpired() {
+        LocalDate expired = LocalDate.now().minusDays(keepDays);
+        int before = marks.size();
+        marks.values().removeIf(m -> m.day().isBefore(expired));
+        log.info("중급 거래 캐시 정리 {}건", before - marks.size());
+    }
+
+    private void mark(long memberId, long midStockId, boolean bought, boolean sold) {
+        marks.merge(new Key(memberId, midStockId), new Marks(LocalDate.now(), bought, sold), Marks::merge);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Key(long memberId, long midStockId) {
+    }
+
+    public record Marks(LocalDate day, boolean bought, boolean sold) {
+
+        // 같은 날이면 표시를 합치고, 날짜가 다르면 새 날짜 쪽을 남긴다
+        private static Marks merge(Marks a, Marks b) {
+            if (a.day.equals(b.day)) {
+                return new Marks(a.day, a.bought || b.bought, a.sold || b.sold);
+            }
+            return a.day.isAfter(b.day) ? a : b;
+        }
+    }
+}
@@ -13,7 +13,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -54,29 +53,12 @@ public class InitMidDb {
     }
 
     private List<MidStockPrice> createInitialPrices(MidStock stock) {
-        List<MidStockPrice> prices = new ArrayList<>();
-
         // 초기 기준가격 설정
-        long basePrice;
-        if (stock.getId() % 3 == 1) {
-            basePrice = 100L;
-        } else if (stock.getId() % 3 == 2) {
-            basePrice = 10000L;
-        } else {
-            basePrice = 1000000L;
-        }
-
-        long lastAvgPrice = basePrice;
-
+        long basePrice = MidStockChartService.getBasePrice(stock);
 
         // 30일치 데이터 생성 (15일 전부터 15일 후까지)
-        for (int i = -DAYS_TO_KEEP; i <= DAYS_TO_KEEP; i++) {
-            MidStockPrice price = midStockChartService.generatePrice(stock, lastAvgPrice, LocalDateTime.now().plusDays(i));
-            prices.add(price);
-            lastAvgPrice = price.getAvgPrice();
-        }
-
-        return prices;
+        return midStockChartService.generatePrices(stock, basePrice,
+                LocalDateTime.now().minusDays(DAYS_TO_KEEP), DAYS_TO_KEEP * 2 + 1);
     }
 
     private boolean isDataExists() {
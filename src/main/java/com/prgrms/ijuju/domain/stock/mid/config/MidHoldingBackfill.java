@@ -0,0 +1,56 @@
+package com.prgrms.ijuju.domain.stock.mid.config;
+
+import com.prgrms.ijuju.domain.member.repository.MemberRepository;
+import com.prgrms.ijuju.domain.stock.mid.entity.MidStockHolding;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockHoldingRepository;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockRepository;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockTradeRepository;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockTradeRepository.LegacyPosition;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 보유 행(MidStockHolding)이 생기기 전에 산 주식을 보유 행으로 옮기는 시작 작업 입니다.
+ * 보유 주식 조회와 포트폴리오 예측은 보유 행만 읽기 때문에, 옮기지 않으면 예전 매수는 팔기 전까지 화면에서 빠집니다.
+ * 보유 행이 없는 회원/종목만 고르기 때문에 두번째 시작부터는 아무것도 하지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MidHoldingBackfill {
+    private final MidStockTradeRepository midStockTradeRepository;
+    private final MidStockHoldingRepository midStockHoldingRepository;
+    private final MidStockRepository midStockRepository;
+    private final MemberRepository memberRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0) // MidTradeDayBackfill 이 빈 보유 행을 만들기 전에 돌아야 한다
+    @Transactional
+    public void backfill() {
+        List<LegacyPosition> positions = midStockTradeRepository.findPositionsWithoutHolding();
+        if (positions.isEmpty()) {
+            return;
+        }
+        List<MidStockHolding> holdings = positions.stream()
+                .map(this::toHolding)
+                .toList();
+        midStockHoldingRepository.saveAll(holdings);
+        log.info("중급 보유 행 {}건을 BUY 거래 합계로 채웠습니다", holdings.size());
+    }
+
+    private MidStockHolding toHolding(LegacyPosition position) {
+        MidStockHolding holding = MidStockHolding.builder()
+                .member(memberRepository.getReferenceById(position.getMemberId()))
+                .midStock(midStockRepository.getReferenceById(position.getMidStockId()))
+                .build();
+        holding.restore(position.getInvestedPoints(), position.getUnits(), position.getLastTradeAt().toLocalDate());
+        return holding;
+    }
+}
@@ -0,0 +1,37 @@
+package com.prgrms.ijuju.domain.stock.mid.config;
+
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockHoldingRepository;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockTradeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 하루 한번 매수/매도 확인에 쓰는 날짜 컬럼(MidStockTrade.tradeDay, MidStockHolding.lastSellDay)을 채우는 시작 작업 입니다.
+ * 컬럼이 생기기 전의 행은 NULL 이라, 채우지 않으면 배포한 날 그 전에 사고 판 거래가 확인에서 빠져 하루에 두번 거래할 수 있습니다.
+ * 비어 있는 행만 채우기 때문에 두번째 시작부터는 아무것도 하지 않습니다.
+ * 보유 행이 없는 종목에 빈 행을 만들기 때문에 MidHoldingBackfill 다음에 돌아야 합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MidTradeDayBackfill {
+    private final MidStockTradeRepository midStockTradeRepository;
+    private final MidStockHoldingRepository midStockHoldingRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1)
+    @Transactional
+    public void backfill() {
+        int tradeDays = midStockTradeRepository.fillMissingTradeDays();
+        int sellDays = midStockHoldingRepository.fillMissingLastSellDays();
+        int soldHoldings = midStockHoldingRepository.insertSoldWithoutHolding();
+        if (tradeDays + sellDays + soldHoldings > 0) {
+            log.info("중급 거래일 채움: 거래 {}건, 매도일 {}건, 다 판 종목 {}건", tradeDays, sellDays, soldHoldings);
+        }
+    }
+}
@@ -1,23 +1,32 @@
 package com.prgrms.ijuju.domain.stock.mid.controller;
 
+import com.prgrms.ijuju.domain.stock.mid.cache.MidChartCache;
 import com.prgrms.ijuju.domain.stock.mid.config.InitMidDb;
 import com.prgrms.ijuju.domain.stock.mid.dto.request.MidStockTradePointRequest;
 import com.prgrms.ijuju.domain.stock.mid.dto.response.*;
+import com.prgrms.ijuju.domain.stock.mid.service.MidStockProjectionService;
+import com.prgrms.ijuju.domain.stock.mid.service.MidStockRollupService;
 import com.prgrms.ijuju.domain.stock.mid.service.MidStockService;
 import com.prgrms.ijuju.domain.stock.mid.service.MidStockTradeService;
 import com.prgrms.ijuju.global.auth.SecurityUser;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -29,6 +38,8 @@ import java.util.Map;
 public class MidStockController {
     private final MidStockService midStockService;
     private final MidStockTradeService midStockTradeService;
+    private final MidStockRollupService midStockRollupService;
+    private final MidStockProjectionService midStockProjectionService;
     private final InitMidDb initMidDb;
 
     @Value("${admin.key}")
@@ -63,16 +74,43 @@ public class MidStockController {
         return ResponseEntity.ok(stocksAndTrades);
     }
 
-    // 2주치 가격 데이터 제공
+    // 2주치 가격 데이터 제공. 미리 직렬화해 둔 JSON 을 그대로 보내고, If-None-Match 가 ETag 와 같으면 304
     @GetMapping("/{midStockId}/price")
-    public ResponseEntity<List<MidStockPriceResponse>> findStockPrices(@PathVariable Long midStockId) {
-        List<MidStockPriceResponse> prices = midStockService.findStockChartInfo(midStockId);
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ResponseEntity<byte[]> findStockPrices(@PathVariable Long midStockId) {
+        MidChartCache.Chart chart = midStockService.findStockChart(midStockId);
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(chart.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(chart.json());
+    }
+
+    // 긴 기간 차트. 기간에 따라 일/주/월 단위를 골라 점 60개 이하로 준다
+    @GetMapping("/{midStockId}/chart")
+    public ResponseEntity<MidStockChartResponse> findStockChart(@PathVariable Long midStockId,
+                                                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        MidStockChartResponse chart = midStockRollupService.findChart(midStockId, from, to);
+
+        return ResponseEntity.ok(chart);
+    }
+
+    // 보유 주식을 앞으로 언제 팔면 얼마를 받는지. stockId, points 를 주면 오늘 그만큼 더 산다고 치고 계산
+    @GetMapping("/projection")
+    public ResponseEntity<MidProjectionResponse> projectProfits(@RequestParam(required = false) Long stockId,
+                                                                @RequestParam(defaultValue = "0") @PositiveOrZero long points,
+                                                                @AuthenticationPrincipal SecurityUser securityUser) {
+        Long memberId = securityUser.getId();
+        MidProjectionResponse projection = midStockProjectionService.project(memberId, stockId, points);
 
-        return ResponseEntity.ok(prices);
+        return ResponseEntity.ok(projection);
     }
 
     // 오늘 거래가능한지 확인
     @GetMapping("/{midStockId}/available")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ResponseEntity<TradeAvailableResponse> isTradeAvailable(@PathVariable Long midStockId, @AuthenticationPrincipal SecurityUser securityUser) {
         log.info("중급 주식 거래 가능 여부 확인");
         Long memberId = securityUser.getId();
@@ -0,0 +1,26 @@
+package com.prgrms.ijuju.domain.stock.mid.dto.response;
+
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// 날짜마다 그날 전부 팔면 받는 포인트. values[i] 는 days[i] 에 팔았을 때
+@Builder
+public record MidProjectionResponse(
+        List<LocalDate> days,
+        long investedPoints,
+        long[] totalValues,
+        long[] profits,
+        int bestDayIndex,
+        List<StockProjection> stocks
+) {
+    @Builder
+    public record StockProjection(
+            Long midStockId,
+            String midName,
+            long investedPoints,
+            long[] values
+    ) {
+    }
+}
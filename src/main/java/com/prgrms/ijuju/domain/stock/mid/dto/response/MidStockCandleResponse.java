@@ -0,0 +1,50 @@
+package com.prgrms.ijuju.domain.stock.mid.dto.response;
+
+import com.prgrms.ijuju.domain.stock.mid.entity.MidStockCandle;
+import com.prgrms.ijuju.domain.stock.mid.entity.MidStockPrice;
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Builder
+public record MidStockCandleResponse(
+        LocalDate date,
+        Long openPrice,
+        Long highPrice,
+        Long lowPrice,
+        Long closePrice
+) {
+    public static MidStockCandleResponse of(MidStockCandle candle) {
+        return new MidStockCandleResponse(
+                candle.getBucketStart(),
+                candle.getOpenPrice(),
+                candle.getHighPrice(),
+                candle.getLowPrice(),
+                candle.getClosePrice()
+        );
+    }
+
+    // 일별 가격에는 시가/종가가 없어서 평균 가격을 쓴다
+    public static MidStockCandleResponse of(MidStockPrice price) {
+        return new MidStockCandleResponse(
+                price.getPriceDate().toLocalDate(),
+                price.getAvgPrice(),
+                price.getHighPrice(),
+                price.getLowPrice(),
+                price.getAvgPrice()
+        );
+    }
+
+    // 이어진 점 여러개를 하나로 합친다
+    public static MidStockCandleResponse merge(List<MidStockCandleResponse> candles) {
+        MidStockCandleResponse first = candles.get(0);
+        long high = first.highPrice();
+        long low = first.lowPrice();
+        for (MidStockCandleResponse candle : candles) {
+            high = Math.max(high, candle.highPrice());
+            low = Math.min(low, candle.lowPrice());
+        }
+        return new MidStockCandleResponse(first.date(), first.openPrice(), high, low, candles.get(candles.size() - 1).closePrice());
+    }
+}
@@ -0,0 +1,13 @@
+package com.prgrms.ijuju.domain.stock.mid.dto.response;
+
+import com.prgrms.ijuju.domain.stock.mid.entity.CandleResolution;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record MidStockChartResponse(
+        CandleResolution resolution,
+        List<MidStockCandleResponse> candles
+) {
+}
@@ -1,29 +1,38 @@
 package com.prgrms.ijuju.domain.stock.mid.dto.response;
 
 import com.prgrms.ijuju.domain.stock.mid.entity.MidStock;
-import com.prgrms.ijuju.domain.stock.mid.entity.MidStockTrade;
+import com.prgrms.ijuju.domain.stock.mid.entity.MidStockHolding;
+import com.prgrms.ijuju.domain.stock.mid.entity.TradeType;
 import lombok.Builder;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Builder
 public record MidStockWithTradesResponse(
         Long midStockId,
         String midName,
+        Long investedPoints,
+        Double entryPrice,
+        LocalDate lastTradeDay,
         List<MidStockTradeInfo> trades
 ) {
-    public static MidStockWithTradesResponse of(List<MidStockTrade> trades) {
-        if (trades.isEmpty()) {
-            return null;
-        }
-
-        MidStock stock = trades.get(0).getMidStock();
+    // 보유 행 하나로 만든다. trades 는 기존 화면 호환용으로 합친 매수 1건만 넣고, 거래별 내역은 종목별 조회(/{midStockId})에서 본다
+    public static MidStockWithTradesResponse of(MidStockHolding holding) {
+        MidStock stock = holding.getMidStock();
+        MidStockTradeInfo total = new MidStockTradeInfo(
+                holding.getInvestedPoints(),
+                Math.round(holding.getEntryPrice()),
+                holding.getLastTradeDay().atStartOfDay(),
+                TradeType.BUY
+        );
         return new MidStockWithTradesResponse(
                 stock.getId(),
                 stock.getStockName(),
-                trades.stream()
-                        .map(MidStockTradeInfo::of)
-                        .toList()
+                holding.getInvestedPoints(),
+                holding.getEntryPrice(),
+                holding.getLastTradeDay(),
+                List.of(total)
         );
     }
 }
@@ -0,0 +1,32 @@
+package com.prgrms.ijuju.domain.stock.mid.entity;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+// 차트 한 점의 단위. DAY 는 MidStockPrice 를 그대로 쓰고, WEEK/MONTH 는 MidStockCandle 로 롤업한다. 주는 월요일, 달은 1일이 시작
+public enum CandleResolution {
+    DAY(ChronoUnit.DAYS),
+    WEEK(ChronoUnit.WEEKS),
+    MONTH(ChronoUnit.MONTHS);
+
+    private final ChronoUnit unit;
+
+    CandleResolution(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public LocalDate bucketStart(LocalDate day) {
+        return switch (this) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+
+    // from ~ to 구간에 걸치는 버킷 개수
+    public long bucketsBetween(LocalDate from, LocalDate to) {
+        return unit.between(bucketStart(from), bucketStart(to)) + 1;
+    }
+}
@@ -0,0 +1,66 @@
+package com.prgrms.ijuju.domain.stock.mid.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * 일별 MidStockPrice 를 주/월 단위로 묶은 OHLC 입니다.
+ * 일별 가격은 15일만 남기고 지우기 때문에, 지우기 전에 MidStockRollupService 가 여기에 접어 넣어 긴 기간 차트를 그립니다.
+ * lastDay 는 마지막으로 접은 날이라, 같은 날을 두번 접지 않습니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString(of = {"id", "resolution", "bucketStart", "openPrice", "highPrice", "lowPrice", "closePrice", "lastDay"})
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"mid_stock_id", "resolution", "bucket_start"}))
+public class MidStockCandle {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "mid_stock_id", nullable = false)
+    private MidStock midStock;
+
+    @Enumerated(EnumType.STRING)
+    private CandleResolution resolution;
+
+    private LocalDate bucketStart;
+
+    private Long openPrice;
+
+    private Long highPrice;
+
+    private Long lowPrice;
+
+    private Long closePrice;
+
+    private LocalDate lastDay;
+
+    @Builder
+    public MidStockCandle(MidStock midStock, CandleResolution resolution, LocalDate bucketStart) {
+        this.midStock = midStock;
+        this.resolution = resolution;
+        this.bucketStart = bucketStart;
+    }
+
+    // 하루치 가격을 접는다. 일별 가격에는 시가/종가가 없어서 평균 가격을 쓴다
+    public boolean add(LocalDate day, long lowPrice, long highPrice, long avgPrice) {
+        if (lastDay != null && !day.isAfter(lastDay)) {
+            return false;
+        }
+        if (lastDay == null) {
+            this.openPrice = avgPrice;
+            this.highPrice = highPrice;
+            this.lowPrice = lowPrice;
+        } else {
+            this.highPrice = Math.max(this.highPrice, highPrice);
+            this.lowPrice = Math.min(this.lowPrice, lowPrice);
+        }
+        this.closePrice = avgPrice;
+        this.lastDay = day;
+        return true;
+    }
+}
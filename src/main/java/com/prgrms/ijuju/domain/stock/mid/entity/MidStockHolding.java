@@ -0,0 +1,84 @@
+package com.prgrms.ijuju.domain.stock.mid.entity;
+
+import com.prgrms.ijuju.domain.member.entity.Member;
+import com.prgrms.ijuju.global.common.entity.BaseTimeEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * 회원 한명이 종목 하나를 얼마나 들고 있는지 한 행으로 모아둔 엔티티 입니다.
+ * 매수/매도 때 거래 내역과 같은 트랜잭션에서 갱신되고, 보유 주식 조회와 매도는 BUY 거래 행들 대신 이 행 하나만 읽습니다.
+ * entryPrice 는 투자 포인트로 가중한 평균 매수가 라서, 지금 가격에 팔면 investedPoints * price / entryPrice 를 받습니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString(of = {"id", "investedPoints", "entryPrice", "lastTradeDay", "lastSellDay"})
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"member_id", "mid_stock_id"}))
+public class MidStockHolding extends BaseTimeEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "member_id", nullable = false)
+    private Member member;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "mid_stock_id", nullable = false)
+    private MidStock midStock;
+
+    private long investedPoints; // 0 이면 보유 없음
+
+    private double entryPrice;
+
+    private LocalDate lastTradeDay;
+
+    private LocalDate lastSellDay; // 하루 한번 매도 확인용
+
+    @Builder
+    public MidStockHolding(Member member, MidStock midStock) {
+        this.member = member;
+        this.midStock = midStock;
+    }
+
+    // 매수. 새로 산 만큼 평균 매수가를 다시 계산
+    public void buy(long tradePoint, long pricePerStock, LocalDate tradeDay) {
+        double units = getUnits() + (double) tradePoint / pricePerStock;
+        this.investedPoints += tradePoint;
+        this.entryPrice = investedPoints / units;
+        this.lastTradeDay = tradeDay;
+    }
+
+    // 보유 행이 없던 주식을 BUY 거래 합계로 한번에 채운다
+    public void restore(long investedPoints, double units, LocalDate lastTradeDay) {
+        this.investedPoints = investedPoints;
+        this.entryPrice = investedPoints / units;
+        this.lastTradeDay = lastTradeDay;
+    }
+
+    // 전부 매도. 받을 포인트를 돌려준다
+    public long sellAll(long price, LocalDate tradeDay) {
+        long points = Math.round(getUnits() * price);
+        this.investedPoints = 0;
+        this.entryPrice = 0;
+        this.lastTradeDay = tradeDay;
+        this.lastSellDay = tradeDay;
+        return points;
+    }
+
+    public boolean isSoldOn(LocalDate day) {
+        return day.equals(lastSellDay);
+    }
+
+    public boolean isHolding() {
+        return investedPoints > 0;
+    }
+
+    // 보유 수량. 포인트 단위로만 사고 팔아서 주 수는 소수가 된다
+    public double getUnits() {
+        return investedPoints == 0 ? 0 : investedPoints / entryPrice;
+    }
+}
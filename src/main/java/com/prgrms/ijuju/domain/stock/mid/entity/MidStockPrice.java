@@ -11,6 +11,7 @@ import com.prgrms.ijuju.global.common.entity.BaseTimeEntity;
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "highPrice", "lowPrice", "avgPrice", "priceDate"})
+@Table(indexes = @Index(name = "idx_mid_stock_price_stock_date", columnList = "mid_stock_id, price_date"))
 public class MidStockPrice extends BaseTimeEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
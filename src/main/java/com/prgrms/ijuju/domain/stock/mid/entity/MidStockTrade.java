@@ -6,10 +6,13 @@ import com.prgrms.ijuju.global.common.entity.BaseTimeEntity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDate;
+
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@ToString(of = {"id", "tradePoint", "pricePerStock", "tradeType"})
+@ToString(of = {"id", "tradePoint", "pricePerStock", "tradeType", "tradeDay"})
+@Table(indexes = @Index(name = "idx_mid_stock_trade_member_stock_day", columnList = "member_id, mid_stock_id, trade_day, trade_type"))
 public class MidStockTrade extends BaseTimeEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -22,6 +25,9 @@ public class MidStockTrade extends BaseTimeEntity {
     @Enumerated(EnumType.STRING)
     private TradeType tradeType;
 
+    // 매수한 날. createdAt 에 DATE() 를 씌우면 인덱스를 못 타서 날짜만 따로 둔다
+    private LocalDate tradeDay;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "mid_stock_id")
     private MidStock midStock;
@@ -38,6 +44,7 @@ public class MidStockTrade extends BaseTimeEntity {
         this.tradePoint = tradePoint;
         this.pricePerStock = pricePerStock;
         this.tradeType = tradeType;
+        this.tradeDay = LocalDate.now();
         if (midStock != null) {
             setMidStock(midStock);
         }
@@ -48,8 +55,4 @@ public class MidStockTrade extends BaseTimeEntity {
         this.midStock = midStock;
         midStock.getTrades().add(this);
     }
-
-    public void changeTradeType(TradeType tradeType) {
-        this.tradeType = tradeType;
-    }
 }
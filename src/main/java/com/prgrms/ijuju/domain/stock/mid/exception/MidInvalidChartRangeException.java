@@ -0,0 +1,7 @@
+package com.prgrms.ijuju.domain.stock.mid.exception;
+
+public class MidInvalidChartRangeException extends MidStockException {
+    public MidInvalidChartRangeException() {
+        super(MidStockErrorCode.INVALID_CHART_RANGE);
+    }
+}
@@ -11,7 +11,9 @@ public enum MidStockErrorCode implements ErrorCode {
     MEMBER_NOT_FOUND("MID_STOCK_003", "[중급] 해당 회원이 존재하지 않습니다.", HttpStatus.NOT_FOUND),
     PRICE_NOT_FOUND("MID_STOCK_004", "[중급] 오늘의 주식 가격이 아직 생성되지 않았습니다.", HttpStatus.NOT_FOUND),
     ALREADY_BOUGHT("MID_STOCK_005", "[중급] 이미 매수를 했습니다.", HttpStatus.BAD_REQUEST),
-    ALREADY_SOLD("MID_STOCK_006", "[중급] 이미 매도를 했습니다.", HttpStatus.BAD_REQUEST);
+    ALREADY_SOLD("MID_STOCK_006", "[중급] 이미 매도를 했습니다.", HttpStatus.BAD_REQUEST),
+    INVALID_CHART_RANGE("MID_STOCK_007", "[중급] 차트 조회 기간이 올바르지 않습니다.", HttpStatus.BAD_REQUEST),
+    TRADE_CONFLICT("MID_STOCK_008", "[중급] 같은 주식의 거래가 동시에 처리되었습니다. 다시 시도해주세요.", HttpStatus.CONFLICT);
 
     private final String code;
     private final String message;
@@ -0,0 +1,7 @@
+package com.prgrms.ijuju.domain.stock.mid.exception;
+
+public class MidTradeConflictException extends MidStockException {
+    public MidTradeConflictException() {
+        super(MidStockErrorCode.TRADE_CONFLICT);
+    }
+}
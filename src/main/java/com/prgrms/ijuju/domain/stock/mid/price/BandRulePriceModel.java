@@ -0,0 +1,15 @@
+package com.prgrms.ijuju.domain.stock.mid.price;
+
+import java.util.SplittableRandom;
+
+/**
+ * 기존 규칙 입니다. 직전 평균 가격의 ±5% 안에서 아무 값이나 고릅니다.
+ * 예전에는 저가/고가를 뽑고 평균이 ±5% 를 벗어나면 다시 뽑았는데, 지금은 허용 범위에서 바로 뽑습니다.
+ */
+public class BandRulePriceModel implements PriceModel {
+
+    @Override
+    public long sampleAvg(PriceSeed seed, long lastAvgPrice, long minAvg, long maxAvg, SplittableRandom random) {
+        return minAvg + random.nextLong(maxAvg - minAvg + 1);
+    }
+}
@@ -0,0 +1,24 @@
+package com.prgrms.ijuju.domain.stock.mid.price;
+
+import java.util.SplittableRandom;
+
+/**
+ * 기하 브라운 운동 입니다. 하루 로그 수익률이 N(drift - volatility²/2, volatility) 를 따르고,
+ * ±5% 를 벗어나는 부분은 잘라낸(truncated) 분포에서 바로 뽑습니다.
+ */
+public class GeometricBrownianPriceModel implements PriceModel {
+
+    private final double drift;
+    private final double volatility;
+
+    public GeometricBrownianPriceModel(double drift, double volatility) {
+        this.drift = drift;
+        this.volatility = volatility;
+    }
+
+    @Override
+    public long sampleAvg(PriceSeed seed, long lastAvgPrice, long minAvg, long maxAvg, SplittableRandom random) {
+        double mean = drift - volatility * volatility / 2;
+        return PriceBand.sampleLogReturn(lastAvgPrice, mean, volatility, minAvg, maxAvg, random);
+    }
+}
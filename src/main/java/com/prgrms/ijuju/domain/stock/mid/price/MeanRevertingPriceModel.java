@@ -0,0 +1,24 @@
+package com.prgrms.ijuju.domain.stock.mid.price;
+
+import java.util.SplittableRandom;
+
+/**
+ * 평균 회귀(로그 가격의 Ornstein-Uhlenbeck) 모델 입니다. 하루에 기준 가격과의 로그 차이의 speed 만큼 돌아가고,
+ * volatility 만큼 흔들립니다. ±5% 를 벗어나는 부분은 잘라낸 분포에서 바로 뽑습니다.
+ */
+public class MeanRevertingPriceModel implements PriceModel {
+
+    private final double speed;
+    private final double volatility;
+
+    public MeanRevertingPriceModel(double speed, double volatility) {
+        this.speed = speed;
+        this.volatility = volatility;
+    }
+
+    @Override
+    public long sampleAvg(PriceSeed seed, long lastAvgPrice, long minAvg, long maxAvg, SplittableRandom random) {
+        double mean = speed * Math.log((double) seed.anchorPrice() / lastAvgPrice);
+        return PriceBand.sampleLogReturn(lastAvgPrice, mean, volatility, minAvg, maxAvg, random);
+    }
+}
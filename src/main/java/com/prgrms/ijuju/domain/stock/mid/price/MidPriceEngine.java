@@ -0,0 +1,72 @@
+package com.prgrms.ijuju.domain.stock.mid.price;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 중급 주식 가격 생성기 입니다.
+ *
+ * 예전에는 MidStockChartService 가 저가/고가를 뽑고 평균이 ±5% 를 벗어나면 while (true) 로 다시 뽑았습니다.
+ * 조건에 맞는 경우가 드물면 한참 돌았고, 직전 평균 가격이 최소 가격보다 한참 낮으면 끝나지 않았습니다.
+ * 지금은 PriceModel 이 허용 범위 안에서 평균 가격을 바로 뽑고, PriceBand 가 저가/고가를 정합니다. 하루치가 항상 상수 시간 입니다.
+ *
+ * 난수는 SplittableRandom 입니다. 호출마다 root 에서 split 한 생성기를 쓰기 때문에 여러 스레드에서 불러도 되고,
+ * mid.price-model.seed 를 주면 같은 순서로 부른 결과가 항상 같습니다.
+ */
+@Component
+public class MidPriceEngine {
+
+    private final PriceModel model;
+    private final SplittableRandom root;
+
+    @Autowired
+    public MidPriceEngine(@Value("${mid.price-model.type:band-rule}") String type,
+                          @Value("${mid.price-model.drift:0.0}") double drift,
+                          @Value("${mid.price-model.volatility:0.02}") double volatility,
+                          @Value("${mid.price-model.reversion-speed:0.1}") double reversionSpeed,
+                          @Value("${mid.price-model.seed:#{null}}") Long seed) {
+        this(PriceModelType.from(type).create(drift, volatility, reversionSpeed),
+                seed == null ? new SplittableRandom() : new SplittableRandom(seed));
+    }
+
+    public MidPriceEngine(PriceModel model, SplittableRandom root) {
+        this.model = model;
+        this.root = root;
+    }
+
+    // 하루치
+    public MidPriceQuote next(PriceSeed seed) {
+        return step(seed, seed.lastAvgPrice(), split());
+    }
+
+    // 종목마다 horizon 일치를 한번에. 전날 평균 가격을 이어 받는다. [종목][일]
+    public MidPriceQuote[][] generate(List<PriceSeed> seeds, int horizon) {
+        SplittableRandom random = split();
+        MidPriceQuote[][] quotes = new MidPriceQuote[seeds.size()][horizon];
+        for (int stock = 0; stock < seeds.size(); stock++) {
+            PriceSeed seed = seeds.get(stock);
+            long lastAvgPrice = seed.lastAvgPrice();
+            for (int day = 0; day < horizon; day++) {
+                MidPriceQuote quote = step(seed, lastAvgPrice, random);
+                quotes[stock][day] = quote;
+                lastAvgPrice = quote.avgPrice();
+            }
+        }
+        return quotes;
+    }
+
+    private MidPriceQuote step(PriceSeed seed, long lastAvgPrice, SplittableRandom random) {
+        long minAvg = PriceBand.minAvg(lastAvgPrice, seed.baseMinPrice());
+        long maxAvg = PriceBand.maxAvg(lastAvgPrice, minAvg);
+        long avg = model.sampleAvg(seed, Math.max(1, lastAvgPrice), minAvg, maxAvg, random);
+        return PriceBand.quote(avg, seed.baseMinPrice(), random);
+    }
+
+    private synchronized SplittableRandom split() {
+        return root.split();
+    }
+}
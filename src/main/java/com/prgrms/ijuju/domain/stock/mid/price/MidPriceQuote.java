@@ -0,0 +1,7 @@
+package com.prgrms.ijuju.domain.stock.mid.price;
+
+/**
+ * 하루치 가격 입니다. avgPrice 는 항상 (lowPrice + highPrice) / 2 입니다.
+ */
+public record MidPriceQuote(long lowPrice, long highPrice, long avgPrice) {
+}
@@ -0,0 +1,114 @@
+package com.prgrms.ijuju.domain.stock.mid.price;
+
+import java.util.SplittableRandom;
+
+/**
+ * 중급 주식 가격의 허용 범위 입니다.
+ * - 평균 가격은 직전 평균 가격의 ±5% 안, 그리고 최소 가격 이상
+ * - 고가는 저가보다 크고 저가의 1.2배 이하, 저가는 최소 가격 이상
+ * 모델이 평균 가격을 고르면 저가/고가는 여기서 한번에 정합니다. 다시 뽑는 일이 없어서 항상 상수 시간 입니다.
+ */
+public final class PriceBand {
+
+    public static final double PRICE_CHANGE_RATE = 0.05;
+    private static final double MAX_SPREAD_RATE = 0.2;
+
+    private PriceBand() {
+    }
+
+    // 직전 평균 가격이 최소 가격보다 낮아도 범위가 비지 않도록 최소 가격으로 올린다
+    public static long minAvg(long lastAvgPrice, long baseMinPrice) {
+        return Math.max(baseMinPrice, (long) Math.ceil(lastAvgPrice * (1 - PRICE_CHANGE_RATE)));
+    }
+
+    public static long maxAvg(long lastAvgPrice, long minAvg) {
+        return Math.max(minAvg, (long) Math.floor(lastAvgPrice * (1 + PRICE_CHANGE_RATE)));
+    }
+
+    /**
+     * 평균 가격 avg 에서 저가/고가를 만듭니다. 폭(spread)을 [1, maxSpread] 에서 고르고 avg 를 가운데 둡니다.
+     * high <= 1.2 * low 가 되려면 spread <= avg / 5.5, low >= baseMinPrice 가 되려면 spread <= 2 * (avg - baseMinPrice) + 1.
+     * 가격이 너무 작아서 폭 1 도 1.2배를 넘는 경우에는 예전 규칙과 같이 고가 = 저가 + 1 로 둔다.
+     */
+    public static MidPriceQuote quote(long avg, long baseMinPrice, SplittableRandom random) {
+        long maxSpread = Math.max(1, Math.min((long) (avg * MAX_SPREAD_RATE / (1 + MAX_SPREAD_RATE / 2)),
+                2 * (avg - baseMinPrice) + 1));
+        long spread = 1 + random.nextLong(maxSpread);
+        long low = avg - spread / 2;
+        return new MidPriceQuote(low, low + spread, avg);
+    }
+
+    // 로그 수익률이 N(mean, sd) 인 모델용. [minAvg, maxAvg] 밖은 잘라낸 분포에서 뽑는다
+    static long sampleLogReturn(long lastAvgPrice, double mean, double sd, long minAvg, long maxAvg,
+                                SplittableRandom random) {
+        double lower = Math.log((double) minAvg / lastAvgPrice);
+        double upper = Math.log((double) maxAvg / lastAvgPrice);
+        double logReturn = truncatedNormal(mean, sd, lower, upper, random);
+        long avg = Math.round(lastAvgPrice * Math.exp(logReturn));
+        return Math.min(maxAvg, Math.max(minAvg, avg));
+    }
+
+    /**
+     * [lower, upper] 로 잘라낸 N(mean, sd) 에서 역변환으로 한번에 뽑습니다.
+     * 오른쪽 꼬리에서는 좌우를 뒤집어서 작은 확률끼리 계산합니다. 1 에 가까운 값끼리 빼면 정밀도가 사라지기 때문입니다.
+     */
+    static double truncatedNormal(double mean, double sd, double lower, double upper, SplittableRandom random) {
+        if (!(sd > 0) || lower >= upper) {
+            return Math.min(upper, Math.max(lower, mean));
+        }
+        double a = (lower - mean) / sd;
+        double b = (upper - mean) / sd;
+        boolean flip = a > 0;
+        if (flip) {
+            double t = -b;
+            b = -a;
+            a = t;
+        }
+
+        double pa = cdf(a);
+        double pb = cdf(b);
+        double z = pb > pa ? inverseCdf(pa + random.nextDouble() * (pb - pa)) : b; // 확률이 0 이면 mean 에 가까운 끝
+        if (Double.isNaN(z)) {
+            z = b;
+        }
+        z = Math.min(b, Math.max(a, z));
+        return mean + sd * (flip ? -z : z);
+    }
+
+    // 표준 정규 분포 누적 확률. erfc 근사는 꼬리에서도 상대 오차 1.2e-7 (Numerical Recipes erfcc)
+    static double cdf(double z) {
+        double x = -z / Math.sqrt(2);
+        double abs = Math.abs(x);
+        double t = 1 / (1 + 0.5 * abs);
+        double erfc = t * Math.exp(-abs * abs - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                + t * (-0.82215223 + t * 0.17087277)))))))));
+        return 0.5 * (x >= 0 ? erfc : 2 - erfc);
+    }
+
+    // 표준 정규 분포 누적 확률의 역함수. Acklam 근사, 상대 오차 1.15e-9
+    static double inverseCdf(double p) {
+        final double pLow = 0.02425;
+        if (p < pLow) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return tail(q);
+        }
+        if (p > 1 - pLow) {
+            double q = Math.sqrt(-2 * Math.log(1 - p));
+            return -tail(q);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((-3.969683028665376e+01 * r + 2.209460984245205e+02) * r - 2.759285104469687e+02) * r
+                + 1.383577518672690e+02) * r - 3.066479806614716e+01) * r + 2.506628277459239e+00) * q
+                / (((((-5.447609879822406e+01 * r + 1.615858368580409e+02) * r - 1.556989798598866e+02) * r
+                + 6.680131188771972e+01) * r - 1.328068155288572e+01) * r + 1);
+    }
+
+    private static double tail(double q) {
+        return (((((-7.784894002430293e-03 * q - 3.223964580411365e-01) * q - 2.400758277161838e+00) * q
+                - 2.549671010422447e+00) * q + 4.374664141464968e+00) * q + 2.938163982698783e+00)
+                / ((((7.784695709041462e-03 * q + 3.224671290700398e-01) * q + 2.445134137142996e+00) * q
+                + 3.754408661907416e+00) * q + 1);
+    }
+}
@@ -0,0 +1,12 @@
+package com.prgrms.ijuju.domain.stock.mid.price;
+
+import java.util.SplittableRandom;
+
+/**
+ * 다음 날 평균 가격을 뽑는 모델 입니다. 반드시 [minAvg, maxAvg] 안의 값을 돌려줘야 하고, 반복 없이 상수 시간에 끝나야 합니다.
+ * 저가/고가는 PriceBand 가 평균 가격에서 만듭니다.
+ */
+public interface PriceModel {
+
+    long sampleAvg(PriceSeed seed, long lastAvgPrice, long minAvg, long maxAvg, SplittableRandom random);
+}
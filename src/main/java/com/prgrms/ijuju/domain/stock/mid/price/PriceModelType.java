@@ -0,0 +1,22 @@
+package com.prgrms.ijuju.domain.stock.mid.price;
+
+/**
+ * mid.price-model.type 으로 고르는 가격 모델 입니다. band-rule / gbm / mean-reverting
+ */
+public enum PriceModelType {
+    BAND_RULE,      // 기존 규칙. ±5% 안에서 균등
+    GBM,            // 기하 브라운 운동
+    MEAN_REVERTING; // 기준 가격으로 돌아가는 평균 회귀
+
+    public static PriceModelType from(String value) {
+        return valueOf(value.trim().toUpperCase().replace('-', '_'));
+    }
+
+    public PriceModel create(double drift, double volatility, double reversionSpeed) {
+        return switch (this) {
+            case BAND_RULE -> new BandRulePriceModel();
+            case GBM -> new GeometricBrownianPriceModel(drift, volatility);
+            case MEAN_REVERTING -> new MeanRevertingPriceModel(reversionSpeed, volatility);
+        };
+    }
+}
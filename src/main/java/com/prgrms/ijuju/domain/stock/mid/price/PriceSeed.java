@@ -0,0 +1,8 @@
+package com.prgrms.ijuju.domain.stock.mid.price;
+
+/**
+ * 가격 생성의 시작점 입니다.
+ * lastAvgPrice : 직전 평균 가격, baseMinPrice : 저가가 내려갈 수 없는 최소 가격, anchorPrice : 평균 회귀 모델이 돌아가려는 기준 가격
+ */
+public record PriceSeed(long lastAvgPrice, long baseMinPrice, long anchorPrice) {
+}
@@ -0,0 +1,33 @@
+package com.prgrms.ijuju.domain.stock.mid.repository;
+
+import com.prgrms.ijuju.domain.stock.mid.entity.CandleResolution;
+import com.prgrms.ijuju.domain.stock.mid.entity.MidStockCandle;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface MidStockCandleRepository extends JpaRepository<MidStockCandle, Long> {
+
+    // 롤업용. bucketStart 이후 버킷만 읽는다. 보통 종목당 이번주/지난주, 이번달/지난달 정도
+    @Query("SELECT c FROM MidStockCandle c " +
+            "WHERE c.resolution = :resolution " +
+            "AND c.bucketStart >= :bucketStart")
+    List<MidStockCandle> findBucketsFrom(@Param("resolution") CandleResolution resolution, @Param("bucketStart") LocalDate bucketStart);
+
+    // 차트용. (mid_stock_id, resolution, bucket_start) 유니크 인덱스로 범위만 읽는다
+    @Query("SELECT c FROM MidStockCandle c " +
+            "WHERE c.midStock.id = :stockId " +
+            "AND c.resolution = :resolution " +
+            "AND c.bucketStart BETWEEN :from AND :to " +
+            "ORDER BY c.bucketStart")
+    List<MidStockCandle> findRange(@Param("stockId") Long stockId, @Param("resolution") CandleResolution resolution,
+                                   @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM MidStockCandle c WHERE c.resolution = :resolution AND c.bucketStart < :bucketStart")
+    int deleteOldBuckets(@Param("resolution") CandleResolution resolution, @Param("bucketStart") LocalDate bucketStart);
+}
@@ -0,0 +1,67 @@
+package com.prgrms.ijuju.domain.stock.mid.repository;
+
+import com.prgrms.ijuju.domain.stock.mid.entity.MidStockHolding;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface MidStockHoldingRepository extends JpaRepository<MidStockHolding, Long> {
+
+    // 매수/매도용. 같은 회원의 같은 종목 거래가 동시에 들어와도 평균 매수가가 꼬이지 않게 잠근다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM MidStockHolding h " +
+            "WHERE h.member.id = :memberId " +
+            "AND h.midStock.id = :midStockId")
+    Optional<MidStockHolding> findForUpdate(@Param("memberId") Long memberId, @Param("midStockId") Long midStockId);
+
+    // 보유 행이 없으면 빈 행을 만든다. 같은 회원/종목의 첫 매수가 동시에 와도 유니크 키 위반 없이 한 행만 생기고,
+    // 늦은 쪽은 먼저 넣은 트랜잭션이 끝날 때까지 기다린다. 벌크 insert 라 auditing 이 안 돌아서 시각도 직접 넣는다
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO mid_stock_holding " +
+            "(member_id, mid_stock_id, invested_points, entry_price, created_at, updated_at) " +
+            "VALUES (:memberId, :midStockId, 0, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", nativeQuery = true)
+    int insertIfAbsent(@Param("memberId") Long memberId, @Param("midStockId") Long midStockId);
+
+    // last_sell_day 가 생기기 전에 판 종목은 예전 매도 확인과 같이 SELL 거래의 updated_at 날짜로 채운다
+    @Modifying
+    @Query(value = "UPDATE mid_stock_holding h SET last_sell_day = " +
+            "(SELECT MAX(CAST(t.updated_at AS DATE)) FROM mid_stock_trade t " +
+            "WHERE t.member_id = h.member_id AND t.mid_stock_id = h.mid_stock_id AND t.trade_type = 'SELL') " +
+            "WHERE h.last_sell_day IS NULL " +
+            "AND EXISTS (SELECT 1 FROM mid_stock_trade t " +
+            "WHERE t.member_id = h.member_id AND t.mid_stock_id = h.mid_stock_id AND t.trade_type = 'SELL')", nativeQuery = true)
+    int fillMissingLastSellDays();
+
+    // 다 팔아서 보유 행이 없는 종목도 마지막 매도일을 남길 빈 행을 만든다
+    @Modifying
+    @Query(value = "INSERT INTO mid_stock_holding " +
+            "(member_id, mid_stock_id, invested_points, entry_price, last_sell_day, created_at, updated_at) " +
+            "SELECT t.member_id, t.mid_stock_id, 0, 0, MAX(CAST(t.updated_at AS DATE)), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP " +
+            "FROM mid_stock_trade t " +
+            "WHERE t.trade_type = 'SELL' " +
+            "AND NOT EXISTS (SELECT 1 FROM mid_stock_holding h " +
+            "WHERE h.member_id = t.member_id AND h.mid_stock_id = t.mid_stock_id) " +
+            "GROUP BY t.member_id, t.mid_stock_id", nativeQuery = true)
+    int insertSoldWithoutHolding();
+
+    // 보유중인 모든 종목 조회. 종목당 한 행
+    @Query("SELECT h FROM MidStockHolding h " +
+            "JOIN FETCH h.midStock " +
+            "WHERE h.member.id = :memberId " +
+            "AND h.investedPoints > 0")
+    List<MidStockHolding> findAllHolding(@Param("memberId") Long memberId);
+
+    // 그날 매도 했는지 확인. (member_id, mid_stock_id) 유니크 인덱스로 한 행만 본다
+    @Query("SELECT COUNT(h) > 0 FROM MidStockHolding h " +
+            "WHERE h.member.id = :memberId " +
+            "AND h.midStock.id = :midStockId " +
+            "AND h.lastSellDay = :day")
+    boolean existsSellOn(@Param("memberId") Long memberId, @Param("midStockId") Long midStockId, @Param("day") LocalDate day);
+}
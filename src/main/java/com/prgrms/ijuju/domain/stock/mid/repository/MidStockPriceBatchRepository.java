@@ -0,0 +1,48 @@
+package com.prgrms.ijuju.domain.stock.mid.repository;
+
+import com.prgrms.ijuju.domain.stock.mid.price.MidPriceQuote;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 하루 한번 만드는 MidStockPrice 를 JDBC batch 로 한번에 저장합니다.
+ * MidStockPrice 의 id 는 IDENTITY 전략이라 Hibernate 가 insert 를 묶지 못하고, 엔티티로 만들면 MidStock 까지 읽어야 해서 JPA 대신 이 클래스를 씁니다.
+ * JDBC 로 넣기 때문에 auditing 이 돌지 않아 created_at, updated_at 은 직접 채웁니다.
+ */
+@Repository
+public class MidStockPriceBatchRepository {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO mid_stock_price (mid_stock_id, high_price, low_price, avg_price, price_date, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MidStockPriceBatchRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public void insertAll(List<NewPrice> prices) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, prices, BATCH_SIZE, (ps, price) -> {
+            ps.setLong(1, price.stockId());
+            ps.setLong(2, price.quote().highPrice());
+            ps.setLong(3, price.quote().lowPrice());
+            ps.setLong(4, price.quote().avgPrice());
+            ps.setTimestamp(5, Timestamp.valueOf(price.priceDate()));
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        });
+    }
+
+    public record NewPrice(long stockId, MidPriceQuote quote, LocalDateTime priceDate) {
+    }
+}
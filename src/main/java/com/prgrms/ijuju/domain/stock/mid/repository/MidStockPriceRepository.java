@@ -6,7 +6,9 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 
 public interface MidStockPriceRepository extends JpaRepository<MidStockPrice, Long>, MidStockPriceRepositoryCustom {
@@ -16,9 +18,27 @@ public interface MidStockPriceRepository extends JpaRepository<MidStockPrice, Lo
     void deleteOldData(@Param("date")LocalDateTime date);
 
     // 오늘 날짜의 평균 가격 가져오기
+    default long findTodayAvgPrice(Long stockId) {
+        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
+        return findAvgPriceBetween(stockId, startOfDay, startOfDay.plusDays(1));
+    }
+
+    // priceDate 에 DATE() 를 씌우지 않고 범위로 찾아야 (mid_stock_id, price_date) 인덱스를 탄다
     @Query("SELECT p.avgPrice FROM MidStockPrice p " +
             "WHERE p.midStock.id = :stockId " +
-            "AND FUNCTION('DATE', p.priceDate) = CURRENT_DATE")
-    long findTodayAvgPrice(@Param("stockId") Long stockId);
+            "AND p.priceDate >= :start AND p.priceDate < :end")
+    long findAvgPriceBetween(@Param("stockId") Long stockId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // 하루 한번 가격 생성용. 주식마다 가장 최근 날짜의 평균 가격을 한번의 쿼리로 읽는다
+    // 가격이 하나도 없는 주식은 결과에 없다
+    @Query("SELECT p.midStock.id AS stockId, p.avgPrice AS avgPrice FROM MidStockPrice p " +
+            "WHERE p.priceDate = (SELECT MAX(p2.priceDate) FROM MidStockPrice p2 WHERE p2.midStock = p.midStock)")
+    List<LatestAvgPrice> findLatestAvgPrices();
+
+    interface LatestAvgPrice {
+        Long getStockId();
+
+        Long getAvgPrice();
+    }
 
 }
@@ -3,12 +3,16 @@ package com.prgrms.ijuju.domain.stock.mid.repository;
 import com.prgrms.ijuju.domain.stock.mid.entity.MidStock;
 import com.prgrms.ijuju.domain.stock.mid.entity.MidStockPrice;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface MidStockPriceRepositoryCustom {
     Optional<MidStockPrice> findLatestPrice(MidStock stock);
     List<MidStockPrice> find2WeeksPriceInfo(Long midStockId);
+    List<MidStockPrice> find2WeeksPriceInfoOfAll();
+    List<MidStockPrice> findPricesBetween(LocalDateTime start, LocalDateTime end);
+    List<MidStockPrice> findPricesBetween(Long stockId, LocalDateTime start, LocalDateTime end);
     Optional<MidStockPrice> findTodayPrice(Long stockId);
     List<MidStockPrice> findByMidStockId(Long stockId);
     List<MidStockPrice> findFuture2WeeksPriceInfo(Long stockId);
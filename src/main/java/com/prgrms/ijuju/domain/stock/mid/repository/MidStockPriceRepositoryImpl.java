@@ -49,6 +49,51 @@ public class MidStockPriceRepositoryImpl implements MidStockPriceRepositoryCusto
                 .fetch();
     }
 
+    // 차트 캐시를 한번에 다시 만들 때 사용. 모든 종목의 2주치를 종목, 날짜 순으로 읽는다
+    @Override
+    public List<MidStockPrice> find2WeeksPriceInfoOfAll() {
+        QMidStockPrice midStockPrice = QMidStockPrice.midStockPrice;
+
+        LocalDateTime endDate = LocalDateTime.now().withHour(23).withMinute(59).withSecond(59);
+        LocalDateTime startDate = endDate.minusWeeks(2).withHour(0).withMinute(0).withSecond(0);
+
+        return queryFactory
+                .selectFrom(midStockPrice)
+                .where(midStockPrice.priceDate.between(startDate, endDate))
+                .orderBy(midStockPrice.midStock.id.asc(), midStockPrice.priceDate.asc())
+                .fetch();
+    }
+
+    // 롤업용. 모든 종목의 [start, end) 가격을 종목, 날짜 순으로 읽는다
+    @Override
+    public List<MidStockPrice> findPricesBetween(LocalDateTime start, LocalDateTime end) {
+        QMidStockPrice midStockPrice = QMidStockPrice.midStockPrice;
+
+        return queryFactory
+                .selectFrom(midStockPrice)
+                .where(
+                        midStockPrice.priceDate.goe(start),
+                        midStockPrice.priceDate.lt(end)
+                )
+                .orderBy(midStockPrice.midStock.id.asc(), midStockPrice.priceDate.asc())
+                .fetch();
+    }
+
+    @Override
+    public List<MidStockPrice> findPricesBetween(Long stockId, LocalDateTime start, LocalDateTime end) {
+        QMidStockPrice midStockPrice = QMidStockPrice.midStockPrice;
+
+        return queryFactory
+                .selectFrom(midStockPrice)
+                .where(
+                        midStockPrice.midStock.id.eq(stockId),
+                        midStockPrice.priceDate.goe(start),
+                        midStockPrice.priceDate.lt(end)
+                )
+                .orderBy(midStockPrice.priceDate.asc())
+                .fetch();
+    }
+
     @Override
     public Optional<MidStockPrice> findTodayPrice(Long stockId) {
         QMidStockPrice midStockPrice = QMidStockPrice.midStockPrice;
@@ -2,11 +2,13 @@ package com.prgrms.ijuju.domain.stock.mid.repository;
 
 import com.prgrms.ijuju.domain.stock.mid.entity.MidStockTrade;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 public interface MidStockTradeRepository extends JpaRepository<MidStockTrade, Long> {
 
@@ -23,18 +25,66 @@ public interface MidStockTradeRepository extends JpaRepository<MidStockTrade, Lo
             "AND t.midStock.id = :midStockId")
     List<MidStockTrade> findBuyMidStock(@Param("memberId") Long memberId, @Param("midStockId") Long midStockId);
 
-    //오늘 매수했는지 확인
-    @Query("SELECT t FROM MidStockTrade t " +
+    // 보유중인 특정 종목의 합계. 매수가 몇 건이든 한 행. units 는 산 주 수의 합이라 오늘 가격을 곱하면 받을 포인트
+    @Query("SELECT COALESCE(SUM(t.tradePoint), 0) AS investedPoints, " +
+            "COALESCE(SUM(t.tradePoint * 1.0 / t.pricePerStock), 0) AS units, " +
+            "MAX(t.createdAt) AS lastTradeAt " +
+            "FROM MidStockTrade t " +
             "WHERE t.member.id = :memberId " +
             "AND t.midStock.id = :midStockId " +
-            "AND FUNCTION('DATE', t.createdAt) = CURRENT_DATE")
-    Optional<MidStockTrade> findTodayBuyMidStock(@Param("memberId") Long memberId, @Param("midStockId") Long midStockId);
+            "AND t.tradeType = 'BUY'")
+    OpenPosition sumOpenPosition(@Param("memberId") Long memberId, @Param("midStockId") Long midStockId);
 
-    // 오늘 매도했는지 확인
-    @Query("SELECT t FROM MidStockTrade t " +
+    // 보유 행이 없는 회원/종목별 BUY 거래 합계. 보유 행이 생기기 전에 산 주식을 한번에 옮길 때 쓴다
+    @Query("SELECT t.member.id AS memberId, t.midStock.id AS midStockId, " +
+            "SUM(t.tradePoint) AS investedPoints, " +
+            "SUM(t.tradePoint * 1.0 / t.pricePerStock) AS units, " +
+            "MAX(t.createdAt) AS lastTradeAt " +
+            "FROM MidStockTrade t " +
+            "WHERE t.tradeType = 'BUY' " +
+            "AND NOT EXISTS (SELECT h.id FROM MidStockHolding h " +
+            "WHERE h.member.id = t.member.id AND h.midStock.id = t.midStock.id) " +
+            "GROUP BY t.member.id, t.midStock.id")
+    List<LegacyPosition> findPositionsWithoutHolding();
+
+    // 그날 매수했는지 확인. (member_id, mid_stock_id, trade_day, trade_type) 인덱스를 탄다
+    @Query("SELECT COUNT(t) > 0 FROM MidStockTrade t " +
             "WHERE t.member.id = :memberId " +
             "AND t.midStock.id = :midStockId " +
-            "AND t.tradeType = 'SELL' " +
-            "AND FUNCTION('DATE', t.updatedAt) = CURRENT_DATE")
-    Optional<MidStockTrade> findTodaySellMidStock(@Param("memberId") Long memberId, @Param("midStockId") Long midStockId);
+            "AND t.tradeDay = :day")
+    boolean existsBuyOn(@Param("memberId") Long memberId, @Param("midStockId") Long midStockId, @Param("day") LocalDate day);
+
+    // 보유중인 특정 종목 매수 내역을 한번에 매도로 바꾼다. 벌크 update 라 auditing 이 안 돌아서 updatedAt 도 직접 바꾼다
+    @Modifying
+    @Query("UPDATE MidStockTrade t " +
+            "SET t.tradeType = com.prgrms.ijuju.domain.stock.mid.entity.TradeType.SELL, t.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE t.member.id = :memberId " +
+            "AND t.midStock.id = :midStockId " +
+            "AND t.tradeType = 'BUY'")
+    int sellAllBuyMidStock(@Param("memberId") Long memberId, @Param("midStockId") Long midStockId);
+
+    // trade_day 가 생기기 전의 거래는 매수한 날(created_at)로 채운다
+    @Modifying
+    @Query(value = "UPDATE mid_stock_trade SET trade_day = CAST(created_at AS DATE) WHERE trade_day IS NULL", nativeQuery = true)
+    int fillMissingTradeDays();
+
+    interface OpenPosition {
+        Long getInvestedPoints();
+
+        Double getUnits();
+
+        LocalDateTime getLastTradeAt();
+    }
+
+    interface LegacyPosition {
+        Long getMemberId();
+
+        Long getMidStockId();
+
+        Long getInvestedPoints();
+
+        Double getUnits();
+
+        LocalDateTime getLastTradeAt();
+    }
 }
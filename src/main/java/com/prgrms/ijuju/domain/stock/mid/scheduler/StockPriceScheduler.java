@@ -1,31 +1,35 @@
 package com.prgrms.ijuju.domain.stock.mid.scheduler;
 
-import com.prgrms.ijuju.domain.stock.mid.entity.MidStock;
-import com.prgrms.ijuju.domain.stock.mid.repository.MidStockRepository;
+import com.prgrms.ijuju.domain.stock.mid.cache.MidChartCache;
+import com.prgrms.ijuju.domain.stock.mid.cache.MidFuturePriceCache;
 import com.prgrms.ijuju.domain.stock.mid.service.MidStockChartService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.util.List;
 
 @Component
 @RequiredArgsConstructor
-@Transactional
 @Slf4j
 public class StockPriceScheduler {
     private final MidStockChartService midStockChartService;
-    private final MidStockRepository midStockRepository;
+    private final MidChartCache midChartCache;
+    private final MidFuturePriceCache midFuturePriceCache;
 
     @Scheduled(cron = "0 1 0 * * *") // 매일 오전 12시 실행
     public void generateDailyPrices() {
-        List<MidStock> stocks = midStockRepository.findAll();
-        for (MidStock stock : stocks) {
-            midStockChartService.generateDailyPrice(stock);
+        // 가격 생성은 MidStockChartService 의 트랜잭션에서 커밋되고, 커밋된 값으로 차트/미래 가격 캐시를 다시 만든다
+        int generated = midStockChartService.generateDailyPrices();
+        log.info("중급 가격 생성 성공 {}건", generated);
+        try {
+            midChartCache.rebuildAll();
+            midFuturePriceCache.refresh();
+        } catch (RuntimeException e) {
+            // 예전 값이 하루종일 남지 않도록 비워서 조회 때 다시 읽게 한다
+            log.error("중급 캐시 재생성 실패", e);
+            midChartCache.evictAll();
+            midFuturePriceCache.evict();
         }
-        log.info("중급 가격 생성 성공");
     }
 
 }
@@ -2,86 +2,131 @@ package com.prgrms.ijuju.domain.stock.mid.service;
 
 import com.prgrms.ijuju.domain.stock.mid.entity.MidStock;
 import com.prgrms.ijuju.domain.stock.mid.entity.MidStockPrice;
+import com.prgrms.ijuju.domain.stock.mid.price.MidPriceEngine;
+import com.prgrms.ijuju.domain.stock.mid.price.MidPriceQuote;
+import com.prgrms.ijuju.domain.stock.mid.price.PriceSeed;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockPriceBatchRepository;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockPriceBatchRepository.NewPrice;
 import com.prgrms.ijuju.domain.stock.mid.repository.MidStockPriceRepository;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockPriceRepository.LatestAvgPrice;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Random;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 @Slf4j
 public class MidStockChartService {
-    private static final int DAYS_TO_KEEP = 15; // 사실상 30일치 데이터를 유지
-    private static final double PRICE_CHANGE_RATE = 0.05;
-    private final Random random = new Random();
+    static final int DAYS_TO_KEEP = 15; // 사실상 30일치 데이터를 유지
     private final MidStockPriceRepository midStockPriceRepository;
+    private final MidStockPriceBatchRepository midStockPriceBatchRepository;
+    private final MidStockRepository midStockRepository;
+    private final MidPriceEngine midPriceEngine;
+    private final MidStockRollupService midStockRollupService;
 
-    public void generateDailyPrice(MidStock midStock) {
-        log.info("중급 하루 한번 가격 생성");
-        // 15일 이전 데이터 삭제
+    // 하루 한번 모든 주식의 가격 생성. 주식 수와 상관없이 롤업, 삭제 1번, 조회 2번, batch insert 1번으로 끝난다
+    public int generateDailyPrices() {
+        long start = System.currentTimeMillis();
+        // 15일 이전 데이터 삭제. 지우기 전에 지난 날 가격을 주/월 OHLC 로 접어 둔다
+        midStockRollupService.rollup();
         LocalDateTime twoWeekDaysAgo = LocalDateTime.now().minusDays(DAYS_TO_KEEP);
         midStockPriceRepository.deleteOldData(twoWeekDaysAgo);
 
-        long lastAvgPrice = midStockPriceRepository.findLatestPrice(midStock)
-                .map(MidStockPrice::getAvgPrice)
-                .orElse(getBaseMinPrice(midStock) * 10);
+        List<Long> stockIds = midStockRepository.findAllIds();
+        Map<Long, Long> lastAvgPrices = new HashMap<>();
+        for (LatestAvgPrice latest : midStockPriceRepository.findLatestAvgPrices()) {
+            // 같은 날짜에 가격이 두개 있으면 아무거나 하나만 쓴다
+            lastAvgPrices.putIfAbsent(latest.getStockId(), latest.getAvgPrice());
+        }
+
+        List<PriceSeed> seeds = new ArrayList<>(stockIds.size());
+        for (Long stockId : stockIds) {
+            long lastAvgPrice = lastAvgPrices.getOrDefault(stockId, getBaseMinPrice(stockId) * 10);
+            seeds.add(seedOf(stockId, lastAvgPrice));
+        }
+        MidPriceQuote[][] quotes = midPriceEngine.generate(seeds, 1);
 
-        LocalDateTime now = LocalDateTime.now().plusDays(DAYS_TO_KEEP);
-        MidStockPrice newPrice = generatePrice(midStock, lastAvgPrice, now);
+        LocalDateTime priceDate = LocalDateTime.now().plusDays(DAYS_TO_KEEP);
+        List<NewPrice> newPrices = new ArrayList<>(stockIds.size());
+        for (int i = 0; i < stockIds.size(); i++) {
+            newPrices.add(new NewPrice(stockIds.get(i), quotes[i][0], priceDate));
+        }
+        midStockPriceBatchRepository.insertAll(newPrices);
 
-        midStockPriceRepository.save(newPrice);
+        log.info("중급 하루 한번 가격 생성. 주식 {}개, {}ms", stockIds.size(), System.currentTimeMillis() - start);
+        return newPrices.size();
     }
 
-    // 가격 생성
+    // 가격 생성. 가격 모델은 MidPriceEngine 설정(mid.price-model.type)을 따른다
     public MidStockPrice generatePrice(MidStock stock, long lastAvgPrice, LocalDateTime date) {
-        long baseMinPrice;
-
-        baseMinPrice = getBaseMinPrice(stock);
-
-        while (true) {
-            // 최소 가격 보장
-            long minLowPrice = Math.max(baseMinPrice, (long)(lastAvgPrice * 0.8));
-            long maxLowPrice = (long)(lastAvgPrice * 1.2);
-
-            // 저가 계산 (최소 가격 이상 보장)
-            long lowPrice = minLowPrice + (long)((maxLowPrice - minLowPrice) * random.nextDouble());
-
-            // 고가 계산 (저가보다 항상 높게)
-            long minHighPrice = lowPrice + 1; // 최소한 저가보다 1원 이상
-            long maxHighPrice = (long)(lowPrice * 1.2);
-            long highPrice = minHighPrice + (long)((maxHighPrice - minHighPrice) * random.nextDouble());
-
-            // 평균가격 계산
-            long avgPrice = (lowPrice + highPrice) / 2;
-
-            // 가격 변동폭 체크
-            if (Math.abs(avgPrice - lastAvgPrice) <= lastAvgPrice * PRICE_CHANGE_RATE) {
-                return MidStockPrice.builder()
-                        .lowPrice(lowPrice)
-                        .highPrice(highPrice)
-                        .avgPrice(avgPrice)
-                        .priceDate(date)
-                        .midStock(stock)
-                        .build();
-            }
+        MidPriceQuote quote = midPriceEngine.next(seedOf(stock, lastAvgPrice));
+        return toPrice(stock, quote, date);
+    }
+
+    // firstDate 부터 days 일치 가격을 한번에 생성. 전날 평균 가격을 이어 받는다
+    public List<MidStockPrice> generatePrices(MidStock stock, long lastAvgPrice, LocalDateTime firstDate, int days) {
+        MidPriceQuote[] quotes = midPriceEngine.generate(List.of(seedOf(stock, lastAvgPrice)), days)[0];
+        List<MidStockPrice> prices = new ArrayList<>(days);
+        for (int day = 0; day < days; day++) {
+            prices.add(toPrice(stock, quotes[day], firstDate.plusDays(day)));
         }
+        return prices;
+    }
+
+    private static PriceSeed seedOf(MidStock stock, long lastAvgPrice) {
+        return seedOf(stock.getId(), lastAvgPrice);
+    }
+
+    private static PriceSeed seedOf(long stockId, long lastAvgPrice) {
+        return new PriceSeed(lastAvgPrice, getBaseMinPrice(stockId), getBasePrice(stockId));
+    }
+
+    private static MidStockPrice toPrice(MidStock stock, MidPriceQuote quote, LocalDateTime date) {
+        return MidStockPrice.builder()
+                .lowPrice(quote.lowPrice())
+                .highPrice(quote.highPrice())
+                .avgPrice(quote.avgPrice())
+                .priceDate(date)
+                .midStock(stock)
+                .build();
     }
 
     // 기본 최소 가격
-    private static long getBaseMinPrice(MidStock stock) {
+    private static long getBaseMinPrice(long stockId) {
         long basePrice;
-        if (stock.getId() % 3 == 1) {
+        if (stockId % 3 == 1) {
             basePrice = 10L;
-        } else if (stock.getId() % 3 == 2) {
+        } else if (stockId % 3 == 2) {
             basePrice = 500L;
         } else {
             basePrice = 10000L;
         }
         return basePrice;
     }
+
+    // 초기 기준가격. 처음 가격 데이터를 만들 때의 시작 가격이고, 평균 회귀 모델이 돌아가려는 가격
+    public static long getBasePrice(MidStock stock) {
+        return getBasePrice(stock.getId());
+    }
+
+    private static long getBasePrice(long stockId) {
+        long basePrice;
+        if (stockId % 3 == 1) {
+            basePrice = 100L;
+        } else if (stockId % 3 == 2) {
+            basePrice = 10000L;
+        } else {
+            basePrice = 1000000L;
+        }
+        return basePrice;
+    }
 }
@@ -0,0 +1,120 @@
+package com.prgrms.ijuju.domain.stock.mid.service;
+
+import com.prgrms.ijuju.domain.stock.mid.cache.MidFuturePriceCache;
+import com.prgrms.ijuju.domain.stock.mid.cache.MidFuturePriceCache.FuturePrices;
+import com.prgrms.ijuju.domain.stock.mid.dto.response.MidProjectionResponse;
+import com.prgrms.ijuju.domain.stock.mid.dto.response.MidProjectionResponse.StockProjection;
+import com.prgrms.ijuju.domain.stock.mid.entity.MidStock;
+import com.prgrms.ijuju.domain.stock.mid.entity.MidStockHolding;
+import com.prgrms.ijuju.domain.stock.mid.exception.MidPriceNotFoundException;
+import com.prgrms.ijuju.domain.stock.mid.exception.MidStockNotFoundException;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockHoldingRepository;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.prgrms.ijuju.domain.stock.mid.cache.MidFuturePriceCache.HORIZON_DAYS;
+
+/**
+ * 지금 들고 있는 중급 주식을 앞으로 15일 중 언제 팔면 얼마를 받는지 미리 보여주는 서비스 입니다.
+ * 미래 가격은 MidFuturePriceCache 의 배열을 읽고, 보유 종목 x 날짜를 한번 훑어서 곡선 전체를 만듭니다.
+ * 화면 슬라이더로 "오늘 이 종목을 이만큼 더 사면" 을 바꿀 때마다 불려서, DB 는 보유 행 조회 한번만 합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Slf4j
+public class MidStockProjectionService {
+    private final MidStockHoldingRepository midStockHoldingRepository;
+    private final MidStockRepository midStockRepository;
+    private final MidFuturePriceCache midFuturePriceCache;
+
+    // extraStockId 를 오늘 가격으로 extraPoints 만큼 더 산다고 치고 계산한다. 안 사면 extraStockId 는 null
+    public MidProjectionResponse project(Long memberId, Long extraStockId, long extraPoints) {
+        List<MidStockHolding> holdings = midStockHoldingRepository.findAllHolding(memberId);
+        FuturePrices prices = midFuturePriceCache.get();
+
+        int size = holdings.size();
+        List<Long> stockIds = new ArrayList<>(size + 1);
+        List<String> names = new ArrayList<>(size + 1);
+        int[] rows = new int[size + 1];
+        double[] units = new double[size + 1];
+        long[] invested = new long[size + 1];
+        int extraIndex = -1;
+        for (int i = 0; i < size; i++) {
+            MidStockHolding holding = holdings.get(i);
+            MidStock stock = holding.getMidStock();
+            stockIds.add(stock.getId());
+            names.add(stock.getStockName());
+            rows[i] = prices.rowOf(stock.getId());
+            units[i] = holding.getUnits();
+            invested[i] = holding.getInvestedPoints();
+            if (stock.getId().equals(extraStockId)) {
+                extraIndex = i;
+            }
+        }
+
+        if (extraStockId != null && extraPoints > 0) {
+            if (extraIndex < 0) {
+                MidStock stock = midStockRepository.findById(extraStockId)
+                        .orElseThrow(MidStockNotFoundException::new);
+                extraIndex = size++;
+                stockIds.add(stock.getId());
+                names.add(stock.getStockName());
+                rows[extraIndex] = prices.rowOf(stock.getId());
+            }
+            if (rows[extraIndex] < 0) {
+                throw new MidPriceNotFoundException();
+            }
+            units[extraIndex] += (double) extraPoints / prices.price(rows[extraIndex], 0);
+            invested[extraIndex] += extraPoints;
+        }
+
+        long[][] values = new long[size][];
+        long[] totalValues = new long[HORIZON_DAYS];
+        project(prices.avgPrices(), size, rows, units, invested, values, totalValues);
+
+        long investedPoints = 0;
+        List<StockProjection> stocks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            investedPoints += invested[i];
+            stocks.add(new StockProjection(stockIds.get(i), names.get(i), invested[i], values[i]));
+        }
+        long[] profits = new long[HORIZON_DAYS];
+        int bestDayIndex = 0;
+        for (int day = 0; day < HORIZON_DAYS; day++) {
+            profits[day] = totalValues[day] - investedPoints;
+            if (totalValues[day] > totalValues[bestDayIndex]) {
+                bestDayIndex = day;
+            }
+        }
+
+        List<LocalDate> days = new ArrayList<>(HORIZON_DAYS);
+        for (int day = 0; day < HORIZON_DAYS; day++) {
+            days.add(prices.firstDay().plusDays(day));
+        }
+        return new MidProjectionResponse(days, investedPoints, totalValues, profits, bestDayIndex, stocks);
+    }
+
+    // 보유 종목마다 미래 가격 한 줄을 한번씩만 읽는다. 미래 가격이 없는 종목(row < 0)은 투자한 포인트 그대로로 본다
+    // 받는 포인트는 MidStockHolding.sellAll 과 같게 종목마다 반올림
+    static void project(long[] avgPrices, int size, int[] rows, double[] units, long[] invested,
+                        long[][] values, long[] totalValues) {
+        for (int i = 0; i < size; i++) {
+            long[] curve = new long[HORIZON_DAYS];
+            int base = rows[i] * HORIZON_DAYS;
+            for (int day = 0; day < HORIZON_DAYS; day++) {
+                long value = rows[i] < 0 ? invested[i] : Math.round(units[i] * avgPrices[base + day]);
+                curve[day] = value;
+                totalValues[day] += value;
+            }
+            values[i] = curve;
+        }
+    }
+}
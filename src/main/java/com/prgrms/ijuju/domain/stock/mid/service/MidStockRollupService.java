@@ -0,0 +1,156 @@
+package com.prgrms.ijuju.domain.stock.mid.service;
+
+import com.prgrms.ijuju.domain.stock.mid.dto.response.MidStockCandleResponse;
+import com.prgrms.ijuju.domain.stock.mid.dto.response.MidStockChartResponse;
+import com.prgrms.ijuju.domain.stock.mid.entity.CandleResolution;
+import com.prgrms.ijuju.domain.stock.mid.entity.MidStockCandle;
+import com.prgrms.ijuju.domain.stock.mid.entity.MidStockPrice;
+import com.prgrms.ijuju.domain.stock.mid.exception.MidInvalidChartRangeException;
+import com.prgrms.ijuju.domain.stock.mid.exception.MidStockNotFoundException;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockCandleRepository;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockPriceRepository;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 일별 가격을 주/월 OHLC 로 접어 두고, 긴 기간 차트를 단위를 골라 읽어주는 서비스 입니다.
+ * 보관은 일별 15일, 주별 mid.rollup.week-retention-weeks(기본 2년), 월별은 계속 입니다.
+ * 차트는 어떤 기간이든 점이 MAX_CHART_POINTS 개를 넘지 않아서, 기간이 길어져도 읽는 행 수가 늘지 않습니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class MidStockRollupService {
+    static final int MAX_CHART_POINTS = 60;
+
+    private final MidStockPriceRepository midStockPriceRepository;
+    private final MidStockCandleRepository midStockCandleRepository;
+    private final MidStockRepository midStockRepository;
+
+    @Value("${mid.rollup.week-retention-weeks:104}")
+    private int weekRetentionWeeks;
+
+    // 어제까지 끝난 날의 가격을 주/월 OHLC 에 접는다. 일별 가격을 지우기 전에 불러야 한다
+    // 남아 있는 일별 가격(15일치)만 읽고, 버킷마다 이미 접은 날은 건너뛰어서 여러번 돌려도 결과가 같다
+    public int rollup() {
+        long start = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+        List<MidStockPrice> prices = midStockPriceRepository.findPricesBetween(
+                today.minusDays(MidStockChartService.DAYS_TO_KEEP).atStartOfDay(), today.atStartOfDay());
+
+        int folded = 0;
+        if (!prices.isEmpty()) {
+            LocalDate firstDay = prices.stream()
+                    .map(price -> price.getPriceDate().toLocalDate())
+                    .min(Comparator.naturalOrder())
+                    .orElseThrow();
+            folded += fold(CandleResolution.WEEK, prices, firstDay);
+            folded += fold(CandleResolution.MONTH, prices, firstDay);
+        }
+
+        LocalDate weekExpired = CandleResolution.WEEK.bucketStart(today.minusWeeks(weekRetentionWeeks));
+        int purged = midStockCandleRepository.deleteOldBuckets(CandleResolution.WEEK, weekExpired);
+        log.info("중급 가격 롤업. 접은 가격 {}건, 지운 주 버킷 {}건, {}ms", folded, purged, System.currentTimeMillis() - start);
+        return folded;
+    }
+
+    // from ~ to 차트. 미래 가격은 보여주지 않는다
+    @Transactional(readOnly = true)
+    public MidStockChartResponse findChart(Long midStockId, LocalDate from, LocalDate to) {
+        LocalDate today = LocalDate.now();
+        LocalDate end = to == null || to.isAfter(today) ? today : to;
+        if (from == null || from.isAfter(end)) {
+            throw new MidInvalidChartRangeException();
+        }
+        midStockRepository.findById(midStockId)
+                .orElseThrow(MidStockNotFoundException::new);
+
+        CandleResolution resolution = pickResolution(from, end, today, weekRetentionWeeks);
+        List<MidStockCandleResponse> candles;
+        if (resolution == CandleResolution.DAY) {
+            candles = midStockPriceRepository.findPricesBetween(midStockId, from.atStartOfDay(), end.plusDays(1).atStartOfDay())
+                    .stream()
+                    .map(MidStockCandleResponse::of)
+                    .toList();
+        } else {
+            candles = midStockCandleRepository.findRange(midStockId, resolution, resolution.bucketStart(from), end)
+                    .stream()
+                    .map(MidStockCandleResponse::of)
+                    .toList();
+        }
+        return new MidStockChartResponse(resolution, downsample(candles, MAX_CHART_POINTS));
+    }
+
+    // 남아 있는 단위 중에서 60개 이하가 되는 가장 촘촘한 단위. 주 단위는 rollup 이 weekRetentionWeeks 보다 오래된 걸 지우기 때문에
+    // from 이 그보다 앞이면 짧은 구간이라도 월 단위로 내려간다
+    static CandleResolution pickResolution(LocalDate from, LocalDate to, LocalDate today, int weekRetentionWeeks) {
+        boolean dailyKept = !from.isBefore(today.minusDays(MidStockChartService.DAYS_TO_KEEP - 1));
+        if (dailyKept && CandleResolution.DAY.bucketsBetween(from, to) <= MAX_CHART_POINTS) {
+            return CandleResolution.DAY;
+        }
+        boolean weeklyKept = !CandleResolution.WEEK.bucketStart(from)
+                .isBefore(CandleResolution.WEEK.bucketStart(today.minusWeeks(weekRetentionWeeks)));
+        if (weeklyKept && CandleResolution.WEEK.bucketsBetween(from, to) <= MAX_CHART_POINTS) {
+            return CandleResolution.WEEK;
+        }
+        return CandleResolution.MONTH;
+    }
+
+    // 월 단위로도 점이 너무 많으면 이어진 점을 묶어서 maxPoints 개 이하로 줄인다
+    static List<MidStockCandleResponse> downsample(List<MidStockCandleResponse> candles, int maxPoints) {
+        if (candles.size() <= maxPoints) {
+            return candles;
+        }
+        int groupSize = (candles.size() + maxPoints - 1) / maxPoints;
+        List<MidStockCandleResponse> sampled = new ArrayList<>(maxPoints);
+        for (int i = 0; i < candles.size(); i += groupSize) {
+            sampled.add(MidStockCandleResponse.merge(candles.subList(i, Math.min(i + groupSize, candles.size()))));
+        }
+        return sampled;
+    }
+
+    private int fold(CandleResolution resolution, List<MidStockPrice> prices, LocalDate firstDay) {
+        Map<BucketKey, MidStockCandle> buckets = new HashMap<>();
+        for (MidStockCandle candle : midStockCandleRepository.findBucketsFrom(resolution, resolution.bucketStart(firstDay))) {
+            buckets.put(new BucketKey(candle.getMidStock().getId(), candle.getBucketStart()), candle);
+        }
+
+        List<MidStockCandle> created = new ArrayList<>();
+        int folded = 0;
+        // prices 는 종목, 날짜 순이라 버킷마다 날짜가 늘어나는 순서로 접힌다
+        for (MidStockPrice price : prices) {
+            LocalDate day = price.getPriceDate().toLocalDate();
+            MidStockCandle candle = buckets.computeIfAbsent(
+                    new BucketKey(price.getMidStock().getId(), resolution.bucketStart(day)),
+                    key -> {
+                        MidStockCandle newCandle = MidStockCandle.builder()
+                                .midStock(price.getMidStock())
+                                .resolution(resolution)
+                                .bucketStart(key.bucketStart())
+                                .build();
+                        created.add(newCandle);
+                        return newCandle;
+                    });
+            if (candle.add(day, price.getLowPrice(), price.getHighPrice(), price.getAvgPrice())) {
+                folded++;
+            }
+        }
+        midStockCandleRepository.saveAll(created);
+        return folded;
+    }
+
+    private record BucketKey(long stockId, LocalDate bucketStart) {
+    }
+}
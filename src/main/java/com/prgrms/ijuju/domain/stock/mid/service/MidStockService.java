@@ -2,24 +2,24 @@ package com.prgrms.ijuju.domain.stock.mid.service;
 
 import com.prgrms.ijuju.domain.article.component.MidTrendAnalyzer;
 import com.prgrms.ijuju.domain.article.data.Trend;
-import com.prgrms.ijuju.domain.stock.mid.dto.response.MidStockPriceResponse;
+import com.prgrms.ijuju.domain.stock.mid.cache.MidChartCache;
 import com.prgrms.ijuju.domain.stock.mid.dto.response.MidStockResponse;
 import com.prgrms.ijuju.domain.stock.mid.dto.response.MidStockTradeInfo;
 import com.prgrms.ijuju.domain.stock.mid.dto.response.MidStockWithTradesResponse;
 import com.prgrms.ijuju.domain.stock.mid.entity.MidStock;
-import com.prgrms.ijuju.domain.stock.mid.entity.MidStockPrice;
 import com.prgrms.ijuju.domain.stock.mid.entity.MidStockTrade;
 import com.prgrms.ijuju.domain.stock.mid.exception.MidStockNotFoundException;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockHoldingRepository;
 import com.prgrms.ijuju.domain.stock.mid.repository.MidStockPriceRepository;
 import com.prgrms.ijuju.domain.stock.mid.repository.MidStockRepository;
 import com.prgrms.ijuju.domain.stock.mid.repository.MidStockTradeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,6 +30,8 @@ public class MidStockService {
     private final MidStockRepository midStockRepository;
     private final MidStockTradeRepository midStockTradeRepository;
     private final MidStockPriceRepository midStockPriceRepository;
+    private final MidStockHoldingRepository midStockHoldingRepository;
+    private final MidChartCache midChartCache;
 
     @Transactional(readOnly = true)
     public List<MidStockResponse> findAllStocks() {
@@ -54,31 +56,21 @@ public class MidStockService {
     @Transactional(readOnly = true)
     public List<MidStockWithTradesResponse> getMemberStocksAndTrades(Long memberId) {
         log.info("중급 모든 보유 주식 조회");
-        // 회원의 모든 buy 거래 데이터 조회
-        List<MidStockTrade> buyTrades = midStockTradeRepository.findAllBuyMidStock(memberId);
-
-        // 거래 데이터를 종목별로 그룹화
-        Map<Long, List<MidStockTrade>> tradeByStockId = buyTrades.stream()
-                .collect(Collectors.groupingBy(trade -> trade.getMidStock().getId()));
-
-        // 그룹화된 데이터를 MidStockWithTradesResponse로 변환
-        return tradeByStockId.entrySet().stream()
-                .map(entry -> {
-                    Long stockId = entry.getKey();
-                    List<MidStockTrade> trades = entry.getValue();
-                    return MidStockWithTradesResponse.of(trades);
-                })
+        // 종목당 보유 행 하나만 읽는다
+        return midStockHoldingRepository.findAllHolding(memberId).stream()
+                .map(MidStockWithTradesResponse::of)
                 .toList();
     }
 
-    @Transactional(readOnly = true)
-    public List<MidStockPriceResponse> findStockChartInfo(Long midStockId) {
+    // 2주치 차트. MidChartCache 에 있으면 DB 를 안 읽는다
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public MidChartCache.Chart findStockChart(Long midStockId) {
         log.info("중급 종목 차트 정보 2주치");
-        midStockRepository.findById(midStockId)
-                .orElseThrow(MidStockNotFoundException::new);
-        List<MidStockPrice> priceResponses = midStockPriceRepository.find2WeeksPriceInfo(midStockId);
-        return priceResponses.stream()
-                .map(MidStockPriceResponse::of)
-                .collect(Collectors.toList());
+        MidChartCache.Chart chart = midChartCache.get(midStockId);
+        if (chart.size() == 0) {
+            midStockRepository.findById(midStockId)
+                    .orElseThrow(MidStockNotFoundException::new);
+        }
+        return chart;
     }
 }
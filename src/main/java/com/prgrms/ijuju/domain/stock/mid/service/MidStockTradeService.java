@@ -2,18 +2,24 @@ package com.prgrms.ijuju.domain.stock.mid.service;
 
 import com.prgrms.ijuju.domain.member.entity.Member;
 import com.prgrms.ijuju.domain.member.repository.MemberRepository;
+import com.prgrms.ijuju.domain.stock.mid.cache.MidTradeGate;
 import com.prgrms.ijuju.domain.stock.mid.dto.response.TradeAvailableResponse;
 import com.prgrms.ijuju.domain.stock.mid.entity.MidStock;
+import com.prgrms.ijuju.domain.stock.mid.entity.MidStockHolding;
 import com.prgrms.ijuju.domain.stock.mid.entity.MidStockPrice;
 import com.prgrms.ijuju.domain.stock.mid.entity.MidStockTrade;
 import com.prgrms.ijuju.domain.stock.mid.entity.TradeType;
 import com.prgrms.ijuju.domain.stock.mid.exception.*;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockHoldingRepository;
 import com.prgrms.ijuju.domain.stock.mid.repository.MidStockPriceRepository;
 import com.prgrms.ijuju.domain.stock.mid.repository.MidStockRepository;
 import com.prgrms.ijuju.domain.stock.mid.repository.MidStockTradeRepository;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockTradeRepository.OpenPosition;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import com.prgrms.ijuju.domain.wallet.dto.request.StockPointRequestDTO;
 import com.prgrms.ijuju.domain.wallet.entity.PointType;
@@ -25,7 +31,7 @@ import com.prgrms.ijuju.domain.wallet.repository.WalletRepository;
 import com.prgrms.ijuju.domain.wallet.exception.WalletException;
 import com.prgrms.ijuju.domain.wallet.exception.WalletErrorCode;
 
-import java.util.List;
+import java.time.LocalDate;
 import java.util.Map;
 import java.util.Optional;
 
@@ -37,6 +43,8 @@ public class MidStockTradeService {
     private final MidStockTradeRepository midStockTradeRepository;
     private final MidStockRepository midStockRepository;
     private final MidStockPriceRepository midStockPriceRepository;
+    private final MidStockHoldingRepository midStockHoldingRepository;
+    private final MidTradeGate midTradeGate;
     private final MemberRepository memberRepository;
     private final WalletService WalletService;
     private final WalletRepository walletRepository;
@@ -49,8 +57,7 @@ public class MidStockTradeService {
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(MidMemberNotFoundException::new);
         // 오늘 매수 했는지 확인
-        Optional<MidStockTrade> todayBuyMidStock = midStockTradeRepository.findTodayBuyMidStock(memberId, midStockId);
-        if (todayBuyMidStock.isPresent()) {
+        if (midStockTradeRepository.existsBuyOn(memberId, midStockId, LocalDate.now())) {
             throw new MidAlreadyBoughtException();
         }
         // 포인트가 충분한지 거래 가능 여부 확인 추가해야함  tradePoint 와 멤버의 잔여 포인트 그거 계산
@@ -69,47 +76,46 @@ public class MidStockTradeService {
                 .stockType(StockType.MID)
                 .build();
         WalletService.simulateStockInvestment(stockPointRequestDTO);
+        long pricePerStock = getCurrentStockPrice(midStockId);
+        // 보유 행 갱신. 처음 사는 종목이면 새로 만든다
+        MidStockHolding holding = findHolding(memberId, midStockId)
+                .orElseGet(() -> lockNewHolding(memberId, midStockId));
+        holding.buy(tradePoint, pricePerStock, LocalDate.now());
+
         // 거래 내역 저장
         MidStockTrade trade = MidStockTrade.builder()
                 .midStock(midStock)
                 .tradePoint(tradePoint)
                 .tradeType(TradeType.BUY)
-                .pricePerStock(getCurrentStockPrice(midStockId))
+                .pricePerStock(pricePerStock)
                 .member(member)
                 .build();
         midStockTradeRepository.save(trade);
+        midTradeGate.markBought(memberId, midStockId);
 
         return isWarning;
     }
 
     // 매도 주문
     public Map<String, Long> sellStock(Long memberId, Long midStockId) {
-        long totalPoints = 0; // 매도시 포인트
-        long investedPoints = 0; //투자한 포인트
-        // 보유중인 주식 조회
-        List<MidStockTrade> buyMidStock = midStockTradeRepository.findBuyMidStock(memberId, midStockId);
-        if (buyMidStock.isEmpty()) {
-            throw new MidStockNotFoundException();
-        }
+        // 보유중인 주식 조회. BUY 거래 행 대신 보유 행 하나만 읽는다
+        MidStockHolding holding = findHolding(memberId, midStockId)
+                .filter(MidStockHolding::isHolding)
+                .orElseThrow(MidStockNotFoundException::new);
 
         // 오늘 매도 했는지 확인
-        Optional<MidStockTrade> todaySellMidStock = midStockTradeRepository.findTodaySellMidStock(memberId, midStockId);
-        if (todaySellMidStock.isPresent()) {
+        if (holding.isSoldOn(LocalDate.now())) {
             throw new MidAlreadySoldException();
         }
 
-        // 매수 -> 매도
-        for (MidStockTrade midStockTrade : buyMidStock) {
-            midStockTrade.changeTradeType(TradeType.SELL);
-        }
-
         // 수익 계산
         long todayAvgPrice = midStockPriceRepository.findTodayAvgPrice(midStockId);
-        for (MidStockTrade midStockTrade : buyMidStock) {
-            double rate = (double) todayAvgPrice / midStockTrade.getPricePerStock();
-            totalPoints += Math.round(midStockTrade.getTradePoint() * rate);
-            investedPoints += midStockTrade.getTradePoint();
-        }
+        long investedPoints = holding.getInvestedPoints(); //투자한 포인트
+        long totalPoints = holding.sellAll(todayAvgPrice, LocalDate.now()); // 매도시 포인트
+
+        // 매수 -> 매도. 거래 내역은 update 한번으로 바꾼다
+        midStockTradeRepository.sellAllBuyMidStock(memberId, midStockId);
+        midTradeGate.markSold(memberId, midStockId);
 
         // 포인트 처리 로직 추가해야함
         StockPointRequestDTO stockPointRequestDTO = StockPointRequestDTO.builder()
@@ -128,29 +134,55 @@ public class MidStockTradeService {
         );
     }
 
-    // 하루한번 거래가능 체크
+    // 하루한번 거래가능 체크. MidTradeGate 에 있으면 DB 를 안 읽는다
+    @Transactional(propagation = Propagation.SUPPORTS)
     public TradeAvailableResponse isTradeAvailable(Long memberId, Long midStockId) {
-        boolean isPossibleBuy;
-        boolean isPossibleSell;
-
-        Member member = memberRepository.findById(memberId)
-                .orElseThrow(MidMemberNotFoundException::new);
-
-        MidStock midStock = midStockRepository.findById(midStockId)
-                .orElseThrow(MidStockNotFoundException::new);
-
-        Optional<MidStockTrade> todayBuyMidStock = midStockTradeRepository.findTodayBuyMidStock(memberId, midStockId);
-        Optional<MidStockTrade> todaySellMidStock = midStockTradeRepository.findTodaySellMidStock(memberId, midStockId);
-
-        isPossibleBuy = todayBuyMidStock.isEmpty();
-        isPossibleSell = todaySellMidStock.isEmpty();
+        MidTradeGate.Marks marks = midTradeGate.find(memberId, midStockId);
+        if (marks == null) {
+            midStockRepository.findById(midStockId)
+                    .orElseThrow(MidStockNotFoundException::new);
+
+            LocalDate today = LocalDate.now();
+            boolean bought = midStockTradeRepository.existsBuyOn(memberId, midStockId, today);
+            boolean sold = midStockHoldingRepository.existsSellOn(memberId, midStockId, today);
+            marks = midTradeGate.load(memberId, midStockId, bought, sold);
+        }
 
         return TradeAvailableResponse.builder()
-                .isPossibleBuy(isPossibleBuy)
-                .isPossibleSell(isPossibleSell)
+                .isPossibleBuy(!marks.bought())
+                .isPossibleSell(!marks.sold())
                 .build();
     }
 
+    // 보유 행 조회. 보유 행이 생기기 전에 산 주식이면 BUY 거래 합계 쿼리 한번으로 만들어 둔다
+    private Optional<MidStockHolding> findHolding(Long memberId, Long midStockId) {
+        Optional<MidStockHolding> holding = midStockHoldingRepository.findForUpdate(memberId, midStockId);
+        if (holding.isPresent()) {
+            return holding;
+        }
+        OpenPosition position = midStockTradeRepository.sumOpenPosition(memberId, midStockId);
+        if (position.getInvestedPoints() == 0) {
+            return Optional.empty();
+        }
+        MidStockHolding created = lockNewHolding(memberId, midStockId);
+        if (created.getLastTradeDay() == null) { // 동시에 들어온 다른 요청이 이미 채웠으면 그대로 쓴다
+            created.restore(position.getInvestedPoints(), position.getUnits(), position.getLastTradeAt().toLocalDate());
+        }
+        return Optional.of(created);
+    }
+
+    // 빈 보유 행을 만들고 잠근다. 이미 있으면 있는 행을 잠근다
+    private MidStockHolding lockNewHolding(Long memberId, Long midStockId) {
+        try {
+            midStockHoldingRepository.insertIfAbsent(memberId, midStockId);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("중급 보유 행 생성 실패: memberId={}, midStockId={}", memberId, midStockId, e);
+            throw new MidTradeConflictException();
+        }
+        return midStockHoldingRepository.findForUpdate(memberId, midStockId)
+                .orElseThrow(MidTradeConflictException::new);
+    }
+
     // 거래 가능 여부 확인
     private boolean isTradeAvailable(Member member, long tradePoint) {
         Wallet wallet = walletRepository.findByMemberId(member.getId())
@@ -2,6 +2,7 @@ package com.prgrms.ijuju.domain.wallet.handler;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.prgrms.ijuju.domain.wallet.dto.response.WalletResponseDTO;
+import com.prgrms.ijuju.global.websocket.OutboundSessions;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -19,28 +20,34 @@ import java.util.concurrent.ConcurrentHashMap;
 public class WalletWebSocketHandler extends TextWebSocketHandler {
 
     private final ObjectMapper objectMapper;
+    private final OutboundSessions outboundSessions;
+    private static final String POINT_UPDATE_KEY = "wallet:points";
+
     private final ConcurrentHashMap<Long, WebSocketSession> userSessions = new ConcurrentHashMap<>();
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) {
         Long memberId = extractMemberId(session);
         userSessions.put(memberId, session);
+        outboundSessions.register(session);
         log.info("새로운 웹소켓 연결: memberId={}", memberId);
     }
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
         Long memberId = extractMemberId(session);
-        userSessions.remove(memberId);
+        userSessions.remove(memberId, session);
+        outboundSessions.unregister(session);
         log.info("웹소켓 연결 종료: memberId={}", memberId);
     }
 
+    // 지갑 트랜잭션 안에서 불리기 때문에 버퍼에 넣기만 한다. 아직 안 나간 잔액이 있으면 마지막 잔액으로 바꾼다
     public void sendPointUpdate(Long memberId, WalletResponseDTO response) {
         WebSocketSession session = userSessions.get(memberId);
         if (session != null && session.isOpen()) {
             try {
                 String message = objectMapper.writeValueAsString(response);
-                session.sendMessage(new TextMessage(message));
+                outboundSessions.of(session).send(new TextMessage(message), POINT_UPDATE_KEY);
             } catch (IOException e) {
                 log.error("포인트 업데이트 메시지 전송 실패: memberId={}", memberId, e);
             }
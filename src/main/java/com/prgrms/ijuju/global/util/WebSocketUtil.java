@@ -1,9 +1,13 @@
 package com.prgrms.ijuju.global.util;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prgrms.ijuju.global.websocket.OutboundSession;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 
+import java.io.IOException;
+
 public class WebSocketUtil {
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
@@ -11,12 +15,24 @@ public class WebSocketUtil {
     // 객체를 JSON 으로 변환하는 send 메소드
     // AdvancedInvest 용. 혹시 채팅 만들때 쓰면 작동 안할 가능성 200%. 혹시 다른 send 를 만들어야 하면 말해주세요 메소드 이름 바꾸겠습니다
     public static void send(WebSocketSession session, Object data) {
-        try {
-            if (session.isOpen()) {
+        send(session, toTextMessage(data));
+    }
 
-                String jsonData = objectMapper.writeValueAsString(data);
+    // 이미 직렬화된 메시지를 그대로 전송. 여러 세션에 같은 메시지 객체를 재사용할 때 사용
+    public static void send(WebSocketSession session, TextMessage message) {
+        send(session, message, null);
+    }
 
-                session.sendMessage(new TextMessage(jsonData));
+    // OutboundSessions 에 등록된 세션이면 보내기 버퍼에 넣기만 하고 바로 돌아온다. 같은 coalesceKey 의 안 나간 메시지는 새 메시지로 바뀐다
+    public static void send(WebSocketSession session, TextMessage message, String coalesceKey) {
+        try {
+            if (session.isOpen()) {
+                OutboundSession outbound = OutboundSession.find(session);
+                if (outbound != null) {
+                    outbound.send(message, coalesceKey);
+                } else {
+                    session.sendMessage(message);
+                }
             } else {
                 System.out.println("WebSocket 세션 없음");
             }
@@ -25,4 +41,23 @@ public class WebSocketUtil {
             throw new RuntimeException("메시지 전송 실패", e);
         }
     }
-}
\ No newline at end of file
+
+    // 버퍼에 남은 메시지를 다 보낸 뒤에 닫는다
+    public static void close(WebSocketSession session) throws IOException {
+        OutboundSession outbound = OutboundSession.find(session);
+        if (outbound != null) {
+            outbound.closeAfterFlush();
+        } else {
+            session.close();
+        }
+    }
+
+    // send 와 같은 ObjectMapper 로 직렬화해서, 캐시된 메시지와 매번 만든 메시지의 내용이 똑같도록 한다
+    public static TextMessage toTextMessage(Object data) {
+        try {
+            return new TextMessage(objectMapper.writeValueAsString(data));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("메시지 직렬화 실패", e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.prgrms.ijuju.global.websocket;
+
+/**
+ * 세션 하나의 보내기 버퍼 한도
+ *
+ * @param messageLimit       아직 못 보낸 메시지 수
+ * @param bufferSizeLimit    아직 못 보낸 메시지 크기 합 (byte)
+ * @param sendTimeLimitNanos 메시지 하나를 보내는 데 허용하는 시간
+ */
+public record OutboundLimits(int messageLimit, long bufferSizeLimit, long sendTimeLimitNanos) {
+}
@@ -0,0 +1,20 @@
+package com.prgrms.ijuju.global.websocket;
+
+import java.util.Map;
+
+/**
+ * 보내기 버퍼 지표
+ *
+ * @param queueDepths       세션별 아직 못 보낸 메시지 수
+ * @param maxQueueDepth     지금까지 가장 많이 쌓였던 세션의 값
+ * @param coalescedMessages 병합되어 보내지 않은 메시지 수
+ * @param closedSlowClients 너무 뒤처져서 끊은 연결 수
+ */
+public record OutboundMetrics(
+        int sessions,
+        Map<String, Integer> queueDepths,
+        int maxQueueDepth,
+        long coalescedMessages,
+        long closedSlowClients
+) {
+}
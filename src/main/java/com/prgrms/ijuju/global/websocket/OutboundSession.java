@@ -0,0 +1,233 @@
+package com.prgrms.ijuju.global.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 웹소켓 세션 하나의 보내기 버퍼 입니다.
+ *
+ * session.sendMessage 는 클라이언트가 느리면 막히고, 여러 스레드에서 동시에 부르면 안됩니다.
+ * 그래서 보내는 쪽(게임 타이머, 메일박스, 지갑 트랜잭션)은 큐에 넣기만 하고, 가상 스레드 하나가 순서대로 전송합니다.
+ *
+ * - 같은 coalesceKey 의 메시지가 아직 안 나갔으면 새 메시지로 바꿔 끼운다 (지갑 잔액은 마지막 값, 오래된 LiveData 는 버림)
+ * - 쌓인 메시지 수나 크기가 한도를 넘거나, 메시지 하나를 sendTimeLimit 넘게 보내고 있으면 너무 뒤처진 클라이언트로 보고 연결을 끊는다
+ *
+ * 참고 >> Spring ConcurrentWebSocketSessionDecorator. 한도와 시간 제한은 같고, 키 단위 병합과 지표를 더했습니다.
+ */
+@Slf4j
+public class OutboundSession {
+
+    private static final String ATTRIBUTE = OutboundSession.class.getName();
+
+    private final WebSocketSession session;
+    private final OutboundLimits limits;
+    private final OutboundSessions registry;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Slot> queue = new ArrayDeque<>();      // lock 으로 보호
+    private final Map<String, Slot> pendingByKey = new HashMap<>(); // lock 으로 보호
+    private long bufferedBytes;                                     // lock 으로 보호
+    private boolean draining;                                       // lock 으로 보호
+    private boolean closing;                                        // lock 으로 보호
+
+    private volatile long sendStartNanos; // 0 이면 보내는 중이 아님
+    private volatile int maxDepth;
+    private volatile long coalescedMessages;
+
+    OutboundSession(WebSocketSession session, OutboundLimits limits, OutboundSessions registry) {
+        this.session = session;
+        this.limits = limits;
+        this.registry = registry;
+    }
+
+    // 등록된 세션이면 버퍼, 아니면 null
+    public static OutboundSession find(WebSocketSession session) {
+        Object outbound = session.getAttributes().get(ATTRIBUTE);
+        return outbound instanceof OutboundSession outboundSession ? outboundSession : null;
+    }
+
+    void attach() {
+        session.getAttributes().put(ATTRIBUTE, this);
+    }
+
+    public String getId() {
+        return session.getId();
+    }
+
+    public boolean send(TextMessage message) {
+        return send(message, null);
+    }
+
+    // 큐에 넣기만 하고 바로 돌아온다. 이미 닫힌 세션이면 false
+    public boolean send(TextMessage message, String coalesceKey) {
+        lock.lock();
+        try {
+            if (closing || !session.isOpen()) {
+                return false;
+            }
+
+            Slot pending = coalesceKey == null ? null : pendingByKey.get(coalesceKey);
+            if (pending != null) {
+                bufferedBytes += message.getPayloadLength() - pending.message.getPayloadLength();
+                pending.message = message;
+                coalescedMessages++;
+            } else {
+                Slot slot = new Slot(message, coalesceKey, false);
+                queue.add(slot);
+                if (coalesceKey != null) {
+                    pendingByKey.put(coalesceKey, slot);
+                }
+                bufferedBytes += message.getPayloadLength();
+                maxDepth = Math.max(maxDepth, queue.size());
+            }
+
+            if (isTooSlow()) {
+                closing = true;
+                queue.clear();
+                pendingByKey.clear();
+                bufferedBytes = 0;
+                Thread.ofVirtual().name("ws-outbound-close").start(this::closeSlowClient);
+                return false;
+            }
+
+            startDrainIfIdle();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 이미 넣은 메시지를 다 보낸 뒤에 닫는다. 게임 종료 신호 같은 마지막 메시지를 잃지 않기 위해
+    public void closeAfterFlush() {
+        lock.lock();
+        try {
+            if (closing) {
+                return;
+            }
+            closing = true;
+            queue.add(new Slot(null, null, true));
+            startDrainIfIdle();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int depth() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long bufferedBytes() {
+        lock.lock();
+        try {
+            return bufferedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int maxDepth() {
+        return maxDepth;
+    }
+
+    long coalescedMessages() {
+        return coalescedMessages;
+    }
+
+    private boolean isTooSlow() {
+        if (queue.size() > limits.messageLimit() || bufferedBytes > limits.bufferSizeLimit()) {
+            return true;
+        }
+        long startedAt = sendStartNanos;
+        return startedAt != 0 && System.nanoTime() - startedAt > limits.sendTimeLimitNanos();
+    }
+
+    private void startDrainIfIdle() {
+        if (!draining) {
+            draining = true;
+            Thread.ofVirtual().name("ws-outbound").start(this::drain);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Slot slot;
+            lock.lock();
+            try {
+                slot = queue.poll();
+                if (slot == null) {
+                    draining = false;
+                    return;
+                }
+                if (slot.coalesceKey != null) {
+                    pendingByKey.remove(slot.coalesceKey);
+                }
+                if (slot.message != null) {
+                    bufferedBytes -= slot.message.getPayloadLength();
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (slot.close) {
+                close(CloseStatus.NORMAL);
+                continue;
+            }
+            write(slot.message);
+        }
+    }
+
+    private void write(TextMessage message) {
+        if (!session.isOpen()) {
+            return;
+        }
+        sendStartNanos = System.nanoTime();
+        try {
+            session.sendMessage(message);
+        } catch (IOException | RuntimeException e) {
+            log.warn("웹소켓 메시지 전송 실패: session={}, {}", session.getId(), e.getMessage());
+        } finally {
+            sendStartNanos = 0;
+        }
+    }
+
+    private void closeSlowClient() {
+        log.warn("너무 뒤처진 웹소켓 클라이언트 연결 종료: session={}", session.getId());
+        registry.onSlowClientClosed();
+        close(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    private void close(CloseStatus status) {
+        try {
+            if (session.isOpen()) {
+                session.close(status);
+            }
+        } catch (IOException e) {
+            log.warn("웹소켓 세션 종료 실패: session={}", session.getId(), e);
+        }
+    }
+
+    private static final class Slot {
+        private TextMessage message;
+        private final String coalesceKey;
+        private final boolean close;
+
+        private Slot(TextMessage message, String coalesceKey, boolean close) {
+            this.message = message;
+            this.coalesceKey = coalesceKey;
+            this.close = close;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.prgrms.ijuju.global.websocket;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 직접 만든 웹소켓 핸들러(고급 투자, 지갑)의 보내기 버퍼를 관리합니다.
+ * 핸들러가 연결될 때 register, 끊길 때 unregister 하고, 보낼 때는 WebSocketUtil 이나 of(session) 을 거칩니다.
+ */
+@Component
+public class OutboundSessions {
+
+    private final OutboundLimits limits;
+    private final Map<String, OutboundSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong closedSlowClients = new AtomicLong();
+    private final AtomicLong retiredCoalesced = new AtomicLong();
+    private volatile int retiredMaxDepth;
+
+    public OutboundSessions(@Value("${websocket.outbound.message-limit:256}") int messageLimit,
+                            @Value("${websocket.outbound.buffer-size-limit:524288}") long bufferSizeLimit,
+                            @Value("${websocket.outbound.send-time-limit-millis:10000}") long sendTimeLimitMillis) {
+        this.limits = new OutboundLimits(messageLimit, bufferSizeLimit, TimeUnit.MILLISECONDS.toNanos(sendTimeLimitMillis));
+    }
+
+    public OutboundSession register(WebSocketSession session) {
+        OutboundSession outbound = new OutboundSession(session, limits, this);
+        outbound.attach();
+        sessions.put(session.getId(), outbound);
+        return outbound;
+    }
+
+    public void unregister(WebSocketSession session) {
+        OutboundSession outbound = sessions.remove(session.getId());
+        if (outbound != null) {
+            retiredCoalesced.addAndGet(outbound.coalescedMessages());
+            retiredMaxDepth = Math.max(retiredMaxDepth, outbound.maxDepth());
+        }
+    }
+
+    // 등록되지 않은 세션이면 여기서 등록
+    public OutboundSession of(WebSocketSession session) {
+        OutboundSession outbound = OutboundSession.find(session);
+        return outbound != null ? outbound : register(session);
+    }
+
+    void onSlowClientClosed() {
+        closedSlowClients.incrementAndGet();
+    }
+
+    public OutboundMetrics getMetrics() {
+        Map<String, Integer> depths = new LinkedHashMap<>();
+        int maxDepth = retiredMaxDepth;
+        long coalesced = retiredCoalesced.get();
+        for (OutboundSession outbound : sessions.values()) {
+            depths.put(outbound.getId(), outbound.depth());
+            maxDepth = Math.max(maxDepth, outbound.maxDepth());
+            coalesced += outbound.coalescedMessages();
+        }
+        return new OutboundMetrics(sessions.size(), depths, maxDepth, coalesced, closedSlowClients.get());
+    }
+}
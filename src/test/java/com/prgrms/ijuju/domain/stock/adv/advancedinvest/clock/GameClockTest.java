@@ -0,0 +1,89 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.clock;
+
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.constant.GamePhase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameClockTest {
+
+    private GameClock gameClock;
+
+    @BeforeEach
+    void setUp() {
+        // 1틱 = 1ms 로 줄여서 420초 게임을 0.5초 안에 끝낸다
+        gameClock = new GameClock(TimeUnit.MILLISECONDS.toNanos(1), 64);
+        gameClock.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        gameClock.shutdown();
+    }
+
+    @Test
+    @DisplayName("처음부터 시작한 게임은 Reference, Live 0~5, End 순서로 이벤트를 받는다")
+    void dispatchesAllPhasesInOrder() throws InterruptedException {
+        // given
+        List<String> events = new CopyOnWriteArrayList<>();
+        CountDownLatch ended = new CountDownLatch(1);
+
+        // when
+        gameClock.schedule(new GameTimer(1L, 0, (phase, livePhase) -> {
+            events.add(phase == GamePhase.LIVE ? "LIVE" + livePhase : phase.name());
+            if (phase == GamePhase.END) {
+                ended.countDown();
+            }
+        }));
+
+        // then
+        assertThat(ended.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(events).containsExactly("REFERENCE", "LIVE0", "LIVE1", "LIVE2", "LIVE3", "LIVE4", "LIVE5", "END");
+        assertThat(gameClock.getMetrics().activeTimers()).isZero();
+    }
+
+    @Test
+    @DisplayName("재개한 게임은 이미 지나간 이벤트를 건너뛴다")
+    void resumedGameSkipsPastPhases() throws InterruptedException {
+        // given
+        List<String> events = new CopyOnWriteArrayList<>();
+        CountDownLatch ended = new CountDownLatch(1);
+
+        // when
+        gameClock.schedule(new GameTimer(1L, 200, (phase, livePhase) -> {
+            events.add(phase == GamePhase.LIVE ? "LIVE" + livePhase : phase.name());
+            if (phase == GamePhase.END) {
+                ended.countDown();
+            }
+        }));
+
+        // then
+        assertThat(ended.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(events).containsExactly("LIVE3", "LIVE4", "LIVE5", "END");
+    }
+
+    @Test
+    @DisplayName("취소된 타이머는 더 이상 이벤트를 받지 않는다")
+    void cancelledTimerStopsDispatching() throws InterruptedException {
+        // given
+        List<GamePhase> events = new CopyOnWriteArrayList<>();
+        GameTimer timer = new GameTimer(1L, 0, (phase, livePhase) -> events.add(phase));
+        gameClock.schedule(timer);
+
+        // when
+        timer.cancel();
+        Thread.sleep(600);
+
+        // then
+        assertThat(events).doesNotContain(GamePhase.END);
+        assertThat(gameClock.getMetrics().activeTimers()).isZero();
+    }
+}
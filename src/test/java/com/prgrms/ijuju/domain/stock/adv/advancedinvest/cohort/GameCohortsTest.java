@@ -0,0 +1,116 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.cohort;
+
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.clock.GameClock;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.constant.GamePhase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class GameCohortsTest {
+
+    private GameClock gameClock;
+
+    @BeforeEach
+    void setUp() {
+        // 1틱 = 1ms
+        gameClock = new GameClock(1);
+        gameClock.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        gameClock.shutdown();
+    }
+
+    @Test
+    @DisplayName("window 안에 시작한 게임들은 같은 코호트에서 이벤트를 한번씩만 받는다")
+    void gamesInWindowShareOneCohort() throws InterruptedException {
+        // given
+        GameCohorts cohorts = new GameCohorts(gameClock, true, 60);
+        List<String> events = new CopyOnWriteArrayList<>();
+        CountDownLatch ended = new CountDownLatch(1);
+        CohortPhaseListener listener = (cohort, phase, livePhase) -> {
+            events.add(phase == GamePhase.LIVE ? "LIVE" + livePhase : phase.name());
+            if (phase == GamePhase.END) {
+                ended.countDown();
+            }
+        };
+
+        // when
+        CohortSeat first = cohorts.join(1L, mock(WebSocketSession.class), listener);
+        CohortSeat second = cohorts.join(2L, mock(WebSocketSession.class), listener);
+
+        // then
+        assertThat(second.cohort()).isSameAs(first.cohort());
+        assertThat(first.cohort().memberGameIds()).containsExactly(1L, 2L);
+        assertThat(ended.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(events).containsExactly("REFERENCE", "LIVE0", "LIVE1", "LIVE2", "LIVE3", "LIVE4", "LIVE5", "END");
+    }
+
+    @Test
+    @DisplayName("window 가 지난 뒤에 시작한 게임은 새 코호트를 만든다")
+    void gameAfterWindowStartsNewCohort() throws InterruptedException {
+        // given
+        GameCohorts cohorts = new GameCohorts(gameClock, true, 5);
+        CohortSeat first = cohorts.join(1L, mock(WebSocketSession.class), (cohort, phase, livePhase) -> { });
+        while (first.cohort().getCurrentSecond() < 5) {
+            Thread.sleep(1);
+        }
+
+        // when
+        CohortSeat second = cohorts.join(2L, mock(WebSocketSession.class), (cohort, phase, livePhase) -> { });
+
+        // then
+        assertThat(second.cohort()).isNotSameAs(first.cohort());
+        assertThat(second.missedReference()).isFalse();
+    }
+
+    @Test
+    @DisplayName("ReferenceData 가 나간 뒤에 참가하면 missedReference 로 알려준다")
+    void lateJoinerMissesReference() throws InterruptedException {
+        // given
+        GameCohorts cohorts = new GameCohorts(gameClock, true, 60);
+        CountDownLatch referenceSent = new CountDownLatch(1);
+        CohortSeat first = cohorts.join(1L, mock(WebSocketSession.class), (cohort, phase, livePhase) -> {
+            if (phase == GamePhase.REFERENCE) {
+                cohort.markReferenceSent();
+                referenceSent.countDown();
+            }
+        });
+        assertThat(referenceSent.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        CohortSeat second = cohorts.join(2L, mock(WebSocketSession.class), (cohort, phase, livePhase) -> { });
+
+        // then
+        assertThat(first.missedReference()).isFalse();
+        assertThat(second.cohort()).isSameAs(first.cohort());
+        assertThat(second.missedReference()).isTrue();
+    }
+
+    @Test
+    @DisplayName("모든 게임이 빠진 코호트는 타이머를 멈추고 더 이상 참가를 받지 않는다")
+    void emptyCohortStops() {
+        // given
+        GameCohorts cohorts = new GameCohorts(gameClock, true, 60);
+        CohortSeat first = cohorts.join(1L, mock(WebSocketSession.class), (cohort, phase, livePhase) -> { });
+
+        // when
+        first.cohort().leave(1L);
+        CohortSeat second = cohorts.join(2L, mock(WebSocketSession.class), (cohort, phase, livePhase) -> { });
+
+        // then
+        assertThat(first.cohort().getTimer().isCancelled()).isTrue();
+        assertThat(second.cohort()).isNotSameAs(first.cohort());
+    }
+}
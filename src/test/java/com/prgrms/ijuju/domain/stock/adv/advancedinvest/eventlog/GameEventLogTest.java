@@ -0,0 +1,138 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.eventlog;
+
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.position.PositionBook;
+import com.prgrms.ijuju.domain.stock.adv.advstock.constant.DataType;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.MarketSnapshot;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.StockSeries;
+import com.prgrms.ijuju.domain.stock.adv.stockrecord.constant.TradeType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameEventLogTest {
+
+    private static final Long GAME_ID = 1L;
+
+    @TempDir
+    Path directory;
+
+    private final MarketSnapshot snapshot = new MarketSnapshot(LocalDate.now(), List.of(
+            liveSeries("AAPL", new double[]{100, 110, 120}, new long[]{10, 20, 30}),
+            liveSeries("MSFT", new double[]{300, 290, 280}, new long[]{1, 2, 3})
+    ));
+
+    @Test
+    @DisplayName("일시정지한 게임은 스냅샷으로 장부와 LiveData 전송 횟수를 되살린다")
+    void recoverFromPauseSnapshot() {
+        // given
+        GameEventLog eventLog = new GameEventLog(directory.toString(), 32, 7);
+        PositionBook book = new PositionBook();
+        eventLog.start(GAME_ID);
+
+        book.buy("AAPL", 10, 100);
+        eventLog.trade(GAME_ID, new GameCheckpoint(30, 0, book), TradeType.BUY, "AAPL", 10, 100);
+        eventLog.tick(GAME_ID, new GameCheckpoint(60, 1, book), 0, snapshot);
+        book.sell("AAPL", 4, 110);
+        eventLog.trade(GAME_ID, new GameCheckpoint(70, 1, book), TradeType.SELL, "AAPL", 4, 110);
+
+        // when
+        eventLog.pause(GAME_ID, new GameCheckpoint(75, 1, book));
+        GameRecovery recovery = eventLog.recover(GAME_ID).orElseThrow();
+
+        // then
+        assertThat(recovery.second()).isEqualTo(75);
+        assertThat(recovery.liveSentCounter()).isEqualTo(1);
+        assertThat(recovery.positionBook().quantityOf("AAPL")).isEqualTo(6);
+        assertThat(recovery.positionBook().averageCostOf("AAPL")).isEqualTo(100);
+        assertThat(recovery.positionBook().realizedPnlOf("AAPL")).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("마지막 스냅샷 뒤의 이벤트만 다시 적용하고, 잘린 마지막 이벤트는 무시한다")
+    void replayAfterSnapshotAndIgnoreTornTail() throws IOException {
+        // given : 이벤트 2개마다 스냅샷
+        GameEventLog eventLog = new GameEventLog(directory.toString(), 2, 7);
+        PositionBook book = new PositionBook();
+        eventLog.start(GAME_ID);
+        book.buy("AAPL", 10, 100);
+        eventLog.trade(GAME_ID, new GameCheckpoint(10, 0, book), TradeType.BUY, "AAPL", 10, 100); // 여기서 스냅샷
+        eventLog.tick(GAME_ID, new GameCheckpoint(60, 1, book), 0, snapshot);
+        book.buy("MSFT", 2, 300);
+        eventLog.trade(GAME_ID, new GameCheckpoint(65, 1, book), TradeType.BUY, "MSFT", 2, 300); // 여기서 스냅샷
+        book.buy("AAPL", 10, 120);
+        eventLog.trade(GAME_ID, new GameCheckpoint(80, 1, book), TradeType.BUY, "AAPL", 10, 120);
+
+        try (FileChannel channel = FileChannel.open(directory.resolve(GAME_ID + ".log"), StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3); // 마지막 이벤트가 쓰다가 잘린 상황
+        }
+
+        // when
+        GameRecovery recovery = eventLog.recover(GAME_ID).orElseThrow();
+
+        // then
+        assertThat(recovery.second()).isEqualTo(65);
+        assertThat(recovery.liveSentCounter()).isEqualTo(1);
+        assertThat(recovery.positionBook().quantityOf("AAPL")).isEqualTo(10);
+        assertThat(recovery.positionBook().quantityOf("MSFT")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("종료된 게임은 재개할 수 없고, 로그 하나로 거래/손익 곡선/거래량 보고서를 만든다")
+    void reportAfterEnd() {
+        // given
+        GameEventLog eventLog = new GameEventLog(directory.toString(), 32, 7);
+        PositionBook book = new PositionBook();
+        eventLog.start(GAME_ID);
+        book.buy("AAPL", 10, 100);
+        eventLog.trade(GAME_ID, new GameCheckpoint(30, 0, book), TradeType.BUY, "AAPL", 10, 100);
+        eventLog.tick(GAME_ID, new GameCheckpoint(60, 1, book), 0, snapshot);
+        eventLog.tick(GAME_ID, new GameCheckpoint(110, 2, book), 1, snapshot);
+        book.sell("AAPL", 10, 120);
+        eventLog.trade(GAME_ID, new GameCheckpoint(130, 2, book), TradeType.SELL, "AAPL", 10, 120);
+        eventLog.pause(GAME_ID, new GameCheckpoint(140, 2, book));
+        eventLog.resume(GAME_ID, 140);
+        eventLog.tick(GAME_ID, new GameCheckpoint(160, 3, book), 2, snapshot);
+
+        // when
+        eventLog.end(GAME_ID, 420);
+        GameReport report = eventLog.report(GAME_ID).orElseThrow();
+
+        // then
+        assertThat(eventLog.recover(GAME_ID)).isEmpty();
+        assertThat(report.ended()).isTrue();
+        assertThat(report.endSecond()).isEqualTo(420);
+        assertThat(report.trades()).extracting(GameReport.Trade::tradeType).containsExactly(TradeType.BUY, TradeType.SELL);
+        assertThat(report.pnlCurve()).extracting(GameReport.PnlPoint::unrealizedPnl).containsExactly(0.0, 100.0, 0.0);
+        assertThat(report.pnlCurve()).extracting(GameReport.PnlPoint::realizedPnl).containsExactly(0.0, 0.0, 200.0);
+        assertThat(report.volumeSeen()).isEqualTo(10 + 1 + 20 + 2 + 30 + 3);
+        assertThat(report.realizedPnl()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("이벤트 로그가 없는 게임은 empty 를 돌려준다")
+    void missingLog() {
+        // given
+        GameEventLog eventLog = new GameEventLog(directory.toString(), 32, 7);
+
+        // when & then
+        assertThat(eventLog.recover(GAME_ID)).isEmpty();
+        assertThat(eventLog.report(GAME_ID)).isEmpty();
+    }
+
+    private static StockSeries liveSeries(String symbol, double[] closes, long[] volumes) {
+        long[] timestamps = new long[closes.length];
+        for (int i = 0; i < closes.length; i++) {
+            timestamps[i] = 1_700_000_000_000L + i * 3_600_000L;
+        }
+        return new StockSeries(symbol, symbol + " Name", DataType.LIVE, closes, closes, closes, closes, volumes, timestamps);
+    }
+}
@@ -0,0 +1,103 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.mailbox;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SessionMailboxTest {
+
+    @Test
+    @DisplayName("여러 스레드에서 넣어도 한번에 하나씩, 넣은 순서대로 실행된다")
+    void runsTasksOneAtATimeInOrder() throws InterruptedException {
+        // given
+        SessionMailbox mailbox = new SessionMailbox();
+        List<Integer> executed = new ArrayList<>(); // 메일박스 안에서만 접근
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1_000);
+
+        // when
+        try (ExecutorService producers = Executors.newFixedThreadPool(4)) {
+            for (int producer = 0; producer < 4; producer++) {
+                int base = producer * 250;
+                producers.execute(() -> {
+                    for (int i = 0; i < 250; i++) {
+                        int value = base + i;
+                        mailbox.execute(() -> {
+                            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                            executed.add(value);
+                            running.decrementAndGet();
+                            done.countDown();
+                        });
+                    }
+                });
+            }
+        }
+
+        // then
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxRunning.get()).isEqualTo(1);
+        assertThat(executed).hasSize(1_000);
+        for (int producer = 0; producer < 4; producer++) {
+            int base = producer * 250;
+            List<Integer> fromProducer = executed.stream().filter(v -> v >= base && v < base + 250).toList();
+            assertThat(fromProducer).isSorted();
+        }
+    }
+
+    @Test
+    @DisplayName("처리 못한 요청이 capacity 를 넘으면 거절하고, 게임 이벤트는 계속 받는다")
+    void rejectsRequestsOverCapacity() throws InterruptedException {
+        // given
+        SessionMailbox mailbox = new SessionMailbox(2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch eventRan = new CountDownLatch(1);
+        mailbox.offerRequest(() -> await(release));
+
+        // when
+        boolean second = mailbox.offerRequest(() -> { });
+        boolean third = mailbox.offerRequest(() -> { });
+        mailbox.execute(eventRan::countDown);
+        release.countDown();
+
+        // then
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(eventRan.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(mailbox.offerRequest(() -> { })).isTrue();
+    }
+
+    @Test
+    @DisplayName("작업에서 예외가 나도 다음 작업은 실행된다")
+    void keepsRunningAfterFailure() throws InterruptedException {
+        // given
+        SessionMailbox mailbox = new SessionMailbox();
+        CountDownLatch next = new CountDownLatch(1);
+
+        // when
+        mailbox.execute(() -> {
+            throw new IllegalStateException("실패");
+        });
+        mailbox.execute(next::countDown);
+
+        // then
+        assertThat(next.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
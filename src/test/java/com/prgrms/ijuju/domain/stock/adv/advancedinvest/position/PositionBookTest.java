@@ -0,0 +1,168 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.position;
+
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.exception.stockexception.InsufficientStockException;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.rule.TradeRules;
+import com.prgrms.ijuju.domain.stock.adv.advstock.constant.DataType;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.MarketSnapshot;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.StockSeries;
+import com.prgrms.ijuju.domain.stock.adv.stockrecord.constant.TradeType;
+import com.prgrms.ijuju.domain.stock.adv.stockrecord.entity.StockRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PositionBookTest {
+
+    @Test
+    @DisplayName("구매하면 보유 수량과 평균 단가가 갱신된다")
+    void buyUpdatesQuantityAndAverageCost() {
+        // given
+        PositionBook book = new PositionBook();
+
+        // when
+        book.buy("AAPL", 10, 100);
+        book.buy("AAPL", 10, 200);
+
+        // then
+        assertThat(book.quantityOf("AAPL")).isEqualTo(20);
+        assertThat(book.averageCostOf("AAPL")).isEqualTo(150);
+    }
+
+    @Test
+    @DisplayName("보유 수량보다 많이 팔면 예외가 발생하고 장부는 그대로다")
+    void sellMoreThanOwnedThrows() {
+        // given
+        PositionBook book = new PositionBook();
+        book.buy("AAPL", 5, 100);
+
+        // when & then
+        assertThatThrownBy(() -> book.sell("AAPL", 6)).isInstanceOf(InsufficientStockException.class);
+        assertThatThrownBy(() -> book.sell("MSFT", 1)).isInstanceOf(InsufficientStockException.class);
+        assertThat(book.quantityOf("AAPL")).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("거래 내역으로 장부를 다시 만든다")
+    void rebuildFromRecords() {
+        // given
+        List<StockRecord> records = List.of(
+                record("AAPL", TradeType.BUY, 10, 1000),
+                record("MSFT", TradeType.BUY, 2, 600),
+                record("AAPL", TradeType.SELL, 4, 480)
+        );
+
+        // when
+        PositionBook book = PositionBook.rebuild(records);
+
+        // then
+        assertThat(book.quantityOf("AAPL")).isEqualTo(6);
+        assertThat(book.averageCostOf("AAPL")).isEqualTo(100);
+        assertThat(book.quantityOf("MSFT")).isEqualTo(2);
+        assertThat(book.averageCostOf("MSFT")).isEqualTo(300);
+    }
+
+    @Test
+    @DisplayName("판매하면 평균 단가와의 차이만큼 실현 손익이 쌓이고, 판매 취소 시 되돌아간다")
+    void sellRealizesPnl() {
+        // given
+        PositionBook book = new PositionBook();
+        book.buy("AAPL", 10, 100);
+
+        // when
+        book.sell("AAPL", 4, 130);
+
+        // then
+        assertThat(book.realizedPnlOf("AAPL")).isEqualTo(120);
+
+        book.cancelSell("AAPL", 4, 100, 130);
+        assertThat(book.realizedPnlOf("AAPL")).isEqualTo(0);
+        assertThat(book.quantityOf("AAPL")).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("거래 시간 종가로 평가 손익을 계산하고, 거래도 종가 변화도 없으면 다시 보내지 않는다")
+    void markToMarketOnlyWhenChanged() {
+        // given
+        PositionBook book = new PositionBook();
+        book.buy("AAPL", 10, 100);
+        book.buy("MSFT", 2, 300);
+        book.sell("AAPL", 5, 110);
+        Map<String, Double> closes = Map.of("AAPL", 120.0, "MSFT", 250.0);
+
+        // when
+        PortfolioView first = book.markToMarket(0, closes::get);
+        PortfolioView unchanged = book.markToMarket(1, closes::get);
+
+        // then
+        assertThat(first.positions()).hasSize(2);
+        assertThat(first.positions().get(0).unrealizedPnl()).isEqualTo(100);  // (120 - 100) * 5
+        assertThat(first.positions().get(1).unrealizedPnl()).isEqualTo(-100); // (250 - 300) * 2
+        assertThat(first.unrealizedPnl()).isEqualTo(0);
+        assertThat(first.realizedPnl()).isEqualTo(50);
+        assertThat(unchanged).isNull();
+
+        book.buy("MSFT", 1, 250);
+        assertThat(book.markToMarket(2, closes::get)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("종가가 없는 종목은 평균 단가로 평가하고, 빈 장부는 보내지 않는다")
+    void markToMarketWithoutPrice() {
+        // given
+        PositionBook empty = new PositionBook();
+        PositionBook book = new PositionBook();
+        book.buy("AAPL", 10, 100);
+
+        // when
+        PortfolioView view = book.markToMarket(0, symbol -> Double.NaN);
+
+        // then
+        assertThat(empty.markToMarket(0, symbol -> 100)).isNull();
+        assertThat(view.positions().get(0).price()).isEqualTo(100);
+        assertThat(view.unrealizedPnl()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("거래 가격과 평가 가격이 같은 거래 시간의 종가라서, 사자마자 평가하면 평가 손익은 0 이다")
+    void unrealizedPnlIsZeroRightAfterBuy() {
+        // given - 거래 시간마다 종가가 오른다. 마지막 종가(150)는 아직 나가지 않았다
+        MarketSnapshot snapshot = snapshot(new double[]{100, 110, 120, 130, 140, 150});
+        int liveSent = 3;
+        PositionBook book = new PositionBook();
+
+        // when
+        book.buy("AAPL", 10, TradeRules.tradePrice(snapshot, "AAPL", liveSent));
+        PortfolioView view = book.markToMarket(liveSent - 1, symbol -> TradeRules.phaseClosePrice(snapshot, symbol, liveSent - 1));
+
+        // then
+        assertThat(book.averageCostOf("AAPL")).isEqualTo(120);
+        assertThat(view.positions().get(0).price()).isEqualTo(120);
+        assertThat(view.unrealizedPnl()).isEqualTo(0);
+    }
+
+    private static MarketSnapshot snapshot(double[] liveCloses) {
+        long[] timestamps = new long[liveCloses.length];
+        StockSeries live = new StockSeries("AAPL", "AAPL", DataType.LIVE,
+                liveCloses, liveCloses, liveCloses, liveCloses, new long[liveCloses.length], timestamps);
+        double[] referenceCloses = {90};
+        StockSeries reference = new StockSeries("AAPL", "AAPL", DataType.REFERENCE,
+                referenceCloses, referenceCloses, referenceCloses, referenceCloses, new long[1], new long[1]);
+        return new MarketSnapshot(LocalDate.of(2024, 11, 15), List.of(reference, live));
+    }
+
+    private StockRecord record(String symbol, TradeType tradeType, double quantity, long totalPrice) {
+        return StockRecord.builder()
+                .symbol(symbol)
+                .tradeType(tradeType)
+                .quantity(quantity)
+                .pricePerUnit(BigDecimal.valueOf(totalPrice))
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.replay;
+
+import com.prgrms.ijuju.domain.stock.adv.advstock.constant.DataType;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.MarketSnapshot;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.StockSeries;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameReplayEngineTest {
+
+    private static final long STARTING_POINTS = 10_000;
+
+    @Test
+    @DisplayName("스크립트대로 사고팔면 마지막 종가 기준으로 포인트와 보유 주식이 계산된다")
+    void replayScriptedTrades() {
+        // given
+        GameReplayEngine engine = new GameReplayEngine(snapshot(6, 100.0), STARTING_POINTS);
+        ReplayScript script = ReplayScript.of(
+                ReplayAction.buy(70, "AAPL", 10),
+                ReplayAction.sell(200, "AAPL", 4)
+        );
+
+        // when
+        ReplayResult result = engine.replay(script);
+
+        // then
+        assertThat(result.executedTrades()).isEqualTo(2);
+        assertThat(result.finalPoints()).isEqualTo(STARTING_POINTS - 1_000 + 400);
+        assertThat(result.holdingsValue()).isEqualTo(600.0);
+        assertThat(result.liveSent()).isEqualTo(6);
+        assertThat(result.endSecond()).isEqualTo(420);
+    }
+
+    @Test
+    @DisplayName("포인트나 보유 수량이 부족한 거래, 끝난 게임의 거래는 에러 코드별로 거절된다")
+    void rejectsInvalidTrades() {
+        // given
+        GameReplayEngine engine = new GameReplayEngine(snapshot(6, 100.0), STARTING_POINTS);
+        ReplayScript script = ReplayScript.of(
+                ReplayAction.buy(70, "AAPL", 101),  // 10,100 포인트 필요
+                ReplayAction.sell(80, "AAPL", 1),   // 보유 없음
+                ReplayAction.buy(90, "NONE", 1),    // 없는 종목
+                ReplayAction.buy(500, "AAPL", 1)    // 게임 종료 후
+        );
+
+        // when
+        ReplayResult result = engine.replay(script);
+
+        // then
+        assertThat(result.executedTrades()).isZero();
+        assertThat(result.rejections()).containsEntry("POINT_001", 1)
+                .containsEntry("ADV_INVEST_007", 1)
+                .containsEntry("ADV_INVEST_005", 1)
+                .containsEntry("ADV_INVEST_001", 1);
+        assertThat(result.finalPoints()).isEqualTo(STARTING_POINTS);
+    }
+
+    @Test
+    @DisplayName("LiveData 가 부족하면 실제 게임처럼 그 시점에 게임이 끝난다")
+    void endsEarlyWhenLiveDataIsShort() {
+        // given - LiveData 3개 > livePhase 3 (60 + 150 = 210초) 에 종료
+        GameReplayEngine engine = new GameReplayEngine(snapshot(3, 100.0), STARTING_POINTS);
+        ReplayScript script = ReplayScript.of(ReplayAction.buy(300, "AAPL", 1));
+
+        // when
+        ReplayResult result = engine.replay(script);
+
+        // then
+        assertThat(result.liveSent()).isEqualTo(3);
+        assertThat(result.endSecond()).isEqualTo(210);
+        assertThat(result.rejections()).containsEntry("ADV_INVEST_001", 1);
+    }
+
+    @Test
+    @DisplayName("여러 게임을 병렬로 돌려도 입력 순서대로 같은 결과가 나온다")
+    void replayAllKeepsOrderAndIsDeterministic() {
+        // given
+        GameReplayEngine engine = new GameReplayEngine(snapshot(6, 100.0), STARTING_POINTS);
+        List<ReplayScript> scripts = IntStream.range(0, 2_000)
+                .mapToObj(seed -> ReplayScript.random(List.of("AAPL", "MSFT"), 20, 10, seed))
+                .toList();
+
+        // when
+        List<ReplayResult> parallel = engine.replayAll(scripts);
+
+        // then
+        List<ReplayResult> sequential = new ArrayList<>();
+        scripts.forEach(script -> sequential.add(engine.replay(script)));
+        assertThat(parallel).isEqualTo(sequential);
+        assertThat(ReplayStats.of(parallel).games()).isEqualTo(2_000);
+    }
+
+    private static MarketSnapshot snapshot(int liveSize, double closePrice) {
+        List<StockSeries> series = new ArrayList<>();
+        for (String symbol : List.of("AAPL", "MSFT")) {
+            series.add(series(symbol, DataType.REFERENCE, 35, closePrice));
+            series.add(series(symbol, DataType.LIVE, liveSize, closePrice));
+        }
+        return new MarketSnapshot(LocalDate.of(2024, 11, 15), series);
+    }
+
+    private static StockSeries series(String symbol, DataType dataType, int size, double closePrice) {
+        double[] prices = new double[size];
+        Arrays.fill(prices, closePrice);
+        long[] volumes = new long[size];
+        long[] timestamps = new long[size];
+        for (int i = 0; i < size; i++) {
+            volumes[i] = 1_000 + i;
+            timestamps[i] = i * 86_400_000L;
+        }
+        return new StockSeries(symbol, symbol, dataType, prices, prices, prices, prices, volumes, timestamps);
+    }
+}
@@ -0,0 +1,88 @@
+package com.prgrms.ijuju.domain.stock.adv.advancedinvest.repository;
+
+import com.prgrms.ijuju.domain.member.entity.Member;
+import com.prgrms.ijuju.domain.member.entity.Role;
+import com.prgrms.ijuju.domain.member.repository.MemberRepository;
+import com.prgrms.ijuju.domain.stock.adv.advancedinvest.entity.AdvancedInvest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class AdvancedInvestRepositoryTest {
+
+    @Autowired
+    private AdvancedInvestRepository advancedInvestRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    private Member member;
+
+    @BeforeEach
+    void setUp() {
+        member = memberRepository.save(Member.builder()
+                .loginId("advtest")
+                .pw("test1234@")
+                .username("advtest")
+                .email("adv@test.com")
+                .birth(LocalDate.parse("2000-01-01"))
+                .role(Role.USER)
+                .build());
+    }
+
+    @Test
+    @DisplayName("진행 중이던 게임과 일시정지 게임을 UPDATE 한번으로 종료 처리한다")
+    void endGames() {
+        // given
+        AdvancedInvest active = save(false, 0);
+        AdvancedInvest paused = save(true, 120);
+        AdvancedInvest untouched = save(false, 0);
+
+        // when
+        List<AdvancedInvestRepository.PausedGame> pausedGames = advancedInvestRepository.findPausedGames();
+        int updated = advancedInvestRepository.endGames(List.of(active.getId()));
+
+        // then
+        assertThat(pausedGames).extracting(AdvancedInvestRepository.PausedGame::getId).containsExactly(paused.getId());
+        assertThat(pausedGames.get(0).getCurrentSecond()).isEqualTo(120);
+        assertThat(updated).isEqualTo(2);
+        assertThat(advancedInvestRepository.findById(active.getId()).orElseThrow().isPlayedToday()).isTrue();
+        assertThat(advancedInvestRepository.findById(paused.getId()).orElseThrow().isPaused()).isFalse();
+        assertThat(advancedInvestRepository.findById(untouched.getId()).orElseThrow().isPlayedToday()).isFalse();
+    }
+
+    @Test
+    @DisplayName("진행 중인 게임이 없으면 일시정지 게임만 종료 처리한다")
+    void endGamesWithoutActiveGames() {
+        // given
+        save(true, 30);
+        save(false, 0);
+
+        // when
+        int updated = advancedInvestRepository.endGames(List.of());
+
+        // then
+        assertThat(updated).isEqualTo(1);
+    }
+
+    private AdvancedInvest save(boolean paused, int currentSecond) {
+        return advancedInvestRepository.save(AdvancedInvest.builder()
+                .member(member)
+                .startTime(System.currentTimeMillis())
+                .paused(paused)
+                .currentSecond(currentSecond)
+                .build());
+    }
+}
@@ -0,0 +1,50 @@
+package com.prgrms.ijuju.domain.stock.adv.advstock.codec;
+
+import com.prgrms.ijuju.domain.stock.adv.advstock.constant.DataType;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.StockSeries;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CandleCodecTest {
+
+    @Test
+    @DisplayName("인코딩 후 디코딩하면 같은 캔들이 나온다")
+    void roundTrip() {
+        // given
+        int size = 35;
+        double[] open = new double[size];
+        double[] high = new double[size];
+        double[] low = new double[size];
+        double[] close = new double[size];
+        long[] volumes = new long[size];
+        long[] timestamps = new long[size];
+        for (int i = 0; i < size; i++) {
+            open[i] = 180.1234 + i * 0.5;
+            close[i] = 179.87 - i * 0.25;
+            high[i] = Math.max(open[i], close[i]) + 1.1;
+            low[i] = Math.min(open[i], close[i]) - 1.1;
+            volumes[i] = 1_000_000L + i * 7_919L;
+            timestamps[i] = 1_700_000_000_000L + i * 3_600_000L + (i > 20 ? 86_400_000L : 0); // 중간에 하루 건너뜀
+        }
+        StockSeries series = new StockSeries("AAPL", "AAPL Name", DataType.REFERENCE, open, high, low, close, volumes, timestamps);
+
+        // when
+        byte[] encoded = CandleCodec.encode(series);
+        StockSeries decoded = CandleCodec.decode("AAPL", "AAPL Name", DataType.REFERENCE, encoded);
+
+        // then
+        assertThat(decoded.size()).isEqualTo(size);
+        for (int i = 0; i < size; i++) {
+            assertThat(decoded.openPrice(i)).isCloseTo(open[i], within(0.00005));
+            assertThat(decoded.highPrice(i)).isCloseTo(high[i], within(0.00005));
+            assertThat(decoded.lowPrice(i)).isCloseTo(low[i], within(0.00005));
+            assertThat(decoded.closePrice(i)).isCloseTo(close[i], within(0.00005));
+            assertThat(decoded.volume(i)).isEqualTo(volumes[i]);
+            assertThat(decoded.timestamp(i)).isEqualTo(timestamps[i]);
+        }
+        assertThat(encoded.length).isLessThan(size * 6 * 8); // primitive 배열 그대로 저장하는 것보다 작다
+    }
+}
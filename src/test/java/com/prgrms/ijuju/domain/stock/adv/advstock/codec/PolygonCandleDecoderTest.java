@@ -0,0 +1,104 @@
+package com.prgrms.ijuju.domain.stock.adv.advstock.codec;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.prgrms.ijuju.domain.stock.adv.advstock.dto.PolygonCandles;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PolygonCandleDecoderTest {
+
+    private static PolygonCandles decode(String json) throws IOException {
+        return PolygonCandleDecoder.decode(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("results 의 값을 컬럼별로 순서대로 읽고, 모르는 필드는 건너뛴다")
+    void decodeColumns() throws IOException {
+        // given
+        String json = """
+                {"ticker":"AAPL","queryCount":2,"resultsCount":2,"adjusted":true,
+                 "results":[
+                   {"v":70790813.0,"vw":131.6292,"o":130.465,"c":130.15,"h":133.41,"l":129.89,"t":1673240400000,"n":645365,"extra":{"a":[1,2]}},
+                   {"o":131.25,"h":131.7,"l":128.12,"c":130.73,"v":63896155,"t":1673326800000}
+                 ],
+                 "status":"OK","request_id":"abc","count":2}
+                """;
+
+        // when
+        PolygonCandles candles = decode(json);
+
+        // then
+        assertThat(candles.size()).isEqualTo(2);
+        assertThat(candles.getTicker()).isEqualTo("AAPL");
+        assertThat(candles.getStatus()).isEqualTo("OK");
+        assertThat(candles.openPrice(0)).isEqualTo(130.465);
+        assertThat(candles.highPrice(0)).isEqualTo(133.41);
+        assertThat(candles.lowPrice(0)).isEqualTo(129.89);
+        assertThat(candles.closePrice(0)).isEqualTo(130.15);
+        assertThat(candles.volume(0)).isEqualTo(70_790_813L);
+        assertThat(candles.timestamp(0)).isEqualTo(1_673_240_400_000L);
+        assertThat(candles.closePrice(1)).isEqualTo(130.73);
+        assertThat(candles.volume(1)).isEqualTo(63_896_155L);
+    }
+
+    @Test
+    @DisplayName("resultsCount 가 없거나 실제보다 작아도 배열을 늘려가며 전부 읽는다")
+    void growsWithoutCountHint() throws IOException {
+        // given
+        StringBuilder results = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            if (i > 0) {
+                results.append(',');
+            }
+            results.append("{\"o\":1,\"h\":2,\"l\":0.5,\"c\":").append(i).append(",\"v\":10,\"t\":").append(i).append('}');
+        }
+
+        // when
+        PolygonCandles candles = decode("{\"resultsCount\":3,\"results\":[" + results + "]}");
+
+        // then
+        assertThat(candles.size()).isEqualTo(200);
+        assertThat(candles.closePrice(199)).isEqualTo(199);
+        assertThat(candles.timestamp(150)).isEqualTo(150);
+    }
+
+    @Test
+    @DisplayName("results 가 없으면 빈 결과, JSON 객체가 아니면 예외")
+    void emptyAndInvalid() throws IOException {
+        assertThat(decode("{\"status\":\"OK\",\"resultsCount\":0}").size()).isZero();
+        assertThatThrownBy(() -> decode("[1,2,3]")).isInstanceOf(JsonParseException.class);
+    }
+
+    @Test
+    @DisplayName("소수를 직접 변환한 값은 Double.parseDouble 과 같고, 정확히 못 바꾸는 형태는 NaN 으로 넘긴다")
+    void parsePlainDecimal() {
+        for (String text : new String[]{"130.465", "-0.0001", "0.1", "183.2", "70790813.0", "9007199254740991", "42"}) {
+            assertThat(PolygonCandleDecoder.parsePlainDecimal(text.toCharArray(), 0, text.length()))
+                    .as(text)
+                    .isEqualTo(Double.parseDouble(text));
+        }
+        for (String text : new String[]{"1.5e3", "179.70000000000002", "9007199254740993", "-", "1.2.3"}) {
+            assertThat(PolygonCandleDecoder.parsePlainDecimal(text.toCharArray(), 0, text.length()))
+                    .as(text)
+                    .isNaN();
+        }
+    }
+
+    @Test
+    @DisplayName("직접 변환하지 못하는 숫자도 Jackson 으로 넘겨 정확히 읽는다")
+    void fallbackNumbers() throws IOException {
+        // when
+        PolygonCandles candles = decode("{\"results\":[{\"o\":1.5e2,\"c\":179.70000000000002,\"v\":1.2e6,\"t\":1}]}");
+
+        // then
+        assertThat(candles.openPrice(0)).isEqualTo(150.0);
+        assertThat(candles.closePrice(0)).isEqualTo(179.70000000000002);
+        assertThat(candles.volume(0)).isEqualTo(1_200_000L);
+    }
+}
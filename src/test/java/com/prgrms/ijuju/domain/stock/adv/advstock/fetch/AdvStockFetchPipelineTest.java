@@ -0,0 +1,195 @@
+package com.prgrms.ijuju.domain.stock.adv.advstock.fetch;
+
+import com.prgrms.ijuju.domain.stock.adv.advstock.constant.DataType;
+import com.prgrms.ijuju.domain.stock.adv.advstock.service.AdvStockDataFetcher;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.StockSeries;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdvStockFetchPipelineTest {
+
+
+    private static final List<FetchRange> RANGES = List.of(
+            new FetchRange(DataType.REFERENCE, "2024-11-04", "2024-11-08"),
+            new FetchRange(DataType.LIVE, "2024-11-11", "2024-11-11"),
+            new FetchRange(DataType.FORECAST, "2024-11-12", "2024-11-13")
+    );
+
+    @TempDir
+    Path storeDirectory;
+
+    private HttpServer server;
+    private CandleDiskStore store;
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final List<String> requestedRanges = new CopyOnWriteArrayList<>();
+    private final Map<String, AtomicInteger> failuresLeft = new ConcurrentHashMap<>(); // 심볼별로 남은 500 응답 횟수
+    private final Map<String, Long> delayMillis = new ConcurrentHashMap<>();           // 심볼별 응답 지연
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/v2/aggs/ticker/", this::handle);
+        server.start();
+        store = new CandleDiskStore(storeDirectory.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        store.close();
+    }
+
+    // 경로: /v2/aggs/ticker/{symbol}/range/1/hour/{from}/{to}
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        String[] path = exchange.getRequestURI().getPath().split("/");
+        String symbol = path[4];
+        requestedRanges.add(symbol + " " + path[8] + "~" + path[9]);
+        try {
+            Long delay = delayMillis.get(symbol);
+            if (delay != null) {
+                Thread.sleep(delay);
+            }
+            AtomicInteger failures = failuresLeft.get(symbol);
+            if (failures != null && failures.getAndDecrement() > 0) {
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+            byte[] body = bodyOf(LocalDate.parse(path[8]), LocalDate.parse(path[9])).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException | IOException e) {
+            // 클라이언트가 타임아웃으로 끊은 경우
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // 요청한 날마다 미국 장중 시간봉 2개 (14:30, 15:30 UTC)
+    private static String bodyOf(LocalDate from, LocalDate to) {
+        StringJoiner results = new StringJoiner(",");
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            long first = day.atTime(14, 30).toInstant(ZoneOffset.UTC).toEpochMilli();
+            results.add("{\"c\":101.5,\"h\":102.0,\"l\":100.0,\"o\":100.5,\"t\":" + first + ",\"v\":1000,\"vw\":101.0}");
+            results.add("{\"c\":102.5,\"h\":103.0,\"l\":101.0,\"o\":101.5,\"t\":" + (first + 3_600_000) + ",\"v\":2000,\"vw\":102.0}");
+        }
+        return "{\"adjusted\":true,\"status\":\"OK\",\"results\":[" + results + "]}";
+    }
+
+    private AdvStockFetchPipeline pipeline(double requestsPerSecond, int burst, long timeoutMillis) {
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        AdvStockDataFetcher fetcher = new AdvStockDataFetcher("test-key", baseUrl,
+                new TokenBucketRateLimiter(requestsPerSecond, burst), Duration.ofMillis(timeoutMillis), 3, 10);
+        return new AdvStockFetchPipeline(new CachedCandleLoader(fetcher, store));
+    }
+
+    @Test
+    @DisplayName("5xx 응답은 재시도해서 성공하면 정상적으로 저장 대상에 포함된다")
+    void retryOnServerError() {
+        // given
+        failuresLeft.put("AAPL", new AtomicInteger(2));
+        AdvStockFetchPipeline pipeline = pipeline(1000, 100, 2000);
+
+        // when
+        List<StockSeries> staged = pipeline.fetchAll(List.of("AAPL", "MSFT"), RANGES);
+
+        // then
+        assertThat(staged).hasSize(6);
+        assertThat(staged).extracting(StockSeries::getSymbol).containsOnly("AAPL", "MSFT");
+        assertThat(staged.get(0).size()).isEqualTo(10); // 5일 x 2개
+        assertThat(staged.get(0).latestClosePrice()).isEqualTo(102.5);
+        assertThat(requestCount.get()).isEqualTo(6 + 2);
+    }
+
+    @Test
+    @DisplayName("요청은 설정한 초당 요청 수를 넘지 않는다")
+    void rateLimited() {
+        // given - 초당 20건, 버스트 1건. 12건이면 최소 550ms
+        AdvStockFetchPipeline pipeline = pipeline(20, 1, 2000);
+
+        // when
+        long startNanos = System.nanoTime();
+        List<StockSeries> staged = pipeline.fetchAll(List.of("AAPL", "MSFT", "AMZN", "TSLA"), RANGES);
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+
+        // then
+        assertThat(staged).hasSize(12);
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("타임아웃이 계속 나는 종목은 통째로 제외하고 나머지 종목만 돌려준다")
+    void skipSymbolOnTimeout() {
+        // given
+        delayMillis.put("TSLA", 1000L);
+        AdvStockFetchPipeline pipeline = pipeline(1000, 100, 200);
+
+        // when
+        List<StockSeries> staged = pipeline.fetchAll(List.of("AAPL", "TSLA"), RANGES);
+
+        // then
+        assertThat(staged).hasSize(3);
+        assertThat(staged).extracting(StockSeries::getSymbol).containsOnly("AAPL");
+        assertThat(staged).extracting(StockSeries::getDataType)
+                .containsExactly(DataType.REFERENCE, DataType.LIVE, DataType.FORECAST);
+    }
+
+    @Test
+    @DisplayName("이미 받아둔 날은 다시 요청하지 않고, 구간이 하루 밀리면 새로 들어온 날만 요청한다")
+    void onlyMissingDaysAreFetched() {
+        // given
+        AdvStockFetchPipeline pipeline = pipeline(1000, 100, 2000);
+        pipeline.fetchAll(List.of("AAPL"), RANGES);
+        requestedRanges.clear();
+
+        // when - 같은 구간 다시 실행
+        List<StockSeries> rerun = pipeline.fetchAll(List.of("AAPL"), RANGES);
+
+        // then
+        assertThat(requestedRanges).isEmpty();
+        assertThat(rerun).hasSize(3);
+        assertThat(rerun.get(0).size()).isEqualTo(10);
+
+        // when - 하루 뒤 구간
+        List<FetchRange> nextDay = List.of(
+                new FetchRange(DataType.REFERENCE, "2024-11-05", "2024-11-11"),
+                new FetchRange(DataType.LIVE, "2024-11-12", "2024-11-12"),
+                new FetchRange(DataType.FORECAST, "2024-11-13", "2024-11-14")
+        );
+        List<StockSeries> shifted = pipeline.fetchAll(List.of("AAPL"), nextDay);
+
+        // then - 처음 보는 9~10일, 14일만 요청한다
+        assertThat(requestedRanges).containsExactlyInAnyOrder(
+                "AAPL 2024-11-09~2024-11-10",
+                "AAPL 2024-11-14~2024-11-14"
+        );
+        assertThat(shifted.get(0).size()).isEqualTo(14); // 5~11일 x 2개 (스텁은 주말에도 캔들을 준다)
+    }
+}
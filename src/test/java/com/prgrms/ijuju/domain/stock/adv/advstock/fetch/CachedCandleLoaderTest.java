@@ -0,0 +1,71 @@
+package com.prgrms.ijuju.domain.stock.adv.advstock.fetch;
+
+import com.prgrms.ijuju.domain.stock.adv.advstock.dto.PolygonCandles;
+import com.prgrms.ijuju.domain.stock.adv.advstock.fetch.CandleDiskStore.DaySlice;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachedCandleLoaderTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 11, 4);
+
+    // 주어진 날마다 14:30(UTC) 부터 1초 간격으로 perDay 개. 미국 장 기준으로도 같은 날이다
+    private static PolygonCandles candlesOn(List<LocalDate> days, int perDay) {
+        int size = days.size() * perDay;
+        double[] prices = new double[size];
+        long[] volumes = new long[size];
+        long[] timestamps = new long[size];
+        for (int i = 0; i < size; i++) {
+            timestamps[i] = days.get(i / perDay).atTime(14, 30).plusSeconds(i % perDay).toInstant(ZoneOffset.UTC).toEpochMilli();
+        }
+        return new PolygonCandles("OK", "AAPL", prices, prices, prices, prices, volumes, timestamps);
+    }
+
+    @Test
+    @DisplayName("빈 응답이면 주말만 빈 날로 남기고 평일은 저장하지 않는다")
+    void emptyResponseKeepsOnlyWeekends() {
+        // when - 월요일 ~ 다음주 월요일
+        TreeMap<LocalDate, DaySlice> slices = CachedCandleLoader.slicesToStore(
+                candlesOn(List.of(), 2), MONDAY, MONDAY.plusDays(7));
+
+        // then
+        assertThat(slices.keySet()).containsExactly(MONDAY.plusDays(5), MONDAY.plusDays(6));
+        assertThat(slices.values()).allMatch(slice -> slice.size() == 0);
+    }
+
+    @Test
+    @DisplayName("뒤에 캔들이 있는 평일은 휴일로 저장하고, 마지막 캔들 뒤의 평일은 저장하지 않는다")
+    void holidayBeforeLastCandleIsStored() {
+        // given - 화요일 휴일, 금요일은 아직 안 들어온 응답
+        PolygonCandles candles = candlesOn(List.of(MONDAY, MONDAY.plusDays(2), MONDAY.plusDays(3)), 2);
+
+        // when
+        TreeMap<LocalDate, DaySlice> slices = CachedCandleLoader.slicesToStore(candles, MONDAY, MONDAY.plusDays(4));
+
+        // then
+        assertThat(slices.keySet()).containsExactly(MONDAY, MONDAY.plusDays(1), MONDAY.plusDays(2), MONDAY.plusDays(3));
+        assertThat(slices.get(MONDAY)).isEqualTo(new DaySlice(0, 2));
+        assertThat(slices.get(MONDAY.plusDays(1))).isEqualTo(DaySlice.EMPTY);
+        assertThat(slices.get(MONDAY.plusDays(3))).isEqualTo(new DaySlice(4, 6));
+    }
+
+    @Test
+    @DisplayName("limit 에 걸려 잘렸을 수 있는 응답은 마지막 날과 그 뒤를 저장하지 않는다")
+    void truncatedResponseDropsLastDay() {
+        // given - 하루 2500개씩 2일 = 5000개
+        PolygonCandles candles = candlesOn(List.of(MONDAY, MONDAY.plusDays(1)), 2500);
+
+        // when
+        TreeMap<LocalDate, DaySlice> slices = CachedCandleLoader.slicesToStore(candles, MONDAY, MONDAY.plusDays(2));
+
+        // then
+        assertThat(slices.keySet()).containsExactly(MONDAY);
+    }
+}
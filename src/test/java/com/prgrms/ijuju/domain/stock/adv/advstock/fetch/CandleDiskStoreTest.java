@@ -0,0 +1,146 @@
+package com.prgrms.ijuju.domain.stock.adv.advstock.fetch;
+
+import com.prgrms.ijuju.domain.stock.adv.advstock.constant.DataType;
+import com.prgrms.ijuju.domain.stock.adv.advstock.dto.PolygonCandles;
+import com.prgrms.ijuju.domain.stock.adv.advstock.fetch.CandleDiskStore.DaySlice;
+import com.prgrms.ijuju.domain.stock.adv.advstock.snapshot.StockSeries;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CandleDiskStoreTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 11, 4);
+
+    @TempDir
+    Path directory;
+
+    // from 부터 count 일, 하루에 14:30, 15:30(UTC) 캔들 2개. 종가는 100 + 날짜순번, 100.5 + 날짜순번
+    private static PolygonCandles candles(LocalDate from, int count) {
+        int size = count * 2;
+        double[] open = new double[size];
+        double[] high = new double[size];
+        double[] low = new double[size];
+        double[] close = new double[size];
+        long[] volumes = new long[size];
+        long[] timestamps = new long[size];
+        for (int i = 0; i < size; i++) {
+            LocalDate day = from.plusDays(i / 2);
+            close[i] = 100 + i / 2 + (i % 2) * 0.5;
+            open[i] = close[i] - 1;
+            high[i] = close[i] + 1;
+            low[i] = close[i] - 2;
+            volumes[i] = 1000;
+            timestamps[i] = day.atTime(14 + i % 2, 30).toInstant(ZoneOffset.UTC).toEpochMilli();
+        }
+        return new PolygonCandles("OK", "AAPL", open, high, low, close, volumes, timestamps);
+    }
+
+    private static TreeMap<LocalDate, DaySlice> slices(LocalDate from, int count) {
+        TreeMap<LocalDate, DaySlice> slicesByDay = new TreeMap<>();
+        for (int i = 0; i < count; i++) {
+            slicesByDay.put(from.plusDays(i), new DaySlice(i * 2, i * 2 + 2));
+        }
+        return slicesByDay;
+    }
+
+    @Test
+    @DisplayName("저장한 캔들은 다시 열어도 날짜 순서대로 그대로 읽힌다")
+    void appendAndReopen() {
+        // given
+        CandleDiskStore store = new CandleDiskStore(directory.toString());
+        store.append("AAPL", "1hour", candles(MONDAY, 3), slices(MONDAY, 3));
+        store.append("AAPL", "1hour", candles(MONDAY, 0), new TreeMap<>(Map.of(MONDAY.plusDays(5), DaySlice.EMPTY))); // 장 없는 날
+        store.close();
+
+        // when
+        CandleDiskStore reopened = new CandleDiskStore(directory.toString());
+        StockSeries series = reopened.read("AAPL", "AAPL Name", DataType.REFERENCE, "1hour", MONDAY, MONDAY.plusDays(5));
+        List<LocalDate> missing = reopened.missingDays("AAPL", "1hour", MONDAY, MONDAY.plusDays(6));
+
+        // then
+        assertThat(series.size()).isEqualTo(6);
+        assertThat(series.closePrice(0)).isEqualTo(100);
+        assertThat(series.closePrice(5)).isEqualTo(102.5);
+        assertThat(series.highPrice(5)).isEqualTo(103.5);
+        assertThat(series.volume(3)).isEqualTo(1000);
+        assertThat(series.timestamp(1) - series.timestamp(0)).isEqualTo(3_600_000);
+        assertThat(missing).containsExactly(MONDAY.plusDays(3), MONDAY.plusDays(4), MONDAY.plusDays(6));
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("이미 저장된 날은 다시 덧붙여도 무시된다")
+    void appendIsIdempotentPerDay() {
+        // given
+        CandleDiskStore store = new CandleDiskStore(directory.toString());
+        store.append("AAPL", "1hour", candles(MONDAY, 2), slices(MONDAY, 2));
+
+        // when
+        store.append("AAPL", "1hour", candles(MONDAY, 3), slices(MONDAY, 3));
+
+        // then
+        StockSeries series = store.read("AAPL", "AAPL Name", DataType.LIVE, "1hour", MONDAY, MONDAY.plusDays(2));
+        assertThat(series.size()).isEqualTo(6);
+        store.close();
+    }
+
+    @Test
+    @DisplayName("파일이 여러 매핑 구역으로 나뉘어도 블록이 구역을 걸치지 않고 그대로 읽힌다")
+    void readsAcrossRegions() {
+        // given - 하루치 블록(12 + 2 * 48 = 108 bytes) 두개가 한 구역에 들어가지 않는 크기
+        CandleDiskStore store = new CandleDiskStore(directory.toString(), 200);
+        store.append("AAPL", "1hour", candles(MONDAY, 3), slices(MONDAY, 3));
+        store.append("AAPL", "1hour", candles(MONDAY.plusDays(3), 2), slices(MONDAY.plusDays(3), 2));
+
+        // when
+        StockSeries series = store.read("AAPL", "AAPL Name", DataType.REFERENCE, "1hour", MONDAY, MONDAY.plusDays(4));
+        store.close();
+        StockSeries reopened = new CandleDiskStore(directory.toString(), 200)
+                .read("AAPL", "AAPL Name", DataType.REFERENCE, "1hour", MONDAY, MONDAY.plusDays(4));
+
+        // then
+        assertThat(series.size()).isEqualTo(10);
+        assertThat(series.closePrice(4)).isEqualTo(102);
+        assertThat(series.closePrice(9)).isEqualTo(101.5);
+        assertThat(reopened.size()).isEqualTo(10);
+        assertThat(reopened.closePrice(9)).isEqualTo(101.5);
+    }
+
+    @Test
+    @DisplayName("마지막 블록이 잘려 있으면 잘라내고 그 날은 다시 받아야 할 날이 된다")
+    void truncatedTailIsDropped() throws IOException {
+        // given
+        CandleDiskStore store = new CandleDiskStore(directory.toString());
+        store.append("AAPL", "1hour", candles(MONDAY, 2), slices(MONDAY, 2));
+        store.close();
+
+        Path file = directory.resolve("AAPL_1hour.candles");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 10); // 둘째 날 쓰다가 죽은 상황
+        }
+
+        // when
+        CandleDiskStore reopened = new CandleDiskStore(directory.toString());
+
+        // then
+        assertThat(reopened.missingDays("AAPL", "1hour", MONDAY, MONDAY.plusDays(1))).containsExactly(MONDAY.plusDays(1));
+        assertThat(reopened.read("AAPL", "AAPL Name", DataType.LIVE, "1hour", MONDAY, MONDAY.plusDays(1)).size()).isEqualTo(2);
+
+        reopened.append("AAPL", "1hour", candles(MONDAY, 2), slices(MONDAY, 2));
+        assertThat(reopened.read("AAPL", "AAPL Name", DataType.LIVE, "1hour", MONDAY, MONDAY.plusDays(1)).size()).isEqualTo(4);
+        reopened.close();
+    }
+}
@@ -0,0 +1,214 @@
+package com.prgrms.ijuju.domain.stock.adv.stockrecord.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.prgrms.ijuju.domain.stock.adv.stockrecord.constant.TradeType;
+import com.prgrms.ijuju.domain.stock.adv.stockrecord.dto.request.StockRecordRequestDto;
+import com.prgrms.ijuju.domain.stock.adv.stockrecord.repository.StockRecordBatchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TradeJournalTest {
+
+    private static final long BAD_MEMBER_ID = 999L; // FK 위반을 흉내내는 회원
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final List<Long> savedMemberIds = new CopyOnWriteArrayList<>(); // 저장 스레드에서도 쓴다
+    private PlatformTransactionManager transactionManager;
+    private Path fallbackPath;
+
+    // true 면 DB 가 죽은 것처럼 타임아웃을 던진다. 몇 건 저장한 뒤에 죽게 하려면 savesBeforeDown 을 쓴다
+    private boolean databaseDown;
+    private int savesBeforeDown = Integer.MAX_VALUE;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        fallbackPath = directory.resolve("trade-journal.jsonl");
+    }
+
+    private TradeJournal journal(int batchSize) {
+        StockRecordBatchRepository batchRepository = new StockRecordBatchRepository(mock(DataSource.class), 3) {
+            @Override
+            public void insertAll(List<PendingTrade> trades) {
+                if (databaseDown || savesBeforeDown <= 0) {
+                    throw new QueryTimeoutException("DB 응답 없음");
+                }
+                if (trades.stream().anyMatch(trade -> trade.memberId() == BAD_MEMBER_ID)) {
+                    throw new DataIntegrityViolationException("FK 위반");
+                }
+                savesBeforeDown--;
+                trades.forEach(trade -> savedMemberIds.add(trade.memberId()));
+            }
+        };
+        return new TradeJournal(batchRepository, transactionManager, objectMapper,
+                batchSize, 200, 1_000, fallbackPath.toString());
+    }
+
+    private static StockRecordRequestDto trade(long memberId) {
+        return StockRecordRequestDto.builder()
+                .memberId(memberId)
+                .advId(1L)
+                .stockSymbol("AAPL")
+                .tradeType(TradeType.BUY)
+                .quantity(1)
+                .price(BigDecimal.valueOf(100))
+                .build();
+    }
+
+    private void writeFallback(long... memberIds) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (long memberId : memberIds) {
+            lines.append(objectMapper.writeValueAsString(PendingTrade.of(trade(memberId)))).append('\n');
+        }
+        Files.writeString(fallbackPath, lines);
+    }
+
+    private List<Long> memberIdsIn(Path path) throws IOException {
+        List<Long> memberIds = new ArrayList<>();
+        for (String line : Files.readAllLines(path)) {
+            memberIds.add(objectMapper.readValue(line, PendingTrade.class).memberId());
+        }
+        return memberIds;
+    }
+
+    @Test
+    @DisplayName("append 한 거래는 flush 가 끝나면 DB 에 저장되어 있다")
+    void flushWritesAppendedTrades() {
+        // given
+        TradeJournal journal = journal(2);
+        journal.append(trade(1L));
+        journal.append(trade(2L));
+        journal.append(trade(3L));
+
+        // when
+        journal.flush();
+
+        // then
+        assertThat(savedMemberIds).containsExactly(1L, 2L, 3L);
+        assertThat(fallbackPath).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("DB 저장에 실패한 거래는 비상용 파일에 남는다")
+    void failedFlushGoesToFallbackFile() throws IOException {
+        // given
+        TradeJournal journal = journal(10);
+        databaseDown = true;
+        journal.append(trade(1L));
+        journal.append(trade(2L));
+
+        // when
+        journal.flush();
+
+        // then
+        assertThat(savedMemberIds).isEmpty();
+        assertThat(memberIdsIn(fallbackPath)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("DB 가 살아나면 비상용 파일의 거래를 저장하고 파일을 지운다")
+    void replaySavesFallbackAndDeletesFile() throws IOException {
+        // given
+        writeFallback(1L, 2L, 3L);
+
+        // when
+        journal(2).replayFallbackIfNeeded();
+
+        // then
+        assertThat(savedMemberIds).containsExactly(1L, 2L, 3L);
+        assertThat(fallbackPath).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("저장 스레드는 비상용 파일의 거래를 새로 들어온 거래보다 먼저 저장한다")
+    void flusherReplaysFallbackBeforeNewTrades() throws IOException, InterruptedException {
+        // given - DB 가 죽었을 때 남은 매수 뒤에 매도가 들어왔다
+        writeFallback(1L);
+        TradeJournal journal = journal(10);
+        journal.append(trade(2L));
+
+        // when
+        journal.start();
+        try {
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (savedMemberIds.size() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            journal.shutdown();
+        }
+
+        // then
+        assertThat(savedMemberIds).containsExactly(1L, 2L);
+        assertThat(fallbackPath).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("저장할 수 없는 거래는 dead-letter 파일로 옮기고 나머지는 저장한다")
+    void badRowGoesToDeadLetter() throws IOException {
+        // given
+        writeFallback(1L, BAD_MEMBER_ID, 3L, 4L);
+        Files.writeString(fallbackPath, "not json\n", StandardOpenOption.APPEND);
+
+        // when
+        journal(2).replayFallbackIfNeeded();
+
+        // then
+        assertThat(savedMemberIds).containsExactly(1L, 3L, 4L);
+        assertThat(fallbackPath).doesNotExist();
+        List<String> deadLetters = Files.readAllLines(Path.of(fallbackPath + ".dead"));
+        assertThat(deadLetters).hasSize(2);
+        assertThat(deadLetters.get(0)).contains("\"memberId\":" + BAD_MEMBER_ID);
+        assertThat(deadLetters.get(1)).isEqualTo("not json");
+    }
+
+    @Test
+    @DisplayName("재처리 중 DB 가 죽으면 저장된 묶음만 파일에서 빠지고 나머지는 다음에 다시 처리한다")
+    void replayKeepsOnlyUnsavedRowsWhenDatabaseFails() throws IOException {
+        // given
+        writeFallback(1L, 2L, 3L, 4L, 5L);
+        savesBeforeDown = 1; // 첫 묶음만 저장되고 죽는다
+
+        // when
+        journal(2).replayFallbackIfNeeded();
+
+        // then
+        assertThat(savedMemberIds).containsExactly(1L, 2L);
+        assertThat(memberIdsIn(fallbackPath)).containsExactly(3L, 4L, 5L);
+        assertThat(Path.of(fallbackPath + ".dead")).doesNotExist();
+
+        // when - DB 가 살아난 뒤 다시 시작
+        savesBeforeDown = Integer.MAX_VALUE;
+        journal(2).replayFallbackIfNeeded();
+
+        // then
+        assertThat(savedMemberIds).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(fallbackPath).doesNotExist();
+    }
+}
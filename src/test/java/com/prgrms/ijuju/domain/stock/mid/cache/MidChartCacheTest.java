@@ -0,0 +1,88 @@
+package com.prgrms.ijuju.domain.stock.mid.cache;
+
+import com.prgrms.ijuju.domain.stock.mid.entity.MidStock;
+import com.prgrms.ijuju.domain.stock.mid.entity.MidStockPrice;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockPriceRepository;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class MidChartCacheTest {
+
+    @Autowired
+    private MidChartCache midChartCache;
+
+    @Autowired
+    private MidStockRepository midStockRepository;
+
+    @Autowired
+    private MidStockPriceRepository midStockPriceRepository;
+
+    private MidStock stock;
+
+    @BeforeEach
+    void setUp() {
+        midChartCache.evictAll();
+        stock = midStockRepository.save(new MidStock("테스트주식"));
+        for (int i = 0; i < 3; i++) {
+            savePrice(1000L + i * 100, LocalDateTime.now().minusDays(i));
+        }
+    }
+
+    @Test
+    @DisplayName("한번 읽은 차트는 가격이 바뀌어도 rebuildAll 전까지 같은 ETag 로 캐시에서 나간다")
+    void readThrough() {
+        // given
+        MidChartCache.Chart first = midChartCache.get(stock.getId());
+        savePrice(5000L, LocalDateTime.now().minusDays(5));
+
+        // when
+        MidChartCache.Chart second = midChartCache.get(stock.getId());
+
+        // then
+        assertThat(first.size()).isEqualTo(3);
+        assertThat(second).isSameAs(first);
+        assertThat(first.avgPrices()).containsExactly(1200L, 1100L, 1000L);
+        assertThat(new String(first.json(), StandardCharsets.UTF_8)).contains("\"avgPrice\":1200");
+    }
+
+    @Test
+    @DisplayName("rebuildAll 은 새 가격을 반영하고 ETag 를 바꾼다")
+    void rebuildAll() {
+        // given
+        MidChartCache.Chart before = midChartCache.get(stock.getId());
+        savePrice(5000L, LocalDateTime.now().minusDays(5));
+
+        // when
+        midChartCache.rebuildAll();
+        MidChartCache.Chart after = midChartCache.get(stock.getId());
+
+        // then
+        assertThat(after.size()).isEqualTo(4);
+        assertThat(after.avgPrices()[0]).isEqualTo(5000L);
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+    }
+
+    private void savePrice(long avgPrice, LocalDateTime date) {
+        midStockPriceRepository.save(MidStockPrice.builder()
+                .midStock(stock)
+                .highPrice(avgPrice + 50)
+                .lowPrice(avgPrice - 50)
+                .avgPrice(avgPrice)
+                .priceDate(date)
+                .build());
+    }
+}
@@ -0,0 +1,50 @@
+package com.prgrms.ijuju.domain.stock.mid.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MidTradeGateTest {
+
+    private final MidTradeGate gate = new MidTradeGate(7);
+
+    @Test
+    @DisplayName("처음 보는 회원과 종목은 캐시에 없어서 DB 에서 읽어야 한다")
+    void findMiss() {
+        // when
+        MidTradeGate.Marks marks = gate.find(1L, 1L);
+
+        // then
+        assertThat(marks).isNull();
+    }
+
+    @Test
+    @DisplayName("DB 에서 읽어 채운 뒤에는 캐시에서 바로 답한다")
+    void loadThenFind() {
+        // given
+        gate.load(1L, 1L, true, false);
+
+        // when
+        MidTradeGate.Marks marks = gate.find(1L, 1L);
+
+        // then
+        assertThat(marks.bought()).isTrue();
+        assertThat(marks.sold()).isFalse();
+        assertThat(gate.find(1L, 2L)).isNull();
+    }
+
+    @Test
+    @DisplayName("DB 를 읽는 사이에 커밋된 매도 표시는 늦게 채운 값에 덮이지 않는다")
+    void markSurvivesLateLoad() {
+        // given
+        gate.markSold(1L, 1L);
+
+        // when
+        MidTradeGate.Marks marks = gate.load(1L, 1L, true, false);
+
+        // then
+        assertThat(marks.bought()).isTrue();
+        assertThat(marks.sold()).isTrue();
+    }
+}
@@ -0,0 +1,92 @@
+package com.prgrms.ijuju.domain.stock.mid.price;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MidPriceEngineTest {
+
+    private static final List<PriceModel> MODELS = List.of(
+            new BandRulePriceModel(),
+            new GeometricBrownianPriceModel(0.01, 0.03),
+            new MeanRevertingPriceModel(0.2, 0.03)
+    );
+
+    @Test
+    @DisplayName("모든 모델이 ±5%, 최소 가격, 고가 <= 저가 1.2배 규칙을 지킨다")
+    void everyModelStaysInBand() {
+        for (PriceModel model : MODELS) {
+            // given
+            MidPriceEngine engine = new MidPriceEngine(model, new SplittableRandom(42));
+            List<PriceSeed> seeds = List.of(
+                    new PriceSeed(100, 10, 100),
+                    new PriceSeed(10_000, 500, 10_000),
+                    new PriceSeed(1_000_000, 10_000, 50_000) // 기준 가격이 한참 아래
+            );
+
+            // when
+            MidPriceQuote[][] quotes = engine.generate(seeds, 1_000);
+
+            // then
+            for (int stock = 0; stock < seeds.size(); stock++) {
+                long lastAvgPrice = seeds.get(stock).lastAvgPrice();
+                long baseMinPrice = seeds.get(stock).baseMinPrice();
+                for (MidPriceQuote quote : quotes[stock]) {
+                    assertThat(Math.abs(quote.avgPrice() - lastAvgPrice)).isLessThanOrEqualTo((long) (lastAvgPrice * 0.05));
+                    assertThat(quote.lowPrice()).isGreaterThanOrEqualTo(baseMinPrice);
+                    assertThat(quote.highPrice()).isGreaterThan(quote.lowPrice());
+                    assertThat(quote.highPrice() * 10).isLessThanOrEqualTo(Math.max((quote.lowPrice() + 1) * 10, quote.lowPrice() * 12));
+                    assertThat(quote.avgPrice()).isEqualTo((quote.lowPrice() + quote.highPrice()) / 2);
+                    lastAvgPrice = quote.avgPrice();
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("같은 seed 면 같은 가격이 나온다")
+    void sameSeedSamePrices() {
+        // given
+        List<PriceSeed> seeds = List.of(new PriceSeed(10_000, 500, 10_000));
+
+        // when
+        MidPriceQuote[][] first = new MidPriceEngine(new GeometricBrownianPriceModel(0, 0.02), new SplittableRandom(7)).generate(seeds, 30);
+        MidPriceQuote[][] second = new MidPriceEngine(new GeometricBrownianPriceModel(0, 0.02), new SplittableRandom(7)).generate(seeds, 30);
+
+        // then
+        assertThat(first[0]).containsExactly(second[0]);
+    }
+
+    @Test
+    @Timeout(1)
+    @DisplayName("직전 평균 가격이 최소 가격보다 한참 낮아도 바로 끝난다")
+    void lastPriceBelowMinimum() {
+        // given : 예전 while (true) 에서는 끝나지 않던 경우
+        MidPriceEngine engine = new MidPriceEngine(new BandRulePriceModel(), new SplittableRandom(1));
+
+        // when
+        MidPriceQuote quote = engine.next(new PriceSeed(100, 10_000, 1_000_000));
+
+        // then
+        assertThat(quote.avgPrice()).isEqualTo(10_000);
+        assertThat(quote.lowPrice()).isGreaterThanOrEqualTo(10_000);
+    }
+
+    @Test
+    @DisplayName("잘라낸 정규 분포는 꼬리 쪽 범위에서도 범위 안의 값을 돌려준다")
+    void truncatedNormalInTail() {
+        // given
+        SplittableRandom random = new SplittableRandom(3);
+
+        // when & then : 평균이 범위에서 15 표준편차 떨어진 경우
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(PriceBand.truncatedNormal(0.3, 0.02, -0.05, 0.05, random)).isBetween(-0.05, 0.05);
+            assertThat(PriceBand.truncatedNormal(-0.3, 0.02, -0.05, 0.05, random)).isBetween(-0.05, 0.05);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.prgrms.ijuju.domain.stock.mid.repository;
+
+import com.prgrms.ijuju.domain.member.entity.Member;
+import com.prgrms.ijuju.domain.member.entity.Role;
+import com.prgrms.ijuju.domain.member.repository.MemberRepository;
+import com.prgrms.ijuju.domain.stock.mid.entity.MidStock;
+import com.prgrms.ijuju.domain.stock.mid.entity.MidStockHolding;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class MidStockHoldingRepositoryTest {
+
+    @Autowired
+    private MidStockHoldingRepository midStockHoldingRepository;
+
+    @Autowired
+    private MidStockRepository midStockRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    private Member member;
+    private MidStock stock;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        member = memberRepository.save(Member.builder()
+                .loginId("midtest")
+                .pw("test1234@")
+                .username("midtest")
+                .email("mid@test.com")
+                .birth(LocalDate.parse("2000-01-01"))
+                .role(Role.USER)
+                .build());
+        stock = midStockRepository.save(new MidStock("테스트주식"));
+        today = LocalDate.now();
+    }
+
+    @Test
+    @DisplayName("여러번 사면 투자 포인트로 가중한 평균 매수가로 합쳐지고, 팔면 거래별로 계산한 것과 같은 포인트를 받는다")
+    void buyAndSellAll() {
+        // given
+        MidStockHolding holding = midStockHoldingRepository.save(MidStockHolding.builder()
+                .member(member)
+                .midStock(stock)
+                .build());
+
+        // when
+        holding.buy(1000L, 100L, today.minusDays(1));
+        holding.buy(3000L, 200L, today);
+        long points = holding.sellAll(150L, today);
+
+        // then
+        // 1000 * 150 / 100 + 3000 * 150 / 200 = 1500 + 2250
+        assertThat(points).isEqualTo(3750L);
+        assertThat(holding.isHolding()).isFalse();
+        assertThat(holding.getLastTradeDay()).isEqualTo(today);
+    }
+
+    @Test
+    @DisplayName("보유 행이 이미 있으면 insertIfAbsent 는 예외 없이 아무것도 하지 않는다")
+    void insertIfAbsentIsIdempotent() {
+        // when
+        int first = midStockHoldingRepository.insertIfAbsent(member.getId(), stock.getId());
+        int second = midStockHoldingRepository.insertIfAbsent(member.getId(), stock.getId());
+
+        // then
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isZero();
+        assertThat(midStockHoldingRepository.findForUpdate(member.getId(), stock.getId()))
+                .hasValueSatisfying(holding -> assertThat(holding.isHolding()).isFalse());
+    }
+
+    @Test
+    @DisplayName("보유 주식 조회는 들고 있는 종목만 종목당 한 행으로 가져온다")
+    void findAllHolding() {
+        // given
+        MidStock soldStock = midStockRepository.save(new MidStock("판주식"));
+        MidStockHolding holding = midStockHoldingRepository.save(MidStockHolding.builder()
+                .member(member)
+                .midStock(stock)
+                .build());
+        holding.buy(1000L, 100L, today);
+        holding.buy(500L, 125L, today);
+        MidStockHolding sold = midStockHoldingRepository.save(MidStockHolding.builder()
+                .member(member)
+                .midStock(soldStock)
+                .build());
+        sold.buy(1000L, 100L, today);
+        sold.sellAll(120L, today);
+
+        // when
+        List<MidStockHolding> holdings = midStockHoldingRepository.findAllHolding(member.getId());
+
+        // then
+        assertThat(holdings).hasSize(1);
+        assertThat(holdings.get(0).getMidStock().getId()).isEqualTo(stock.getId());
+        assertThat(holdings.get(0).getInvestedPoints()).isEqualTo(1500L);
+        // 1500 / (10 + 4)
+        assertThat(holdings.get(0).getEntryPrice()).isCloseTo(1500.0 / 14, within(1e-9));
+    }
+}
@@ -2,6 +2,9 @@ package com.prgrms.ijuju.domain.stock.mid.repository;
 
 import com.prgrms.ijuju.domain.stock.mid.entity.MidStock;
 import com.prgrms.ijuju.domain.stock.mid.entity.MidStockPrice;
+import com.prgrms.ijuju.domain.stock.mid.price.MidPriceQuote;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockPriceBatchRepository.NewPrice;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockPriceRepository.LatestAvgPrice;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,7 +20,9 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -31,6 +36,9 @@ class MidStockPriceRepositoryTest {
     @Autowired
     private MidStockRepository midStockRepository;
 
+    @Autowired
+    private MidStockPriceBatchRepository midStockPriceBatchRepository;
+
     private MidStock stock;
     private LocalDateTime now;
 
@@ -121,6 +129,55 @@ class MidStockPriceRepositoryTest {
         assertThat(latestPrice.get().getPriceDate()).isEqualTo(now);
     }
 
+    @Test
+    @DisplayName("주식마다 최신 평균 가격을 한번에 조회한다")
+    void findLatestAvgPrices() {
+        // given
+        MidStock other = midStockRepository.save(new MidStock("다른주식"));
+        midStockPriceRepository.save(priceOf(stock, 950L, now.minusDays(1)));
+        midStockPriceRepository.save(priceOf(stock, 1050L, now));
+        midStockPriceRepository.save(priceOf(other, 500L, now.minusDays(2)));
+        midStockPriceRepository.save(priceOf(other, 450L, now.minusDays(3)));
+
+        // when
+        Map<Long, Long> latest = midStockPriceRepository.findLatestAvgPrices().stream()
+                .collect(Collectors.toMap(LatestAvgPrice::getStockId, LatestAvgPrice::getAvgPrice));
+
+        // then
+        assertThat(latest).containsEntry(stock.getId(), 1050L);
+        assertThat(latest).containsEntry(other.getId(), 500L);
+    }
+
+    @Test
+    @DisplayName("새 가격을 batch 로 한번에 저장한다")
+    void insertAll() {
+        // given
+        MidStock other = midStockRepository.save(new MidStock("다른주식"));
+        List<NewPrice> prices = List.of(
+                new NewPrice(stock.getId(), new MidPriceQuote(900L, 1000L, 950L), now),
+                new NewPrice(other.getId(), new MidPriceQuote(400L, 600L, 500L), now));
+
+        // when
+        midStockPriceBatchRepository.insertAll(prices);
+
+        // then
+        List<MidStockPrice> saved = midStockPriceRepository.findByMidStockId(other.getId());
+        assertThat(saved).hasSize(1);
+        assertThat(saved.get(0).getAvgPrice()).isEqualTo(500L);
+        assertThat(saved.get(0).getCreatedAt()).isNotNull();
+        assertThat(midStockPriceRepository.findByMidStockId(stock.getId())).hasSize(1);
+    }
+
+    private static MidStockPrice priceOf(MidStock stock, long avgPrice, LocalDateTime date) {
+        return MidStockPrice.builder()
+                .midStock(stock)
+                .highPrice(avgPrice + 50)
+                .lowPrice(avgPrice - 50)
+                .avgPrice(avgPrice)
+                .priceDate(date)
+                .build();
+    }
+
 //    @Test
 //    @DisplayName("가격 이력을 페이징하여 조회한다")
 //    void findPriceHistory() {
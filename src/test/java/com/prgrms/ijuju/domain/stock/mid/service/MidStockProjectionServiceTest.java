@@ -0,0 +1,35 @@
+package com.prgrms.ijuju.domain.stock.mid.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.prgrms.ijuju.domain.stock.mid.cache.MidFuturePriceCache.HORIZON_DAYS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MidStockProjectionServiceTest {
+
+    @Test
+    @DisplayName("보유 종목마다 날짜별로 팔면 받는 포인트를 만들고 합계를 낸다")
+    void project() {
+        // given
+        long[] avgPrices = new long[HORIZON_DAYS];
+        for (int day = 0; day < HORIZON_DAYS; day++) {
+            avgPrices[day] = 100L + day * 10;
+        }
+        int[] rows = {0, -1};
+        double[] units = {10.0, 0.0};
+        long[] invested = {1000L, 500L};
+        long[][] values = new long[2][];
+        long[] totalValues = new long[HORIZON_DAYS];
+
+        // when
+        MidStockProjectionService.project(avgPrices, 2, rows, units, invested, values, totalValues);
+
+        // then
+        assertThat(values[0][0]).isEqualTo(1000L);
+        assertThat(values[0][HORIZON_DAYS - 1]).isEqualTo(10L * (100 + (HORIZON_DAYS - 1) * 10));
+        // 미래 가격이 없는 종목은 투자한 포인트 그대로
+        assertThat(values[1]).containsOnly(500L);
+        assertThat(totalValues[3]).isEqualTo(1300L + 500L);
+    }
+}
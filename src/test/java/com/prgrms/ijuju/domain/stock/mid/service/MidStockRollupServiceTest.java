@@ -0,0 +1,130 @@
+package com.prgrms.ijuju.domain.stock.mid.service;
+
+import com.prgrms.ijuju.domain.stock.mid.dto.response.MidStockCandleResponse;
+import com.prgrms.ijuju.domain.stock.mid.entity.CandleResolution;
+import com.prgrms.ijuju.domain.stock.mid.entity.MidStock;
+import com.prgrms.ijuju.domain.stock.mid.entity.MidStockCandle;
+import com.prgrms.ijuju.domain.stock.mid.entity.MidStockPrice;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockCandleRepository;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockPriceRepository;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class MidStockRollupServiceTest {
+
+    private static final int WEEK_RETENTION_WEEKS = 104; // mid.rollup.week-retention-weeks 기본값
+
+    @Autowired
+    private MidStockRollupService midStockRollupService;
+
+    @Autowired
+    private MidStockRepository midStockRepository;
+
+    @Autowired
+    private MidStockPriceRepository midStockPriceRepository;
+
+    @Autowired
+    private MidStockCandleRepository midStockCandleRepository;
+
+    @Test
+    @DisplayName("지난 날 가격을 주/월 OHLC 로 접고, 다시 돌려도 같은 날을 두번 접지 않는다")
+    void rollup() {
+        // given
+        MidStock stock = midStockRepository.save(new MidStock("테스트주식"));
+        LocalDate today = LocalDate.now();
+        long[] avgPrices = {100L, 120L, 90L};
+        for (int i = 0; i < avgPrices.length; i++) {
+            midStockPriceRepository.save(MidStockPrice.builder()
+                    .midStock(stock)
+                    .highPrice(avgPrices[i] + 10)
+                    .lowPrice(avgPrices[i] - 10)
+                    .avgPrice(avgPrices[i])
+                    .priceDate(today.minusDays(avgPrices.length - i).atTime(0, 1))
+                    .build());
+        }
+        // 오늘 가격은 아직 끝나지 않은 날이라 접지 않는다
+        midStockPriceRepository.save(MidStockPrice.builder()
+                .midStock(stock)
+                .highPrice(1000L)
+                .lowPrice(1L)
+                .avgPrice(500L)
+                .priceDate(today.atTime(0, 1))
+                .build());
+
+        // when
+        midStockRollupService.rollup();
+        midStockRollupService.rollup();
+
+        // then
+        for (CandleResolution resolution : List.of(CandleResolution.WEEK, CandleResolution.MONTH)) {
+            List<MidStockCandle> candles = midStockCandleRepository.findRange(stock.getId(), resolution, today.minusMonths(2), today);
+            MidStockCandleResponse total = MidStockCandleResponse.merge(candles.stream().map(MidStockCandleResponse::of).toList());
+            assertThat(total.openPrice()).isEqualTo(100L);
+            assertThat(total.closePrice()).isEqualTo(90L);
+            assertThat(total.highPrice()).isEqualTo(130L);
+            assertThat(total.lowPrice()).isEqualTo(80L);
+            assertThat(candles).allMatch(candle -> candle.getLastDay().isBefore(today));
+        }
+    }
+
+    @Test
+    @DisplayName("기간이 길수록 성긴 단위를 골라 1년 차트도 점이 60개를 넘지 않는다")
+    void pickResolution() {
+        // given
+        LocalDate today = LocalDate.of(2024, 12, 31);
+
+        // when & then
+        assertThat(MidStockRollupService.pickResolution(today.minusDays(10), today, today, WEEK_RETENTION_WEEKS)).isEqualTo(CandleResolution.DAY);
+        assertThat(MidStockRollupService.pickResolution(today.minusDays(30), today, today, WEEK_RETENTION_WEEKS)).isEqualTo(CandleResolution.WEEK);
+        assertThat(MidStockRollupService.pickResolution(today.minusYears(1), today, today, WEEK_RETENTION_WEEKS)).isEqualTo(CandleResolution.WEEK);
+        assertThat(CandleResolution.WEEK.bucketsBetween(today.minusYears(1), today)).isLessThanOrEqualTo(60);
+        assertThat(MidStockRollupService.pickResolution(today.minusYears(3), today, today, WEEK_RETENTION_WEEKS)).isEqualTo(CandleResolution.MONTH);
+    }
+
+    @Test
+    @DisplayName("주 단위 보관 기간보다 오래된 구간은 짧아도 월 단위로 보여준다")
+    void pickResolutionBeyondWeekRetention() {
+        // given
+        LocalDate today = LocalDate.of(2024, 12, 31);
+        LocalDate from = today.minusYears(3);
+
+        // when
+        CandleResolution resolution = MidStockRollupService.pickResolution(from, from.plusWeeks(4), today, WEEK_RETENTION_WEEKS);
+
+        // then
+        assertThat(CandleResolution.WEEK.bucketsBetween(from, from.plusWeeks(4))).isLessThanOrEqualTo(60);
+        assertThat(resolution).isEqualTo(CandleResolution.MONTH);
+    }
+
+    @Test
+    @DisplayName("월 단위로도 점이 60개를 넘으면 이어진 점을 묶어 줄인다")
+    void downsample() {
+        // given
+        List<MidStockCandleResponse> candles = new ArrayList<>();
+        LocalDate month = LocalDate.of(2014, 1, 1);
+        for (int i = 0; i < 120; i++) {
+            candles.add(new MidStockCandleResponse(month.plusMonths(i), (long) i, i + 10L, (long) i, i + 1L));
+        }
+
+        // when
+        List<MidStockCandleResponse> sampled = MidStockRollupService.downsample(candles, 60);
+
+        // then
+        assertThat(sampled).hasSize(60);
+        assertThat(sampled.get(0)).isEqualTo(new MidStockCandleResponse(month, 0L, 11L, 0L, 2L));
+    }
+}
@@ -0,0 +1,238 @@
+package com.prgrms.ijuju.domain.stock.mid.service;
+
+import com.prgrms.ijuju.domain.member.entity.Member;
+import com.prgrms.ijuju.domain.member.entity.Role;
+import com.prgrms.ijuju.domain.member.repository.MemberRepository;
+import com.prgrms.ijuju.domain.stock.mid.config.MidHoldingBackfill;
+import com.prgrms.ijuju.domain.stock.mid.config.MidTradeDayBackfill;
+import com.prgrms.ijuju.domain.stock.mid.entity.MidStock;
+import com.prgrms.ijuju.domain.stock.mid.entity.MidStockHolding;
+import com.prgrms.ijuju.domain.stock.mid.entity.MidStockPrice;
+import com.prgrms.ijuju.domain.stock.mid.entity.MidStockTrade;
+import com.prgrms.ijuju.domain.stock.mid.entity.TradeType;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockHoldingRepository;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockPriceRepository;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockRepository;
+import com.prgrms.ijuju.domain.stock.mid.repository.MidStockTradeRepository;
+import com.prgrms.ijuju.domain.wallet.entity.Wallet;
+import com.prgrms.ijuju.domain.wallet.repository.WalletRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class MidStockTradeServiceTest {
+
+    @Autowired
+    private MidStockTradeService midStockTradeService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private WalletRepository walletRepository;
+
+    @Autowired
+    private MidStockRepository midStockRepository;
+
+    @Autowired
+    private MidStockPriceRepository midStockPriceRepository;
+
+    @Autowired
+    private MidStockTradeRepository midStockTradeRepository;
+
+    @Autowired
+    private MidStockHoldingRepository midStockHoldingRepository;
+
+    @Autowired
+    private MidHoldingBackfill midHoldingBackfill;
+
+    @Autowired
+    private MidTradeDayBackfill midTradeDayBackfill;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private MidStock stock;
+    private int members;
+
+    @BeforeEach
+    void setUp() {
+        stock = midStockRepository.save(new MidStock("테스트주식"));
+        midStockPriceRepository.save(MidStockPrice.builder()
+                .midStock(stock)
+                .highPrice(160L)
+                .lowPrice(140L)
+                .avgPrice(150L)
+                .priceDate(LocalDate.now().atTime(0, 1))
+                .build());
+    }
+
+    @Test
+    @DisplayName("매수가 1건이든 30건이든 매도 SQL 수는 같고, 받는 포인트는 거래별로 계산한 합과 같다")
+    void sellStatementCountIsConstant() {
+        // given
+        Member one = memberWithBuys(1, true);
+        Member many = memberWithBuys(30, true);
+
+        // when
+        long oneStatements = countSellStatements(one);
+        long manyStatements = countSellStatements(many);
+
+        // then
+        assertThat(manyStatements).isEqualTo(oneStatements);
+        assertThat(midStockTradeRepository.findBuyMidStock(many.getId(), stock.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("보유 행이 없던 예전 매수도 합계 쿼리 한번으로 팔아서 SQL 수가 매수 건수와 상관없다")
+    void sellWithoutHoldingStatementCountIsConstant() {
+        // given
+        Member one = memberWithBuys(1, false);
+        Member many = memberWithBuys(30, false);
+
+        // when
+        long oneStatements = countSellStatements(one);
+        long manyStatements = countSellStatements(many);
+
+        // then
+        assertThat(manyStatements).isEqualTo(oneStatements);
+    }
+
+    @Test
+    @DisplayName("매도하면 투자한 포인트에 오늘 가격 / 매수 가격을 곱한 만큼 받는다")
+    void sellPoints() {
+        // given
+        Member member = memberWithBuys(3, false);
+
+        // when
+        Map<String, Long> result = midStockTradeService.sellStock(member.getId(), stock.getId());
+
+        // then
+        // 매수 3건: 1000 포인트씩 100, 101, 102 에 샀다
+        long expected = Math.round(150.0 * (1000.0 / 100 + 1000.0 / 101 + 1000.0 / 102));
+        assertThat(result.get("totalPoints")).isEqualTo(expected);
+        assertThat(result.get("earnedPoints")).isEqualTo(expected - 3000L);
+    }
+
+    @Test
+    @DisplayName("보유 행이 없던 예전 매수는 시작 작업이 BUY 거래 합계로 보유 행을 만들어 보유 주식 조회에 나온다")
+    void backfillCreatesHoldingForLegacyBuys() {
+        // given
+        Member legacy = memberWithBuys(3, false);
+        Member current = memberWithBuys(2, true);
+        em.flush();
+        em.clear();
+
+        // when
+        midHoldingBackfill.backfill();
+        midHoldingBackfill.backfill(); // 두번 돌려도 한 행만 생긴다
+        em.flush();
+        em.clear();
+
+        // then
+        List<MidStockHolding> holdings = midStockHoldingRepository.findAllHolding(legacy.getId());
+        assertThat(holdings).hasSize(1);
+        assertThat(holdings.get(0).getInvestedPoints()).isEqualTo(3000L);
+        assertThat(holdings.get(0).getUnits()).isCloseTo(1000.0 / 100 + 1000.0 / 101 + 1000.0 / 102, within(1e-9));
+        assertThat(midStockHoldingRepository.findAllHolding(current.getId()))
+                .singleElement()
+                .extracting(MidStockHolding::getInvestedPoints)
+                .isEqualTo(2000L);
+    }
+
+    @Test
+    @DisplayName("날짜 컬럼이 생기기 전에 오늘 사고 판 거래도 시작 작업이 날짜를 채워 하루 한번 확인에 걸린다")
+    void backfillTradeDaysForLegacyTrades() {
+        // given - 오늘 산 종목 하나, 오늘 다 판 종목 하나. 둘 다 날짜 컬럼이 비어 있다
+        Member bought = memberWithBuys(1, false);
+        Member sold = memberWithBuys(1, false);
+        midStockTradeRepository.sellAllBuyMidStock(sold.getId(), stock.getId());
+        em.flush();
+        em.createNativeQuery("UPDATE mid_stock_trade SET trade_day = NULL, created_at = CURRENT_TIMESTAMP, updated_at = CURRENT_TIMESTAMP")
+                .executeUpdate();
+        em.clear();
+        LocalDate today = LocalDate.now();
+
+        // when
+        midHoldingBackfill.backfill();
+        midTradeDayBackfill.backfill();
+        em.flush();
+        em.clear();
+
+        // then
+        assertThat(midStockTradeRepository.existsBuyOn(bought.getId(), stock.getId(), today)).isTrue();
+        assertThat(midStockHoldingRepository.existsSellOn(sold.getId(), stock.getId(), today)).isTrue();
+        assertThat(midStockHoldingRepository.existsSellOn(bought.getId(), stock.getId(), today)).isFalse();
+        assertThat(midStockHoldingRepository.findAllHolding(sold.getId())).isEmpty();
+    }
+
+    private long countSellStatements(Member member) {
+        em.flush();
+        em.clear();
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        midStockTradeService.sellStock(member.getId(), stock.getId());
+        em.flush();
+
+        long count = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        return count;
+    }
+
+    // withHolding 이 false 면 보유 행이 생기기 전에 산 것처럼 거래 내역만 만든다
+    private Member memberWithBuys(int buys, boolean withHolding) {
+        members++;
+        Member member = memberRepository.save(Member.builder()
+                .loginId("midsell" + members)
+                .pw("test1234@")
+                .username("midsell" + members)
+                .email("midsell" + members + "@test.com")
+                .birth(LocalDate.parse("2000-01-01"))
+                .role(Role.USER)
+                .build());
+        walletRepository.save(Wallet.builder().member(member).currentPoints(0L).currentCoins(0L).build());
+
+        MidStockHolding holding = MidStockHolding.builder()
+                .member(member)
+                .midStock(stock)
+                .build();
+        for (int i = 0; i < buys; i++) {
+            long pricePerStock = 100L + i;
+            midStockTradeRepository.save(MidStockTrade.builder()
+                    .midStock(stock)
+                    .member(member)
+                    .tradePoint(1000L)
+                    .pricePerStock(pricePerStock)
+                    .tradeType(TradeType.BUY)
+                    .build());
+            holding.buy(1000L, pricePerStock, LocalDate.now().minusDays(1));
+        }
+        if (withHolding) {
+            midStockHoldingRepository.save(holding);
+        }
+        return member;
+    }
+}
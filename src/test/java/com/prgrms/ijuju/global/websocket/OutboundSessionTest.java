@@ -0,0 +1,111 @@
+package com.prgrms.ijuju.global.websocket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboundSessionTest {
+
+    private WebSocketSession session;
+    private final List<String> delivered = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstSendStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseSends = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // 첫 메시지 전송이 releaseSends 전까지 막히는 느린 클라이언트
+        session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("s1");
+        when(session.isOpen()).thenReturn(true);
+        when(session.getAttributes()).thenReturn(new HashMap<>());
+        doAnswer(invocation -> {
+            firstSendStarted.countDown();
+            releaseSends.await(5, TimeUnit.SECONDS);
+            delivered.add(invocation.<TextMessage>getArgument(0).getPayload());
+            return null;
+        }).when(session).sendMessage(any());
+    }
+
+    @Test
+    @DisplayName("같은 키의 메시지가 아직 안 나갔으면 마지막 메시지만 보낸다")
+    void coalescesPendingMessagesWithSameKey() throws Exception {
+        // given
+        OutboundSessions sessions = new OutboundSessions(16, 1 << 20, 10_000);
+        OutboundSession outbound = sessions.register(session);
+        outbound.send(new TextMessage("first"));
+        assertThat(firstSendStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        outbound.send(new TextMessage("{\"points\":1}"), "wallet:points");
+        outbound.send(new TextMessage("tick"));
+        outbound.send(new TextMessage("{\"points\":2}"), "wallet:points");
+        outbound.send(new TextMessage("{\"points\":3}"), "wallet:points");
+        assertThat(outbound.depth()).isEqualTo(2);
+        releaseSends.countDown();
+
+        // then
+        verify(session, timeout(5_000).times(3)).sendMessage(any());
+        assertThat(delivered).containsExactly("first", "{\"points\":3}", "tick");
+        assertThat(sessions.getMetrics().coalescedMessages()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("쌓인 메시지가 한도를 넘으면 느린 클라이언트로 보고 연결을 끊는다")
+    void closesClientThatFallsBehind() throws Exception {
+        // given
+        OutboundSessions sessions = new OutboundSessions(2, 1 << 20, 10_000);
+        OutboundSession outbound = sessions.register(session);
+        outbound.send(new TextMessage("first"));
+        assertThat(firstSendStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        boolean second = outbound.send(new TextMessage("second"));
+        boolean third = outbound.send(new TextMessage("third"));
+        boolean fourth = outbound.send(new TextMessage("fourth"));
+
+        // then
+        assertThat(second).isTrue();
+        assertThat(third).isTrue();
+        assertThat(fourth).isFalse();
+        verify(session, timeout(5_000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertThat(sessions.getMetrics().closedSlowClients()).isEqualTo(1);
+        releaseSends.countDown();
+    }
+
+    @Test
+    @DisplayName("closeAfterFlush 는 남은 메시지를 다 보낸 뒤에 닫는다")
+    void closeAfterFlushDeliversPendingMessagesFirst() throws Exception {
+        // given
+        OutboundSessions sessions = new OutboundSessions(16, 1 << 20, 10_000);
+        OutboundSession outbound = sessions.register(session);
+        outbound.send(new TextMessage("live"));
+        outbound.send(new TextMessage("\"게임 종료\""));
+
+        // when
+        outbound.closeAfterFlush();
+        boolean afterClose = outbound.send(new TextMessage("late"));
+        releaseSends.countDown();
+
+        // then
+        verify(session, timeout(5_000)).close(CloseStatus.NORMAL);
+        assertThat(afterClose).isFalse();
+        assertThat(delivered).containsExactly("live", "\"게임 종료\"");
+    }
+}